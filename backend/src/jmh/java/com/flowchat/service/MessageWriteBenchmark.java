@@ -0,0 +1,117 @@
+package com.flowchat.service;
+
+import com.flowchat.entity.ChatMessage;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 메시지 저장 처리량 비교 (초당 메시지 수)
+ * - 기존: 메시지마다 단일 행 INSERT + IDENTITY 키 조회 (자동 커밋)
+ * - write-behind: 500건을 저널에 기록(fsync 1회)한 뒤 다중 행 INSERT
+ * H2 인메모리 DB 기준이므로 네트워크 왕복이 있는 MySQL에서는 차이가 더 큼
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+public class MessageWriteBenchmark {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String SINGLE_INSERT_SQL =
+        "INSERT INTO chat_messages (room_id, user_id, username, name, content, timestamp, message_type, is_deleted) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private JdbcTemplate jdbcTemplate;
+    private ChatMessageBatchInserter inserter;
+    private SnowflakeIdGenerator idGenerator;
+    private MessageJournal journal;
+    private Path journalDir;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:message_write;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS chat_messages");
+        jdbcTemplate.execute(
+            "CREATE TABLE chat_messages (" +
+            "id BIGINT AUTO_INCREMENT PRIMARY KEY, room_id BIGINT NOT NULL, user_id BIGINT NOT NULL, " +
+            "username VARCHAR(50), name VARCHAR(100), content VARCHAR(2000) NOT NULL, timestamp TIMESTAMP NOT NULL, " +
+            "message_type VARCHAR(20) NOT NULL, is_deleted BOOLEAN NOT NULL, edited_at TIMESTAMP)");
+        jdbcTemplate.execute("CREATE INDEX idx_room_timestamp ON chat_messages (room_id, timestamp)");
+
+        inserter = new ChatMessageBatchInserter(jdbcTemplate, BATCH_SIZE);
+        idGenerator = new SnowflakeIdGenerator(1);
+        journalDir = Files.createTempDirectory("message-journal-bench");
+        journal = new MessageJournal(journalDir, 64L * 1024 * 1024);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        journal.close();
+        try (Stream<Path> files = Files.walk(journalDir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void singleRowInserts() {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            ChatMessage message = newMessage(i);
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+            jdbcTemplate.update(connection -> {
+                PreparedStatement ps = connection.prepareStatement(SINGLE_INSERT_SQL, Statement.RETURN_GENERATED_KEYS);
+                ps.setLong(1, message.getRoomId());
+                ps.setLong(2, message.getUserId());
+                ps.setString(3, message.getUsername());
+                ps.setString(4, message.getName());
+                ps.setString(5, message.getContent());
+                ps.setTimestamp(6, Timestamp.valueOf(message.getTimestamp()));
+                ps.setString(7, message.getMessageType().name());
+                ps.setBoolean(8, false);
+                return ps;
+            }, keyHolder);
+            message.setId(keyHolder.getKey().longValue());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void journaledBatchInsert() throws IOException {
+        List<ChatMessage> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            ChatMessage message = newMessage(i);
+            message.setId(idGenerator.nextId());
+            batch.add(message);
+        }
+
+        long segment = journal.append(batch);
+        inserter.insert(batch);
+        journal.markCommitted(segment, batch.size());
+    }
+
+    private static ChatMessage newMessage(int i) {
+        ChatMessage message = new ChatMessage((long) (i % 50), (long) (i % 200), "벤치마크 메시지 " + i);
+        message.setUsername("user" + (i % 200));
+        message.setTimestamp(LocalDateTime.now());
+        return message;
+    }
+}
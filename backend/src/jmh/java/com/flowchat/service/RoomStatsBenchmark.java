@@ -0,0 +1,113 @@
+package com.flowchat.service;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 채팅방 카운터 비교: 기존 중첩 ConcurrentHashMap(박싱 Integer/AtomicInteger) vs RoomStats(키워드 Space-Saving 500칸)
+ * - 기본 규모: 10,000개 채팅방 × 5,000개 키워드 (모든 조합을 미리 채운 상태에서 측정)
+ * - 두 구조를 모두 채우면 힙을 많이 사용하므로 -Xmx16g로 실행
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx16g"})
+@Threads(4)
+public class RoomStatsBenchmark {
+
+    private static final int KEYWORD_CAPACITY = 500;
+
+    @Param({"10000"})
+    private int rooms;
+
+    @Param({"5000"})
+    private int keywords;
+
+    private String[] vocabulary;
+
+    private Map<Long, Map<String, Integer>> legacyKeywordStats;
+    private Map<Long, Map<Integer, AtomicInteger>> legacyHourlyStats;
+    private Map<Long, RoomStats> roomStats;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        vocabulary = new String[keywords];
+        for (int i = 0; i < keywords; i++) {
+            vocabulary[i] = "키워드" + i;
+        }
+
+        legacyKeywordStats = new ConcurrentHashMap<>();
+        legacyHourlyStats = new ConcurrentHashMap<>();
+        roomStats = new ConcurrentHashMap<>();
+
+        for (long roomId = 0; roomId < rooms; roomId++) {
+            Map<String, Integer> keywordStats = new ConcurrentHashMap<>();
+            Map<Integer, AtomicInteger> hourlyStats = new ConcurrentHashMap<>();
+            RoomStats stats = new RoomStats(KEYWORD_CAPACITY);
+            for (String keyword : vocabulary) {
+                keywordStats.put(keyword, 1);
+                stats.addKeyword(keyword);
+            }
+            for (int hour = 0; hour < 24; hour++) {
+                hourlyStats.put(hour, new AtomicInteger());
+            }
+            legacyKeywordStats.put(roomId, keywordStats);
+            legacyHourlyStats.put(roomId, hourlyStats);
+            roomStats.put(roomId, stats);
+        }
+    }
+
+    @Benchmark
+    public void legacyKeywordIncrement() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long roomId = random.nextInt(rooms);
+        String keyword = vocabulary[random.nextInt(keywords)];
+        legacyKeywordStats.computeIfAbsent(roomId, k -> new ConcurrentHashMap<>()).merge(keyword, 1, Integer::sum);
+    }
+
+    @Benchmark
+    public void roomStatsKeywordIncrement() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long roomId = random.nextInt(rooms);
+        String keyword = vocabulary[random.nextInt(keywords)];
+        roomStats.computeIfAbsent(roomId, k -> new RoomStats(KEYWORD_CAPACITY)).addKeyword(keyword);
+    }
+
+    @Benchmark
+    public void legacyHourlyIncrement() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long roomId = random.nextInt(rooms);
+        legacyHourlyStats.computeIfAbsent(roomId, k -> new ConcurrentHashMap<>())
+            .computeIfAbsent(random.nextInt(24), k -> new AtomicInteger(0)).incrementAndGet();
+    }
+
+    @Benchmark
+    public void roomStatsHourlyIncrement() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long roomId = random.nextInt(rooms);
+        roomStats.computeIfAbsent(roomId, k -> new RoomStats(KEYWORD_CAPACITY)).addHourlyMessage(random.nextInt(24));
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void legacyTopKeywords(Blackhole blackhole) {
+        long roomId = ThreadLocalRandom.current().nextInt(rooms);
+        blackhole.consume(legacyKeywordStats.get(roomId).entrySet().stream()
+            .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+            .limit(10)
+            .toList());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void roomStatsTopKeywords(Blackhole blackhole) {
+        long roomId = ThreadLocalRandom.current().nextInt(rooms);
+        blackhole.consume(roomStats.get(roomId).getTopKeywords(10));
+    }
+}
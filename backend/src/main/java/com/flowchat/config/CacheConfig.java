@@ -1,11 +1,11 @@
 package com.flowchat.config;
 
-import org.springframework.cache.CacheManager;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
 import java.util.List;
 
 @Configuration
@@ -13,20 +13,17 @@ import java.util.List;
 public class CacheConfig {
 
     @Bean
-    public CacheManager cacheManager() {
-        // 메모리 기반 캐시 매니저 (개발용)
-        // 운영환경에서는 Redis나 Ehcache 사용 권장
-        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
-        
-        // 캐시 이름들 미리 등록
-        cacheManager.setCacheNames(List.of(
+    public TwoLevelCacheManager cacheManager(RedisCacheTier redisCacheTier,
+                                             @Value("${chat.cache.local.max-size:1000}") long localMaxSize,
+                                             @Value("${chat.cache.local.ttl-seconds:60}") long localTtlSeconds) {
+        // 로컬 계층은 캐시마다 크기/TTL 제한 (Caffeine W-TinyLFU)
+        // 여러 서버로 운영할 때는 chat.cache.shared.enabled=true로 Redis 공유 계층과 서버 간 무효화 사용
+        return new TwoLevelCacheManager(List.of(
             "roomKeywordStats",
-            "roomParticipationStats", 
+            "roomParticipationStats",
             "roomHourlyStats",
             "roomAnalysisSummary",
             "advancedAnalysisSummary"
-        ));
-        
-        return cacheManager;
+        ), localMaxSize, Duration.ofSeconds(localTtlSeconds), redisCacheTier);
     }
-}
\ No newline at end of file
+}
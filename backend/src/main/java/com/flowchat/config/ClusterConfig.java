@@ -0,0 +1,29 @@
+package com.flowchat.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+@Configuration
+public class ClusterConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterConfig.class);
+
+    @Bean
+    public ClusterMessageBus clusterMessageBus(ObjectProvider<RedisConnectionFactory> connectionFactoryProvider,
+                                               @Value("${chat.cluster.enabled:false}") boolean enabled,
+                                               @Value("${chat.cluster.bus:redis}") String bus,
+                                               @Value("${chat.cluster.channel-prefix:flowchat:cluster:}") String channelPrefix) {
+        // 클러스터 모드가 꺼져 있으면 같은 JVM 안에서만 전달 (Redis에 연결하지 않음)
+        if (enabled && "redis".equalsIgnoreCase(bus)) {
+            logger.info("클러스터 메시지 버스 활성화: bus=redis, channelPrefix={}", channelPrefix);
+            return new RedisMessageBus(connectionFactoryProvider.getObject(), channelPrefix);
+        }
+        logger.info("클러스터 메시지 버스: bus=in-process, clusterEnabled={}", enabled);
+        return new InProcessMessageBus();
+    }
+}
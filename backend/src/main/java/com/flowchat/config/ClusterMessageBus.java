@@ -0,0 +1,21 @@
+package com.flowchat.config;
+
+import java.util.function.Consumer;
+
+/**
+ * 서버 간 메시지 버스 - 여러 서버로 운영할 때 STOMP 프레임 등을 모든 서버에 전달
+ * 발행한 서버 자신도 구독자로서 메시지를 받으므로, 필요하면 수신 측에서 발신 노드를 걸러야 함
+ */
+public interface ClusterMessageBus {
+
+    /**
+     * 토픽에 메시지 발행 (모든 서버의 구독자에게 전달), 메시지를 받은 구독자 수 반환 (발행 실패 시 0)
+     * 특정 서버 전용 토픽에서 0이면 그 서버가 종료되었거나 아직 구독하지 않은 것
+     */
+    long publish(String topic, byte[] payload);
+
+    /**
+     * 토픽 구독 - 핸들러는 버스 수신 스레드에서 호출되므로 오래 걸리는 작업은 피해야 함
+     */
+    void subscribe(String topic, Consumer<byte[]> handler);
+}
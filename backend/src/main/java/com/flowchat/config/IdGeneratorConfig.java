@@ -0,0 +1,31 @@
+package com.flowchat.config;
+
+import com.flowchat.entity.SnowflakeIdentifierGenerator;
+import com.flowchat.service.SnowflakeIdGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+@Configuration
+public class IdGeneratorConfig {
+
+    @Bean
+    public SnowflakeIdGenerator snowflakeIdGenerator(Environment environment,
+                                                     @Value("${chat.cluster.enabled:false}") boolean clusterEnabled) {
+        // 인스턴스마다 다른 노드 ID를 지정해야 여러 서버에서 ID가 겹치지 않음
+        String configuredNodeId = environment.getProperty("flowchat.node-id");
+        if (configuredNodeId == null || configuredNodeId.isBlank()) {
+            if (clusterEnabled) {
+                throw new IllegalStateException(
+                    "클러스터 모드(chat.cluster.enabled=true)에서는 flowchat.node-id(FLOWCHAT_NODE_ID)를 인스턴스마다 지정해야 합니다");
+            }
+            configuredNodeId = "0";
+        }
+
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(Long.parseLong(configuredNodeId.trim()));
+        // JPA 엔티티(@SnowflakeId)와 write-behind 저장이 같은 생성기를 사용
+        SnowflakeIdentifierGenerator.use(generator);
+        return generator;
+    }
+}
@@ -0,0 +1,39 @@
+package com.flowchat.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * 같은 JVM 안에서 동작하는 메시지 버스 (단일 서버, 테스트용)
+ * 발행한 스레드에서 구독자를 순서대로 호출
+ */
+public class InProcessMessageBus implements ClusterMessageBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(InProcessMessageBus.class);
+
+    private final Map<String, List<Consumer<byte[]>>> subscribers = new ConcurrentHashMap<>();
+
+    @Override
+    public long publish(String topic, byte[] payload) {
+        List<Consumer<byte[]>> handlers = subscribers.getOrDefault(topic, List.of());
+        for (Consumer<byte[]> handler : handlers) {
+            try {
+                handler.accept(payload);
+            } catch (Exception e) {
+                logger.warn("메시지 버스 구독자 처리 실패: topic={}, error={}", topic, e.getMessage());
+            }
+        }
+        return handlers.size();
+    }
+
+    @Override
+    public void subscribe(String topic, Consumer<byte[]> handler) {
+        subscribers.computeIfAbsent(topic, key -> new CopyOnWriteArrayList<>()).add(handler);
+    }
+}
@@ -0,0 +1,111 @@
+package com.flowchat.config;
+
+import com.flowchat.event.UserChangedEvent;
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+
+/**
+ * 검증된 JWT 토큰 → 사용자 정보 캐시 (REST 요청 인증용)
+ * - 서명 검증을 통과한 토큰 원문을 키로 보관하므로 캐시 적중 시 서명 검증과 사용자 조회를 모두 생략
+ * - 항목은 토큰 만료 시각과 ttl-ms 중 빠른 시점에 만료되고, 사용자 변경 시 해당 사용자 항목 제거
+ * - 보관 개수는 max-entries로 제한 (가장 오래 사용되지 않은 토큰부터 제거)
+ */
+@Component
+public class JwtAuthenticationCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationCache.class);
+
+    @Value("${jwt.auth-cache.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${jwt.auth-cache.ttl-ms:300000}")
+    private long ttlMillis;
+
+    private LongSupplier clock = System::currentTimeMillis;
+
+    // 접근 순서 LRU (토큰 -> 인증 정보)
+    private Map<String, CachedAuthentication> entries;
+
+    private static final class CachedAuthentication {
+        private final Long userId;
+        private final UserDetails userDetails;
+        private final long expiresAtMillis;
+
+        CachedAuthentication(Long userId, UserDetails userDetails, long expiresAtMillis) {
+            this.userId = userId;
+            this.userDetails = userDetails;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+
+    public JwtAuthenticationCache() {
+    }
+
+    JwtAuthenticationCache(int maxEntries, long ttlMillis, LongSupplier clock) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+        init();
+    }
+
+    @PostConstruct
+    public void init() {
+        int limit = Math.max(1, maxEntries);
+        entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedAuthentication> eldest) {
+                return size() > limit;
+            }
+        });
+    }
+
+    /**
+     * 캐시된 사용자 정보 (없거나 만료되었으면 null)
+     */
+    public UserDetails get(String token) {
+        CachedAuthentication cached = entries.get(token);
+        if (cached == null) {
+            return null;
+        }
+        if (cached.expiresAtMillis <= clock.getAsLong()) {
+            entries.remove(token);
+            return null;
+        }
+        return cached.userDetails;
+    }
+
+    /**
+     * 서명/만료 검증을 통과한 토큰의 사용자 정보 저장
+     */
+    public void put(String token, Claims claims, UserDetails userDetails) {
+        long expiresAt = clock.getAsLong() + ttlMillis;
+        if (claims.getExpiration() != null) {
+            expiresAt = Math.min(expiresAt, claims.getExpiration().getTime());
+        }
+        entries.put(token, new CachedAuthentication(claims.get("userId", Long.class), userDetails, expiresAt));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        synchronized (entries) {
+            entries.values().removeIf(cached -> Objects.equals(cached.userId, event.getUserId()));
+        }
+        logger.debug("JWT 인증 캐시 무효화 (사용자 변경): userId={}", event.getUserId());
+    }
+
+    int size() {
+        return entries.size();
+    }
+}
@@ -1,11 +1,12 @@
 package com.flowchat.config;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.ApplicationContext;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -22,8 +23,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private JwtConfig jwtConfig;
 
+    // 순환 의존을 피하기 위해 지연 조회 (캐시 미스 시에만 사용)
     @Autowired
-    private ApplicationContext applicationContext;
+    private ObjectProvider<UserDetailsService> userDetailsServiceProvider;
+
+    @Autowired
+    private JwtAuthenticationCache jwtAuthenticationCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, 
@@ -32,27 +37,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         final String authorizationHeader = request.getHeader("Authorization");
         
-        String username = null;
-        String jwt = null;
-        
-        // Authorization 헤더에서 JWT 토큰 추출
-        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = jwtConfig.extractTokenFromHeader(authorizationHeader);
-            try {
-                username = jwtConfig.getUsernameFromToken(jwt);
-            } catch (Exception e) {
-                logger.warn("JWT token parsing failed: " + e.getMessage());
-            }
-        }
-        
-        // 사용자명이 있고 아직 인증되지 않은 경우
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            
-            UserDetailsService userDetailsService = applicationContext.getBean(UserDetailsService.class);
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        // Authorization 헤더에서 JWT 토큰 추출 (아직 인증되지 않은 경우)
+        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            String jwt = jwtConfig.extractTokenFromHeader(authorizationHeader);
+            UserDetails userDetails = resolveUserDetails(jwt);
             
             // 토큰이 유효한 경우 인증 설정
-            if (jwtConfig.validateToken(jwt, userDetails.getUsername())) {
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken authToken = 
                     new UsernamePasswordAuthenticationToken(
                         userDetails, 
@@ -67,6 +59,32 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
     
+    /**
+     * 토큰의 사용자 정보 - 캐시에 없으면 서명/만료를 한 번 검증하고 사용자 조회 후 캐시
+     * 유효하지 않은 토큰이면 null
+     */
+    private UserDetails resolveUserDetails(String jwt) {
+        UserDetails cached = jwtAuthenticationCache.get(jwt);
+        if (cached != null) {
+            return cached;
+        }
+        
+        Claims claims;
+        try {
+            claims = jwtConfig.parseValidClaims(jwt);
+        } catch (Exception e) {
+            logger.warn("JWT token parsing failed: " + e.getMessage());
+            return null;
+        }
+        
+        UserDetails userDetails = userDetailsServiceProvider.getObject().loadUserByUsername(claims.getSubject());
+        if (!userDetails.getUsername().equals(claims.getSubject())) {
+            return null;
+        }
+        jwtAuthenticationCache.put(jwt, claims, userDetails);
+        return userDetails;
+    }
+    
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) throws ServletException {
         String path = request.getRequestURI();
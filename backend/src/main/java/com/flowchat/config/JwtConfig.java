@@ -2,6 +2,7 @@ package com.flowchat.config;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -20,8 +21,20 @@ public class JwtConfig {
     @Value("${jwt.expiration}")
     private Long expiration;
     
+    // 서명 키와 파서는 요청마다 만들지 않고 재사용 (스레드 안전)
+    private SecretKey signingKey;
+    private JwtParser parser;
+    
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+    }
+    
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+        return signingKey;
     }
     
     /**
@@ -79,16 +92,19 @@ public class JwtConfig {
         return claimsResolver.apply(claims);
     }
     
+    /**
+     * 토큰 서명/만료를 검증하고 모든 클레임 추출 (한 번만 파싱)
+     */
+    public Claims parseValidClaims(String token) {
+        return getAllClaimsFromToken(token);
+    }
+    
     /**
      * 토큰에서 모든 클레임 추출
      */
     private Claims getAllClaimsFromToken(String token) {
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            return parser.parseClaimsJws(token).getBody();
         } catch (JwtException | IllegalArgumentException e) {
             throw new JwtException("Invalid JWT token", e);
         }
@@ -111,8 +127,8 @@ public class JwtConfig {
      */
     public Boolean validateToken(String token, String username) {
         try {
-            final String tokenUsername = getUsernameFromToken(token);
-            return (tokenUsername.equals(username) && !isTokenExpired(token));
+            final Claims claims = getAllClaimsFromToken(token);
+            return (claims.getSubject().equals(username) && !claims.getExpiration().before(new Date()));
         } catch (JwtException | IllegalArgumentException e) {
             return false;
         }
@@ -0,0 +1,185 @@
+package com.flowchat.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 여러 서버가 함께 쓰는 Redis 캐시 계층 + 서버 간 무효화 메시지
+ * - 값은 JDK 직렬화로 저장하며, 직렬화할 수 없는 값(ResponseEntity 등)은 로컬 계층에만 보관
+ * - evict/clear 시 Redis 값을 지우고 무효화 채널에 발행 → 다른 서버가 자신의 로컬 계층에서 제거
+ * - Redis 장애 시에는 로컬 계층만으로 동작 (오류는 경고 로그만 남김)
+ * chat.cache.shared.enabled=false(기본값)면 Redis에 연결하지 않음
+ */
+@Component
+public class RedisCacheTier {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisCacheTier.class);
+
+    private static final String KEY_PREFIX = "flowchat:cache:";
+    private static final String EVICT = "E";
+    private static final String CLEAR = "C";
+
+    @Autowired
+    private ObjectProvider<RedisConnectionFactory> connectionFactoryProvider;
+
+    @Value("${chat.cache.shared.enabled:false}")
+    private boolean enabled;
+
+    @Value("${chat.cache.shared.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Value("${chat.cache.shared.channel:flowchat:cache:invalidation}")
+    private String channel;
+
+    @Value("${flowchat.node-id:0}")
+    private long nodeId;
+
+    private RedisTemplate<String, Object> redisTemplate;
+    private RedisMessageListenerContainer listenerContainer;
+
+    // 다른 서버의 무효화 수신 시 호출 (캐시 이름, 키 - clear면 null)
+    private volatile InvalidationListener invalidationListener = (cacheName, key) -> { };
+
+    public interface InvalidationListener {
+        void onInvalidation(String cacheName, String key);
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+
+        RedisConnectionFactory connectionFactory = connectionFactoryProvider.getObject();
+
+        redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(connectionFactory);
+        redisTemplate.setKeySerializer(StringRedisSerializer.UTF_8);
+        redisTemplate.setValueSerializer(new JdkSerializationRedisSerializer());
+        redisTemplate.afterPropertiesSet();
+
+        listenerContainer = new RedisMessageListenerContainer();
+        listenerContainer.setConnectionFactory(connectionFactory);
+        listenerContainer.addMessageListener(
+            (message, pattern) -> onMessage(new String(message.getBody(), StandardCharsets.UTF_8)),
+            new ChannelTopic(channel));
+        listenerContainer.afterPropertiesSet();
+        listenerContainer.start();
+
+        logger.info("Redis 공유 캐시 계층 활성화: ttlSeconds={}, channel={}, nodeId={}", ttlSeconds, channel, nodeId);
+    }
+
+    @PreDestroy
+    public void shutdown() throws Exception {
+        if (listenerContainer != null) {
+            listenerContainer.destroy();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setInvalidationListener(InvalidationListener invalidationListener) {
+        this.invalidationListener = invalidationListener;
+    }
+
+    /**
+     * 공유 계층 조회 (없거나 Redis 오류면 null)
+     */
+    public Object get(String cacheName, String key) {
+        try {
+            return redisTemplate.opsForValue().get(redisKey(cacheName, key));
+        } catch (Exception e) {
+            logger.warn("Redis 캐시 조회 실패: cache={}, key={}, error={}", cacheName, key, e.getMessage());
+            return null;
+        }
+    }
+
+    public void put(String cacheName, String key, Object value) {
+        if (!(value instanceof Serializable)) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().set(redisKey(cacheName, key), value, Duration.ofSeconds(ttlSeconds));
+        } catch (Exception e) {
+            logger.warn("Redis 캐시 저장 실패: cache={}, key={}, error={}", cacheName, key, e.getMessage());
+        }
+    }
+
+    /**
+     * 여러 캐시의 같은 키를 한 번에 삭제하고 무효화 메시지 한 건 발행
+     */
+    public void evict(Collection<String> cacheNames, String key) {
+        try {
+            List<String> keys = new ArrayList<>(cacheNames.size());
+            for (String cacheName : cacheNames) {
+                keys.add(redisKey(cacheName, key));
+            }
+            redisTemplate.delete(keys);
+            publish(EVICT, String.join(",", cacheNames), key);
+        } catch (Exception e) {
+            logger.warn("Redis 캐시 무효화 실패: caches={}, key={}, error={}", cacheNames, key, e.getMessage());
+        }
+    }
+
+    public void clear(String cacheName) {
+        try {
+            List<String> keys = new ArrayList<>();
+            ScanOptions options = ScanOptions.scanOptions().match(redisKey(cacheName, "*")).count(500).build();
+            try (Cursor<String> cursor = redisTemplate.scan(options)) {
+                cursor.forEachRemaining(keys::add);
+            }
+            if (!keys.isEmpty()) {
+                redisTemplate.delete(keys);
+            }
+            publish(CLEAR, cacheName, "");
+        } catch (Exception e) {
+            logger.warn("Redis 캐시 전체 삭제 실패: cache={}, error={}", cacheName, e.getMessage());
+        }
+    }
+
+    /**
+     * 무효화 메시지 형식: 노드ID|E 또는 C|캐시 이름(쉼표 구분)|키
+     */
+    private void publish(String type, String cacheNames, String key) {
+        redisTemplate.convertAndSend(channel, nodeId + "|" + type + "|" + cacheNames + "|" + key);
+    }
+
+    private void onMessage(String body) {
+        String[] parts = body.split("\\|", 4);
+        if (parts.length < 4 || parts[0].equals(String.valueOf(nodeId))) {
+            return; // 형식 오류 또는 자신이 보낸 메시지
+        }
+        String key = CLEAR.equals(parts[1]) ? null : parts[3];
+        for (String cacheName : parts[2].split(",")) {
+            invalidationListener.onInvalidation(cacheName, key);
+        }
+        logger.debug("다른 서버의 캐시 무효화 반영: from={}, caches={}, key={}", parts[0], parts[2], key);
+    }
+
+    private static String redisKey(String cacheName, String key) {
+        return KEY_PREFIX + cacheName + ":" + key;
+    }
+}
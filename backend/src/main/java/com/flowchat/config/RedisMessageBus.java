@@ -0,0 +1,69 @@
+package com.flowchat.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.function.Consumer;
+
+/**
+ * Redis Pub/Sub 기반 서버 간 메시지 버스
+ * - 토픽마다 Redis 채널 하나 (채널 이름 = prefix + 토픽)
+ * - 한 서버가 발행한 메시지의 순서는 유지되며, 수신하지 못한 서버에 재전송하지 않음 (최대 1회 전달)
+ */
+public class RedisMessageBus implements ClusterMessageBus, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisMessageBus.class);
+
+    private final String channelPrefix;
+    private final RedisTemplate<String, byte[]> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    public RedisMessageBus(RedisConnectionFactory connectionFactory, String channelPrefix) {
+        this.channelPrefix = channelPrefix;
+
+        redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(connectionFactory);
+        redisTemplate.setKeySerializer(RedisSerializer.string());
+        redisTemplate.setValueSerializer(RedisSerializer.byteArray());
+        redisTemplate.afterPropertiesSet();
+
+        listenerContainer = new RedisMessageListenerContainer();
+        listenerContainer.setConnectionFactory(connectionFactory);
+        listenerContainer.afterPropertiesSet();
+        listenerContainer.start();
+    }
+
+    @Override
+    public long publish(String topic, byte[] payload) {
+        try {
+            // PUBLISH 응답: 채널을 구독 중인 연결 수
+            Long receivers = redisTemplate.convertAndSend(channelPrefix + topic, payload);
+            return receivers != null ? receivers : 0;
+        } catch (Exception e) {
+            logger.warn("메시지 버스 발행 실패: topic={}, error={}", topic, e.getMessage());
+            return 0;
+        }
+    }
+
+    @Override
+    public void subscribe(String topic, Consumer<byte[]> handler) {
+        listenerContainer.addMessageListener((message, pattern) -> {
+            try {
+                handler.accept(message.getBody());
+            } catch (Exception e) {
+                logger.warn("메시지 버스 구독자 처리 실패: topic={}, error={}", topic, e.getMessage());
+            }
+        }, new ChannelTopic(channelPrefix + topic));
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        listenerContainer.destroy();
+    }
+}
@@ -0,0 +1,224 @@
+package com.flowchat.config;
+
+import com.flowchat.service.ClusterMembership;
+import com.flowchat.service.RoomOwnership;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 채팅방 분석 API 요청을 채팅방 담당 서버로 전달 (클러스터 모드)
+ * - 분석 상태는 담당 서버에만 있으므로 다른 서버가 담당하는 채팅방 요청은 HTTP로 그대로 전달하고 응답을 돌려줌
+ * - 인증은 이 서버에서 먼저 거친 뒤 Authorization 헤더를 함께 전달
+ * - 담당 서버 주소를 모르거나 전달에 실패하면 이 서버에서 처리 (미리 읽은 본문으로 다시 처리)
+ * - 전달 헤더는 값이 클러스터 멤버 노드 ID일 때만 인정 (클라이언트가 보낸 헤더로 전달을 건너뛰지 않도록)
+ */
+@Component
+public class RoomOwnerProxyFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoomOwnerProxyFilter.class);
+
+    static final String FORWARDED_HEADER = "X-Flowchat-Forwarded";
+
+    private static final Pattern ROOM_PATH = Pattern.compile("^/api/(analysis|llm-analysis)/rooms/(\\d+)(/.*)?$");
+
+    // 전달하지 않는 헤더 (연결 관련 헤더, 이 서버가 직접 설정하는 전달 헤더, 이 서버가 이미 설정한 CORS 헤더)
+    private static final Set<String> SKIPPED_REQUEST_HEADERS = Set.of(
+        "host", "connection", "content-length", "expect", "upgrade", "transfer-encoding",
+        FORWARDED_HEADER.toLowerCase());
+    private static final Set<String> SKIPPED_RESPONSE_HEADERS = Set.of(
+        "connection", "content-length", "transfer-encoding", "vary");
+
+    @Autowired
+    private RoomOwnership roomOwnership;
+
+    @Autowired
+    private ClusterMembership clusterMembership;
+
+    @Value("${chat.cluster.enabled:false}")
+    private boolean enabled;
+
+    @Value("${chat.cluster.proxy-timeout-ms:5000}")
+    private long proxyTimeoutMs;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+        .connectTimeout(Duration.ofSeconds(2))
+        .build();
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || isForwardedByMember(request.getHeader(FORWARDED_HEADER));
+    }
+
+    /**
+     * 다른 클러스터 멤버가 전달한 요청인지 확인
+     */
+    private boolean isForwardedByMember(String forwardedBy) {
+        if (forwardedBy == null) {
+            return false;
+        }
+        try {
+            long memberNodeId = Long.parseLong(forwardedBy.trim());
+            return memberNodeId != clusterMembership.getNodeId() && clusterMembership.getNodeIds().contains(memberNodeId);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Matcher matcher = ROOM_PATH.matcher(request.getRequestURI());
+        if (!matcher.matches()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Long roomId = Long.valueOf(matcher.group(2));
+        long owner = roomOwnership.ownerOf(roomId);
+        String ownerUrl = clusterMembership.getUrl(owner);
+        if (owner == clusterMembership.getNodeId() || ownerUrl == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        // 전달에 실패하면 이 서버에서 처리해야 하므로 본문을 먼저 읽어 둠
+        byte[] body = request.getInputStream().readAllBytes();
+        HttpResponse<byte[]> ownerResponse;
+        try {
+            ownerResponse = httpClient.send(buildRequest(request, ownerUrl, body), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            logger.warn("담당 서버로 요청 전달 실패, 이 서버에서 처리: roomId={}, owner={}, error={}",
+                       roomId, owner, e.getMessage());
+            filterChain.doFilter(new CachedBodyRequest(request, body), response);
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            filterChain.doFilter(new CachedBodyRequest(request, body), response);
+            return;
+        }
+
+        response.setStatus(ownerResponse.statusCode());
+        for (Map.Entry<String, List<String>> header : ownerResponse.headers().map().entrySet()) {
+            String name = header.getKey();
+            String lowerName = name.toLowerCase();
+            if (SKIPPED_RESPONSE_HEADERS.contains(lowerName) || lowerName.startsWith("access-control-")
+                    || lowerName.startsWith(":")) {
+                continue;
+            }
+            // 이 서버의 보안 필터가 이미 설정한 헤더는 담당 서버 값으로 교체
+            boolean first = true;
+            for (String value : header.getValue()) {
+                if (first) {
+                    response.setHeader(name, value);
+                    first = false;
+                } else {
+                    response.addHeader(name, value);
+                }
+            }
+        }
+        response.getOutputStream().write(ownerResponse.body());
+
+        logger.debug("채팅방 분석 요청을 담당 서버로 전달: roomId={}, owner={}, uri={}, status={}",
+                    roomId, owner, request.getRequestURI(), ownerResponse.statusCode());
+    }
+
+    private HttpRequest buildRequest(HttpServletRequest request, String ownerUrl, byte[] body) {
+        String query = request.getQueryString();
+        URI uri = URI.create(ownerUrl + request.getRequestURI() + (query != null ? "?" + query : ""));
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+            .timeout(Duration.ofMillis(proxyTimeoutMs))
+            .method(request.getMethod(), body.length > 0
+                ? HttpRequest.BodyPublishers.ofByteArray(body)
+                : HttpRequest.BodyPublishers.noBody());
+
+        for (String name : Collections.list(request.getHeaderNames())) {
+            if (SKIPPED_REQUEST_HEADERS.contains(name.toLowerCase())) {
+                continue;
+            }
+            for (String value : Collections.list(request.getHeaders(name))) {
+                builder.header(name, value);
+            }
+        }
+        builder.header(FORWARDED_HEADER, String.valueOf(clusterMembership.getNodeId()));
+        return builder.build();
+    }
+
+    /**
+     * 미리 읽은 본문을 다시 읽을 수 있게 감싼 요청 (전달 실패 후 이 서버에서 처리할 때 사용)
+     */
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException("비동기 읽기는 지원하지 않습니다");
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            String encoding = getCharacterEncoding() != null ? getCharacterEncoding() : "UTF-8";
+            return new BufferedReader(new InputStreamReader(getInputStream(), encoding));
+        }
+    }
+}
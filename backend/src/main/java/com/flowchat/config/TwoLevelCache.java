@@ -0,0 +1,158 @@
+package com.flowchat.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 로컬(Caffeine, W-TinyLFU + TTL) → 공유(Redis) 2단계 캐시
+ * - 조회: 로컬 → 공유 → 원본 순서, 공유 계층에서 찾은 값은 로컬에도 저장
+ * - 무효화: 로컬 삭제 후 공유 계층 삭제 + 다른 서버에 무효화 발행
+ * 키는 문자열로 통일 (서버 간 무효화 메시지로 전달하기 위함)
+ */
+public class TwoLevelCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final Cache<String, Object> local;
+    private final RedisCacheTier shared;   // 공유 계층을 쓰지 않으면 null
+
+    private final LongAdder sharedHits = new LongAdder();
+    private final LongAdder sharedMisses = new LongAdder();
+
+    TwoLevelCache(String name, Cache<String, Object> local, RedisCacheTier shared) {
+        super(true);
+        this.name = name;
+        this.local = local;
+        this.shared = shared;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        String cacheKey = toKey(key);
+        Object value = local.getIfPresent(cacheKey);
+        if (value != null) {
+            return value;
+        }
+        value = lookupShared(cacheKey);
+        if (value != null) {
+            local.put(cacheKey, value);
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object value = local.get(toKey(key), cacheKey -> {
+            Object stored = lookupShared(cacheKey);
+            if (stored != null) {
+                return stored;
+            }
+            try {
+                Object loaded = toStoreValue(valueLoader.call());
+                if (shared != null) {
+                    shared.put(name, cacheKey, loaded);
+                }
+                return loaded;
+            } catch (Exception e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+        });
+        return (T) fromStoreValue(value);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        String cacheKey = toKey(key);
+        Object storeValue = toStoreValue(value);
+        local.put(cacheKey, storeValue);
+        if (shared != null) {
+            shared.put(name, cacheKey, storeValue);
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        String cacheKey = toKey(key);
+        evictLocal(cacheKey);
+        if (shared != null) {
+            shared.evict(List.of(name), cacheKey);
+        }
+    }
+
+    @Override
+    public void clear() {
+        clearLocal();
+        if (shared != null) {
+            shared.clear(name);
+        }
+    }
+
+    /**
+     * 로컬 계층에서만 제거 (다른 서버의 무효화 메시지, 여러 캐시 일괄 무효화)
+     */
+    void evictLocal(String cacheKey) {
+        local.invalidate(cacheKey);
+    }
+
+    void clearLocal() {
+        local.invalidateAll();
+    }
+
+    /**
+     * 캐시 지표 (로컬 적중률 + 공유 계층 적중률)
+     */
+    Map<String, Object> getStats() {
+        CacheStats localStats = local.stats();
+        long sharedHitCount = sharedHits.sum();
+        long sharedMissCount = sharedMisses.sum();
+        // 로컬에서 놓친 요청 중 공유 계층에서 찾은 것까지 포함한 전체 적중률
+        long requests = localStats.requestCount();
+        long hits = localStats.hitCount() + sharedHitCount;
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("size", local.estimatedSize());
+        stats.put("localHits", localStats.hitCount());
+        stats.put("localMisses", localStats.missCount());
+        stats.put("localHitRatio", localStats.hitRate());
+        stats.put("evictions", localStats.evictionCount());
+        stats.put("sharedTier", shared != null);
+        stats.put("sharedHits", sharedHitCount);
+        stats.put("sharedMisses", sharedMissCount);
+        stats.put("hitRatio", requests > 0 ? (double) Math.min(hits, requests) / requests : 0.0);
+        return stats;
+    }
+
+    private Object lookupShared(String cacheKey) {
+        if (shared == null) {
+            return null;
+        }
+        Object value = shared.get(name, cacheKey);
+        if (value != null) {
+            sharedHits.increment();
+        } else {
+            sharedMisses.increment();
+        }
+        return value;
+    }
+
+    static String toKey(Object key) {
+        return String.valueOf(key);
+    }
+}
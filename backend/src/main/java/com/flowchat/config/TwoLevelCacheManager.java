@@ -0,0 +1,82 @@
+package com.flowchat.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.CacheManager;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 2단계 캐시 매니저 - 캐시마다 크기/TTL 제한이 있는 로컬 계층과 선택적 Redis 공유 계층 구성
+ * 다른 서버에서 온 무효화 메시지는 로컬 계층에만 반영
+ */
+public class TwoLevelCacheManager implements CacheManager {
+
+    private final ConcurrentMap<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+    private final long localMaxSize;
+    private final Duration localTtl;
+    private final RedisCacheTier shared;   // 공유 계층을 쓰지 않으면 null
+
+    public TwoLevelCacheManager(Collection<String> cacheNames, long localMaxSize, Duration localTtl,
+                                RedisCacheTier sharedTier) {
+        this.localMaxSize = localMaxSize;
+        this.localTtl = localTtl;
+        this.shared = sharedTier != null && sharedTier.isEnabled() ? sharedTier : null;
+        if (shared != null) {
+            shared.setInvalidationListener(this::onRemoteInvalidation);
+        }
+        cacheNames.forEach(this::getCache);
+    }
+
+    @Override
+    public TwoLevelCache getCache(String name) {
+        return caches.computeIfAbsent(name, cacheName -> new TwoLevelCache(cacheName,
+            Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(localTtl)
+                .recordStats()
+                .build(),
+            shared));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    /**
+     * 여러 캐시에서 같은 키 제거 - 공유 계층에는 삭제 한 번, 무효화 메시지 한 건
+     */
+    public void evict(Object key, String... cacheNames) {
+        String cacheKey = TwoLevelCache.toKey(key);
+        for (String cacheName : cacheNames) {
+            getCache(cacheName).evictLocal(cacheKey);
+        }
+        if (shared != null) {
+            shared.evict(Arrays.asList(cacheNames), cacheKey);
+        }
+    }
+
+    /**
+     * 캐시별 지표 (크기, 로컬/공유 적중률, 제거 수)
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new TreeMap<>();
+        caches.forEach((name, cache) -> stats.put(name, cache.getStats()));
+        return stats;
+    }
+
+    private void onRemoteInvalidation(String cacheName, String key) {
+        TwoLevelCache cache = caches.get(cacheName);
+        if (cache == null) {
+            return;
+        }
+        if (key == null) {
+            cache.clearLocal();
+        } else {
+            cache.evictLocal(key);
+        }
+    }
+}
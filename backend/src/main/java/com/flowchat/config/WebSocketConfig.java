@@ -20,6 +20,7 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         // 메시지 브로커 설정
         // /topic - 일대다 메시지 (채팅방 브로드캐스트)
         // /queue - 일대일 메시지 (개인 메시지)
+        // 여러 서버로 운영할 때는 RoomBroadcaster가 ClusterMessageBus로 프레임을 다른 서버의 브로커에 전달
         config.enableSimpleBroker("/topic", "/queue");
         
         // 클라이언트에서 메시지 보낼 때 사용할 prefix
@@ -1,6 +1,7 @@
 package com.flowchat.controller;
 
 import com.flowchat.service.AnalysisNotificationService;
+import com.flowchat.service.RoomOwnerRouter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -22,7 +23,7 @@ public class AnalysisWebSocketController {
     private AnalysisNotificationService analysisNotificationService;
     
     @Autowired
-    private com.flowchat.service.ChatAnalysisService chatAnalysisService;
+    private RoomOwnerRouter roomOwnerRouter;
 
     /**
      * 분석 데이터 구독 시작
@@ -32,8 +33,10 @@ public class AnalysisWebSocketController {
         logger.info("분석 데이터 구독 시작: roomId={}, user={}", roomId, 
                    principal != null ? principal.getName() : "anonymous");
         
-        // 구독 시작 시 초기 분석 데이터 전송
-        analysisNotificationService.startAnalysisSubscription(roomId);
+        // 구독 시작 시 초기 분석 데이터 전송 (다른 서버가 담당하는 채팅방이면 담당 서버에서 전송)
+        if (!roomOwnerRouter.forwardRefresh(roomId, "SUBSCRIBE", null)) {
+            analysisNotificationService.startAnalysisSubscription(roomId);
+        }
     }
 
     /**
@@ -64,29 +67,9 @@ public class AnalysisWebSocketController {
             }
         }
         
-        switch (analysisType.toUpperCase()) {
-            case "KEYWORD":
-                // 개별 분석은 새로 계산하고 전송
-                if (days != null) {
-                    chatAnalysisService.rebuildRoomAnalysis(roomId, days);
-                }
-                analysisNotificationService.sendKeywordUpdate(roomId);
-                break;
-            case "PARTICIPATION":
-                if (days != null) {
-                    chatAnalysisService.rebuildRoomAnalysis(roomId, days);
-                }
-                analysisNotificationService.sendParticipationUpdate(roomId);
-                break;
-            case "HOURLY":
-                if (days != null) {
-                    chatAnalysisService.rebuildRoomAnalysis(roomId, days);
-                }
-                analysisNotificationService.sendHourlyUpdate(roomId);
-                break;
-            default:
-                analysisNotificationService.sendFullAnalysisUpdate(roomId, days);
-                break;
+        // 분석 상태는 채팅방 담당 서버에만 있으므로 다른 서버가 담당하면 전달
+        if (!roomOwnerRouter.forwardRefresh(roomId, analysisType, days)) {
+            analysisNotificationService.refreshAnalysis(roomId, analysisType, days);
         }
         
         logger.debug("분석 데이터 새로고침 완료: roomId={}, type={}, days={}", roomId, analysisType, days);
@@ -1,5 +1,6 @@
 package com.flowchat.controller;
 
+import com.flowchat.config.TwoLevelCacheManager;
 import com.flowchat.entity.AnalysisResult;
 import com.flowchat.repository.AnalysisResultRepository;
 import com.flowchat.service.ChatAnalysisService;
@@ -15,7 +16,6 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -59,6 +59,9 @@ public class ChatAnalysisController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private TwoLevelCacheManager cacheManager;
+
     /**
      * 채팅방 키워드 통계 조회
      */
@@ -188,7 +191,7 @@ public class ChatAnalysisController {
     @Operation(summary = "채팅방 종합 분석 결과", description = "채팅방의 전체 분석 결과를 조회합니다 (캐싱 적용)")
     @ApiResponse(responseCode = "200", description = "조회 성공")
     @ApiResponse(responseCode = "401", description = "인증 실패")
-    @Cacheable(value = "roomAnalysisSummary", key = "#roomId")
+    @Cacheable(value = "roomAnalysisSummary", key = "#roomId", unless = "!#result.statusCode.is2xxSuccessful()")
     public ResponseEntity<Map<String, Object>> getRoomAnalysis(
             @Parameter(description = "채팅방 ID") @PathVariable Long roomId,
             Authentication authentication) {
@@ -413,7 +416,7 @@ public class ChatAnalysisController {
     @Operation(summary = "심화 분석 종합 결과", description = "주제 분류, 감정 분석, 대화 흐름을 포함한 심화 분석 결과를 조회합니다")
     @ApiResponse(responseCode = "200", description = "조회 성공")
     @ApiResponse(responseCode = "401", description = "인증 실패")
-    @Cacheable(value = "advancedAnalysisSummary", key = "#roomId")
+    @Cacheable(value = "advancedAnalysisSummary", key = "#roomId", unless = "!#result.statusCode.is2xxSuccessful()")
     public ResponseEntity<Map<String, Object>> getAdvancedAnalysis(
             @Parameter(description = "채팅방 ID") @PathVariable Long roomId,
             Authentication authentication) {
@@ -712,10 +715,10 @@ public class ChatAnalysisController {
     }
 
     /**
-     * 심화 분석 캐시 무효화
+     * 심화 분석 캐시 무효화 (private 메서드의 @CacheEvict는 프록시를 거치지 않으므로 직접 제거)
      */
-    @CacheEvict(value = "advancedAnalysisSummary", key = "#roomId")
     private void evictAdvancedAnalysisCache(Long roomId) {
+        cacheManager.evict(roomId, "advancedAnalysisSummary");
         logger.debug("심화 분석 캐시 무효화: roomId={}", roomId);
     }
 
@@ -1,5 +1,6 @@
 package com.flowchat.controller;
 
+import com.flowchat.config.TwoLevelCacheManager;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -22,6 +23,9 @@ public class HealthController {
     @Autowired
     private DataSource dataSource;
 
+    @Autowired
+    private TwoLevelCacheManager cacheManager;
+
     /**
      * 기본 헬스체크
      */
@@ -55,6 +59,9 @@ public class HealthController {
         Map<String, Object> dbStatus = checkDatabaseHealth();
         health.put("database", dbStatus);
         
+        // 캐시별 크기/적중률
+        health.put("caches", cacheManager.getStats());
+        
         // 전체 상태 결정
         boolean isHealthy = "UP".equals(dbStatus.get("status"));
         health.put("status", isHealthy ? "UP" : "DOWN");
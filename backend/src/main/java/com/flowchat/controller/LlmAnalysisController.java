@@ -1,6 +1,9 @@
 package com.flowchat.controller;
 
+import com.flowchat.service.LlmAnalysisExecutor;
+import com.flowchat.service.LlmCallGuard;
 import com.flowchat.service.LlmAnalysisService;
+import com.flowchat.service.LlmResultCache;
 import com.flowchat.service.ChatAnalysisService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -32,6 +35,15 @@ public class LlmAnalysisController {
     @Autowired
     private ChatAnalysisService chatAnalysisService;
 
+    @Autowired
+    private LlmAnalysisExecutor llmAnalysisExecutor;
+
+    @Autowired
+    private LlmResultCache llmResultCache;
+
+    @Autowired
+    private LlmCallGuard llmCallGuard;
+
     /**
      * LLM 기반 메시지 종합 분석 (테스트용)
      */
@@ -232,6 +244,10 @@ public class LlmAnalysisController {
                 "대화 맥락 분석"
             ),
             "integration_status", "완료",
+            "analysis_executor", llmAnalysisExecutor.getStats(),
+            "analysis_batching", llmAnalysisService.getBatchStats(),
+            "result_cache", llmResultCache.getStats(),
+            "call_guard", llmCallGuard.getStats(),
             "next_steps", List.of(
                 "API 키 설정 필요",
                 "실제 LLM 서비스 연동 테스트",
@@ -81,7 +81,7 @@ public class MessageController {
                         username, roomId, sessionId);
             
             // WebSocket 세션 관리에만 추가 (멤버십 생성 안함)
-            webSocketEventHandler.addUserToRoom(roomId.toString(), sessionId, username);
+            webSocketEventHandler.addUserToRoom(roomId, sessionId, username);
             
             logger.info("채팅방 WebSocket 연결 완료: username={}, roomId={}", username, roomId);
             
@@ -162,7 +162,7 @@ public class MessageController {
             logger.debug("채팅방 WebSocket 연결 해제 요청: username={}, roomId={}", username, roomId);
             
             // WebSocket 세션 관리에서만 제거
-            webSocketEventHandler.removeUserFromRoom(roomId.toString(), username);
+            webSocketEventHandler.removeUserFromRoom(roomId, headerAccessor.getSessionId(), username);
             
             logger.info("채팅방 WebSocket 연결 해제 완료: username={}, roomId={}", username, roomId);
             
@@ -1,20 +1,24 @@
 package com.flowchat.controller;
 
 import com.flowchat.dto.ChatMessageResponse;
+import com.flowchat.dto.MessageCursor;
 import com.flowchat.entity.ChatMessage;
+import com.flowchat.entity.User;
 import com.flowchat.repository.ChatMessageRepository;
+import com.flowchat.service.MessageRollupService;
 import com.flowchat.service.MessageService;
+import com.flowchat.service.RecentMessageCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -26,53 +30,75 @@ public class MessageHistoryController {
 
     private static final Logger logger = LoggerFactory.getLogger(MessageHistoryController.class);
 
+    // 히스토리 한 페이지 최대 메시지 수
+    private static final int MAX_PAGE_SIZE = 200;
+
     @Autowired
     private MessageService messageService;
 
     @Autowired
     private ChatMessageRepository chatMessageRepository;
 
+    @Autowired
+    private MessageRollupService messageRollupService;
+
+    @Autowired
+    private RecentMessageCache recentMessageCache;
+
     /**
-     * 특정 채팅방의 메시지 히스토리 조회 (페이징)
+     * 특정 채팅방의 메시지 히스토리 조회 (커서 기반 키셋 페이지네이션)
+     * - before: 이 커서보다 오래된 메시지, after: 이 커서보다 최근 메시지, 둘 다 없으면 최신 메시지부터
+     * - 전체 개수를 세지 않으므로 얼마나 과거로 스크롤해도 페이지 비용이 일정
+     * - 응답 메시지는 항상 최신순, nextCursor로 같은 방향의 다음 페이지 조회
      */
     @GetMapping("/room/{roomId}")
     public ResponseEntity<Map<String, Object>> getRoomMessageHistory(
             @PathVariable Long roomId,
-            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) String before,
+            @RequestParam(required = false) String after,
             @RequestParam(defaultValue = "50") int size,
-            @RequestParam(defaultValue = "timestamp") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortDir,
             Authentication authentication) {
         
         try {
-            logger.info("메시지 히스토리 조회 요청: roomId={}, page={}, size={}, user={}", 
-                       roomId, page, size, authentication.getName());
-            
-            // 정렬 방향 설정
-            Sort.Direction direction = sortDir.equalsIgnoreCase("asc") ? 
-                                     Sort.Direction.ASC : Sort.Direction.DESC;
-            Sort sort = Sort.by(direction, sortBy);
-            
-            // 페이징 설정
-            Pageable pageable = PageRequest.of(page, size, sort);
-            
-            // 메시지 조회
-            Page<ChatMessage> messagePage = chatMessageRepository
-                .findByRoomIdAndIsDeletedFalseOrderByTimestampDesc(roomId, pageable);
+            logger.info("메시지 히스토리 조회 요청: roomId={}, before={}, after={}, size={}, user={}", 
+                       roomId, before, after, size, authentication.getName());
+            
+            int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+            // 다음 페이지 존재 여부 확인을 위해 한 건 더 조회
+            Pageable pageable = PageRequest.of(0, pageSize + 1);
+            
+            List<ChatMessage> rows;
+            if (after != null) {
+                rows = chatMessageRepository.findByRoomIdAndIsDeletedFalseAndIdGreaterThanOrderByIdAsc(
+                    roomId, MessageCursor.decode(after), pageable);
+            } else if (before != null) {
+                rows = chatMessageRepository.findByRoomIdAndIsDeletedFalseAndIdLessThanOrderByIdDesc(
+                    roomId, MessageCursor.decode(before), pageable);
+            } else {
+                rows = chatMessageRepository.findByRoomIdAndIsDeletedFalseOrderByIdDesc(roomId, pageable);
+            }
+            
+            boolean hasMore = rows.size() > pageSize;
+            List<ChatMessage> pageRows = new ArrayList<>(hasMore ? rows.subList(0, pageSize) : rows);
+            
+            // 다음 커서: before 방향은 가장 오래된 메시지, after 방향은 가장 최근 메시지
+            String nextCursor = pageRows.isEmpty() ? null
+                : MessageCursor.encode(pageRows.get(pageRows.size() - 1).getId());
+            if (after != null) {
+                Collections.reverse(pageRows);
+            }
             
             // ChatMessage -> ChatMessageResponse 변환
-            List<ChatMessageResponse> messages = messagePage.getContent().stream()
+            List<ChatMessageResponse> messages = pageRows.stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
             
             // 응답 데이터 구성
             Map<String, Object> response = new HashMap<>();
             response.put("messages", messages);
-            response.put("currentPage", messagePage.getNumber());
-            response.put("totalPages", messagePage.getTotalPages());
-            response.put("totalElements", messagePage.getTotalElements());
-            response.put("hasNext", messagePage.hasNext());
-            response.put("hasPrevious", messagePage.hasPrevious());
+            response.put("hasMore", hasMore);
+            response.put("nextCursor", hasMore || after != null ? nextCursor : null);
+            response.put("size", pageSize);
             response.put("roomId", roomId);
             
             logger.info("메시지 히스토리 조회 완료: roomId={}, 조회된 메시지 수={}", 
@@ -80,6 +106,14 @@ public class MessageHistoryController {
             
             return ResponseEntity.ok(response);
             
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", "메시지 히스토리 조회 실패");
+            errorResponse.put("message", e.getMessage());
+            errorResponse.put("roomId", roomId);
+            
+            return ResponseEntity.badRequest().body(errorResponse);
+            
         } catch (Exception e) {
             logger.error("메시지 히스토리 조회 실패: roomId={}, error={}", roomId, e.getMessage(), e);
             
@@ -94,6 +128,7 @@ public class MessageHistoryController {
 
     /**
      * 특정 채팅방의 최근 메시지 조회 (채팅방 입장 시 사용)
+     * 이전 메시지는 nextCursor를 before로 넘겨 히스토리 API에서 조회
      */
     @GetMapping("/room/{roomId}/recent")
     public ResponseEntity<Map<String, Object>> getRecentMessages(
@@ -105,29 +140,39 @@ public class MessageHistoryController {
             logger.info("최근 메시지 조회 요청: roomId={}, limit={}, user={}", 
                        roomId, limit, authentication.getName());
             
-            // 최근 메시지 조회 (limit 개수만큼)
-            Pageable pageable = PageRequest.of(0, limit, Sort.by(Sort.Direction.DESC, "timestamp"));
-            Page<ChatMessage> messagePage = chatMessageRepository
-                .findByRoomIdAndIsDeletedFalseOrderByTimestampDesc(roomId, pageable);
-            
-            // 시간순으로 정렬 (최신 메시지가 마지막에 오도록)
-            List<ChatMessageResponse> messages = messagePage.getContent().stream()
-                .map(this::convertToResponse)
-                .sorted((a, b) -> a.getTimestamp().compareTo(b.getTimestamp()))
-                .collect(Collectors.toList());
-            
-            // 전체 메시지 수 조회
-            long totalMessages = chatMessageRepository.countByRoomId(roomId);
+            int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+            List<ChatMessageResponse> messages;
+            boolean hasMore;
+            
+            if (pageSize <= recentMessageCache.getCapacity()) {
+                // 메모리 링 버퍼에서 응답 (오래된 메시지부터)
+                RecentMessageCache.RecentMessages recent = recentMessageCache.getRecent(roomId, pageSize);
+                messages = recent.getMessages();
+                hasMore = recent.hasMore();
+            } else {
+                // 최근 메시지 조회 (limit 개수만큼, 더 있는지 확인을 위해 한 건 더)
+                List<ChatMessage> rows = chatMessageRepository
+                    .findByRoomIdAndIsDeletedFalseOrderByIdDesc(roomId, PageRequest.of(0, pageSize + 1));
+                hasMore = rows.size() > pageSize;
+                List<ChatMessage> pageRows = hasMore ? rows.subList(0, pageSize) : rows;
+                
+                // 시간순으로 정렬 (최신 메시지가 마지막에 오도록)
+                messages = new ArrayList<>(pageRows.size());
+                for (int i = pageRows.size() - 1; i >= 0; i--) {
+                    messages.add(convertToResponse(pageRows.get(i)));
+                }
+            }
+            
+            String nextCursor = hasMore && !messages.isEmpty() ? MessageCursor.encode(messages.get(0).getId()) : null;
             
             Map<String, Object> response = new HashMap<>();
             response.put("messages", messages);
             response.put("messageCount", messages.size());
-            response.put("totalMessages", totalMessages);
             response.put("roomId", roomId);
-            response.put("hasMore", totalMessages > limit);
+            response.put("hasMore", hasMore);
+            response.put("nextCursor", nextCursor);
             
-            logger.info("최근 메시지 조회 완료: roomId={}, 조회된 메시지 수={}, 전체 메시지 수={}", 
-                       roomId, messages.size(), totalMessages);
+            logger.info("최근 메시지 조회 완료: roomId={}, 조회된 메시지 수={}", roomId, messages.size());
             
             return ResponseEntity.ok(response);
             
@@ -154,26 +199,17 @@ public class MessageHistoryController {
         try {
             logger.info("메시지 통계 조회 요청: roomId={}, user={}", roomId, authentication.getName());
             
+            // 시간 단위 집계 테이블 기준 메시지 수
+            MessageRollupService.MessageCounts counts = messageRollupService.countRoomMessages(roomId, null, null, false);
+            
             // 전체 메시지 수
-            long totalMessages = chatMessageRepository.countByRoomId(roomId);
+            long totalMessages = counts.getTotal();
             
             // 메시지 타입별 통계
-            List<ChatMessage> allMessages = chatMessageRepository
-                .findByRoomIdAndIsDeletedFalseOrderByTimestampDesc(roomId, Pageable.unpaged()).getContent();
-            
-            Map<String, Long> messageTypeCounts = allMessages.stream()
-                .collect(Collectors.groupingBy(
-                    msg -> msg.getMessageType().toString(),
-                    Collectors.counting()
-                ));
+            Map<String, Long> messageTypeCounts = counts.getByType();
             
             // 사용자별 메시지 수 (상위 10명)
-            Map<String, Long> userMessageCounts = allMessages.stream()
-                .filter(msg -> msg.getUsername() != null)
-                .collect(Collectors.groupingBy(
-                    ChatMessage::getUsername,
-                    Collectors.counting()
-                ))
+            Map<String, Long> userMessageCounts = messageRollupService.countByUserName(counts, User::getUsername, null)
                 .entrySet().stream()
                 .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
                 .limit(10)
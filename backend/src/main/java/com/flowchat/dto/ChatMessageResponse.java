@@ -1,11 +1,15 @@
 package com.flowchat.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 import com.flowchat.entity.ChatMessage;
 
 import java.time.LocalDateTime;
 
 public class ChatMessageResponse {
     
+    // 스노플레이크 ID는 2^53을 넘으므로 JavaScript에서 정밀도를 잃지 않도록 문자열로 직렬화
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long id;
     private Long roomId;
     private Long userId;
@@ -0,0 +1,32 @@
+package com.flowchat.dto;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+/**
+ * 채팅방 멤버 상태 변경 이벤트 (/topic/room/{roomId}/members)
+ */
+@JsonPropertyOrder({"type", "username", "timestamp"})
+public class MemberStatusEvent {
+    
+    private final String type;
+    private final String username;
+    private final long timestamp;
+    
+    public MemberStatusEvent(String type, String username, long timestamp) {
+        this.type = type;
+        this.username = username;
+        this.timestamp = timestamp;
+    }
+    
+    public String getType() {
+        return type;
+    }
+    
+    public String getUsername() {
+        return username;
+    }
+    
+    public long getTimestamp() {
+        return timestamp;
+    }
+}
@@ -0,0 +1,41 @@
+package com.flowchat.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 메시지 히스토리 커서 (키셋 페이지네이션)
+ * - 메시지 ID가 시간 순이므로 ID 하나로 위치를 표현
+ * - 클라이언트에는 내부 형식을 드러내지 않는 불투명 문자열로 전달
+ */
+public final class MessageCursor {
+
+    private static final String PREFIX = "m:";
+
+    private MessageCursor() {
+    }
+
+    public static String encode(Long messageId) {
+        if (messageId == null) {
+            return null;
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString((PREFIX + messageId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 커서 해석 - 형식이 잘못된 경우 IllegalArgumentException
+     */
+    public static long decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!value.startsWith(PREFIX)) {
+                throw new IllegalArgumentException("잘못된 커서입니다: " + cursor);
+            }
+            return Long.parseLong(value.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            // Base64/숫자 형식 오류 포함 (NumberFormatException도 IllegalArgumentException)
+            throw new IllegalArgumentException("잘못된 커서입니다: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.flowchat.dto;
+
+import com.flowchat.entity.ChatMessage;
+
+import java.time.LocalDateTime;
+
+/**
+ * 분석 스캔용 메시지 프로젝션 (필요한 컬럼만 조회, 영속성 컨텍스트에 올라가지 않음)
+ */
+public class MessageScanRow {
+
+    private final Long id;
+    private final Long roomId;
+    private final Long userId;
+    private final String username;
+    private final String name;
+    private final String content;
+    private final LocalDateTime timestamp;
+    private final ChatMessage.MessageType messageType;
+
+    public MessageScanRow(Long id, Long roomId, Long userId, String username, String name,
+                          String content, LocalDateTime timestamp, ChatMessage.MessageType messageType) {
+        this.id = id;
+        this.roomId = roomId;
+        this.userId = userId;
+        this.username = username;
+        this.name = name;
+        this.content = content;
+        this.timestamp = timestamp;
+        this.messageType = messageType;
+    }
+
+    public Long getId() { return id; }
+    public Long getRoomId() { return roomId; }
+    public Long getUserId() { return userId; }
+    public String getUsername() { return username; }
+    public String getName() { return name; }
+    public String getContent() { return content; }
+    public LocalDateTime getTimestamp() { return timestamp; }
+    public ChatMessage.MessageType getMessageType() { return messageType; }
+
+    /**
+     * 표시 이름 (nickname 우선, 없으면 username)
+     */
+    public String getDisplayName() {
+        return name != null ? name : username;
+    }
+}
@@ -0,0 +1,38 @@
+package com.flowchat.dto;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.time.LocalDateTime;
+
+/**
+ * 채팅방 정보 이벤트 (/topic/room/{roomId}/info)
+ */
+@JsonPropertyOrder({"type", "roomId", "currentParticipants", "timestamp"})
+public class RoomInfoEvent {
+    
+    private final Long roomId;
+    private final int currentParticipants;
+    private final LocalDateTime timestamp;
+    
+    public RoomInfoEvent(Long roomId, int currentParticipants, LocalDateTime timestamp) {
+        this.roomId = roomId;
+        this.currentParticipants = currentParticipants;
+        this.timestamp = timestamp;
+    }
+    
+    public String getType() {
+        return "ROOM_INFO";
+    }
+    
+    public Long getRoomId() {
+        return roomId;
+    }
+    
+    public int getCurrentParticipants() {
+        return currentParticipants;
+    }
+    
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+}
@@ -0,0 +1,40 @@
+package com.flowchat.dto;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 채팅방의 현재 입력 중인 사용자 목록 이벤트 (/topic/room/{roomId}/typing)
+ * 변경이 있을 때만 채팅방당 주기별로 최대 한 번 전송
+ */
+@JsonPropertyOrder({"type", "roomId", "usernames", "timestamp"})
+public class TypingUsersEvent {
+    
+    private final Long roomId;
+    private final List<String> usernames;
+    private final LocalDateTime timestamp;
+    
+    public TypingUsersEvent(Long roomId, List<String> usernames, LocalDateTime timestamp) {
+        this.roomId = roomId;
+        this.usernames = usernames;
+        this.timestamp = timestamp;
+    }
+    
+    public String getType() {
+        return "TYPING_USERS";
+    }
+    
+    public Long getRoomId() {
+        return roomId;
+    }
+    
+    public List<String> getUsernames() {
+        return usernames;
+    }
+    
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+}
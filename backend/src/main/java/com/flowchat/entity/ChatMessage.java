@@ -21,7 +21,7 @@ import java.util.Objects;
 public class ChatMessage {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
     
     @Column(name = "room_id", nullable = false)
@@ -91,6 +91,11 @@ public class ChatMessage {
         return id;
     }
     
+    // write-behind 저장 시 ID를 미리 할당 (저널/일괄 INSERT에서 사용)
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
     public Long getRoomId() {
         return roomId;
     }
@@ -135,6 +140,11 @@ public class ChatMessage {
         return timestamp;
     }
     
+    // write-behind 저장 시 JPA 감사(@CreatedDate)를 거치지 않으므로 직접 설정
+    public void setTimestamp(LocalDateTime timestamp) {
+        this.timestamp = timestamp;
+    }
+    
     public MessageType getMessageType() {
         return messageType;
     }
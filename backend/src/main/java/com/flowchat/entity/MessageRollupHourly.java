@@ -0,0 +1,107 @@
+package com.flowchat.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * 메시지 시간 단위 집계 (채팅방 × 정각 시간 × 사용자 × 메시지 타입)
+ * - 압축 작업이 chat_messages를 ID 순으로 읽어 누적
+ * - 통계 조회는 메시지 수가 아닌 버킷 수에 비례
+ */
+@Entity
+@Table(name = "message_rollup_hourly",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_rollup_room_hour_user_type",
+                          columnNames = {"room_id", "hour_bucket", "user_id", "message_type"})
+    },
+    indexes = {
+        @Index(name = "idx_rollup_hour_bucket", columnList = "hour_bucket"),
+        @Index(name = "idx_rollup_user_hour", columnList = "user_id, hour_bucket")
+    })
+public class MessageRollupHourly {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "room_id", nullable = false)
+    private Long roomId;
+
+    // 정각으로 내림한 시각
+    @Column(name = "hour_bucket", nullable = false)
+    private LocalDateTime hourBucket;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "message_type", nullable = false)
+    private ChatMessage.MessageType messageType;
+
+    @Column(name = "message_count", nullable = false)
+    private Long messageCount = 0L;
+
+    @Column(name = "char_count", nullable = false)
+    private Long charCount = 0L;
+
+    // 기본 생성자
+    protected MessageRollupHourly() {}
+
+    // 생성자
+    public MessageRollupHourly(Long roomId, LocalDateTime hourBucket, Long userId, ChatMessage.MessageType messageType) {
+        this.roomId = roomId;
+        this.hourBucket = hourBucket;
+        this.userId = userId;
+        this.messageType = messageType;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public Long getRoomId() {
+        return roomId;
+    }
+
+    public LocalDateTime getHourBucket() {
+        return hourBucket;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public ChatMessage.MessageType getMessageType() {
+        return messageType;
+    }
+
+    public Long getMessageCount() {
+        return messageCount;
+    }
+
+    public Long getCharCount() {
+        return charCount;
+    }
+
+    // 비즈니스 메서드
+    public void add(long messages, long chars) {
+        this.messageCount += messages;
+        this.charCount += chars;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        MessageRollupHourly that = (MessageRollupHourly) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
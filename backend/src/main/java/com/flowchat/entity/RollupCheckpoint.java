@@ -0,0 +1,64 @@
+package com.flowchat.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * 집계 작업 진행 위치 (이 ID 이하의 메시지는 집계 완료)
+ */
+@Entity
+@Table(name = "rollup_checkpoints")
+public class RollupCheckpoint {
+
+    @Id
+    @Column(length = 100)
+    private String name;
+
+    @Column(name = "last_message_id", nullable = false)
+    private Long lastMessageId = 0L;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // 기본 생성자
+    protected RollupCheckpoint() {}
+
+    // 생성자
+    public RollupCheckpoint(String name) {
+        this.name = name;
+    }
+
+    // Getters
+    public String getName() {
+        return name;
+    }
+
+    public Long getLastMessageId() {
+        return lastMessageId;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    // 비즈니스 메서드
+    public void advanceTo(Long messageId) {
+        this.lastMessageId = messageId;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        RollupCheckpoint that = (RollupCheckpoint) o;
+        return Objects.equals(name, that.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name);
+    }
+}
@@ -0,0 +1,18 @@
+package com.flowchat.entity;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 시간 순 64비트 ID(Snowflake) 할당
+ * IDENTITY와 달리 INSERT 전에 ID가 정해지므로 hibernate.jdbc.batch_size 일괄 INSERT가 가능
+ */
+@IdGeneratorType(SnowflakeIdentifierGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface SnowflakeId {
+}
@@ -0,0 +1,40 @@
+package com.flowchat.entity;
+
+import com.flowchat.service.SnowflakeIdGenerator;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+/**
+ * @SnowflakeId 엔티티의 Hibernate ID 생성기
+ * - 같은 노드에서 ID가 겹치지 않도록 스프링 빈(IdGeneratorConfig)과 같은 생성기 인스턴스를 사용
+ */
+public class SnowflakeIdentifierGenerator implements IdentifierGenerator {
+
+    private static volatile SnowflakeIdGenerator idGenerator;
+
+    /**
+     * 애플리케이션 공용 생성기 등록 (IdGeneratorConfig에서 호출)
+     */
+    public static void use(SnowflakeIdGenerator generator) {
+        idGenerator = generator;
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        return generator().nextId();
+    }
+
+    private static SnowflakeIdGenerator generator() {
+        SnowflakeIdGenerator generator = idGenerator;
+        if (generator == null) {
+            synchronized (SnowflakeIdentifierGenerator.class) {
+                if (idGenerator == null) {
+                    // 스프링 설정 없이 사용되는 경우 (노드 ID 0)
+                    idGenerator = new SnowflakeIdGenerator(0);
+                }
+                generator = idGenerator;
+            }
+        }
+        return generator;
+    }
+}
@@ -0,0 +1,19 @@
+package com.flowchat.event;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * 채팅방 비활성화 (삭제)
+ */
+public class ChatRoomDeactivatedEvent extends ApplicationEvent {
+    private final Long roomId;
+
+    public ChatRoomDeactivatedEvent(Object source, Long roomId) {
+        super(source);
+        this.roomId = roomId;
+    }
+
+    public Long getRoomId() {
+        return roomId;
+    }
+}
@@ -0,0 +1,21 @@
+package com.flowchat.event;
+
+import org.springframework.context.ApplicationEvent;
+
+import java.util.Set;
+
+/**
+ * 클러스터 서버 구성 변경 (서버 합류/이탈)
+ */
+public class ClusterMembershipChangedEvent extends ApplicationEvent {
+    private final Set<Long> nodeIds;
+
+    public ClusterMembershipChangedEvent(Object source, Set<Long> nodeIds) {
+        super(source);
+        this.nodeIds = nodeIds;
+    }
+
+    public Set<Long> getNodeIds() {
+        return nodeIds;
+    }
+}
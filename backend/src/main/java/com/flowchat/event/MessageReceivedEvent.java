@@ -7,12 +7,18 @@ public class MessageReceivedEvent extends ApplicationEvent {
     private final ChatMessage message;
     private final Long roomId;
     private final String username;
+    private final boolean forwarded;   // 다른 서버에서 담당 서버로 전달된 이벤트
 
     public MessageReceivedEvent(Object source, ChatMessage message, Long roomId, String username) {
+        this(source, message, roomId, username, false);
+    }
+
+    public MessageReceivedEvent(Object source, ChatMessage message, Long roomId, String username, boolean forwarded) {
         super(source);
         this.message = message;
         this.roomId = roomId;
         this.username = username;
+        this.forwarded = forwarded;
     }
 
     public ChatMessage getMessage() {
@@ -26,4 +32,8 @@ public class MessageReceivedEvent extends ApplicationEvent {
     public String getUsername() {
         return username;
     }
+
+    public boolean isForwarded() {
+        return forwarded;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.flowchat.event;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * 채팅방 멤버십 변경 (참여/퇴장)
+ */
+public class RoomMembershipChangedEvent extends ApplicationEvent {
+    private final Long roomId;
+    private final Long userId;
+
+    public RoomMembershipChangedEvent(Object source, Long roomId, Long userId) {
+        super(source);
+        this.roomId = roomId;
+        this.userId = userId;
+    }
+
+    public Long getRoomId() {
+        return roomId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+}
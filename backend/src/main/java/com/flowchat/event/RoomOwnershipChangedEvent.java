@@ -0,0 +1,13 @@
+package com.flowchat.event;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * 채팅방 담당 서버 배치 변경 - 받은 서버는 담당하지 않게 된 채팅방 상태를 해제하고 새로 맡은 채팅방을 구축
+ */
+public class RoomOwnershipChangedEvent extends ApplicationEvent {
+
+    public RoomOwnershipChangedEvent(Object source) {
+        super(source);
+    }
+}
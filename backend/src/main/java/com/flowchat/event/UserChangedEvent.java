@@ -0,0 +1,19 @@
+package com.flowchat.event;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * 사용자 정보 변경 (프로필 수정, 활성화/비활성화)
+ */
+public class UserChangedEvent extends ApplicationEvent {
+    private final Long userId;
+
+    public UserChangedEvent(Object source, Long userId) {
+        super(source);
+        this.userId = userId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+}
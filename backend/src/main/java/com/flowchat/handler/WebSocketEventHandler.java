@@ -4,13 +4,15 @@ import com.flowchat.config.JwtConfig;
 import com.flowchat.service.UserService;
 import com.flowchat.service.ChatRoomService;
 import com.flowchat.service.ChatRoomMemberService;
-import com.flowchat.entity.User;
+import com.flowchat.service.PresenceRegistry;
+import com.flowchat.service.RoomAuthorizationCache;
+import com.flowchat.service.RoomBroadcaster;
+import com.flowchat.dto.MemberStatusEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.event.EventListener;
 import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -20,8 +22,7 @@ import org.springframework.web.socket.messaging.SessionConnectedEvent;
 import org.springframework.web.socket.messaging.SessionDisconnectEvent;
 
 import java.security.Principal;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.util.List;
 
 @Component
 public class WebSocketEventHandler {
@@ -41,16 +42,14 @@ public class WebSocketEventHandler {
     private ChatRoomMemberService chatRoomMemberService;
     
     @Autowired
-    private SimpMessagingTemplate messagingTemplate;
+    private RoomBroadcaster roomBroadcaster;
 
-    // 세션 ID와 사용자 정보 매핑
-    private final ConcurrentMap<String, String> sessionUserMap = new ConcurrentHashMap<>();
-    
-    // 채팅방별 사용자 세션 관리
-    private final ConcurrentMap<String, ConcurrentMap<String, String>> roomSessionMap = new ConcurrentHashMap<>();
-    
-    // 사용자별 참여 중인 채팅방 관리 (중복 참여 방지)
-    private final ConcurrentMap<String, ConcurrentMap<String, Boolean>> userRoomMap = new ConcurrentHashMap<>();
+    // 세션/채팅방 접속 상태 (온라인 상태 DB 반영은 PresenceRegistry가 일괄 처리)
+    @Autowired
+    private PresenceRegistry presenceRegistry;
+
+    @Autowired
+    private RoomAuthorizationCache roomAuthorizationCache;
 
     /**
      * WebSocket 연결 시작 시 호출
@@ -77,7 +76,7 @@ public class WebSocketEventHandler {
                         new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                     
                     headerAccessor.setUser(authentication);
-                    sessionUserMap.put(sessionId, username);
+                    presenceRegistry.connect(sessionId, username);
                     
                     logger.info("WebSocket 인증 성공: sessionId={}, username={}", sessionId, username);
                 } else {
@@ -98,7 +97,7 @@ public class WebSocketEventHandler {
     public void handleWebSocketConnectedListener(SessionConnectedEvent event) {
         StompHeaderAccessor headerAccessor = StompHeaderAccessor.wrap(event.getMessage());
         String sessionId = headerAccessor.getSessionId();
-        String username = sessionUserMap.get(sessionId);
+        String username = presenceRegistry.getUsername(sessionId);
         
         logger.info("WebSocket 연결 완료: sessionId={}, username={}", sessionId, username);
     }
@@ -110,118 +109,45 @@ public class WebSocketEventHandler {
     public void handleWebSocketDisconnectListener(SessionDisconnectEvent event) {
         StompHeaderAccessor headerAccessor = StompHeaderAccessor.wrap(event.getMessage());
         String sessionId = headerAccessor.getSessionId();
-        String username = sessionUserMap.get(sessionId);
+        String username = presenceRegistry.getUsername(sessionId);
         
         if (username != null) {
-            // 사용자가 접속 중인 모든 채팅방에서 오프라인 처리
-            try {
-                User user = userService.getUserByUsername(username);
-                if (user != null) {
-                    // 모든 채팅방에서 오프라인 상태로 변경
-                    chatRoomMemberService.updateUserOnlineStatus(user.getId(), false);
-                }
-            } catch (Exception e) {
-                logger.error("사용자 오프라인 상태 업데이트 중 오류: username={}, error={}", username, e.getMessage());
-            }
-            
-            // 세션 관리에서 채팅방별 제거
-            ConcurrentMap<String, Boolean> userRooms = userRoomMap.get(username);
-            if (userRooms != null) {
-                for (String roomId : userRooms.keySet()) {
-                    removeUserFromRoom(roomId, username);
-                }
+            // 이 세션이 마지막 세션이었던 채팅방만 오프라인 처리 (세션이 접속한 채팅방만 확인)
+            List<Long> offlineRooms = presenceRegistry.disconnect(sessionId);
+            for (Long roomId : offlineRooms) {
+                notifyIfMember(roomId, username, "USER_OFFLINE");
+                roomAuthorizationCache.evict(roomId, username);
             }
             
-            // 세션 정보 제거
-            sessionUserMap.remove(sessionId);
-            
-            // 모든 채팅방에서 해당 세션 제거
-            roomSessionMap.values().forEach(roomSessions -> 
-                roomSessions.entrySet().removeIf(entry -> entry.getValue().equals(sessionId))
-            );
-            
-            logger.info("WebSocket 연결 해제: sessionId={}, username={}", sessionId, username);
+            logger.info("WebSocket 연결 해제: sessionId={}, username={}, offlineRooms={}", sessionId, username, offlineRooms.size());
         }
     }
 
     /**
      * 채팅방에 WebSocket 세션 추가 (멤버십 생성 안함)
      */
-    public void addUserToRoom(String roomId, String sessionId, String username) {
-        // WebSocket 세션 관리만 수행
-        roomSessionMap.computeIfAbsent(roomId, k -> new ConcurrentHashMap<>())
-                     .put(username, sessionId);
+    public void addUserToRoom(Long roomId, String sessionId, String username) {
+        boolean isFirstConnection = presenceRegistry.join(roomId, sessionId, username);
         
-        // 사용자별 접속 중인 채팅방 기록
-        boolean isFirstConnection = userRoomMap.computeIfAbsent(username, k -> new ConcurrentHashMap<>())
-                                               .putIfAbsent(roomId, true) == null;
+        // 메시지 전송 권한 미리 적재
+        roomAuthorizationCache.warm(roomId, username);
         
-        try {
-            // 사용자 ID 조회
-            User user = userService.getUserByUsername(username);
-            if (user != null) {
-                // 멤버인 경우에만 온라인 상태 업데이트
-                boolean isMember = chatRoomMemberService.isMemberOfRoom(Long.parseLong(roomId), user.getId());
-                if (isMember) {
-                    chatRoomMemberService.updateUserOnlineStatusInRoom(Long.parseLong(roomId), user.getId(), true);
-                    logger.info("멤버 사용자 온라인 상태 업데이트: roomId={}, username={}", roomId, username);
-                    
-                    // 채팅방 멤버 목록 업데이트 알림
-                    notifyMemberStatusChange(roomId, "USER_ONLINE", username);
-                }
-                
-                if (isFirstConnection) {
-                    logger.info("사용자가 채팅방에 WebSocket 연결: roomId={}, username={}, isMember={}", roomId, username, isMember);
-                } else {
-                    logger.debug("사용자 추가 WebSocket 세션: roomId={}, username={}, sessionId={}", roomId, username, sessionId);
-                }
-            }
-        } catch (Exception e) {
-            logger.error("채팅방 WebSocket 연결 처리 중 오류: roomId={}, username={}, error={}", roomId, username, e.getMessage());
+        if (isFirstConnection) {
+            notifyIfMember(roomId, username, "USER_ONLINE");
+            logger.info("사용자가 채팅방에 WebSocket 연결: roomId={}, username={}", roomId, username);
+        } else {
+            logger.debug("사용자 추가 WebSocket 세션: roomId={}, username={}, sessionId={}", roomId, username, sessionId);
         }
     }
 
     /**
-     * 채팅방에서 WebSocket 세션 제거
+     * 채팅방에서 WebSocket 세션 제거 (같은 사용자의 다른 세션은 유지)
      */
-    public void removeUserFromRoom(String roomId, String username) {
-        ConcurrentMap<String, String> roomSessions = roomSessionMap.get(roomId);
-        if (roomSessions != null) {
-            roomSessions.remove(username);
-            
-            // 빈 채팅방 정리
-            if (roomSessions.isEmpty()) {
-                roomSessionMap.remove(roomId);
-            }
-        }
-        
-        // 사용자가 해당 채팅방에서 WebSocket 연결 해제
-        ConcurrentMap<String, Boolean> userRooms = userRoomMap.get(username);
-        if (userRooms != null && userRooms.remove(roomId) != null) {
-            try {
-                // 사용자 ID 조회
-                User user = userService.getUserByUsername(username);
-                if (user != null) {
-                    // 멤버인 경우에만 오프라인 상태 업데이트
-                    boolean isMember = chatRoomMemberService.isMemberOfRoom(Long.parseLong(roomId), user.getId());
-                    if (isMember) {
-                        chatRoomMemberService.updateUserOnlineStatusInRoom(Long.parseLong(roomId), user.getId(), false);
-                        logger.info("멤버 사용자 오프라인 상태 업데이트: roomId={}, username={}", roomId, username);
-                        
-                        // 채팅방 멤버 목록 업데이트 알림
-                        notifyMemberStatusChange(roomId, "USER_OFFLINE", username);
-                    }
-                    
-                    logger.info("사용자가 채팅방에서 WebSocket 연겴 해제: roomId={}, username={}, isMember={}", roomId, username, isMember);
-                }
-            } catch (Exception e) {
-                logger.error("채팅방 WebSocket 연겴 해제 처리 중 오류: roomId={}, username={}, error={}", roomId, username, e.getMessage());
-            }
-            
-            // 빈 사용자 룸 맵 정리
-            if (userRooms.isEmpty()) {
-                userRoomMap.remove(username);
-            }
+    public void removeUserFromRoom(Long roomId, String sessionId, String username) {
+        if (presenceRegistry.leave(roomId, sessionId, username)) {
+            notifyIfMember(roomId, username, "USER_OFFLINE");
+            roomAuthorizationCache.evict(roomId, username);
+            logger.info("사용자가 채팅방에서 WebSocket 연결 해제: roomId={}, username={}", roomId, username);
         }
     }
 
@@ -229,8 +155,7 @@ public class WebSocketEventHandler {
      * 채팅방의 실시간 접속 사용자 수 조회 (WebSocket 세션 기준)
      */
     public int getRoomSessionCount(String roomId) {
-        ConcurrentMap<String, String> roomSessions = roomSessionMap.get(roomId);
-        return roomSessions != null ? roomSessions.size() : 0;
+        return presenceRegistry.getRoomUserCount(Long.parseLong(roomId));
     }
     
     /**
@@ -261,7 +186,7 @@ public class WebSocketEventHandler {
      * 세션 ID로 사용자명 조회
      */
     public String getUsernameBySessionId(String sessionId) {
-        return sessionUserMap.get(sessionId);
+        return presenceRegistry.getUsername(sessionId);
     }
 
     /**
@@ -279,23 +204,29 @@ public class WebSocketEventHandler {
         return token;
     }
     
+    /**
+     * 멤버인 경우에만 채팅방 멤버 목록에 상태 변경 알림
+     */
+    private void notifyIfMember(Long roomId, String username, String eventType) {
+        try {
+            if (roomAuthorizationCache.isMember(roomId, username)) {
+                notifyMemberStatusChange(roomId.toString(), eventType, username);
+            }
+        } catch (Exception e) {
+            logger.error("멤버 상태 변경 처리 중 오류: roomId={}, username={}, error={}", roomId, username, e.getMessage());
+        }
+    }
+
     /**
      * 채팅방 멤버 상태 변경 알림
      */
     private void notifyMemberStatusChange(String roomId, String eventType, String username) {
         try {
             // 멤버 상태 변경 알림 객체 생성
-            final String finalEventType = eventType;
-            final String finalUsername = username;
-            
-            Object memberUpdate = new Object() {
-                public final String type = finalEventType;
-                public final String username = finalUsername;
-                public final long timestamp = System.currentTimeMillis();
-            };
+            MemberStatusEvent memberUpdate = new MemberStatusEvent(eventType, username, System.currentTimeMillis());
             
             // 채팅방 멤버들에게 상태 변경 알림
-            messagingTemplate.convertAndSend("/topic/room/" + roomId + "/members", memberUpdate);
+            roomBroadcaster.broadcast("/topic/room/" + roomId + "/members", memberUpdate);
             
             logger.debug("멤버 상태 변경 알림 전송: roomId={}, eventType={}, username={}", roomId, eventType, username);
         } catch (Exception e) {
@@ -1,7 +1,7 @@
 package com.flowchat.repository;
 
+import com.flowchat.dto.MessageScanRow;
 import com.flowchat.entity.ChatMessage;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -15,9 +15,20 @@ import java.util.List;
 public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long> {
     
     /**
-     * 특정 채팅방의 메시지 조회 (페이징)
+     * 특정 채팅방의 최신 메시지부터 조회 (키셋 페이지 첫 페이지, COUNT 없음)
+     * 메시지 ID가 시간 순이므로 ID 기준으로 정렬
      */
-    Page<ChatMessage> findByRoomIdAndIsDeletedFalseOrderByTimestampDesc(Long roomId, Pageable pageable);
+    List<ChatMessage> findByRoomIdAndIsDeletedFalseOrderByIdDesc(Long roomId, Pageable pageable);
+    
+    /**
+     * 커서 이전(더 오래된) 메시지 조회
+     */
+    List<ChatMessage> findByRoomIdAndIsDeletedFalseAndIdLessThanOrderByIdDesc(Long roomId, Long beforeId, Pageable pageable);
+    
+    /**
+     * 커서 이후(더 최근) 메시지 조회
+     */
+    List<ChatMessage> findByRoomIdAndIsDeletedFalseAndIdGreaterThanOrderByIdAsc(Long roomId, Long afterId, Pageable pageable);
     
     /**
      * 특정 채팅방의 최근 메시지 조회
@@ -65,25 +76,6 @@ public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long>
                                          @Param("startTime") LocalDateTime startTime,
                                          @Param("endTime") LocalDateTime endTime);
     
-    /**
-     * 시간대별 메시지 수 통계
-     */
-    @Query("SELECT FUNCTION('HOUR', cm.timestamp) as hour, COUNT(cm) as count FROM ChatMessage cm " +
-           "WHERE cm.roomId = :roomId AND cm.isDeleted = false AND " +
-           "FUNCTION('DATE', cm.timestamp) = CURRENT_DATE GROUP BY FUNCTION('HOUR', cm.timestamp) ORDER BY hour")
-    List<Object[]> getHourlyMessageStats(@Param("roomId") Long roomId);
-    
-    /**
-     * 사용자별 메시지 통계
-     */
-    @Query("SELECT cm.userId, COUNT(cm) as count FROM ChatMessage cm " +
-           "WHERE cm.roomId = :roomId AND cm.isDeleted = false AND " +
-           "cm.timestamp BETWEEN :startTime AND :endTime " +
-           "GROUP BY cm.userId ORDER BY count DESC")
-    List<Object[]> getUserMessageStats(@Param("roomId") Long roomId,
-                                      @Param("startTime") LocalDateTime startTime,
-                                      @Param("endTime") LocalDateTime endTime);
-    
     /**
      * 키워드가 포함된 메시지 검색
      */
@@ -105,17 +97,6 @@ public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long>
            "ORDER BY cm.timestamp DESC", nativeQuery = true)
     ChatMessage findLatestMessageByRoomId(@Param("roomId") Long roomId);
     
-    /**
-     * 특정 채팅방의 일일 메시지 수 통계
-     */
-    @Query("SELECT FUNCTION('DATE', cm.timestamp) as date, COUNT(cm) as count FROM ChatMessage cm " +
-           "WHERE cm.roomId = :roomId AND cm.isDeleted = false AND " +
-           "cm.timestamp BETWEEN :startDate AND :endDate " +
-           "GROUP BY FUNCTION('DATE', cm.timestamp) ORDER BY date DESC")
-    List<Object[]> getDailyMessageStats(@Param("roomId") Long roomId,
-                                       @Param("startDate") LocalDateTime startDate,
-                                       @Param("endDate") LocalDateTime endDate);
-    
     /**
      * 활성 사용자 목록 (최근 메시지를 보낸 사용자)
      */
@@ -159,6 +140,11 @@ public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long>
      */
     List<ChatMessage> findByRoomIdAndTimestampAfterAndIsDeletedFalse(Long roomId, LocalDateTime timestamp);
 
+    /**
+     * 특정 채팅방의 (startTime, endTime) 구간 메시지 조회 (양 끝 미포함, 기간 통계 경계 보충용)
+     */
+    List<ChatMessage> findByRoomIdAndIsDeletedFalseAndTimestampAfterAndTimestampBefore(Long roomId, LocalDateTime startTime, LocalDateTime endTime);
+
     /**
      * 특정 채팅방의 모든 메시지 조회 (분석용)
      */
@@ -169,4 +155,93 @@ public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long>
      */
     List<ChatMessage> findByRoomIdAndMessageTypeAndTimestampAfterAndIsDeletedFalseOrderByTimestampDesc(
         Long roomId, ChatMessage.MessageType messageType, LocalDateTime timestamp);
-}
\ No newline at end of file
+
+    /**
+     * 채팅방 메시지 키셋 스캔 (ID 오름차순, afterId 이후 한 페이지)
+     */
+    @Query("SELECT new com.flowchat.dto.MessageScanRow(cm.id, cm.roomId, cm.userId, cm.username, cm.name, " +
+           "cm.content, cm.timestamp, cm.messageType) FROM ChatMessage cm " +
+           "WHERE cm.roomId = :roomId AND cm.isDeleted = false AND cm.id > :afterId ORDER BY cm.id ASC")
+    List<MessageScanRow> scanByRoomIdAfterId(@Param("roomId") Long roomId,
+                                             @Param("afterId") Long afterId,
+                                             Pageable pageable);
+
+    /**
+     * 채팅방의 특정 시각 이후 메시지 키셋 스캔 ((timestamp, id) 오름차순, 마지막 위치 이후 한 페이지)
+     */
+    @Query("SELECT new com.flowchat.dto.MessageScanRow(cm.id, cm.roomId, cm.userId, cm.username, cm.name, " +
+           "cm.content, cm.timestamp, cm.messageType) FROM ChatMessage cm " +
+           "WHERE cm.roomId = :roomId AND cm.isDeleted = false AND cm.timestamp > :since AND " +
+           "(cm.timestamp > :lastTimestamp OR (cm.timestamp = :lastTimestamp AND cm.id > :lastId)) " +
+           "ORDER BY cm.timestamp ASC, cm.id ASC")
+    List<MessageScanRow> scanByRoomIdAndTimestampAfter(@Param("roomId") Long roomId,
+                                                       @Param("since") LocalDateTime since,
+                                                       @Param("lastTimestamp") LocalDateTime lastTimestamp,
+                                                       @Param("lastId") Long lastId,
+                                                       Pageable pageable);
+
+    /**
+     * 기간 내 전체 메시지 키셋 스캔 ((timestamp, id) 오름차순, 마지막 위치 이후 한 페이지)
+     */
+    @Query("SELECT new com.flowchat.dto.MessageScanRow(cm.id, cm.roomId, cm.userId, cm.username, cm.name, " +
+           "cm.content, cm.timestamp, cm.messageType) FROM ChatMessage cm " +
+           "WHERE cm.isDeleted = false AND cm.timestamp BETWEEN :startTime AND :endTime AND " +
+           "(cm.timestamp > :lastTimestamp OR (cm.timestamp = :lastTimestamp AND cm.id > :lastId)) " +
+           "ORDER BY cm.timestamp ASC, cm.id ASC")
+    List<MessageScanRow> scanByTimestampBetween(@Param("startTime") LocalDateTime startTime,
+                                                @Param("endTime") LocalDateTime endTime,
+                                                @Param("lastTimestamp") LocalDateTime lastTimestamp,
+                                                @Param("lastId") Long lastId,
+                                                Pageable pageable);
+
+    /**
+     * 전체 메시지 키셋 스캔 (ID 오름차순, afterId 이후 한 페이지)
+     */
+    @Query("SELECT new com.flowchat.dto.MessageScanRow(cm.id, cm.roomId, cm.userId, cm.username, cm.name, " +
+           "cm.content, cm.timestamp, cm.messageType) FROM ChatMessage cm " +
+           "WHERE cm.isDeleted = false AND cm.id > :afterId ORDER BY cm.id ASC")
+    List<MessageScanRow> scanAfterId(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * afterId 이후 메시지의 채팅방 × 사용자 × 타입 × 날짜 × 시간별 메시지 수 ([startTime, endTime), roomId/userId는 null이면 제한 없음)
+     */
+    @Query("SELECT cm.roomId, cm.userId, cm.messageType, FUNCTION('DATE', cm.timestamp), FUNCTION('HOUR', cm.timestamp), COUNT(cm) " +
+           "FROM ChatMessage cm WHERE cm.isDeleted = false AND cm.id > :afterId AND " +
+           "cm.timestamp >= :startTime AND cm.timestamp < :endTime AND " +
+           "(:roomId IS NULL OR cm.roomId = :roomId) AND (:userId IS NULL OR cm.userId = :userId) " +
+           "GROUP BY cm.roomId, cm.userId, cm.messageType, FUNCTION('DATE', cm.timestamp), FUNCTION('HOUR', cm.timestamp)")
+    List<Object[]> countAfterIdByRoomUserTypeAndHour(@Param("afterId") Long afterId,
+                                                     @Param("startTime") LocalDateTime startTime,
+                                                     @Param("endTime") LocalDateTime endTime,
+                                                     @Param("roomId") Long roomId,
+                                                     @Param("userId") Long userId);
+
+    /**
+     * 채팅방의 기간 내 메시지 키셋 스캔 ((timestamp, id) 오름차순, 양 끝 포함)
+     */
+    @Query("SELECT new com.flowchat.dto.MessageScanRow(cm.id, cm.roomId, cm.userId, cm.username, cm.name, " +
+           "cm.content, cm.timestamp, cm.messageType) FROM ChatMessage cm " +
+           "WHERE cm.roomId = :roomId AND cm.isDeleted = false AND cm.timestamp BETWEEN :startTime AND :endTime AND " +
+           "(cm.timestamp > :lastTimestamp OR (cm.timestamp = :lastTimestamp AND cm.id > :lastId)) " +
+           "ORDER BY cm.timestamp ASC, cm.id ASC")
+    List<MessageScanRow> scanByRoomIdAndTimestampBetween(@Param("roomId") Long roomId,
+                                                         @Param("startTime") LocalDateTime startTime,
+                                                         @Param("endTime") LocalDateTime endTime,
+                                                         @Param("lastTimestamp") LocalDateTime lastTimestamp,
+                                                         @Param("lastId") Long lastId,
+                                                         Pageable pageable);
+
+    /**
+     * 메시지가 있는 채팅방 ID 조회
+     */
+    @Query("SELECT DISTINCT cm.roomId FROM ChatMessage cm WHERE cm.isDeleted = false")
+    List<Long> findDistinctRoomIds();
+
+    /**
+     * 특정 기간에 메시지가 있는 채팅방 ID 조회
+     */
+    @Query("SELECT DISTINCT cm.roomId FROM ChatMessage cm WHERE cm.isDeleted = false AND " +
+           "cm.timestamp BETWEEN :startTime AND :endTime")
+    List<Long> findDistinctRoomIdsByTimestampBetween(@Param("startTime") LocalDateTime startTime,
+                                                     @Param("endTime") LocalDateTime endTime);
+}
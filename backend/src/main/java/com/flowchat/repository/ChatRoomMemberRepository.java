@@ -9,6 +9,7 @@ import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -73,6 +74,14 @@ public interface ChatRoomMemberRepository extends JpaRepository<ChatRoomMember,
     @Query("UPDATE ChatRoomMember m SET m.isOnline = :isOnline, m.lastSeen = :lastSeen WHERE m.roomId = :roomId AND m.userId = :userId AND m.isActive = true")
     int updateUserOnlineStatusInRoom(@Param("roomId") Long roomId, @Param("userId") Long userId, @Param("isOnline") Boolean isOnline, @Param("lastSeen") LocalDateTime lastSeen);
     
+    /**
+     * 특정 채팅방에서 여러 사용자의 온라인 상태 일괄 업데이트
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ChatRoomMember m SET m.isOnline = :isOnline, m.lastSeen = :lastSeen WHERE m.roomId = :roomId AND m.userId IN :userIds AND m.isActive = true")
+    int updateOnlineStatusInRoom(@Param("roomId") Long roomId, @Param("userIds") Collection<Long> userIds, @Param("isOnline") Boolean isOnline, @Param("lastSeen") LocalDateTime lastSeen);
+    
     /**
      * 모든 사용자를 오프라인으로 설정 (서버 재시작 시 사용)
      */
@@ -0,0 +1,89 @@
+package com.flowchat.repository;
+
+import com.flowchat.entity.ChatMessage;
+import com.flowchat.entity.MessageRollupHourly;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface MessageRollupHourlyRepository extends JpaRepository<MessageRollupHourly, Long> {
+
+    /**
+     * 집계 행 조회 (압축 작업의 누적 대상)
+     */
+    Optional<MessageRollupHourly> findByRoomIdAndHourBucketAndUserIdAndMessageType(
+        Long roomId, LocalDateTime hourBucket, Long userId, ChatMessage.MessageType messageType);
+
+    /**
+     * 채팅방의 사용자 × 메시지 타입별 메시지 수 (hour_bucket 범위 양 끝 포함)
+     */
+    @Query("SELECT r.userId, r.messageType, SUM(r.messageCount) FROM MessageRollupHourly r " +
+           "WHERE r.roomId = :roomId AND r.hourBucket BETWEEN :fromHour AND :toHour " +
+           "GROUP BY r.userId, r.messageType")
+    List<Object[]> sumByUserAndType(@Param("roomId") Long roomId,
+                                    @Param("fromHour") LocalDateTime fromHour,
+                                    @Param("toHour") LocalDateTime toHour);
+
+    /**
+     * 채팅방의 시간 버킷 × 메시지 타입별 메시지 수 (hour_bucket 범위 양 끝 포함)
+     */
+    @Query("SELECT r.hourBucket, r.messageType, SUM(r.messageCount) FROM MessageRollupHourly r " +
+           "WHERE r.roomId = :roomId AND r.hourBucket BETWEEN :fromHour AND :toHour " +
+           "GROUP BY r.hourBucket, r.messageType")
+    List<Object[]> sumByHourAndType(@Param("roomId") Long roomId,
+                                    @Param("fromHour") LocalDateTime fromHour,
+                                    @Param("toHour") LocalDateTime toHour);
+
+    /**
+     * 전체 채팅방의 사용자 × 메시지 타입별 메시지 수 (hour_bucket 범위 양 끝 포함)
+     */
+    @Query("SELECT r.userId, r.messageType, SUM(r.messageCount) FROM MessageRollupHourly r " +
+           "WHERE r.hourBucket BETWEEN :fromHour AND :toHour " +
+           "GROUP BY r.userId, r.messageType")
+    List<Object[]> sumAllRoomsByUserAndType(@Param("fromHour") LocalDateTime fromHour,
+                                            @Param("toHour") LocalDateTime toHour);
+
+    /**
+     * 전체 채팅방의 시간 버킷 × 메시지 타입별 메시지 수 (hour_bucket 범위 양 끝 포함)
+     */
+    @Query("SELECT r.hourBucket, r.messageType, SUM(r.messageCount) FROM MessageRollupHourly r " +
+           "WHERE r.hourBucket BETWEEN :fromHour AND :toHour " +
+           "GROUP BY r.hourBucket, r.messageType")
+    List<Object[]> sumAllRoomsByHourAndType(@Param("fromHour") LocalDateTime fromHour,
+                                            @Param("toHour") LocalDateTime toHour);
+
+    /**
+     * 전체 채팅방의 채팅방 × 메시지 타입별 메시지 수 (hour_bucket 범위 양 끝 포함)
+     */
+    @Query("SELECT r.roomId, r.messageType, SUM(r.messageCount) FROM MessageRollupHourly r " +
+           "WHERE r.hourBucket BETWEEN :fromHour AND :toHour " +
+           "GROUP BY r.roomId, r.messageType")
+    List<Object[]> sumAllRoomsByRoomAndType(@Param("fromHour") LocalDateTime fromHour,
+                                            @Param("toHour") LocalDateTime toHour);
+
+    /**
+     * 사용자의 채팅방 × 메시지 타입별 메시지 수 (hour_bucket 범위 양 끝 포함)
+     */
+    @Query("SELECT r.roomId, r.messageType, SUM(r.messageCount) FROM MessageRollupHourly r " +
+           "WHERE r.userId = :userId AND r.hourBucket BETWEEN :fromHour AND :toHour " +
+           "GROUP BY r.roomId, r.messageType")
+    List<Object[]> sumForUserByRoomAndType(@Param("userId") Long userId,
+                                           @Param("fromHour") LocalDateTime fromHour,
+                                           @Param("toHour") LocalDateTime toHour);
+
+    /**
+     * 사용자의 시간 버킷 × 메시지 타입별 메시지 수 (hour_bucket 범위 양 끝 포함)
+     */
+    @Query("SELECT r.hourBucket, r.messageType, SUM(r.messageCount) FROM MessageRollupHourly r " +
+           "WHERE r.userId = :userId AND r.hourBucket BETWEEN :fromHour AND :toHour " +
+           "GROUP BY r.hourBucket, r.messageType")
+    List<Object[]> sumForUserByHourAndType(@Param("userId") Long userId,
+                                           @Param("fromHour") LocalDateTime fromHour,
+                                           @Param("toHour") LocalDateTime toHour);
+}
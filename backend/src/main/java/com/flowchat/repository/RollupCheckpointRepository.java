@@ -0,0 +1,41 @@
+package com.flowchat.repository;
+
+import com.flowchat.entity.RollupCheckpoint;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RollupCheckpointRepository extends JpaRepository<RollupCheckpoint, String> {
+
+    /**
+     * 집계 위치 조회 및 행 잠금 (여러 인스턴스가 동시에 같은 구간을 집계하지 않도록)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM RollupCheckpoint c WHERE c.name = :name")
+    Optional<RollupCheckpoint> findByNameForUpdate(@Param("name") String name);
+
+    List<RollupCheckpoint> findByNameStartingWith(String prefix);
+
+    /**
+     * 집계 위치 행 생성 (이미 있으면 중복 키 오류 - 별도 트랜잭션에서만 호출)
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO rollup_checkpoints (name, last_message_id) VALUES (:name, 0)", nativeQuery = true)
+    int insertCheckpoint(@Param("name") String name);
+
+    /**
+     * 집계 위치만 조회 (영속성 컨텍스트를 거치지 않고 항상 DB에서 읽음)
+     */
+    @Query("SELECT c.lastMessageId FROM RollupCheckpoint c WHERE c.name = :name")
+    Optional<Long> findLastMessageIdByName(@Param("name") String name);
+}
@@ -7,6 +7,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,6 +19,11 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     Optional<User> findByUsername(String username);
     
+    /**
+     * 여러 사용자명으로 사용자 일괄 조회
+     */
+    List<User> findByUsernameIn(Collection<String> usernames);
+    
     /**
      * 사용자명 존재 여부 확인
      */
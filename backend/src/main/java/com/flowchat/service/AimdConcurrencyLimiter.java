@@ -0,0 +1,102 @@
+package com.flowchat.service;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AIMD 방식 적응형 동시성 제한기
+ * - 성공 응답이 지연 임계값 이내이고 한도를 충분히 사용 중이면 한도 +1 (가산 증가)
+ * - 실패하거나 임계값을 넘긴 응답이면 한도 × backoffRatio (승산 감소)
+ * - 최근 응답 지연 시간 표본으로 백분위수 제공
+ */
+public class AimdConcurrencyLimiter {
+
+    private static final int LATENCY_SAMPLE_SIZE = 1024;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long latencyThresholdNanos;
+
+    private double limit;
+    private int inFlight;
+
+    // 최근 지연 시간 표본 (밀리초)
+    private final long[] latencySamples = new long[LATENCY_SAMPLE_SIZE];
+    private int latencyIndex;
+    private int latencyCount;
+
+    // 지표
+    private long shedCount;
+
+    public AimdConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                  double backoffRatio, long latencyThresholdMillis) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.backoffRatio = backoffRatio;
+        this.latencyThresholdNanos = TimeUnit.MILLISECONDS.toNanos(latencyThresholdMillis);
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+    }
+
+    /**
+     * 동시 호출 슬롯 획득 - 한도 초과 시 false
+     */
+    public synchronized boolean tryAcquire() {
+        if (inFlight >= (int) limit) {
+            shedCount++;
+            return false;
+        }
+        inFlight++;
+        return true;
+    }
+
+    /**
+     * 호출 완료 - 결과와 지연 시간으로 한도 조정
+     */
+    public synchronized void release(long latencyNanos, boolean success) {
+        int inFlightAtCompletion = inFlight;
+        inFlight = Math.max(0, inFlight - 1);
+        recordLatency(TimeUnit.NANOSECONDS.toMillis(latencyNanos));
+
+        if (!success || latencyNanos > latencyThresholdNanos) {
+            limit = Math.max(minLimit, limit * backoffRatio);
+        } else if (inFlightAtCompletion * 2 >= (int) limit) {
+            limit = Math.min(maxLimit, limit + 1);
+        }
+    }
+
+    private void recordLatency(long latencyMillis) {
+        latencySamples[latencyIndex] = latencyMillis;
+        latencyIndex = (latencyIndex + 1) % LATENCY_SAMPLE_SIZE;
+        latencyCount = Math.min(latencyCount + 1, LATENCY_SAMPLE_SIZE);
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized Map<String, Object> getStats() {
+        long[] sorted = Arrays.copyOf(latencySamples, latencyCount);
+        Arrays.sort(sorted);
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("limit", (int) limit);
+        stats.put("inFlight", inFlight);
+        stats.put("shed", shedCount);
+        stats.put("latencySamples", latencyCount);
+        stats.put("latencyP50Millis", percentile(sorted, 0.50));
+        stats.put("latencyP90Millis", percentile(sorted, 0.90));
+        stats.put("latencyP99Millis", percentile(sorted, 0.99));
+        return stats;
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+}
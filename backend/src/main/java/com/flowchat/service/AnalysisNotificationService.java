@@ -4,7 +4,6 @@ import com.flowchat.dto.AnalysisData;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
@@ -22,7 +21,7 @@ public class AnalysisNotificationService {
     private static final Logger logger = LoggerFactory.getLogger(AnalysisNotificationService.class);
 
     @Autowired
-    private SimpMessagingTemplate messagingTemplate;
+    private RoomBroadcaster roomBroadcaster;
 
     @Autowired
     private ChatAnalysisService chatAnalysisService;
@@ -42,7 +41,7 @@ public class AnalysisNotificationService {
     public void sendAnalysisUpdate(Long roomId, AnalysisData data) {
         try {
             String destination = "/topic/analysis/" + roomId;
-            messagingTemplate.convertAndSend(destination, data);
+            roomBroadcaster.broadcast(destination, data);
             
             logger.debug("분석 결과 WebSocket 전송 완료: roomId={}, type={}, destination={}", 
                         roomId, data.getAnalysisType(), destination);
@@ -171,14 +170,49 @@ public class AnalysisNotificationService {
     public void sendFullAnalysisUpdate(Long roomId, Integer days) {
         logger.debug("전체 분석 업데이트 시작: roomId={}, days={}", roomId, days);
         
-        // 새로고침 시 분석 데이터를 새로 계산
-        chatAnalysisService.rebuildRoomAnalysis(roomId, days);
+        // 새로고침 시 마지막 반영 이후의 메시지만 추가 반영
+        chatAnalysisService.refreshRoomAnalysis(roomId, days);
         
         sendKeywordUpdate(roomId);
         sendParticipationUpdate(roomId);
         sendHourlyUpdate(roomId);
     }
 
+    /**
+     * 분석 데이터 구독 시작/새로고침 요청 처리 (채팅방 담당 서버에서 실행)
+     * type: SUBSCRIBE, KEYWORD, PARTICIPATION, HOURLY, 그 외는 전체
+     */
+    @Async
+    public void refreshAnalysis(Long roomId, String type, Integer days) {
+        switch (type.toUpperCase()) {
+            case "SUBSCRIBE":
+                startAnalysisSubscription(roomId);
+                break;
+            case "KEYWORD":
+                // 개별 분석은 새 메시지를 반영하고 전송
+                if (days != null) {
+                    chatAnalysisService.refreshRoomAnalysis(roomId, days);
+                }
+                sendKeywordUpdate(roomId);
+                break;
+            case "PARTICIPATION":
+                if (days != null) {
+                    chatAnalysisService.refreshRoomAnalysis(roomId, days);
+                }
+                sendParticipationUpdate(roomId);
+                break;
+            case "HOURLY":
+                if (days != null) {
+                    chatAnalysisService.refreshRoomAnalysis(roomId, days);
+                }
+                sendHourlyUpdate(roomId);
+                break;
+            default:
+                sendFullAnalysisUpdate(roomId, days);
+                break;
+        }
+    }
+
     /**
      * 메시지 수신 시 업데이트 조건 확인 및 전송
      */
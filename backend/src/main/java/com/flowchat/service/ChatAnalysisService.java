@@ -1,13 +1,18 @@
 package com.flowchat.service;
 
+import com.flowchat.config.TwoLevelCacheManager;
+import com.flowchat.dto.MessageScanRow;
 import com.flowchat.entity.AnalysisResult;
 import com.flowchat.entity.ChatMessage;
+import com.flowchat.entity.User;
 import com.flowchat.event.MessageReceivedEvent;
+import com.flowchat.event.RoomOwnershipChangedEvent;
 import com.flowchat.repository.AnalysisResultRepository;
 import com.flowchat.repository.ChatMessageRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
@@ -16,6 +21,7 @@ import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
@@ -23,7 +29,7 @@ import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -51,12 +57,49 @@ public class ChatAnalysisService {
     @Autowired
     private LlmAnalysisService llmAnalysisService;
 
+    @Autowired
+    private ChatMessageScanner chatMessageScanner;
+
+    @Autowired
+    private MessageRollupService messageRollupService;
+
+    @Autowired
+    private TwoLevelCacheManager cacheManager;
+
+    @Autowired
+    private RoomOwnership roomOwnership;
+
+    @Autowired
+    private RoomOwnerRouter roomOwnerRouter;
+
     private AnalysisNotificationService analysisNotificationService;
 
-    // 실시간 분석 데이터 저장 (메모리 기반)
-    private final Map<Long, Map<String, Integer>> roomKeywordStats = new ConcurrentHashMap<>();
-    private final Map<Long, Map<String, AtomicInteger>> roomUserMessageCount = new ConcurrentHashMap<>(); // nickname 기반
-    private final Map<Long, Map<Integer, AtomicInteger>> roomHourlyStats = new ConcurrentHashMap<>();
+    // 실시간 분석 데이터 저장 (메모리 기반) - 채팅방별 키워드/참여자(nickname 기반)/시간대 카운터
+    private final Map<Long, RoomStats> roomStats = new ConcurrentHashMap<>();
+    private static final RoomStats EMPTY_ROOM_STATS = new RoomStats(1);
+
+    // 채팅방별 추적 키워드 수 (Space-Saving 상위 K, 빈도 오차 ≤ 전체 키워드 수 / capacity)
+    @Value("${analysis.keywords.capacity:500}")
+    private int keywordCapacity;
+
+    // 기간별 통계용 채팅방별 시간 단위 버킷 (기간 조회가 처음 들어올 때 DB에서 채움)
+    private final Map<Long, RoomTimeBuckets> roomTimeBuckets = new ConcurrentHashMap<>();
+
+    // 시간 버킷 보관 시간 (기본 30일) - 이보다 긴 기간은 DB에서 조회
+    @Value("${analysis.buckets.hours:720}")
+    private int bucketHours;
+
+    // 이 시간 동안 기간 조회가 없던 채팅방의 시간 버킷은 해제 (다음 조회 시 DB에서 다시 채움)
+    @Value("${analysis.buckets.idle-minutes:60}")
+    private long bucketIdleMinutes;
+
+    // 이 시간 안의 메시지는 늦게 커밋되는 트랜잭션이 앞 ID를 채울 수 있으므로 워터마크에 흡수하지 않음
+    @Value("${analysis.settle-lag-seconds:30}")
+    private long settleLagSeconds;
+
+    // 기간 지정 통계의 증분 반영 허용 시간 - 지나면 기간 시작점을 맞추기 위해 전체 재구축
+    @Value("${analysis.rebuild.window-refresh-minutes:60}")
+    private long windowRefreshMinutes;
 
     // 한국어 불용어 목록
     private static final Set<String> STOP_WORDS = Set.of(
@@ -87,6 +130,14 @@ public class ChatAnalysisService {
                 return;
             }
 
+            // 다른 서버가 담당하는 채팅방이면 담당 서버로 전달 (분석 상태는 담당 서버에만 보관)
+            if (roomOwnerRouter.forwardMessage(event)) {
+                return;
+            }
+
+            // 기간별 통계 버킷 갱신
+            recordTimeBucket(roomId, message);
+
             // LLM 기반 종합 분석 (비동기)
             llmAnalysisService.analyzeMessage(message.getContent())
                 .thenAccept(analysisResult -> {
@@ -94,13 +145,9 @@ public class ChatAnalysisService {
                         // LLM 분석 결과에서 키워드 추출
                         @SuppressWarnings("unchecked")
                         List<String> keywords = (List<String>) analysisResult.getOrDefault("keywords", List.of());
-                        updateKeywordStats(roomId, keywords);
 
-                        // 참여도 분석 (nickname 사용)
-                        updateUserParticipation(roomId, nickname != null ? nickname : username);
-
-                        // 시간대별 분석
-                        updateHourlyStats(roomId, message.getTimestamp());
+                        // 키워드/참여도(nickname 사용)/시간대별 통계 반영
+                        applyLiveStats(roomId, message, keywords, nickname != null ? nickname : username);
 
                         // LLM 분석 결과에서 주제/감정 추출
                         String topic = (String) analysisResult.getOrDefault("topic", "기타");
@@ -129,7 +176,12 @@ public class ChatAnalysisService {
                     }
                 })
                 .exceptionally(throwable -> {
-                    logger.error("LLM 분석 실패, 폴백 분석 수행: roomId={}, error={}", roomId, throwable.getMessage());
+                    if (throwable.getCause() instanceof LlmAnalysisRejectedException) {
+                        // 분석 큐 포화 또는 서킷 브레이커 열림 - 부하/장애 상황에서 로그가 폭주하지 않도록 debug 레벨로 기록
+                        logger.debug("LLM 분석 거절, 정적 분석 수행: roomId={}, reason={}", roomId, throwable.getCause().getMessage());
+                    } else {
+                        logger.error("LLM 분석 실패, 폴백 분석 수행: roomId={}, error={}", roomId, throwable.getMessage());
+                    }
                     // 폴백: 기존 정적 분석 수행
                     performFallbackAnalysis(roomId, message, username);
                     return null;
@@ -194,10 +246,21 @@ public class ChatAnalysisService {
      * 키워드 추출 및 카운트 (기간별 분석용)
      */
     private void extractAndCountKeywords(String content, Map<String, Integer> keywordStats) {
+        for (String word : tokenizeForPeriodStats(content)) {
+            keywordStats.merge(word, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * 기간별 분석용 단어 분리 (중복 포함)
+     */
+    private List<String> tokenizeForPeriodStats(String content) {
         if (content == null || content.trim().isEmpty()) {
-            return;
+            return List.of();
         }
 
+        List<String> tokens = new ArrayList<>();
+
         // 텍스트를 단어로 분리
         String[] words = WORD_PATTERN.split(content.toLowerCase().trim());
         
@@ -214,8 +277,128 @@ public class ChatAnalysisService {
                 continue;
             }
             
-            keywordStats.merge(word, 1, Integer::sum);
+            tokens.add(word);
+        }
+        return tokens;
+    }
+
+    /**
+     * 시간 버킷용 메시지 정보 반영 - TEXT 메시지만 키워드 집계
+     */
+    private void addToPeriodStats(RoomTimeBuckets.PeriodStats stats, ChatMessage message) {
+        stats.addMessage(message.getTimestamp(), getDisplayName(message),
+                         getPeriodKeywords(message.getMessageType(), message.getContent()));
+    }
+
+    private List<String> getPeriodKeywords(ChatMessage.MessageType messageType, String content) {
+        return messageType == ChatMessage.MessageType.TEXT
+            ? tokenizeForPeriodStats(content)
+            : List.of();
+    }
+
+    private String getDisplayName(ChatMessage message) {
+        return message.getName() != null ? message.getName() : message.getUsername();
+    }
+
+    /**
+     * 실시간 메시지를 시간 버킷에 반영 (버킷이 이미 준비된 채팅방만)
+     */
+    private void recordTimeBucket(Long roomId, ChatMessage message) {
+        RoomTimeBuckets buckets = roomTimeBuckets.get(roomId);
+        if (buckets != null && message.getId() != null) {
+            buckets.addLiveMessage(message.getId(), message.getTimestamp(), getDisplayName(message),
+                                   getPeriodKeywords(message.getMessageType(), message.getContent()),
+                                   settledBefore());
+        }
+    }
+
+    /**
+     * 시간 버킷 조회 (처음이면 최근 bucketHours 시간의 메시지로 채움)
+     */
+    private RoomTimeBuckets getWarmTimeBuckets(Long roomId) {
+        RoomTimeBuckets buckets = roomTimeBuckets.computeIfAbsent(roomId, k -> new RoomTimeBuckets(bucketHours + 1));
+        buckets.touch();
+
+        synchronized (buckets) {
+            if (!buckets.isWarm()) {
+                LocalDateTime since = LocalDateTime.now().minusHours(bucketHours);
+                LocalDateTime settledBefore = settledBefore();
+
+                long scanned = chatMessageScanner.scanRoom(roomId, since, row -> {
+                    if (row.getMessageType() != ChatMessage.MessageType.SYSTEM) {
+                        buckets.addWarmMessage(row.getId(), row.getTimestamp(), row.getDisplayName(),
+                                               getPeriodKeywords(row.getMessageType(), row.getContent()),
+                                               scanSettledBefore(settledBefore, row));
+                    }
+                });
+                buckets.markWarm(since);
+
+                logger.debug("기간별 통계 버킷 준비 완료: roomId={}, messages={}", roomId, scanned);
+            }
+        }
+        return buckets;
+    }
+
+    /**
+     * 워터마크에 흡수해도 되는 메시지 시각 기준
+     */
+    private LocalDateTime settledBefore() {
+        return LocalDateTime.now().minusSeconds(settleLagSeconds);
+    }
+
+    /**
+     * 스캔 중 워터마크 흡수 기준 - 시각 순 스캔에서 뒤에 나올 수 있는 앞 ID를 놓치지 않도록
+     * 현재 행보다 정착 대기 시간만큼 앞선 메시지까지만 흡수
+     */
+    private LocalDateTime scanSettledBefore(LocalDateTime settledBefore, MessageScanRow row) {
+        LocalDateTime scanSettled = row.getTimestamp().minusSeconds(settleLagSeconds);
+        return scanSettled.isBefore(settledBefore) ? scanSettled : settledBefore;
+    }
+
+    /**
+     * 오랫동안 기간 조회가 없던 채팅방의 시간 버킷 해제 및 남은 버킷의 만료 시간 정리
+     */
+    @Scheduled(fixedDelayString = "${analysis.buckets.sweep-interval-ms:300000}")
+    public void evictIdleTimeBuckets() {
+        long idleCutoff = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(bucketIdleMinutes);
+        LocalDateTime now = LocalDateTime.now();
+        int before = roomTimeBuckets.size();
+
+        roomTimeBuckets.values().removeIf(buckets -> buckets.getLastAccessMillis() < idleCutoff);
+        roomTimeBuckets.values().forEach(buckets -> buckets.releaseExpired(now));
+
+        int evicted = before - roomTimeBuckets.size();
+        if (evicted > 0) {
+            logger.debug("유휴 채팅방 시간 버킷 해제: evicted={}, remaining={}", evicted, roomTimeBuckets.size());
+        }
+    }
+
+    /**
+     * 시간 버킷으로 기간 통계 계산 - 버킷 범위를 벗어나면 null (DB 조회로 처리)
+     * 정각 단위 버킷 N×24개를 병합하고, 시작 경계 시간의 일부 구간만 DB에서 보충
+     */
+    private RoomTimeBuckets.PeriodStats getPeriodStatsFromBuckets(Long roomId, Integer days) {
+        if (days == null || days <= 0 || (long) days * 24 > bucketHours) {
+            return null;
+        }
+
+        RoomTimeBuckets buckets = getWarmTimeBuckets(roomId);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cutoffTime = now.minusDays(days);
+        if (!buckets.covers(cutoffTime, now)) {
+            return null;
+        }
+
+        RoomTimeBuckets.PeriodStats stats = buckets.mergeAfterHourOf(cutoffTime, now);
+        List<ChatMessage> boundaryMessages = chatMessageRepository
+            .findByRoomIdAndIsDeletedFalseAndTimestampAfterAndTimestampBefore(
+                roomId, cutoffTime, RoomTimeBuckets.nextHour(cutoffTime));
+        for (ChatMessage message : boundaryMessages) {
+            if (message.getMessageType() != ChatMessage.MessageType.SYSTEM) {
+                addToPeriodStats(stats, message);
+            }
         }
+        return stats;
     }
 
     /**
@@ -246,31 +429,29 @@ public class ChatAnalysisService {
     }
 
     /**
-     * 채팅방별 키워드 통계 업데이트
+     * 실시간 메시지 통계 반영 (재구축에서 이미 반영된 메시지는 건너뜀)
      */
-    private void updateKeywordStats(Long roomId, List<String> keywords) {
-        Map<String, Integer> keywordStats = roomKeywordStats.computeIfAbsent(roomId, k -> new ConcurrentHashMap<>());
-        
-        for (String keyword : keywords) {
-            keywordStats.merge(keyword, 1, Integer::sum);
+    private void applyLiveStats(Long roomId, ChatMessage message, List<String> keywords, String displayName) {
+        RoomStats stats = getOrCreateRoomStats(roomId);
+        if (message.getId() != null && !stats.markApplied(message.getId(), message.getTimestamp(), settledBefore())) {
+            return;
         }
+        applyMessageStats(stats, message.getTimestamp(), keywords, displayName);
     }
 
     /**
-     * 사용자별 참여도 통계 업데이트
+     * 키워드/참여도/시간대별 통계 반영
      */
-    private void updateUserParticipation(Long roomId, String username) {
-        Map<String, AtomicInteger> userStats = roomUserMessageCount.computeIfAbsent(roomId, k -> new ConcurrentHashMap<>());
-        userStats.computeIfAbsent(username, k -> new AtomicInteger(0)).incrementAndGet();
+    private void applyMessageStats(RoomStats stats, LocalDateTime timestamp, List<String> keywords, String displayName) {
+        stats.addKeywords(keywords);
+        if (displayName != null) {
+            stats.addParticipantMessage(displayName);
+        }
+        stats.addHourlyMessage(timestamp.getHour());
     }
 
-    /**
-     * 시간대별 통계 업데이트
-     */
-    private void updateHourlyStats(Long roomId, LocalDateTime createdAt) {
-        Map<Integer, AtomicInteger> hourlyStats = roomHourlyStats.computeIfAbsent(roomId, k -> new ConcurrentHashMap<>());
-        int hour = createdAt.getHour();
-        hourlyStats.computeIfAbsent(hour, k -> new AtomicInteger(0)).incrementAndGet();
+    private RoomStats getOrCreateRoomStats(Long roomId) {
+        return roomStats.computeIfAbsent(roomId, k -> new RoomStats(keywordCapacity));
     }
 
     /**
@@ -282,9 +463,7 @@ public class ChatAnalysisService {
             
             // 기존 정적 분석 방식 수행
             List<String> keywords = extractKeywords(message.getContent());
-            updateKeywordStats(roomId, keywords);
-            updateUserParticipation(roomId, nickname != null ? nickname : username);
-            updateHourlyStats(roomId, message.getTimestamp());
+            applyLiveStats(roomId, message, keywords, nickname != null ? nickname : username);
 
             String topic = topicClassificationService.classifyTopic(message.getContent());
             String emotion = topicClassificationService.analyzeEmotion(message.getContent());
@@ -429,16 +608,14 @@ public class ChatAnalysisService {
     @Transactional(readOnly = true)
     @Cacheable(value = "roomKeywordStats", key = "#roomId")
     public Map<String, Object> getRoomKeywordStats(Long roomId) {
-        Map<String, Integer> keywordStats = roomKeywordStats.getOrDefault(roomId, new HashMap<>());
+        RoomStats stats = roomStats.getOrDefault(roomId, EMPTY_ROOM_STATS);
         
         // 상위 10개 키워드 추출
-        List<Map<String, Object>> topKeywords = keywordStats.entrySet().stream()
-                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
-                .limit(10)
+        List<Map<String, Object>> topKeywords = stats.getTopKeywords(10).stream()
                 .map(entry -> {
                     Map<String, Object> keywordInfo = new HashMap<>();
                     keywordInfo.put("keyword", entry.getKey());
-                    keywordInfo.put("count", entry.getValue());
+                    keywordInfo.put("count", entry.getValue().intValue());
                     return keywordInfo;
                 })
                 .collect(Collectors.toList());
@@ -446,7 +623,7 @@ public class ChatAnalysisService {
         Map<String, Object> result = new HashMap<>();
         result.put("roomId", roomId);
         result.put("topKeywords", topKeywords);
-        result.put("totalKeywords", keywordStats.size());
+        result.put("totalKeywords", stats.getKeywordSize());
         result.put("lastUpdated", LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
         
         return result;
@@ -458,15 +635,13 @@ public class ChatAnalysisService {
     @Transactional(readOnly = true)
     @Cacheable(value = "roomParticipationStats", key = "#roomId")
     public Map<String, Object> getRoomUserParticipation(Long roomId) {
-        Map<String, AtomicInteger> userStats = roomUserMessageCount.getOrDefault(roomId, new HashMap<>());
+        RoomStats stats = roomStats.getOrDefault(roomId, EMPTY_ROOM_STATS);
         
-        List<Map<String, Object>> userParticipation = userStats.entrySet().stream()
-                .sorted(Map.Entry.<String, AtomicInteger>comparingByValue(
-                    (a, b) -> Integer.compare(b.get(), a.get())))
+        List<Map<String, Object>> userParticipation = stats.getParticipantCounts().stream()
                 .map(entry -> {
                     Map<String, Object> userInfo = new HashMap<>();
                     userInfo.put("username", entry.getKey()); // 실제로는 nickname이 저장됨
-                    userInfo.put("messageCount", entry.getValue().get());
+                    userInfo.put("messageCount", entry.getValue().intValue());
                     return userInfo;
                 })
                 .collect(Collectors.toList());
@@ -474,7 +649,7 @@ public class ChatAnalysisService {
         Map<String, Object> result = new HashMap<>();
         result.put("roomId", roomId);
         result.put("userParticipation", userParticipation);
-        result.put("totalUsers", userStats.size());
+        result.put("totalUsers", userParticipation.size());
         result.put("lastUpdated", LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
         
         return result;
@@ -486,13 +661,13 @@ public class ChatAnalysisService {
     @Transactional(readOnly = true)
     @Cacheable(value = "roomHourlyStats", key = "#roomId")
     public Map<String, Object> getRoomHourlyStats(Long roomId) {
-        Map<Integer, AtomicInteger> hourlyStats = roomHourlyStats.getOrDefault(roomId, new HashMap<>());
+        RoomStats stats = roomStats.getOrDefault(roomId, EMPTY_ROOM_STATS);
         
         List<Map<String, Object>> hourlyActivity = new ArrayList<>();
         for (int hour = 0; hour < 24; hour++) {
             Map<String, Object> hourInfo = new HashMap<>();
             hourInfo.put("hour", hour);
-            hourInfo.put("messageCount", hourlyStats.getOrDefault(hour, new AtomicInteger(0)).get());
+            hourInfo.put("messageCount", (int) stats.getHourlyCount(hour));
             hourlyActivity.add(hourInfo);
         }
 
@@ -507,26 +682,29 @@ public class ChatAnalysisService {
     /**
      * 기간별 키워드 분석 조회
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Map<String, Object> getRoomKeywordStatsByPeriod(Long roomId, Integer days) {
         LocalDateTime cutoffTime = days != null ? LocalDateTime.now().minusDays(days) : null;
         
         logger.debug("기간별 키워드 분석: roomId={}, days={}, cutoffTime={}", roomId, days, cutoffTime);
         
-        // 데이터베이스에서 기간에 해당하는 메시지들 조회
-        List<ChatMessage> messages;
-        if (cutoffTime != null) {
-            messages = chatMessageRepository.findByRoomIdAndTimestampAfterAndIsDeletedFalse(roomId, cutoffTime);
+        Map<String, Integer> keywordStats;
+        int messageCount;
+
+        RoomTimeBuckets.PeriodStats periodStats = getPeriodStatsFromBuckets(roomId, days);
+        if (periodStats != null) {
+            // 시간 버킷 병합
+            keywordStats = periodStats.getKeywordCounts();
+            messageCount = periodStats.getMessageCount();
         } else {
-            messages = chatMessageRepository.findByRoomIdAndIsDeletedFalseOrderByTimestampDesc(roomId);
-        }
-        
-        // 키워드 분석 수행
-        Map<String, Integer> keywordStats = new HashMap<>();
-        for (ChatMessage message : messages) {
-            if (message.getMessageType() == ChatMessage.MessageType.TEXT) {
-                extractAndCountKeywords(message.getContent(), keywordStats);
-            }
+            // 데이터베이스에서 기간에 해당하는 메시지를 페이지 단위로 스캔하며 키워드 분석 수행
+            Map<String, Integer> scannedKeywordStats = new HashMap<>();
+            messageCount = (int) chatMessageScanner.scanRoom(roomId, cutoffTime, row -> {
+                if (row.getMessageType() == ChatMessage.MessageType.TEXT) {
+                    extractAndCountKeywords(row.getContent(), scannedKeywordStats);
+                }
+            });
+            keywordStats = scannedKeywordStats;
         }
         
         // 상위 10개 키워드 추출
@@ -546,7 +724,7 @@ public class ChatAnalysisService {
         result.put("topKeywords", topKeywords);
         result.put("totalKeywords", keywordStats.size());
         result.put("period", days != null ? days + "일" : "전체 기간");
-        result.put("messageCount", messages.size());
+        result.put("messageCount", messageCount);
         result.put("lastUpdated", LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
         
         return result;
@@ -555,29 +733,27 @@ public class ChatAnalysisService {
     /**
      * 기간별 참여도 분석 조회
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Map<String, Object> getRoomUserParticipationByPeriod(Long roomId, Integer days) {
         LocalDateTime cutoffTime = days != null ? LocalDateTime.now().minusDays(days) : null;
         
         logger.debug("기간별 참여도 분석: roomId={}, days={}, cutoffTime={}", roomId, days, cutoffTime);
         
-        // 데이터베이스에서 기간에 해당하는 메시지들 조회
-        List<ChatMessage> messages;
-        if (cutoffTime != null) {
-            messages = chatMessageRepository.findByRoomIdAndTimestampAfterAndIsDeletedFalse(roomId, cutoffTime);
+        Map<String, Integer> userMessageCount;
+        int messageCount;
+
+        RoomTimeBuckets.PeriodStats periodStats = getPeriodStatsFromBuckets(roomId, days);
+        if (periodStats != null) {
+            // 시간 버킷 병합
+            userMessageCount = periodStats.getParticipantCounts();
+            messageCount = periodStats.getMessageCount();
         } else {
-            messages = chatMessageRepository.findByRoomIdAndIsDeletedFalseOrderByTimestampDesc(roomId);
-        }
-        
-        // 사용자별 메시지 수 계산 (nickname 우선 사용)
-        Map<String, Integer> userMessageCount = new HashMap<>();
-        for (ChatMessage message : messages) {
-            if (message.getMessageType() != ChatMessage.MessageType.SYSTEM) {
-                String displayName = message.getName() != null ? message.getName() : message.getUsername();
-                if (displayName != null) {
-                    userMessageCount.merge(displayName, 1, Integer::sum);
-                }
-            }
+            // 시간 단위 집계 테이블에서 사용자별 메시지 수 계산 (nickname 사용, 시스템 메시지 제외)
+            MessageRollupService.MessageCounts counts = messageRollupService.countRoomMessages(roomId, cutoffTime, null, true);
+            userMessageCount = new HashMap<>();
+            messageRollupService.countByUserName(counts, User::getName, null)
+                .forEach((name, count) -> userMessageCount.put(name, count.intValue()));
+            messageCount = (int) counts.getTotal();
         }
         
         List<Map<String, Object>> userParticipation = userMessageCount.entrySet().stream()
@@ -595,7 +771,7 @@ public class ChatAnalysisService {
         result.put("userParticipation", userParticipation);
         result.put("totalUsers", userMessageCount.size());
         result.put("period", days != null ? days + "일" : "전체 기간");
-        result.put("messageCount", messages.size());
+        result.put("messageCount", messageCount);
         result.put("lastUpdated", LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
         
         return result;
@@ -604,27 +780,27 @@ public class ChatAnalysisService {
     /**
      * 기간별 시간대별 활동 분석 조회
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Map<String, Object> getRoomHourlyStatsByPeriod(Long roomId, Integer days) {
         LocalDateTime cutoffTime = days != null ? LocalDateTime.now().minusDays(days) : null;
         
         logger.debug("기간별 시간대별 분석: roomId={}, days={}, cutoffTime={}", roomId, days, cutoffTime);
         
-        // 데이터베이스에서 기간에 해당하는 메시지들 조회
-        List<ChatMessage> messages;
-        if (cutoffTime != null) {
-            messages = chatMessageRepository.findByRoomIdAndTimestampAfterAndIsDeletedFalse(roomId, cutoffTime);
-        } else {
-            messages = chatMessageRepository.findByRoomIdAndIsDeletedFalseOrderByTimestampDesc(roomId);
-        }
-        
-        // 시간대별 메시지 수 계산
         Map<Integer, Integer> hourlyMessageCount = new HashMap<>();
-        for (ChatMessage message : messages) {
-            if (message.getMessageType() != ChatMessage.MessageType.SYSTEM) {
-                int hour = message.getTimestamp().getHour();
-                hourlyMessageCount.merge(hour, 1, Integer::sum);
+        int messageCount;
+
+        RoomTimeBuckets.PeriodStats periodStats = getPeriodStatsFromBuckets(roomId, days);
+        if (periodStats != null) {
+            // 시간 버킷 병합
+            for (int hour = 0; hour < 24; hour++) {
+                hourlyMessageCount.put(hour, periodStats.getHourlyCount(hour));
             }
+            messageCount = periodStats.getMessageCount();
+        } else {
+            // 시간 단위 집계 테이블에서 시간대별 메시지 수 계산 (시스템 메시지 제외)
+            MessageRollupService.MessageCounts counts = messageRollupService.countRoomMessages(roomId, cutoffTime, null, true);
+            counts.getByHourOfDay().forEach((hour, count) -> hourlyMessageCount.put(hour, count.intValue()));
+            messageCount = (int) counts.getTotal();
         }
         
         List<Map<String, Object>> hourlyActivity = new ArrayList<>();
@@ -639,7 +815,7 @@ public class ChatAnalysisService {
         result.put("roomId", roomId);
         result.put("hourlyActivity", hourlyActivity);
         result.put("period", days != null ? days + "일" : "전체 기간");
-        result.put("messageCount", messages.size());
+        result.put("messageCount", messageCount);
         result.put("lastUpdated", LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
         
         return result;
@@ -650,9 +826,8 @@ public class ChatAnalysisService {
      */
     @CacheEvict(value = {"roomKeywordStats", "roomParticipationStats", "roomHourlyStats", "roomAnalysisSummary", "advancedAnalysisSummary"}, key = "#roomId")
     public void clearRoomAnalysis(Long roomId) {
-        roomKeywordStats.remove(roomId);
-        roomUserMessageCount.remove(roomId);
-        roomHourlyStats.remove(roomId);
+        roomStats.remove(roomId);
+        roomTimeBuckets.remove(roomId);
         
         // 심화 분석 데이터도 함께 초기화
         conversationFlowService.clearConversationData(roomId);
@@ -662,10 +837,11 @@ public class ChatAnalysisService {
 
     /**
      * 캐시 무효화 (새로운 메시지로 인한 분석 데이터 변경)
+     * 같은 클래스 안에서 호출하면 @CacheEvict 프록시를 거치지 않으므로 캐시 매니저로 직접 제거
      */
-    @CacheEvict(value = {"roomKeywordStats", "roomParticipationStats", "roomHourlyStats", "roomAnalysisSummary"}, key = "#roomId")
     private void evictAnalysisCache(Long roomId) {
-        // 캐시 무효화만 수행, 실제 로직은 없음
+        cacheManager.evict(roomId, "roomKeywordStats", "roomParticipationStats", "roomHourlyStats",
+                           "roomAnalysisSummary", "advancedAnalysisSummary");
         logger.debug("분석 캐시 무효화: roomId={}", roomId);
     }
 
@@ -681,7 +857,7 @@ public class ChatAnalysisService {
             LocalDateTime oneHourAgo = now.minusHours(1);
             
             // 활성화된 채팅방들의 분석 결과 저장
-            for (Long roomId : roomKeywordStats.keySet()) {
+            for (Long roomId : roomStats.keySet()) {
                 try {
                     savePeriodicAnalysisResult(roomId, oneHourAgo, now);
                     logger.debug("주기적 분석 결과 저장 완료: roomId={}", roomId);
@@ -690,7 +866,7 @@ public class ChatAnalysisService {
                 }
             }
             
-            logger.info("주기적 분석 결과 저장 완료: 총 {}개 채팅방", roomKeywordStats.size());
+            logger.info("주기적 분석 결과 저장 완료: 총 {}개 채팅방", roomStats.size());
             
         } catch (Exception e) {
             logger.error("주기적 분석 결과 저장 중 오류 발생: {}", e.getMessage(), e);
@@ -704,6 +880,7 @@ public class ChatAnalysisService {
         Map<String, Object> keywordStats = getRoomKeywordStats(roomId);
         Map<String, Object> participationStats = getRoomUserParticipation(roomId);
         Map<String, Object> hourlyStats = getRoomHourlyStats(roomId);
+        List<AnalysisResult> results = new ArrayList<>();
         
         // 키워드 분석 결과 저장
         @SuppressWarnings("unchecked")
@@ -722,7 +899,7 @@ public class ChatAnalysisService {
                 periodEnd
             );
             
-            analysisResultRepository.save(keywordResult);
+            results.add(keywordResult);
         }
         
         // 시간대별 분석 결과 저장
@@ -742,7 +919,7 @@ public class ChatAnalysisService {
                     periodEnd
                 );
                 
-                analysisResultRepository.save(hourlyResult);
+                results.add(hourlyResult);
             }
         }
         
@@ -762,76 +939,109 @@ public class ChatAnalysisService {
                 periodEnd
             );
             
-            analysisResultRepository.save(participationResult);
+            results.add(participationResult);
         }
+        
+        // 한 번에 저장 (jdbc batch_size 단위 일괄 INSERT)
+        analysisResultRepository.saveAll(results);
     }
 
     /**
-     * 기존 메시지를 기반으로 채팅방 분석 데이터 재구축
+     * 기존 메시지를 기반으로 채팅방 분석 데이터 전체 재구축 (관리자 작업)
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void rebuildRoomAnalysis(Long roomId) {
         rebuildRoomAnalysis(roomId, null);
     }
     
     /**
-     * 기간별 채팅방 분석 데이터 재구축
+     * 기간별 채팅방 분석 데이터 전체 재구축 (관리자 작업)
+     * 새 통계를 따로 구축한 뒤 교체하므로 재구축 중에도 이전 통계가 조회됨
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void rebuildRoomAnalysis(Long roomId, Integer days) {
         logger.info("채팅방 분석 데이터 재구축 시작: roomId={}, days={}", roomId, days);
         
-        // 기존 통계 초기화
-        roomKeywordStats.remove(roomId);
-        roomUserMessageCount.remove(roomId);
-        roomHourlyStats.remove(roomId);
-        
-        // 기간별 메시지 조회
-        List<ChatMessage> messages;
-        if (days != null && days > 0) {
-            LocalDateTime startDate = LocalDateTime.now().minusDays(days);
-            messages = chatMessageRepository.findByRoomIdAndMessageTypeAndIsDeletedFalseAndTimestampAfterOrderByTimestampDesc(
-                roomId, ChatMessage.MessageType.TEXT, startDate);
-        } else {
-            // 전체 기간
-            messages = chatMessageRepository.findByRoomIdAndMessageTypeAndIsDeletedFalseOrderByTimestampDesc(
-                roomId, ChatMessage.MessageType.TEXT);
-        }
+        LocalDateTime builtAt = LocalDateTime.now();
+
+        // 기간별 메시지 스캔 (null이면 전체 기간)
+        LocalDateTime startDate = days != null && days > 0 ? builtAt.minusDays(days) : null;
         
-        logger.info("분석할 메시지 수: {} (기간: {}일)", messages.size(), days != null ? days : "전체");
+        RoomStats stats = new RoomStats(keywordCapacity);
+        LocalDateTime settledBefore = settledBefore();
+        int[] analyzed = {0};
+        chatMessageScanner.scanRoom(roomId, startDate, row -> {
+            if (stats.markApplied(row.getId(), row.getTimestamp(), scanSettledBefore(settledBefore, row))
+                && row.getMessageType() == ChatMessage.MessageType.TEXT) {
+                // 키워드/참여도(nickname 사용)/시간대별 분석
+                applyRebuildStats(stats, row);
+                analyzed[0]++;
+            }
+        });
+        stats.markBuilt(normalizeDays(days), builtAt);
+        roomStats.put(roomId, stats);
+        evictAnalysisCache(roomId);
         
-        for (ChatMessage message : messages) {
-            // 키워드 분석
-            List<String> keywords = extractKeywords(message.getContent());
-            updateKeywordStats(roomId, keywords);
-            
-            // 사용자 참여도 분석 (nickname 사용)
-            String nickname = message.getName();
-            String username = message.getUsername();
-            String displayName = nickname != null ? nickname : username;
-            
-            if (displayName != null) {
-                updateUserParticipation(roomId, displayName);
-                
-                // 시간대별 활동 분석
-                updateHourlyStats(roomId, message.getTimestamp());
+        logger.info("채팅방 분석 데이터 재구축 완료: roomId={}, 분석한 메시지 수: {} (기간: {}일)",
+                   roomId, analyzed[0], days != null ? days : "전체");
+    }
+
+    /**
+     * 새로고침용 증분 재구축 - 마지막으로 반영한 메시지 이후의 메시지만 반영
+     * 처음이거나 기간이 바뀌었거나 기간 구축 후 windowRefreshMinutes가 지나면 전체 재구축
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void refreshRoomAnalysis(Long roomId, Integer days) {
+        Integer normalizedDays = normalizeDays(days);
+        RoomStats stats = roomStats.get(roomId);
+        LocalDateTime windowRefreshCutoff = LocalDateTime.now().minusMinutes(windowRefreshMinutes);
+
+        if (stats == null || !stats.isBuiltFor(normalizedDays, windowRefreshCutoff)) {
+            rebuildRoomAnalysis(roomId, normalizedDays);
+            return;
+        }
+
+        // 워터마크는 정착 대기 시간만큼 늦게 전진하므로 늦게 커밋된 앞 ID도 다음 스캔에서 반영됨
+        LocalDateTime settledBefore = settledBefore();
+        int[] applied = {0};
+        long scanned = chatMessageScanner.scanRoom(roomId, stats.getWatermark(), row -> {
+            if (stats.markApplied(row.getId(), row.getTimestamp(), scanSettledBefore(settledBefore, row))
+                && row.getMessageType() == ChatMessage.MessageType.TEXT) {
+                applyRebuildStats(stats, row);
+                applied[0]++;
             }
+        });
+        if (applied[0] > 0) {
+            evictAnalysisCache(roomId);
+        }
+
+        logger.debug("채팅방 분석 데이터 증분 반영: roomId={}, days={}, messages={}, applied={}, watermark={}",
+                    roomId, normalizedDays, scanned, applied[0], stats.getWatermark());
+    }
+
+    private void applyRebuildStats(RoomStats stats, MessageScanRow row) {
+        String displayName = row.getDisplayName();
+        // 참여자 정보가 없는 메시지는 키워드만 반영
+        if (displayName != null) {
+            applyMessageStats(stats, row.getTimestamp(), extractKeywords(row.getContent()), displayName);
+        } else {
+            stats.addKeywords(extractKeywords(row.getContent()));
         }
-        
-        logger.info("채팅방 분석 데이터 재구축 완료: roomId={}", roomId);
+    }
+
+    private Integer normalizeDays(Integer days) {
+        return days != null && days > 0 ? days : null;
     }
     
     /**
      * 모든 채팅방의 분석 데이터 재구축
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void rebuildAllRoomAnalysis() {
         logger.info("모든 채팅방 분석 데이터 재구축 시작");
         
         // 모든 메시지가 있는 채팅방 조회 (시간 제한 없음)
-        List<Long> roomIds = chatMessageRepository.findAll()
-            .stream()
-            .filter(message -> !message.getIsDeleted())
-            .map(ChatMessage::getRoomId)
-            .distinct()
-            .collect(Collectors.toList());
+        List<Long> roomIds = chatMessageRepository.findDistinctRoomIds();
         
         for (Long roomId : roomIds) {
             rebuildRoomAnalysis(roomId);
@@ -844,18 +1054,13 @@ public class ChatAnalysisService {
      * 애플리케이션 시작 시 분석 데이터 초기화
      */
     @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void initializeAnalysisDataOnStartup() {
         logger.info("애플리케이션 시작 - 분석 데이터 초기화 시작");
         
         try {
-            // 최근 7일간 활성화된 채팅방 조회
-            LocalDateTime sevenDaysAgo = LocalDateTime.now().minusDays(7);
-            List<Long> activeRoomIds = chatMessageRepository.findByTimestampBetween(
-                sevenDaysAgo, LocalDateTime.now())
-                .stream()
-                .map(ChatMessage::getRoomId)
-                .distinct()
-                .collect(Collectors.toList());
+            // 최근 7일간 활성화된 채팅방 중 이 서버가 담당하는 채팅방
+            List<Long> activeRoomIds = findRecentlyActiveOwnedRoomIds();
             
             logger.info("최근 활성 채팅방 {}개 발견", activeRoomIds.size());
             
@@ -876,6 +1081,53 @@ public class ChatAnalysisService {
         }
     }
 
+    /**
+     * 채팅방 담당 서버 재배치 - 다른 서버로 넘어간 채팅방 상태는 해제하고, 새로 맡은 활성 채팅방은 DB에서 구축
+     */
+    @EventListener
+    @Async
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void onRoomOwnershipChanged(RoomOwnershipChangedEvent event) {
+        int released = 0;
+        for (Long roomId : new ArrayList<>(roomStats.keySet())) {
+            if (!roomOwnership.isLocal(roomId)) {
+                releaseRoom(roomId);
+                released++;
+            }
+        }
+
+        int acquired = 0;
+        for (Long roomId : findRecentlyActiveOwnedRoomIds()) {
+            if (!roomStats.containsKey(roomId)) {
+                try {
+                    rebuildRoomAnalysis(roomId);
+                    acquired++;
+                } catch (Exception e) {
+                    logger.error("넘겨받은 채팅방 분석 데이터 구축 실패: roomId={}, error={}", roomId, e.getMessage());
+                }
+            }
+        }
+
+        logger.info("채팅방 담당 재배치 반영: 해제={}개, 구축={}개", released, acquired);
+    }
+
+    private List<Long> findRecentlyActiveOwnedRoomIds() {
+        LocalDateTime now = LocalDateTime.now();
+        return chatMessageRepository.findDistinctRoomIdsByTimestampBetween(now.minusDays(7), now).stream()
+            .filter(roomOwnership::isLocal)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * 다른 서버가 담당하게 된 채팅방의 메모리 상태 해제 (DB에 저장된 데이터와 캐시는 유지)
+     */
+    private void releaseRoom(Long roomId) {
+        roomStats.remove(roomId);
+        roomTimeBuckets.remove(roomId);
+        conversationFlowService.clearConversationData(roomId);
+        getAnalysisNotificationService().stopAnalysisSubscription(roomId);
+    }
+
     /**
      * 채팅방에 저장된 분석 결과가 있는지 확인하고 메모리에 로드
      */
@@ -909,7 +1161,7 @@ public class ChatAnalysisService {
      * 데이터베이스에 저장된 분석 결과에서 키워드 데이터 복원
      */
     private void restoreKeywordDataFromResults(Long roomId, List<AnalysisResult> results) {
-        Map<String, Integer> keywordStats = roomKeywordStats.computeIfAbsent(roomId, k -> new ConcurrentHashMap<>());
+        RoomStats stats = getOrCreateRoomStats(roomId);
         
         for (AnalysisResult result : results) {
             if (result.getAnalysisType() == AnalysisResult.AnalysisType.KEYWORD_FREQUENCY ||
@@ -919,8 +1171,7 @@ public class ChatAnalysisService {
                     String data = result.getAnalysisData();
                     if (data.contains("keywords")) {
                         // 간단한 키워드 추출 (실제로는 JSON 파서 사용 권장)
-                        extractKeywordsFromJson(data).forEach(keyword -> 
-                            keywordStats.merge(keyword, 1, Integer::sum));
+                        extractKeywordsFromJson(data).forEach(stats::addKeyword);
                     }
                 } catch (Exception e) {
                     logger.debug("분석 결과 파싱 실패: {}", e.getMessage());
@@ -928,7 +1179,7 @@ public class ChatAnalysisService {
             }
         }
         
-        logger.debug("복원된 키워드 수: {}", keywordStats.size());
+        logger.debug("복원된 키워드 수: {}", stats.getKeywordSize());
     }
     
     /**
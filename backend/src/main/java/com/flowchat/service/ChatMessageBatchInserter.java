@@ -0,0 +1,90 @@
+package com.flowchat.service;
+
+import com.flowchat.entity.ChatMessage;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.*;
+
+/**
+ * ID가 미리 할당된 메시지를 다중 행 INSERT로 저장
+ * - JPA 영속성 컨텍스트를 거치지 않고 한 문장에 여러 행을 저장
+ * - insertMissing은 이미 저장된 ID를 건너뛰어 재시도/저널 복구 시 중복 저장을 막음
+ */
+public class ChatMessageBatchInserter {
+
+    private static final String INSERT_PREFIX =
+        "INSERT INTO chat_messages (id, room_id, user_id, username, name, content, timestamp, message_type, is_deleted) VALUES ";
+    private static final String ROW_PLACEHOLDER = "(?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int COLUMNS_PER_ROW = 9;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int rowsPerStatement;
+
+    public ChatMessageBatchInserter(JdbcTemplate jdbcTemplate, int rowsPerStatement) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.rowsPerStatement = Math.max(1, rowsPerStatement);
+    }
+
+    /**
+     * 메시지 일괄 저장 (rowsPerStatement 행 단위로 나누어 실행)
+     */
+    public int insert(List<ChatMessage> messages) {
+        int inserted = 0;
+        for (int from = 0; from < messages.size(); from += rowsPerStatement) {
+            List<ChatMessage> chunk = messages.subList(from, Math.min(from + rowsPerStatement, messages.size()));
+            inserted += jdbcTemplate.update(buildInsertSql(chunk.size()), toParameters(chunk));
+        }
+        return inserted;
+    }
+
+    /**
+     * 아직 저장되지 않은 메시지만 저장
+     */
+    public int insertMissing(List<ChatMessage> messages) {
+        Set<Long> existing = new HashSet<>();
+        for (int from = 0; from < messages.size(); from += rowsPerStatement) {
+            List<ChatMessage> chunk = messages.subList(from, Math.min(from + rowsPerStatement, messages.size()));
+            String sql = "SELECT id FROM chat_messages WHERE id IN (" + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+            Object[] ids = chunk.stream().map(ChatMessage::getId).toArray();
+            existing.addAll(jdbcTemplate.queryForList(sql, Long.class, ids));
+        }
+
+        List<ChatMessage> missing = new ArrayList<>();
+        for (ChatMessage message : messages) {
+            if (!existing.contains(message.getId())) {
+                missing.add(message);
+            }
+        }
+        return missing.isEmpty() ? 0 : insert(missing);
+    }
+
+    private static String buildInsertSql(int rows) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + rows * (ROW_PLACEHOLDER.length() + 2));
+        sql.append(INSERT_PREFIX);
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(ROW_PLACEHOLDER);
+        }
+        return sql.toString();
+    }
+
+    private static Object[] toParameters(List<ChatMessage> messages) {
+        Object[] parameters = new Object[messages.size() * COLUMNS_PER_ROW];
+        int i = 0;
+        for (ChatMessage message : messages) {
+            parameters[i++] = message.getId();
+            parameters[i++] = message.getRoomId();
+            parameters[i++] = message.getUserId();
+            parameters[i++] = message.getUsername();
+            parameters[i++] = message.getName();
+            parameters[i++] = message.getContent();
+            parameters[i++] = Timestamp.valueOf(message.getTimestamp());
+            parameters[i++] = message.getMessageType().name();
+            parameters[i++] = Boolean.TRUE.equals(message.getIsDeleted());
+        }
+        return parameters;
+    }
+}
@@ -0,0 +1,126 @@
+package com.flowchat.service;
+
+import com.flowchat.dto.MessageScanRow;
+import com.flowchat.repository.ChatMessageRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 대량 메시지 스캔 (키셋 페이지 단위 조회)
+ * - 필요한 컬럼만 DTO로 프로젝션하고 한 페이지씩 처리하므로 방 이력이 커져도 힙 사용량이 일정
+ * - OFFSET 없이 마지막 위치 이후를 조회하므로 페이지가 뒤로 갈수록 느려지지 않음
+ * - 트랜잭션 밖에서 호출하면 페이지마다 짧은 읽기 트랜잭션으로 조회 (스캔 내내 DB 연결을 잡지 않음)
+ *   그래서 스캔을 시작하는 서비스 메서드는 propagation = NOT_SUPPORTED로 선언
+ */
+@Component
+public class ChatMessageScanner {
+
+    @Autowired
+    private ChatMessageRepository chatMessageRepository;
+
+    @Value("${analysis.scan.page-size:1000}")
+    private int pageSize;
+
+    /**
+     * 채팅방의 afterId 이후 메시지를 ID 순으로 스캔, 처리한 메시지 수 반환
+     */
+    public long scanRoom(Long roomId, long afterId, Consumer<MessageScanRow> consumer) {
+        long scanned = 0;
+        long lastId = afterId;
+        while (true) {
+            List<MessageScanRow> page = chatMessageRepository.scanByRoomIdAfterId(
+                roomId, lastId, PageRequest.of(0, pageSize));
+            for (MessageScanRow row : page) {
+                consumer.accept(row);
+            }
+            scanned += page.size();
+            if (page.size() < pageSize) {
+                return scanned;
+            }
+            lastId = page.get(page.size() - 1).getId();
+        }
+    }
+
+    /**
+     * 채팅방 메시지 스캔 - since가 null이면 전체 기간, 아니면 since 이후를 시간 순으로 스캔
+     */
+    public long scanRoom(Long roomId, LocalDateTime since, Consumer<MessageScanRow> consumer) {
+        if (since == null) {
+            return scanRoom(roomId, Long.MIN_VALUE, consumer);
+        }
+
+        long scanned = 0;
+        LocalDateTime lastTimestamp = since;
+        long lastId = Long.MIN_VALUE;
+        while (true) {
+            List<MessageScanRow> page = chatMessageRepository.scanByRoomIdAndTimestampAfter(
+                roomId, since, lastTimestamp, lastId, PageRequest.of(0, pageSize));
+            for (MessageScanRow row : page) {
+                consumer.accept(row);
+            }
+            scanned += page.size();
+            if (page.size() < pageSize) {
+                return scanned;
+            }
+            MessageScanRow last = page.get(page.size() - 1);
+            lastTimestamp = last.getTimestamp();
+            lastId = last.getId();
+        }
+    }
+
+    /**
+     * 기간 내 전체 메시지를 시간 순으로 스캔 (양 끝 포함), 처리한 메시지 수 반환
+     */
+    public long scanPeriod(LocalDateTime start, LocalDateTime end, Consumer<MessageScanRow> consumer) {
+        long scanned = 0;
+        LocalDateTime lastTimestamp = start;
+        long lastId = Long.MIN_VALUE;
+        while (true) {
+            List<MessageScanRow> page = chatMessageRepository.scanByTimestampBetween(
+                start, end, lastTimestamp, lastId, PageRequest.of(0, pageSize));
+            for (MessageScanRow row : page) {
+                consumer.accept(row);
+            }
+            scanned += page.size();
+            if (page.size() < pageSize) {
+                return scanned;
+            }
+            MessageScanRow last = page.get(page.size() - 1);
+            lastTimestamp = last.getTimestamp();
+            lastId = last.getId();
+        }
+    }
+
+    /**
+     * 기간 내 메시지를 시간 순으로 스캔 (양 끝 포함, roomId가 null이면 전체 채팅방), 처리한 메시지 수 반환
+     */
+    public long scanRange(Long roomId, LocalDateTime start, LocalDateTime end, Consumer<MessageScanRow> consumer) {
+        if (roomId == null) {
+            return scanPeriod(start, end, consumer);
+        }
+
+        long scanned = 0;
+        LocalDateTime lastTimestamp = start;
+        long lastId = Long.MIN_VALUE;
+        while (true) {
+            List<MessageScanRow> page = chatMessageRepository.scanByRoomIdAndTimestampBetween(
+                roomId, start, end, lastTimestamp, lastId, PageRequest.of(0, pageSize));
+            for (MessageScanRow row : page) {
+                consumer.accept(row);
+            }
+            scanned += page.size();
+            if (page.size() < pageSize) {
+                return scanned;
+            }
+            MessageScanRow last = page.get(page.size() - 1);
+            lastTimestamp = last.getTimestamp();
+            lastId = last.getId();
+        }
+    }
+}
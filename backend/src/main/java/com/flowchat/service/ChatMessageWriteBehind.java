@@ -0,0 +1,419 @@
+package com.flowchat.service;
+
+import com.flowchat.entity.ChatMessage;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+
+/**
+ * 채팅 메시지 write-behind 저장
+ * - 메시지에 ID/시각을 미리 할당하고, 몇 ms 단위로 모아 저널에 기록(fsync)한 뒤 응답
+ * - DB 저장은 별도 스레드에서 다중 행 INSERT로 일괄 처리 (일시적인 오류는 max-retries번까지 재시도)
+ * - 제약 조건 위반 메시지는 배치를 나눠 찾아낸 뒤 dead-letter 파일로 옮기고 나머지는 저장
+ * - 저널에 기록된 메시지는 DB 저장 전에 프로세스가 죽거나 재시도가 모두 실패해도 다음 시작 시 복구
+ * - DB 저장을 기다리는 메시지가 max-pending-messages개를 넘으면 새 메시지를 거부 (DB 장애 시 응답만 계속 나가지 않도록)
+ * - 아직 DB에 없는 가장 오래된 메시지 ID를 주기적으로 기록해, 시간 단위 집계가 늦게 저장될 메시지를 지나치지 않도록 함
+ * chat.write-behind.enabled=false(기본값)면 사용하지 않음
+ */
+@Component
+public class ChatMessageWriteBehind {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChatMessageWriteBehind.class);
+
+    private static final long MAX_RETRY_BACKOFF_MILLIS = 5000;
+
+    // chat_messages 컬럼 길이 (ChatMessage 엔티티와 같음) - 응답 후 dead-letter로 빠지지 않도록 미리 검사
+    private static final int MAX_CONTENT_LENGTH = 2000;
+    private static final int MAX_USERNAME_LENGTH = 50;
+    private static final int MAX_NAME_LENGTH = 100;
+
+    @Autowired
+    private SnowflakeIdGenerator idGenerator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MessageRollupService messageRollupService;
+
+    @Value("${chat.write-behind.enabled:false}")
+    private boolean enabled;
+
+    @Value("${chat.write-behind.flush-interval-ms:5}")
+    private long flushIntervalMillis;
+
+    @Value("${chat.write-behind.max-batch-size:500}")
+    private int maxBatchSize;
+
+    @Value("${chat.write-behind.journal-dir:data/message-journal}")
+    private String journalDir;
+
+    @Value("${chat.write-behind.segment-bytes:67108864}")
+    private long segmentBytes;
+
+    @Value("${chat.write-behind.ack-timeout-ms:2000}")
+    private long ackTimeoutMillis;
+
+    @Value("${chat.write-behind.max-retries:10}")
+    private int maxRetries;
+
+    @Value("${chat.write-behind.max-pending-messages:100000}")
+    private int maxPendingMessages;
+
+    private MessageJournal journal;
+    private ChatMessageBatchInserter inserter;
+    private MicroBatcher<PendingWrite> batcher;
+    private ExecutorService journalExecutor;
+    private ExecutorService dbExecutor;
+
+    // 접수 후 DB 저장(또는 포기)까지 남은 자리
+    private Semaphore capacity;
+
+    // ID를 할당했지만 아직 DB에 저장되지 않은 메시지 (저장을 포기해 저널 복구를 기다리는 메시지 포함)
+    private final ConcurrentSkipListSet<Long> unsavedIds = new ConcurrentSkipListSet<>();
+
+    private volatile boolean stopping;
+
+    /**
+     * 저널 기록 대기 중인 메시지
+     */
+    private static class PendingWrite {
+        private final ChatMessage message;
+        private final CompletableFuture<Void> journaled = new CompletableFuture<>();
+
+        PendingWrite(ChatMessage message) {
+            this.message = message;
+        }
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        if (!enabled) {
+            removeRollupCheckpoint();
+            return;
+        }
+
+        journal = new MessageJournal(Paths.get(journalDir), segmentBytes);
+        inserter = new ChatMessageBatchInserter(jdbcTemplate, maxBatchSize);
+        capacity = new Semaphore(Math.max(1, maxPendingMessages));
+        replayJournal();
+
+        journalExecutor = newSingleThreadExecutor("message-journal-writer");
+        dbExecutor = newSingleThreadExecutor("message-db-writer");
+        batcher = new MicroBatcher<>("message-write-batcher", maxBatchSize, flushIntervalMillis, this::submitBatch);
+
+        logger.info("메시지 write-behind 저장 활성화: flushIntervalMs={}, maxBatchSize={}, maxPendingMessages={}, journalDir={}",
+                   flushIntervalMillis, maxBatchSize, maxPendingMessages, journalDir);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (!enabled || batcher == null) {
+            return;
+        }
+
+        batcher.shutdown();
+        awaitTermination(journalExecutor, "저널 기록");
+        stopping = true;
+        awaitTermination(dbExecutor, "DB 저장");
+
+        try {
+            journal.close();
+        } catch (IOException e) {
+            logger.warn("메시지 저널 종료 실패: error={}", e.getMessage());
+        }
+
+        // 모두 저장했으면 저장 위치를 남겨 집계를 붙잡아 둘 필요가 없음 (남은 메시지는 다음 시작 시 복구)
+        if (unsavedIds.isEmpty()) {
+            removeRollupCheckpoint();
+        } else {
+            logger.warn("DB에 저장하지 못한 메시지를 저널에 남기고 종료: unsaved={}", unsavedIds.size());
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 메시지 저장 - 저널 기록(fsync)까지 기다린 뒤 ID가 할당된 메시지 반환
+     * DB 반영은 비동기이므로 반환 직후의 조회에는 몇 ms 동안 보이지 않을 수 있음
+     * 저장할 수 없는 메시지이거나 DB 저장 대기 메시지가 가득 찼으면 접수하지 않고 실패
+     * 접수한 뒤에는 저널 기록이 실패한 경우에만 실패를 반환 (ack-timeout-ms가 지나도 경고 후 계속 대기 -
+     * 실패로 응답한 메시지가 나중에 저장/전송되어 재전송 시 중복되지 않도록)
+     */
+    public ChatMessage write(ChatMessage message) {
+        validate(message);
+        if (!capacity.tryAcquire()) {
+            throw new RuntimeException("메시지 저장 대기열이 가득 찼습니다 (DB 저장 지연): maxPendingMessages=" + maxPendingMessages);
+        }
+        // ID 할당과 미저장 등록을 함께 해야 저장 위치 계산이 이 메시지를 지나치지 않음
+        synchronized (unsavedIds) {
+            message.setId(idGenerator.nextId());
+            unsavedIds.add(message.getId());
+        }
+        message.setTimestamp(LocalDateTime.now());
+
+        PendingWrite pending = new PendingWrite(message);
+        try {
+            batcher.add(pending);
+        } catch (RuntimeException e) {
+            unsavedIds.remove(message.getId());
+            capacity.release();
+            throw e;
+        }
+
+        try {
+            awaitJournaled(pending);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("메시지 저널 기록 실패: " + e.getCause().getMessage(), e.getCause());
+        }
+        return message;
+    }
+
+    /**
+     * 저널 기록 완료까지 대기 - 인터럽트되어도 결과가 나올 때까지 기다린 뒤 인터럽트 상태를 복원
+     */
+    private void awaitJournaled(PendingWrite pending) throws ExecutionException {
+        boolean interrupted = false;
+        boolean warned = false;
+        try {
+            while (true) {
+                try {
+                    pending.journaled.get(ackTimeoutMillis, TimeUnit.MILLISECONDS);
+                    return;
+                } catch (TimeoutException e) {
+                    if (!warned) {
+                        logger.warn("메시지 저널 기록 지연, 계속 대기: messageId={}, waitedMs={}",
+                                   pending.message.getId(), ackTimeoutMillis);
+                        warned = true;
+                    }
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * DB에 저장할 수 없는 메시지 거부 (필수 값 누락, 컬럼 길이 초과)
+     */
+    private static void validate(ChatMessage message) {
+        if (message.getRoomId() == null || message.getUserId() == null) {
+            throw new IllegalArgumentException("채팅방 ID와 사용자 ID는 필수입니다");
+        }
+        String content = message.getContent();
+        if (content == null || content.isBlank()) {
+            throw new IllegalArgumentException("메시지 내용은 필수입니다");
+        }
+        if (content.length() > MAX_CONTENT_LENGTH) {
+            throw new IllegalArgumentException("메시지는 1-" + MAX_CONTENT_LENGTH + "자 사이여야 합니다");
+        }
+        if (message.getUsername() != null && message.getUsername().length() > MAX_USERNAME_LENGTH) {
+            throw new IllegalArgumentException("사용자명이 너무 깁니다: " + message.getUsername().length());
+        }
+        if (message.getName() != null && message.getName().length() > MAX_NAME_LENGTH) {
+            throw new IllegalArgumentException("이름이 너무 깁니다: " + message.getName().length());
+        }
+    }
+
+    /**
+     * 저널 기록 스레드로 전달 - 종료 후라 전달할 수 없으면 실패로 응답 (대기 중인 요청이 끝나도록)
+     */
+    private void submitBatch(List<PendingWrite> batch) {
+        try {
+            journalExecutor.execute(() -> journalBatch(batch));
+        } catch (RejectedExecutionException e) {
+            failBatch(batch, e);
+        }
+    }
+
+    private void failBatch(List<PendingWrite> batch, Exception cause) {
+        batch.forEach(pending -> pending.journaled.completeExceptionally(cause));
+        batch.forEach(pending -> unsavedIds.remove(pending.message.getId()));
+        capacity.release(batch.size());
+    }
+
+    /**
+     * 배치를 저널에 기록하고 응답한 뒤 DB 저장 스레드로 전달
+     */
+    private void journalBatch(List<PendingWrite> batch) {
+        List<ChatMessage> messages = new ArrayList<>(batch.size());
+        for (PendingWrite pending : batch) {
+            messages.add(pending.message);
+        }
+
+        long segment;
+        try {
+            segment = journal.append(messages);
+        } catch (IOException e) {
+            logger.error("메시지 저널 기록 실패: size={}, error={}", messages.size(), e.getMessage(), e);
+            failBatch(batch, e);
+            return;
+        }
+
+        batch.forEach(pending -> pending.journaled.complete(null));
+        dbExecutor.execute(() -> insertBatch(segment, messages));
+    }
+
+    /**
+     * DB 일괄 저장 후 저널에 반영 - 저장하지 못한 배치는 저널에 남겨 다음 시작 시 복구
+     */
+    private void insertBatch(long segment, List<ChatMessage> messages) {
+        try {
+            if (insertWithRetry(messages)) {
+                journal.markCommitted(segment, messages.size());
+                messages.forEach(message -> unsavedIds.remove(message.getId()));
+            }
+        } finally {
+            capacity.release(messages.size());
+        }
+    }
+
+    /**
+     * 일시적인 오류는 백오프 후 max-retries번까지 재시도 (재시도 시에는 이미 저장된 행과 dead-letter 메시지를 건너뜀)
+     * 종료 중이거나 재시도가 모두 실패하면 false
+     */
+    private boolean insertWithRetry(List<ChatMessage> messages) {
+        Set<Long> deadLettered = new HashSet<>();
+        long backoffMillis = 50;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                List<ChatMessage> remaining = messages;
+                if (!deadLettered.isEmpty()) {
+                    remaining = messages.stream().filter(message -> !deadLettered.contains(message.getId())).toList();
+                }
+                insertOrSplit(remaining, attempt == 1, deadLettered);
+                return true;
+            } catch (Exception e) {
+                if (stopping || attempt > maxRetries) {
+                    logger.error("메시지 DB 저장 실패, 저널에서 다음 시작 시 복구: size={}, attempts={}, error={}",
+                                messages.size(), attempt, e.getMessage());
+                    return false;
+                }
+                logger.warn("메시지 DB 저장 실패, 재시도 예정: size={}, attempt={}, error={}",
+                           messages.size(), attempt, e.getMessage());
+                try {
+                    Thread.sleep(backoffMillis);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+                backoffMillis = Math.min(backoffMillis * 2, MAX_RETRY_BACKOFF_MILLIS);
+            }
+        }
+    }
+
+    /**
+     * 저장된 메시지 수 반환 - 제약 조건 위반은 재시도해도 같으므로 배치를 반으로 나눠 저장하고,
+     * 한 건만 남은 위반 메시지는 dead-letter 파일로 옮김 (일시적인 오류는 그대로 던짐)
+     */
+    private int insertOrSplit(List<ChatMessage> messages, boolean fresh, Set<Long> deadLettered) throws IOException {
+        if (messages.isEmpty()) {
+            return 0;
+        }
+        try {
+            return fresh ? inserter.insert(messages) : inserter.insertMissing(messages);
+        } catch (DataIntegrityViolationException e) {
+            if (messages.size() == 1) {
+                ChatMessage message = messages.get(0);
+                journal.appendDeadLetters(messages);
+                deadLettered.add(message.getId());
+                logger.error("DB에 저장할 수 없는 메시지를 dead-letter로 이동: messageId={}, roomId={}, error={}",
+                            message.getId(), message.getRoomId(), e.getMessage());
+                return 0;
+            }
+            int middle = messages.size() / 2;
+            return insertOrSplit(messages.subList(0, middle), false, deadLettered)
+                + insertOrSplit(messages.subList(middle, messages.size()), false, deadLettered);
+        }
+    }
+
+    /**
+     * 이전 실행에서 DB에 반영되지 못한 저널 메시지 복구
+     */
+    private void replayJournal() throws IOException {
+        List<ChatMessage> recovered = journal.readRecovered();
+        if (recovered.isEmpty()) {
+            journal.discardRecovered();
+            return;
+        }
+
+        try {
+            int inserted = insertOrSplit(recovered, false, new HashSet<>());
+            journal.discardRecovered();
+            logger.info("메시지 저널 복구 완료: journaled={}, inserted={}", recovered.size(), inserted);
+        } catch (Exception e) {
+            // 세그먼트를 남겨두고 다음 시작 시 다시 복구 (그때까지 집계가 지나치지 않도록 미저장으로 유지)
+            recovered.forEach(message -> unsavedIds.add(message.getId()));
+            logger.error("메시지 저널 복구 실패: journaled={}, error={}", recovered.size(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 저장 위치 기록 - 미저장 메시지가 없으면 다음에 할당될 ID 직전까지 저장된 것으로 기록
+     * 이전 실행의 저장 위치는 저널 복구가 끝날 때까지 그대로 남아 있으므로 재시작 중에도 집계가 복구 대상을 지나치지 않음
+     */
+    @Scheduled(fixedDelayString = "${chat.write-behind.checkpoint-interval-ms:5000}")
+    public void saveRollupCheckpoint() {
+        if (!enabled || batcher == null || stopping) {
+            return;
+        }
+        long savedThroughId;
+        synchronized (unsavedIds) {
+            savedThroughId = (unsavedIds.isEmpty() ? idGenerator.nextId() : unsavedIds.first()) - 1;
+        }
+        try {
+            messageRollupService.saveWriteBehindCheckpoint(idGenerator.getNodeId(), savedThroughId);
+        } catch (Exception e) {
+            logger.warn("메시지 저장 위치 기록 실패: savedThroughId={}, error={}", savedThroughId, e.getMessage());
+        }
+    }
+
+    private void removeRollupCheckpoint() {
+        try {
+            messageRollupService.removeWriteBehindCheckpoint(idGenerator.getNodeId());
+        } catch (Exception e) {
+            logger.warn("메시지 저장 위치 제거 실패: error={}", e.getMessage());
+        }
+    }
+
+    private static ExecutorService newSingleThreadExecutor(String name) {
+        return Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static void awaitTermination(ExecutorService executor, String label) {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                logger.warn("메시지 {} 스레드 종료 대기 시간 초과", label);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
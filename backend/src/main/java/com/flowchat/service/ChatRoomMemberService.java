@@ -2,11 +2,13 @@ package com.flowchat.service;
 
 import com.flowchat.entity.ChatRoomMember;
 import com.flowchat.entity.User;
+import com.flowchat.event.RoomMembershipChangedEvent;
 import com.flowchat.repository.ChatRoomMemberRepository;
 import com.flowchat.repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import jakarta.persistence.EntityManager;
@@ -31,12 +33,18 @@ public class ChatRoomMemberService {
     @Autowired
     private EntityManager entityManager;
     
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
     /**
      * 채팅방에 사용자 추가 (멤버십 생성)
      */
     public ChatRoomMember addMemberToRoom(Long roomId, Long userId) {
         logger.info("채팅방 멤버십 추가: roomId={}, userId={}", roomId, userId);
         
+        // 커밋 후 권한 캐시 무효화 (롤백되면 전달되지 않음)
+        eventPublisher.publishEvent(new RoomMembershipChangedEvent(this, roomId, userId));
+        
         try {
             // 이미 멤버인지 확인 (활성/비활성 모두 포함)
             Optional<ChatRoomMember> existingMember = chatRoomMemberRepository.findByRoomIdAndUserId(roomId, userId);
@@ -100,6 +108,7 @@ public class ChatRoomMemberService {
             ChatRoomMember member = memberOpt.get();
             member.deactivate();
             chatRoomMemberRepository.save(member);
+            eventPublisher.publishEvent(new RoomMembershipChangedEvent(this, roomId, userId));
             logger.info("채팅방 멤버십 비활성화 완료: roomId={}, userId={}", roomId, userId);
         } else {
             logger.warn("제거할 멤버십을 찾을 수 없음: roomId={}, userId={}", roomId, userId);
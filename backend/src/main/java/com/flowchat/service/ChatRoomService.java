@@ -8,11 +8,13 @@ import com.flowchat.repository.ChatRoomRepository;
 import com.flowchat.repository.UserRepository;
 import com.flowchat.repository.ChatRoomMemberRepository;
 import com.flowchat.entity.ChatRoomMember;
+import com.flowchat.event.ChatRoomDeactivatedEvent;
 import com.flowchat.service.ChatRoomMemberService;
 import com.flowchat.service.ChatRoomMemberService.ChatRoomMemberInfo;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -57,6 +59,12 @@ public class ChatRoomService {
     @Autowired
     private ChatRoomMemberRepository chatRoomMemberRepository;
     
+    @Autowired
+    private ClusterCacheSync clusterCacheSync;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
     /**
      * 애플리케이션 시작 시 채팅방 참여자 수 및 온라인 상태 초기화
      */
@@ -389,6 +397,8 @@ public class ChatRoomService {
         // 채팅방 비활성화
         chatRoom.deactivate();
         chatRoomRepository.save(chatRoom);
+        clusterCacheSync.evictRecentMessages(roomId);
+        eventPublisher.publishEvent(new ChatRoomDeactivatedEvent(this, roomId));
         
         logger.info("채팅방 삭제 완료: roomId={}", roomId);
     }
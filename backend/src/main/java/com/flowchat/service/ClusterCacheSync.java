@@ -0,0 +1,179 @@
+package com.flowchat.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flowchat.config.ClusterMessageBus;
+import com.flowchat.config.JwtAuthenticationCache;
+import com.flowchat.dto.ChatMessageResponse;
+import com.flowchat.event.ChatRoomDeactivatedEvent;
+import com.flowchat.event.RoomMembershipChangedEvent;
+import com.flowchat.event.UserChangedEvent;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 서버별 메모리 캐시 동기화 (클러스터 모드)
+ * - 최근 메시지 추가/채팅방 무효화: 다른 서버의 RecentMessageCache에도 반영
+ * - 퇴장/강제 퇴장, 멤버십 변경, 채팅방 비활성화, 사용자 변경: 다른 서버의 권한/JWT 캐시도 무효화
+ * 모든 서버가 cache-sync 토픽을 구독하며, 자신이 발행한 메시지는 이미 반영했으므로 무시
+ */
+@Component
+public class ClusterCacheSync {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterCacheSync.class);
+
+    static final String TOPIC = "cache-sync";
+    private static final String RECENT_MESSAGE = "RECENT_MESSAGE";
+    private static final String ROOM_EVICTED = "ROOM_EVICTED";
+    private static final String ACCESS_EVICTED = "ACCESS_EVICTED";
+    private static final String MEMBERSHIP_CHANGED = "MEMBERSHIP_CHANGED";
+    private static final String ROOM_DEACTIVATED = "ROOM_DEACTIVATED";
+    private static final String USER_CHANGED = "USER_CHANGED";
+
+    @Autowired
+    private ClusterMessageBus clusterMessageBus;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RecentMessageCache recentMessageCache;
+
+    @Autowired
+    private RoomAuthorizationCache roomAuthorizationCache;
+
+    @Autowired
+    private JwtAuthenticationCache jwtAuthenticationCache;
+
+    @Value("${chat.cluster.enabled:false}")
+    private boolean enabled;
+
+    @Value("${flowchat.node-id:0}")
+    private long nodeId;
+
+    @PostConstruct
+    public void init() {
+        if (enabled) {
+            clusterMessageBus.subscribe(TOPIC, this::onMessage);
+        }
+    }
+
+    /**
+     * 최근 메시지 추가 (이 서버와 다른 서버 모두)
+     */
+    public void appendRecentMessage(Long roomId, ChatMessageResponse message) {
+        recentMessageCache.append(roomId, message);
+        if (enabled) {
+            Map<String, Object> body = body(RECENT_MESSAGE, roomId);
+            body.put("message", message);
+            publish(body);
+        }
+    }
+
+    /**
+     * 채팅방 최근 메시지 무효화 (채팅방 삭제)
+     */
+    public void evictRecentMessages(Long roomId) {
+        recentMessageCache.evictRoom(roomId);
+        if (enabled) {
+            publish(body(ROOM_EVICTED, roomId));
+        }
+    }
+
+    /**
+     * 사용자+채팅방 권한 무효화 (퇴장/강제 퇴장)
+     */
+    public void evictRoomAccess(Long roomId, String username) {
+        roomAuthorizationCache.evict(roomId, username);
+        if (enabled) {
+            Map<String, Object> body = body(ACCESS_EVICTED, roomId);
+            body.put("username", username);
+            publish(body);
+        }
+    }
+
+    /**
+     * 이 서버에서 커밋된 변경을 다른 서버에 전달 (이 서버의 캐시는 각 캐시의 리스너가 무효화)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMembershipChanged(RoomMembershipChangedEvent event) {
+        if (enabled) {
+            Map<String, Object> body = body(MEMBERSHIP_CHANGED, event.getRoomId());
+            body.put("userId", event.getUserId());
+            publish(body);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoomDeactivated(ChatRoomDeactivatedEvent event) {
+        if (enabled) {
+            publish(body(ROOM_DEACTIVATED, event.getRoomId()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (enabled) {
+            Map<String, Object> body = body(USER_CHANGED, null);
+            body.put("userId", event.getUserId());
+            publish(body);
+        }
+    }
+
+    private Map<String, Object> body(String kind, Long roomId) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("origin", nodeId);
+        body.put("kind", kind);
+        body.put("roomId", roomId);
+        return body;
+    }
+
+    private void publish(Map<String, Object> body) {
+        try {
+            clusterMessageBus.publish(TOPIC, objectMapper.writeValueAsBytes(body));
+        } catch (Exception e) {
+            logger.warn("캐시 동기화 발행 실패: kind={}, roomId={}, error={}", body.get("kind"), body.get("roomId"), e.getMessage());
+        }
+    }
+
+    private void onMessage(byte[] payload) {
+        try {
+            Map<?, ?> body = objectMapper.readValue(payload, Map.class);
+            if (((Number) body.get("origin")).longValue() == nodeId) {
+                return; // 자신이 발행한 메시지는 이미 반영함
+            }
+            Long roomId = toLong(body.get("roomId"));
+            Long userId = toLong(body.get("userId"));
+
+            switch ((String) body.get("kind")) {
+                case RECENT_MESSAGE -> recentMessageCache.append(roomId,
+                    objectMapper.convertValue(body.get("message"), ChatMessageResponse.class));
+                case ROOM_EVICTED -> recentMessageCache.evictRoom(roomId);
+                case ACCESS_EVICTED -> roomAuthorizationCache.evict(roomId, (String) body.get("username"));
+                case MEMBERSHIP_CHANGED -> roomAuthorizationCache.onMembershipChanged(
+                    new RoomMembershipChangedEvent(this, roomId, userId));
+                case ROOM_DEACTIVATED -> roomAuthorizationCache.onRoomDeactivated(
+                    new ChatRoomDeactivatedEvent(this, roomId));
+                case USER_CHANGED -> {
+                    UserChangedEvent event = new UserChangedEvent(this, userId);
+                    roomAuthorizationCache.onUserChanged(event);
+                    jwtAuthenticationCache.onUserChanged(event);
+                }
+                default -> logger.debug("알 수 없는 캐시 동기화 메시지: kind={}", body.get("kind"));
+            }
+        } catch (Exception e) {
+            logger.error("캐시 동기화 메시지 처리 실패: error={}", e.getMessage(), e);
+        }
+    }
+
+    private static Long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : null;
+    }
+}
@@ -0,0 +1,170 @@
+package com.flowchat.service;
+
+import com.flowchat.config.ClusterMessageBus;
+import com.flowchat.event.ClusterMembershipChangedEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 클러스터 서버 목록 - 메시지 버스로 주기적으로 heartbeat를 주고받아 살아 있는 서버를 추적
+ * - nodeTimeoutMs 동안 heartbeat가 없으면 이탈로 간주, 정상 종료 시에는 이탈 메시지 발행
+ * - 서버 구성이 바뀌면 ClusterMembershipChangedEvent 발행
+ * 클러스터 모드가 꺼져 있으면 자기 자신만 포함
+ */
+@Component
+public class ClusterMembership {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterMembership.class);
+
+    static final String MEMBERSHIP_TOPIC = "membership";
+    private static final String HEARTBEAT = "H";
+    private static final String LEAVE = "L";
+
+    @Autowired
+    private ClusterMessageBus clusterMessageBus;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${chat.cluster.enabled:false}")
+    private boolean enabled;
+
+    @Value("${flowchat.node-id:0}")
+    private long nodeId;
+
+    @Value("${chat.cluster.node-timeout-ms:10000}")
+    private long nodeTimeoutMs;
+
+    // 다른 서버가 분석 API 요청을 전달할 이 서버의 주소
+    @Value("${chat.cluster.advertised-url:http://localhost:8080}")
+    private String advertisedUrl;
+
+    // 서버 ID → 주소/마지막 heartbeat 시각
+    private final Map<Long, Member> members = new ConcurrentHashMap<>();
+
+    private static class Member {
+        final String url;
+        volatile long lastSeen;
+
+        Member(String url, long lastSeen) {
+            this.url = url;
+            this.lastSeen = lastSeen;
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        members.put(nodeId, new Member(advertisedUrl, Long.MAX_VALUE));
+        if (enabled) {
+            clusterMessageBus.subscribe(MEMBERSHIP_TOPIC, this::onMessage);
+            publish(HEARTBEAT);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (enabled) {
+            publish(LEAVE);
+        }
+    }
+
+    public long getNodeId() {
+        return nodeId;
+    }
+
+    public Set<Long> getNodeIds() {
+        return new TreeSet<>(members.keySet());
+    }
+
+    /**
+     * 서버 주소 (모르는 서버면 null)
+     */
+    public String getUrl(long memberNodeId) {
+        Member member = members.get(memberNodeId);
+        return member != null ? member.url : null;
+    }
+
+    /**
+     * heartbeat 발행 + 응답 없는 서버 제거
+     */
+    @Scheduled(fixedDelayString = "${chat.cluster.heartbeat-interval-ms:2000}")
+    public void heartbeat() {
+        if (!enabled) {
+            return;
+        }
+        publish(HEARTBEAT);
+
+        long expiredBefore = System.currentTimeMillis() - nodeTimeoutMs;
+        boolean removed = members.entrySet().removeIf(entry -> {
+            if (entry.getValue().lastSeen < expiredBefore) {
+                logger.warn("응답 없는 서버를 클러스터에서 제외: nodeId={}, url={}", entry.getKey(), entry.getValue().url);
+                return true;
+            }
+            return false;
+        });
+        if (removed) {
+            publishChange();
+        }
+    }
+
+    /**
+     * 메시지 형식: H 또는 L|노드ID|주소
+     */
+    private void publish(String type) {
+        clusterMessageBus.publish(MEMBERSHIP_TOPIC,
+            (type + "|" + nodeId + "|" + advertisedUrl).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void onMessage(byte[] payload) {
+        String[] parts = new String(payload, StandardCharsets.UTF_8).split("\\|", 3);
+        if (parts.length < 3) {
+            return;
+        }
+        long memberNodeId;
+        try {
+            memberNodeId = Long.parseLong(parts[1]);
+        } catch (NumberFormatException e) {
+            return;
+        }
+        if (memberNodeId == nodeId) {
+            return;
+        }
+
+        if (LEAVE.equals(parts[0])) {
+            if (members.remove(memberNodeId) != null) {
+                logger.info("서버가 클러스터에서 이탈: nodeId={}", memberNodeId);
+                publishChange();
+            }
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        Member existing = members.get(memberNodeId);
+        if (existing != null && existing.url.equals(parts[2])) {
+            existing.lastSeen = now;
+            return;
+        }
+        members.put(memberNodeId, new Member(parts[2], now));
+        logger.info("서버가 클러스터에 합류: nodeId={}, url={}", memberNodeId, parts[2]);
+        // 새 서버가 빨리 전체 구성을 알 수 있도록 바로 heartbeat 응답
+        publish(HEARTBEAT);
+        publishChange();
+    }
+
+    private void publishChange() {
+        eventPublisher.publishEvent(new ClusterMembershipChangedEvent(this, getNodeIds()));
+    }
+}
@@ -16,8 +16,8 @@ public class ConversationFlowService {
 
     private static final Logger logger = LoggerFactory.getLogger(ConversationFlowService.class);
 
-    // 채팅방별 대화 세션 관리
-    private final Map<Long, List<ConversationSession>> roomConversations = new ConcurrentHashMap<>();
+    // 채팅방별 대화 흐름 집계 (진행 중 세션 + 종료 세션 누적 집계)
+    private final Map<Long, RoomConversations> roomConversations = new ConcurrentHashMap<>();
     
     // 대화 세션 임계값 (분)
     private static final long SESSION_BREAK_MINUTES = 10;
@@ -25,174 +25,236 @@ public class ConversationFlowService {
     // 활발한 대화 임계값 (초)
     private static final long ACTIVE_CONVERSATION_SECONDS = 30;
 
+    // 응답 시간 분포 구간 상한 (초) - 마지막 구간은 상한 없음
+    private static final long[] RESPONSE_TIME_BOUNDS = {10, 30, 60, 300};
+    private static final String[] RESPONSE_TIME_LABELS = {"10초 이하", "30초 이하", "1분 이하", "5분 이하", "5분 초과"};
+
     /**
-     * 대화 세션 클래스
+     * 대화 세션 - 메시지 목록 대신 누적 집계만 보관
+     * (메시지 수, 첫/마지막 메시지 시각, 응답 간격 평균(Welford), 참여자)
      */
     public static class ConversationSession {
-        private LocalDateTime startTime;
-        private LocalDateTime endTime;
-        private List<ChatMessage> messages;
-        private Set<String> participants;
-        private Duration totalDuration;
+        private final LocalDateTime startTime;
+        private LocalDateTime lastMessageTime;
+        private long messageCount;
+        private final Set<String> participants = new HashSet<>();
+        private long responseCount;
         private double averageResponseTime;
         
         public ConversationSession(LocalDateTime startTime) {
             this.startTime = startTime;
-            this.messages = new ArrayList<>();
-            this.participants = new HashSet<>();
         }
-        
+
         // Getters
         public LocalDateTime getStartTime() { return startTime; }
-        public LocalDateTime getEndTime() { return endTime; }
-        public List<ChatMessage> getMessages() { return messages; }
-        public Set<String> getParticipants() { return participants; }
-        public Duration getTotalDuration() { return totalDuration; }
+        public LocalDateTime getLastMessageTime() { return lastMessageTime; }
+        public long getMessageCount() { return messageCount; }
+        public int getParticipantCount() { return participants.size(); }
         public double getAverageResponseTime() { return averageResponseTime; }
+
+        /**
+         * 첫 메시지부터 마지막 메시지까지의 시간 (메시지가 2개 미만이면 null)
+         */
+        public Duration getTotalDuration() {
+            return messageCount >= 2 ? Duration.between(startTime, lastMessageTime) : null;
+        }
         
-        // Setters
-        public void setEndTime(LocalDateTime endTime) { this.endTime = endTime; }
-        public void setTotalDuration(Duration totalDuration) { this.totalDuration = totalDuration; }
-        public void setAverageResponseTime(double averageResponseTime) { this.averageResponseTime = averageResponseTime; }
-        
-        public void addMessage(ChatMessage message, String username) {
-            this.messages.add(message);
-            this.participants.add(username);
+        /**
+         * 메시지 추가 - 직전 메시지와의 간격(초)을 반환 (첫 메시지면 0)
+         */
+        public long addMessage(LocalDateTime timestamp, String username) {
+            long responseSeconds = 0;
+            if (lastMessageTime != null) {
+                // 직전 메시지와의 간격(초)으로 평균 응답 시간 갱신
+                responseSeconds = Duration.between(lastMessageTime, timestamp).getSeconds();
+                responseCount++;
+                averageResponseTime += (responseSeconds - averageResponseTime) / responseCount;
+            }
+            lastMessageTime = timestamp;
+            messageCount++;
+            participants.add(username);
+            return responseSeconds;
         }
     }
 
     /**
-     * 메시지를 대화 세션에 추가하고 흐름을 분석합니다
+     * 채팅방별 대화 흐름 집계 - 메시지마다 O(1)로 갱신하고 조회는 집계값만 읽음
+     * 종료된 세션은 세션 수, 지속 시간 합, 응답 시간 평균 합, 참여자 수 분포에 반영한 뒤 버림
+     * 메시지 추가와 조회는 채팅방 단위로 동기화
      */
-    public void analyzeConversationFlow(Long roomId, ChatMessage message, String username) {
-        List<ConversationSession> sessions = roomConversations.computeIfAbsent(roomId, k -> new ArrayList<>());
-        
-        ConversationSession currentSession = getCurrentOrCreateSession(sessions, message.getTimestamp());
-        currentSession.addMessage(message, username);
+    private static class RoomConversations {
+        private ConversationSession currentSession;
+
+        // 종료 세션 누적 집계
+        private int closedSessions;
+        private long closedDurationMinutesSum;      // 메시지 2개 이상인 세션의 지속 시간(분) 합
+        private int closedDurationSessions;
+        private double closedResponseTimeSum;       // 평균 응답 시간이 0보다 큰 세션의 평균 응답 시간 합
+        private int closedResponseTimeSessions;
+        private final Map<Integer, Long> closedParticipantCounts = new TreeMap<>();
+        
+        // 전체 메시지 집계
+        private final long[] hourlyCounts = new long[24];
+        private final long[] responseTimeCounts = new long[RESPONSE_TIME_LABELS.length];
+        
+        synchronized ConversationSession addMessage(LocalDateTime timestamp, String username) {
+            // 마지막 메시지로부터 10분 이상 지났으면 이전 세션을 종료하고 새 세션 시작
+            if (currentSession != null && Duration.between(currentSession.getLastMessageTime(), timestamp)
+                    .toMinutes() > SESSION_BREAK_MINUTES) {
+                closeCurrentSession();
+            }
+            if (currentSession == null) {
+                currentSession = new ConversationSession(timestamp);
+            }
+            long responseSeconds = currentSession.addMessage(timestamp, username);
+            hourlyCounts[timestamp.getHour()]++;
+            if (currentSession.getMessageCount() > 1) {
+                responseTimeCounts[responseTimeBucket(responseSeconds)]++;
+            }
+            return currentSession;
+        }
         
-        // 세션 통계 업데이트
-        updateSessionStatistics(currentSession);
+        private void closeCurrentSession() {
+            ConversationSession session = currentSession;
+            closedSessions++;
+            Duration duration = session.getTotalDuration();
+            if (duration != null) {
+                closedDurationMinutesSum += duration.toMinutes();
+                closedDurationSessions++;
+            }
+            if (session.getAverageResponseTime() > 0) {
+                closedResponseTimeSum += session.getAverageResponseTime();
+                closedResponseTimeSessions++;
+            }
+            closedParticipantCounts.merge(session.getParticipantCount(), 1L, Long::sum);
+            currentSession = null;
+        }
+
+        /**
+         * 종료 세션 집계에 진행 중 세션을 더한 조회용 스냅샷
+         */
+        synchronized FlowSnapshot snapshot() {
+            FlowSnapshot snapshot = new FlowSnapshot();
+            snapshot.totalSessions = closedSessions;
+            long durationMinutesSum = closedDurationMinutesSum;
+            int durationSessions = closedDurationSessions;
+            double responseTimeSum = closedResponseTimeSum;
+            int responseTimeSessions = closedResponseTimeSessions;
+            Map<Integer, Long> participantCounts = new TreeMap<>(closedParticipantCounts);
+            
+            if (currentSession != null) {
+                snapshot.totalSessions++;
+                snapshot.lastMessageTime = currentSession.getLastMessageTime();
+                Duration duration = currentSession.getTotalDuration();
+                if (duration != null) {
+                    durationMinutesSum += duration.toMinutes();
+                    durationSessions++;
+                }
+                if (currentSession.getAverageResponseTime() > 0) {
+                    responseTimeSum += currentSession.getAverageResponseTime();
+                    responseTimeSessions++;
+                }
+                participantCounts.merge(currentSession.getParticipantCount(), 1L, Long::sum);
+            }
+
+            snapshot.averageSessionDuration = durationSessions > 0 ? (double) durationMinutesSum / durationSessions : 0.0;
+            snapshot.averageResponseTime = responseTimeSessions > 0 ? responseTimeSum / responseTimeSessions : 0.0;
+            snapshot.participantCounts = participantCounts;
+            snapshot.hourlyCounts = hourlyCounts.clone();
+            snapshot.responseTimeCounts = responseTimeCounts.clone();
+            return snapshot;
+        }
         
-        logger.debug("대화 흐름 분석 완료: roomId={}, session 메시지 수={}, 참여자 수={}", 
-                    roomId, currentSession.getMessages().size(), currentSession.getParticipants().size());
+        synchronized LocalDateTime lastMessageTime() {
+            return currentSession != null ? currentSession.getLastMessageTime() : null;
+        }
     }
 
     /**
-     * 현재 세션을 가져오거나 새 세션을 생성합니다
+     * 채팅방 대화 흐름 집계 스냅샷
      */
-    private ConversationSession getCurrentOrCreateSession(List<ConversationSession> sessions, LocalDateTime messageTime) {
-        if (sessions.isEmpty()) {
-            ConversationSession newSession = new ConversationSession(messageTime);
-            sessions.add(newSession);
-            return newSession;
+    private static class FlowSnapshot {
+        int totalSessions;
+        LocalDateTime lastMessageTime;          // 진행 중 세션의 마지막 메시지 시각 (세션이 없으면 null)
+        double averageSessionDuration;
+        double averageResponseTime;
+        Map<Integer, Long> participantCounts;
+        long[] hourlyCounts;
+        long[] responseTimeCounts;
+        
+        Map<Integer, Long> hourlyActivity() {
+            Map<Integer, Long> hourlyActivity = new HashMap<>();
+            for (int hour = 0; hour < hourlyCounts.length; hour++) {
+                if (hourlyCounts[hour] > 0) {
+                    hourlyActivity.put(hour, hourlyCounts[hour]);
+                }
+            }
+            return hourlyActivity;
         }
-        
-        ConversationSession lastSession = sessions.get(sessions.size() - 1);
-        
-        // 마지막 메시지로부터 10분 이상 지났으면 새 세션 시작
-        if (lastSession.getMessages().isEmpty() || 
-            Duration.between(lastSession.getMessages().get(lastSession.getMessages().size() - 1).getTimestamp(), messageTime)
-                .toMinutes() > SESSION_BREAK_MINUTES) {
-            
-            // 이전 세션 종료
-            if (!lastSession.getMessages().isEmpty()) {
-                lastSession.setEndTime(lastSession.getMessages().get(lastSession.getMessages().size() - 1).getTimestamp());
+    }
+
+    private static int responseTimeBucket(long responseSeconds) {
+        for (int i = 0; i < RESPONSE_TIME_BOUNDS.length; i++) {
+            if (responseSeconds <= RESPONSE_TIME_BOUNDS[i]) {
+                return i;
             }
-            
-            ConversationSession newSession = new ConversationSession(messageTime);
-            sessions.add(newSession);
-            return newSession;
         }
-        
-        return lastSession;
+        return RESPONSE_TIME_BOUNDS.length;
     }
 
     /**
-     * 세션 통계를 업데이트합니다
+     * 메시지를 대화 세션에 추가하고 흐름을 분석합니다
      */
-    private void updateSessionStatistics(ConversationSession session) {
-        List<ChatMessage> messages = session.getMessages();
-        if (messages.size() < 2) return;
-        
-        // 세션 지속 시간 계산
-        LocalDateTime start = messages.get(0).getTimestamp();
-        LocalDateTime end = messages.get(messages.size() - 1).getTimestamp();
-        session.setTotalDuration(Duration.between(start, end));
-        
-        // 평균 응답 시간 계산
-        List<Duration> responseTimes = new ArrayList<>();
-        for (int i = 1; i < messages.size(); i++) {
-            Duration responseTime = Duration.between(
-                messages.get(i - 1).getTimestamp(), 
-                messages.get(i).getTimestamp()
-            );
-            responseTimes.add(responseTime);
-        }
-        
-        double avgResponseSeconds = responseTimes.stream()
-            .mapToLong(Duration::getSeconds)
-            .average()
-            .orElse(0.0);
+    public void analyzeConversationFlow(Long roomId, ChatMessage message, String username) {
+        LocalDateTime timestamp = message.getTimestamp() != null ? message.getTimestamp() : LocalDateTime.now();
+        ConversationSession currentSession = roomConversations
+            .computeIfAbsent(roomId, k -> new RoomConversations())
+            .addMessage(timestamp, username);
         
-        session.setAverageResponseTime(avgResponseSeconds);
+        logger.debug("대화 흐름 분석 완료: roomId={}, session 메시지 수={}, 참여자 수={}", 
+                    roomId, currentSession.getMessageCount(), currentSession.getParticipantCount());
+    }
+
+    private FlowSnapshot getSnapshot(Long roomId) {
+        RoomConversations conversations = roomConversations.get(roomId);
+        return conversations != null ? conversations.snapshot() : null;
     }
 
     /**
-     * 채팅방의 대화 흐름 통계를 조회합니다
+     * 채팅방의 대화 흐름 통계를 조회합니다 (누적 집계 스냅샷, 세션 수와 무관하게 일정한 비용)
      */
     public Map<String, Object> getConversationFlowStats(Long roomId) {
-        List<ConversationSession> sessions = roomConversations.getOrDefault(roomId, new ArrayList<>());
+        FlowSnapshot snapshot = getSnapshot(roomId);
         
-        if (sessions.isEmpty()) {
+        if (snapshot == null || snapshot.totalSessions == 0) {
             return createEmptyFlowStats(roomId);
         }
         
-        // 활성 세션 개수
-        long activeSessions = sessions.stream()
-            .filter(session -> !session.getMessages().isEmpty())
-            .filter(session -> {
-                ChatMessage lastMessage = session.getMessages().get(session.getMessages().size() - 1);
-                return Duration.between(lastMessage.getTimestamp(), LocalDateTime.now()).getSeconds() < SESSION_BREAK_MINUTES * 60;
-            })
-            .count();
-        
-        // 평균 세션 지속 시간
-        double avgSessionDuration = sessions.stream()
-            .filter(session -> session.getTotalDuration() != null)
-            .mapToLong(session -> session.getTotalDuration().toMinutes())
-            .average()
-            .orElse(0.0);
-        
-        // 평균 응답 시간
-        double avgResponseTime = sessions.stream()
-            .mapToDouble(ConversationSession::getAverageResponseTime)
-            .filter(time -> time > 0)
-            .average()
-            .orElse(0.0);
-        
-        // 가장 활발한 시간대
-        Map<Integer, Long> hourlyActivity = sessions.stream()
-            .flatMap(session -> session.getMessages().stream())
-            .collect(Collectors.groupingBy(
-                message -> message.getTimestamp().getHour(),
-                Collectors.counting()
-            ));
+        // 활성 세션 개수 - 종료된 세션은 마지막 메시지가 10분보다 오래 전이므로 진행 중 세션만 확인
+        long activeSessions = snapshot.lastMessageTime != null
+            && Duration.between(snapshot.lastMessageTime, LocalDateTime.now()).getSeconds() < SESSION_BREAK_MINUTES * 60
+            ? 1 : 0;
         
         // 세션별 참여자 수 분포
-        Map<String, Long> participantDistribution = sessions.stream()
-            .collect(Collectors.groupingBy(
-                session -> session.getParticipants().size() + "명",
-                Collectors.counting()
-            ));
+        Map<String, Long> participantDistribution = new HashMap<>();
+        snapshot.participantCounts.forEach((participants, sessions) ->
+            participantDistribution.put(participants + "명", sessions));
+        
+        // 응답 시간 분포 (메시지 간 간격)
+        Map<String, Long> responseTimeDistribution = new LinkedHashMap<>();
+        for (int i = 0; i < RESPONSE_TIME_LABELS.length; i++) {
+            responseTimeDistribution.put(RESPONSE_TIME_LABELS[i], snapshot.responseTimeCounts[i]);
+        }
         
         Map<String, Object> result = new HashMap<>();
         result.put("roomId", roomId);
-        result.put("totalSessions", sessions.size());
+        result.put("totalSessions", snapshot.totalSessions);
         result.put("activeSessions", activeSessions);
-        result.put("averageSessionDuration", Math.round(avgSessionDuration * 100.0) / 100.0); // 분 단위
-        result.put("averageResponseTime", Math.round(avgResponseTime * 100.0) / 100.0); // 초 단위
-        result.put("hourlyActivity", hourlyActivity);
+        result.put("averageSessionDuration", Math.round(snapshot.averageSessionDuration * 100.0) / 100.0); // 분 단위
+        result.put("averageResponseTime", Math.round(snapshot.averageResponseTime * 100.0) / 100.0); // 초 단위
+        result.put("hourlyActivity", snapshot.hourlyActivity());
         result.put("participantDistribution", participantDistribution);
+        result.put("responseTimeDistribution", responseTimeDistribution);
         result.put("lastUpdated", LocalDateTime.now());
         
         return result;
@@ -210,6 +272,7 @@ public class ConversationFlowService {
         result.put("averageResponseTime", 0.0);
         result.put("hourlyActivity", new HashMap<>());
         result.put("participantDistribution", new HashMap<>());
+        result.put("responseTimeDistribution", new LinkedHashMap<>());
         result.put("lastUpdated", LocalDateTime.now());
         return result;
     }
@@ -218,22 +281,15 @@ public class ConversationFlowService {
      * 대화의 활발함 정도를 측정합니다
      */
     public String getConversationActivity(Long roomId) {
-        List<ConversationSession> sessions = roomConversations.getOrDefault(roomId, new ArrayList<>());
-        
-        if (sessions.isEmpty()) {
-            return "비활성";
-        }
-        
-        ConversationSession currentSession = sessions.get(sessions.size() - 1);
-        List<ChatMessage> messages = currentSession.getMessages();
+        RoomConversations conversations = roomConversations.get(roomId);
+        LocalDateTime lastMessageTime = conversations != null ? conversations.lastMessageTime() : null;
         
-        if (messages.isEmpty()) {
+        if (lastMessageTime == null) {
             return "비활성";
         }
         
         // 최근 메시지 시간 확인
-        ChatMessage lastMessage = messages.get(messages.size() - 1);
-        long secondsSinceLastMessage = Duration.between(lastMessage.getTimestamp(), LocalDateTime.now()).getSeconds();
+        long secondsSinceLastMessage = Duration.between(lastMessageTime, LocalDateTime.now()).getSeconds();
         
         if (secondsSinceLastMessage <= ACTIVE_CONVERSATION_SECONDS) {
             return "매우 활발";
@@ -250,11 +306,11 @@ public class ConversationFlowService {
      * 대화 패턴 분석
      */
     public Map<String, Object> analyzeConversationPatterns(Long roomId) {
-        List<ConversationSession> sessions = roomConversations.getOrDefault(roomId, new ArrayList<>());
+        FlowSnapshot snapshot = getSnapshot(roomId);
         
         Map<String, Object> patterns = new HashMap<>();
         
-        if (sessions.isEmpty()) {
+        if (snapshot == null || snapshot.totalSessions == 0) {
             patterns.put("dominantPattern", "데이터 부족");
             patterns.put("conversationRhythm", "분석 불가");
             patterns.put("peakHours", new ArrayList<>());
@@ -262,11 +318,7 @@ public class ConversationFlowService {
         }
         
         // 대화 리듬 분석 (빠름/보통/느림)
-        double avgResponseTime = sessions.stream()
-            .mapToDouble(ConversationSession::getAverageResponseTime)
-            .filter(time -> time > 0)
-            .average()
-            .orElse(0.0);
+        double avgResponseTime = snapshot.averageResponseTime;
         
         String rhythm;
         if (avgResponseTime <= 10) {
@@ -278,14 +330,7 @@ public class ConversationFlowService {
         }
         
         // 주요 활동 시간대 (상위 3개)
-        Map<Integer, Long> hourlyActivity = sessions.stream()
-            .flatMap(session -> session.getMessages().stream())
-            .collect(Collectors.groupingBy(
-                message -> message.getTimestamp().getHour(),
-                Collectors.counting()
-            ));
-        
-        List<Integer> peakHours = hourlyActivity.entrySet().stream()
+        List<Integer> peakHours = snapshot.hourlyActivity().entrySet().stream()
             .sorted(Map.Entry.<Integer, Long>comparingByValue().reversed())
             .limit(3)
             .map(Map.Entry::getKey)
@@ -293,7 +338,7 @@ public class ConversationFlowService {
         
         // 주요 대화 패턴
         String dominantPattern;
-        if (sessions.size() > 10 && avgResponseTime <= 30) {
+        if (snapshot.totalSessions > 10 && avgResponseTime <= 30) {
             dominantPattern = "활발한 토론형";
         } else if (avgResponseTime <= 60) {
             dominantPattern = "일반 대화형";
@@ -316,4 +361,4 @@ public class ConversationFlowService {
         roomConversations.remove(roomId);
         logger.info("대화 흐름 데이터 초기화 완료: roomId={}", roomId);
     }
-}
\ No newline at end of file
+}
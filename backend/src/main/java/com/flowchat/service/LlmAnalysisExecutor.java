@@ -0,0 +1,174 @@
+package com.flowchat.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * LLM 분석 전용 실행기
+ * - 공용 ForkJoinPool 대신 고정 크기 워커 풀과 제한된 큐 사용
+ * - 워커는 프롬프트 생성 후 비동기 HTTP 요청만 시작하고 바로 반환 (응답 대기 중 스레드 점유 없음)
+ * - 큐가 가득 차거나 진행 중인 요청 수가 한도에 도달하면 LlmAnalysisRejectedException으로 즉시 거절
+ * - 큐 깊이, 진행 중 요청 수 및 대기 시간 지표 제공
+ */
+@Component
+public class LlmAnalysisExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(LlmAnalysisExecutor.class);
+
+    @Value("${async.core-pool-size:5}")
+    private int corePoolSize;
+
+    @Value("${async.max-pool-size:20}")
+    private int maxPoolSize;
+
+    @Value("${async.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${async.thread-name-prefix:llm-analysis-}")
+    private String threadNamePrefix;
+
+    @Value("${async.max-in-flight:500}")
+    private int maxInFlight;
+
+    private ThreadPoolExecutor executor;
+    private Semaphore inFlightPermits;
+
+    // 지표
+    private final LongAdder submittedCount = new LongAdder();
+    private final LongAdder startedCount = new LongAdder();
+    private final LongAdder completedCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+    private final LongAdder totalWaitMillis = new LongAdder();
+    private final AtomicLong maxWaitMillis = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, threadNamePrefix + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+
+        this.executor = new ThreadPoolExecutor(
+            corePoolSize,
+            Math.max(corePoolSize, maxPoolSize),
+            60L, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            threadFactory,
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+        this.inFlightPermits = new Semaphore(maxInFlight);
+
+        logger.info("LLM 분석 실행기 초기화: corePoolSize={}, maxPoolSize={}, queueCapacity={}, maxInFlight={}",
+                   corePoolSize, maxPoolSize, queueCapacity, maxInFlight);
+    }
+
+    /**
+     * 분석 작업 제출 - 작업은 비동기 LLM 호출의 Future를 반환
+     * 큐가 가득 찼거나 진행 중인 요청이 한도에 도달한 경우 예외로 완료된 Future 반환
+     */
+    public <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+
+        if (!inFlightPermits.tryAcquire()) {
+            rejectedCount.increment();
+            logger.debug("LLM 진행 중 요청 한도 도달로 요청 거절: maxInFlight={}", maxInFlight);
+            future.completeExceptionally(new LlmAnalysisRejectedException("진행 중인 LLM 요청이 한도에 도달했습니다"));
+            return future;
+        }
+
+        long enqueuedAt = System.nanoTime();
+        try {
+            executor.execute(() -> {
+                recordWait(enqueuedAt);
+                CompletableFuture<T> call;
+                try {
+                    call = task.get();
+                } catch (Throwable t) {
+                    call = CompletableFuture.failedFuture(t);
+                }
+                call.whenComplete((result, throwable) -> {
+                    inFlightPermits.release();
+                    completedCount.increment();
+                    if (throwable != null) {
+                        future.completeExceptionally(throwable);
+                    } else {
+                        future.complete(result);
+                    }
+                });
+            });
+            submittedCount.increment();
+        } catch (RejectedExecutionException e) {
+            inFlightPermits.release();
+            rejectedCount.increment();
+            logger.debug("LLM 분석 큐 포화로 요청 거절: queueDepth={}", executor.getQueue().size());
+            future.completeExceptionally(new LlmAnalysisRejectedException("LLM 분석 큐가 가득 찼습니다", e));
+        }
+
+        return future;
+    }
+
+    /**
+     * 대기 시간 기록
+     */
+    private void recordWait(long enqueuedAt) {
+        long waitMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - enqueuedAt);
+        totalWaitMillis.add(waitMillis);
+        startedCount.increment();
+        maxWaitMillis.accumulateAndGet(waitMillis, Math::max);
+    }
+
+    /**
+     * 실행기 상태 지표 조회
+     */
+    public Map<String, Object> getStats() {
+        long started = startedCount.sum();
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("queueDepth", executor.getQueue().size());
+        stats.put("queueCapacity", queueCapacity);
+        stats.put("activeWorkers", executor.getActiveCount());
+        stats.put("poolSize", executor.getPoolSize());
+        stats.put("inFlight", maxInFlight - inFlightPermits.availablePermits());
+        stats.put("maxInFlight", maxInFlight);
+        stats.put("submitted", submittedCount.sum());
+        stats.put("started", started);
+        stats.put("completed", completedCount.sum());
+        stats.put("rejected", rejectedCount.sum());
+        stats.put("averageWaitMillis", started > 0 ? (double) totalWaitMillis.sum() / started : 0.0);
+        stats.put("maxWaitMillis", maxWaitMillis.get());
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.flowchat.service;
+
+/**
+ * LLM 분석 요청이 수용되지 않았을 때 발생하는 예외
+ * (분석 큐 포화 등) - 호출 측은 정적 분석으로 폴백해야 함
+ */
+public class LlmAnalysisRejectedException extends RuntimeException {
+
+    public LlmAnalysisRejectedException(String message) {
+        super(message);
+    }
+
+    public LlmAnalysisRejectedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
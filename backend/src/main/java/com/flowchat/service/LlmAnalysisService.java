@@ -1,16 +1,21 @@
 package com.flowchat.service;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
 
 @Service
 public class LlmAnalysisService {
@@ -20,12 +25,6 @@ public class LlmAnalysisService {
     @Value("${llm.provider:openai}")
     private String llmProvider;
 
-    @Value("${llm.api.key}")
-    private String apiKey;
-
-    @Value("${llm.api.url:https://api.openai.com/v1/chat/completions}")
-    private String apiUrl;
-
     @Value("${llm.model:gpt-3.5-turbo}")
     private String model;
 
@@ -35,153 +34,359 @@ public class LlmAnalysisService {
     @Value("${llm.temperature:0.3}")
     private double temperature;
 
-    private final RestTemplate restTemplate;
+    @Value("${llm.batch.enabled:false}")
+    private boolean batchEnabled;
+
+    @Value("${llm.batch.size:5}")
+    private int batchSize;
+
+    @Value("${llm.batch.max-wait-ms:2000}")
+    private long batchMaxWaitMillis;
+
+    // 단건 분석 제한 시간
+    @Value("${llm.fallback.timeout-seconds:10}")
+    private long requestTimeoutSeconds;
+
+    // 여러 메시지를 함께 보내는 배치/맥락 분석 제한 시간
+    @Value("${llm.batch.timeout-seconds:30}")
+    private long batchTimeoutSeconds;
+
+    // 배치 분석 시 메시지당 응답 토큰 예산
+    private static final int BATCH_TOKENS_PER_MESSAGE = 200;
+
+    @Autowired
+    private LlmAnalysisExecutor analysisExecutor;
+
+    @Autowired
+    private LlmResultCache resultCache;
+
+    @Autowired
+    private LlmHttpClient llmHttpClient;
+
+    @Autowired
+    private LlmCallGuard callGuard;
+
     private final ObjectMapper objectMapper;
 
+    private MicroBatcher<PendingAnalysis> analysisBatcher;
+
+    // 배치 지표
+    private final LongAdder batchCallCount = new LongAdder();
+    private final LongAdder batchedMessageCount = new LongAdder();
+
+    /**
+     * 배치 대기 중인 메시지 분석 요청
+     */
+    private static class PendingAnalysis {
+        private final String content;
+        private final CompletableFuture<Map<String, Object>> future = new CompletableFuture<>();
+
+        PendingAnalysis(String content) {
+            this.content = content;
+        }
+    }
+
     public LlmAnalysisService() {
-        this.restTemplate = new RestTemplate();
         this.objectMapper = new ObjectMapper();
     }
 
+    @PostConstruct
+    public void initBatching() {
+        if (batchEnabled) {
+            analysisBatcher = new MicroBatcher<>("llm-analysis-batcher", batchSize, batchMaxWaitMillis,
+                                                 this::dispatchAnalysisBatch);
+            logger.info("LLM 배치 분석 활성화: size={}, maxWaitMs={}", batchSize, batchMaxWaitMillis);
+        }
+    }
+
+    @PreDestroy
+    public void shutdownBatching() {
+        if (analysisBatcher != null) {
+            analysisBatcher.shutdown();
+        }
+    }
+
     /**
      * LLM을 사용한 종합 채팅 분석
+     * 배치가 활성화된 경우 여러 메시지를 모아 한 번의 LLM 호출로 분석
      */
     public CompletableFuture<Map<String, Object>> analyzeMessage(String content) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                String prompt = createAnalysisPrompt(content);
-                String response = callLlm(prompt);
-                return parseAnalysisResponse(response);
-            } catch (Exception e) {
-                logger.error("LLM 분석 실패: content={}, error={}", content, e.getMessage(), e);
+        Map<String, Object> cached = resultCache.get(LlmResultCache.TYPE_ANALYSIS, content);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        if (analysisBatcher != null) {
+            PendingAnalysis pending = new PendingAnalysis(content);
+            analysisBatcher.add(pending);
+            return pending.future;
+        }
+
+        return analysisExecutor.submit(() -> callLlm(createAnalysisPrompt(content))
+            .thenApply(response -> {
+                Map<String, Object> result = parseAnalysisResponse(response);
+                if (result == null) {
+                    return createFallbackAnalysis(content);
+                }
+                resultCache.put(LlmResultCache.TYPE_ANALYSIS, content, result);
+                return result;
+            })
+            .exceptionally(e -> {
+                propagateRejection(e);
+                logger.error("LLM 분석 실패: content={}, error={}", content, rootMessage(e), e);
                 return createFallbackAnalysis(content);
-            }
-        });
+            }));
+    }
+
+    /**
+     * 모인 배치를 분석 실행기에 제출 - 거절되면 배치 전체를 예외로 완료
+     */
+    private void dispatchAnalysisBatch(List<PendingAnalysis> batch) {
+        analysisExecutor.submit(() -> analyzeBatch(batch))
+            .whenComplete((ignored, throwable) -> {
+                if (throwable != null) {
+                    batch.forEach(pending -> pending.future.completeExceptionally(throwable));
+                }
+            });
+    }
+
+    /**
+     * 배치 분석 - 결과 배열을 각 메시지의 Future로 분배
+     */
+    private CompletableFuture<Void> analyzeBatch(List<PendingAnalysis> batch) {
+        batchCallCount.increment();
+        batchedMessageCount.add(batch.size());
+
+        List<String> contents = batch.stream().map(pending -> pending.content).toList();
+        String prompt = batch.size() == 1
+            ? createAnalysisPrompt(contents.get(0))
+            : createBatchAnalysisPrompt(contents);
+        int responseTokens = Math.max(maxTokens, BATCH_TOKENS_PER_MESSAGE * batch.size());
+
+        return callLlm(prompt, responseTokens, Duration.ofSeconds(batchTimeoutSeconds))
+            .thenAccept(response -> {
+                List<Map<String, Object>> results = batch.size() == 1
+                    ? Collections.singletonList(parseAnalysisResponse(response))
+                    : parseBatchAnalysisResponse(response, batch.size());
+
+                for (int i = 0; i < batch.size(); i++) {
+                    PendingAnalysis pending = batch.get(i);
+                    Map<String, Object> result = results.get(i);
+                    if (result != null) {
+                        resultCache.put(LlmResultCache.TYPE_ANALYSIS, pending.content, result);
+                        pending.future.complete(result);
+                    } else {
+                        pending.future.complete(createFallbackAnalysis(pending.content));
+                    }
+                }
+
+                logger.debug("LLM 배치 분석 완료: size={}", batch.size());
+            })
+            .exceptionally(e -> {
+                if (rootCause(e) instanceof LlmAnalysisRejectedException rejected) {
+                    batch.forEach(pending -> pending.future.completeExceptionally(rejected));
+                    return null;
+                }
+                logger.error("LLM 배치 분석 실패: size={}, error={}", batch.size(), rootMessage(e), e);
+                batch.forEach(pending -> pending.future.complete(createFallbackAnalysis(pending.content)));
+                return null;
+            });
+    }
+
+    /**
+     * 배치 분석 지표 조회
+     */
+    public Map<String, Object> getBatchStats() {
+        long calls = batchCallCount.sum();
+        long messages = batchedMessageCount.sum();
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", analysisBatcher != null);
+        stats.put("batchSize", batchSize);
+        stats.put("maxWaitMillis", batchMaxWaitMillis);
+        stats.put("llmCalls", calls);
+        stats.put("messages", messages);
+        stats.put("averageBatchSize", calls > 0 ? (double) messages / calls : 0.0);
+        return stats;
     }
 
     /**
      * 키워드 추출을 위한 LLM 호출
      */
     public CompletableFuture<List<String>> extractKeywords(String content) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                String prompt = createKeywordExtractionPrompt(content);
-                String response = callLlm(prompt);
-                return parseKeywordsFromResponse(response);
-            } catch (Exception e) {
-                logger.error("LLM 키워드 추출 실패: content={}, error={}", content, e.getMessage(), e);
+        List<String> cached = resultCache.get(LlmResultCache.TYPE_KEYWORDS, content);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        return analysisExecutor.submit(() -> callLlm(createKeywordExtractionPrompt(content))
+            .thenApply(response -> {
+                List<String> keywords = parseKeywordsFromResponse(response);
+                resultCache.put(LlmResultCache.TYPE_KEYWORDS, content, keywords);
+                return keywords;
+            })
+            .exceptionally(e -> {
+                propagateRejection(e);
+                logger.error("LLM 키워드 추출 실패: content={}, error={}", content, rootMessage(e), e);
                 return extractKeywordsFallback(content);
-            }
-        });
+            }));
     }
 
     /**
      * 주제 분류를 위한 LLM 호출
      */
     public CompletableFuture<String> classifyTopic(String content) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                String prompt = createTopicClassificationPrompt(content);
-                String response = callLlm(prompt);
-                return parseTopicFromResponse(response);
-            } catch (Exception e) {
-                logger.error("LLM 주제 분류 실패: content={}, error={}", content, e.getMessage(), e);
+        String cached = resultCache.get(LlmResultCache.TYPE_TOPIC, content);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        return analysisExecutor.submit(() -> callLlm(createTopicClassificationPrompt(content))
+            .thenApply(response -> {
+                String topic = parseTopicFromResponse(response);
+                if (topic == null) {
+                    return classifyTopicFallback(content);
+                }
+                resultCache.put(LlmResultCache.TYPE_TOPIC, content, topic);
+                return topic;
+            })
+            .exceptionally(e -> {
+                propagateRejection(e);
+                logger.error("LLM 주제 분류 실패: content={}, error={}", content, rootMessage(e), e);
                 return classifyTopicFallback(content);
-            }
-        });
+            }));
     }
 
     /**
      * 감정 분석을 위한 LLM 호출
      */
     public CompletableFuture<Map<String, Object>> analyzeEmotion(String content) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                String prompt = createEmotionAnalysisPrompt(content);
-                String response = callLlm(prompt);
-                return parseEmotionFromResponse(response);
-            } catch (Exception e) {
-                logger.error("LLM 감정 분석 실패: content={}, error={}", content, e.getMessage(), e);
+        Map<String, Object> cached = resultCache.get(LlmResultCache.TYPE_EMOTION, content);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        return analysisExecutor.submit(() -> callLlm(createEmotionAnalysisPrompt(content))
+            .thenApply(response -> {
+                Map<String, Object> emotion = parseEmotionFromResponse(response);
+                if (emotion == null) {
+                    return createFallbackEmotion(content);
+                }
+                resultCache.put(LlmResultCache.TYPE_EMOTION, content, emotion);
+                return emotion;
+            })
+            .exceptionally(e -> {
+                propagateRejection(e);
+                logger.error("LLM 감정 분석 실패: content={}, error={}", content, rootMessage(e), e);
                 return createFallbackEmotion(content);
-            }
-        });
+            }));
     }
 
     /**
      * 대화 맥락 분석 (여러 메시지를 함께 분석)
      */
     public CompletableFuture<Map<String, Object>> analyzeConversationContext(List<String> messages) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                String prompt = createContextAnalysisPrompt(messages);
-                String response = callLlm(prompt);
-                return parseContextResponse(response);
-            } catch (Exception e) {
-                logger.error("LLM 맥락 분석 실패: messages count={}, error={}", messages.size(), e.getMessage(), e);
-                return createFallbackContext();
-            }
-        });
+        return analysisExecutor.submit(() ->
+            callLlm(createContextAnalysisPrompt(messages), maxTokens, Duration.ofSeconds(batchTimeoutSeconds))
+                .thenApply(this::parseContextResponse)
+                .exceptionally(e -> {
+                    propagateRejection(e);
+                    logger.error("LLM 맥락 분석 실패: messages count={}, error={}", messages.size(), rootMessage(e), e);
+                    return createFallbackContext();
+                }));
     }
 
     /**
      * 커스텀 프롬프트를 사용한 LLM 분석
      */
     public CompletableFuture<Map<String, Object>> analyzeCustomPrompt(String prompt) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                logger.debug("커스텀 프롬프트 LLM 분석 시작: {}", prompt.substring(0, Math.min(50, prompt.length())));
-                
-                String response = callLlm(prompt);
-                
-                // 응답이 JSON 형태인지 확인하고 파싱
-                try {
-                    return objectMapper.readValue(response, Map.class);
-                } catch (Exception parseException) {
-                    // JSON이 아닌 경우, 텍스트 응답으로 처리
-                    Map<String, Object> result = new HashMap<>();
-                    result.put("purpose", response.trim());
-                    result.put("confidence", 0.8);
-                    return result;
-                }
-                
-            } catch (Exception e) {
-                logger.error("커스텀 프롬프트 LLM 분석 실패: error={}", e.getMessage());
-                
-                // 폴백 응답
-                Map<String, Object> fallback = new HashMap<>();
-                fallback.put("purpose", "이 채팅방은 다양한 주제로 소통하는 공간입니다.");
-                fallback.put("confidence", 0.1);
-                fallback.put("error", "LLM 분석 실패");
-                return fallback;
-            }
+        return analysisExecutor.submit(() -> {
+            logger.debug("커스텀 프롬프트 LLM 분석 시작: {}", prompt.substring(0, Math.min(50, prompt.length())));
+
+            return callLlm(prompt)
+                .thenApply(response -> {
+                    // 응답이 JSON 형태인지 확인하고 파싱
+                    try {
+                        return (Map<String, Object>) objectMapper.readValue(response, Map.class);
+                    } catch (Exception parseException) {
+                        // JSON이 아닌 경우, 텍스트 응답으로 처리
+                        Map<String, Object> result = new HashMap<>();
+                        result.put("purpose", response.trim());
+                        result.put("confidence", 0.8);
+                        return result;
+                    }
+                })
+                .exceptionally(e -> {
+                    propagateRejection(e);
+                    logger.error("커스텀 프롬프트 LLM 분석 실패: error={}", rootMessage(e));
+
+                    // 폴백 응답
+                    Map<String, Object> fallback = new HashMap<>();
+                    fallback.put("purpose", "이 채팅방은 다양한 주제로 소통하는 공간입니다.");
+                    fallback.put("confidence", 0.1);
+                    fallback.put("error", "LLM 분석 실패");
+                    return fallback;
+                });
         });
     }
 
     /**
      * LLM API 호출
      */
-    private String callLlm(String prompt) throws Exception {
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.setBearerAuth(apiKey);
+    private CompletableFuture<String> callLlm(String prompt) {
+        return callLlm(prompt, maxTokens, Duration.ofSeconds(requestTimeoutSeconds));
+    }
 
-        Map<String, Object> requestBody = createRequestBody(prompt);
-        HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, headers);
+    /**
+     * LLM API 비동기 호출 (응답 토큰 한도 및 작업별 제한 시간 지정)
+     */
+    private CompletableFuture<String> callLlm(String prompt, int responseTokens, Duration deadline) {
+        String requestBody;
+        try {
+            requestBody = objectMapper.writeValueAsString(createRequestBody(prompt, responseTokens));
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
 
-        ResponseEntity<String> response = restTemplate.postForEntity(apiUrl, request, String.class);
+        return callGuard.execute(() -> llmHttpClient.post(requestBody, deadline))
+            .thenApply(responseBody -> {
+                try {
+                    return extractContentFromResponse(objectMapper.readTree(responseBody));
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                }
+            });
+    }
 
-        if (response.getStatusCode() == HttpStatus.OK) {
-            JsonNode responseJson = objectMapper.readTree(response.getBody());
-            return extractContentFromResponse(responseJson);
-        } else {
-            throw new RuntimeException("LLM API 호출 실패: " + response.getStatusCode());
+    /**
+     * 비동기 예외에서 원인 추출
+     */
+    private static Throwable rootCause(Throwable throwable) {
+        Throwable cause = throwable;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private static String rootMessage(Throwable throwable) {
+        return rootCause(throwable).getMessage();
+    }
+
+    /**
+     * 호출 거절(큐 포화, 서킷 오픈, 동시성 한도 초과)은 폴백 값 대신 호출 측에 그대로 전달
+     * - 호출 측은 LLM 결과를 기다리지 않고 정적 분석 경로로 처리
+     */
+    private static void propagateRejection(Throwable throwable) {
+        if (rootCause(throwable) instanceof LlmAnalysisRejectedException rejected) {
+            throw rejected;
         }
     }
 
     /**
      * 요청 본문 생성
      */
-    private Map<String, Object> createRequestBody(String prompt) {
+    private Map<String, Object> createRequestBody(String prompt, int responseTokens) {
         Map<String, Object> message = Map.of(
             "role", "user",
             "content", prompt
@@ -190,7 +395,7 @@ public class LlmAnalysisService {
         return Map.of(
             "model", model,
             "messages", List.of(message),
-            "max_tokens", maxTokens,
+            "max_tokens", responseTokens,
             "temperature", temperature
         );
     }
@@ -229,6 +434,36 @@ public class LlmAnalysisService {
             """.formatted(content);
     }
 
+    /**
+     * 배치 분석 프롬프트 생성
+     */
+    private String createBatchAnalysisPrompt(List<String> contents) {
+        StringBuilder numbered = new StringBuilder();
+        for (int i = 0; i < contents.size(); i++) {
+            numbered.append(i + 1).append(". \"").append(contents.get(i)).append("\"\n");
+        }
+
+        return """
+            다음 %d개의 채팅 메시지를 각각 분석해주세요:
+            %s
+            각 메시지마다 하나의 객체를 담은 JSON 배열로만 응답해주세요:
+            [
+                {
+                    "index": 1,
+                    "keywords": ["키워드1", "키워드2", "키워드3"],
+                    "topic": "업무|일상|문제|기술|팀워크|기타",
+                    "emotion": "긍정|부정|중립",
+                    "sentiment_score": 0.5,
+                    "urgency": "높음|보통|낮음",
+                    "intent": "질문|정보공유|요청|답변|잡담",
+                    "confidence": 0.8
+                }
+            ]
+            
+            index는 메시지 번호와 같아야 하며, 키워드는 메시지당 최대 5개까지 추출하고, 모든 값은 한국어로 작성해주세요.
+            """.formatted(contents.size(), numbered);
+    }
+
     /**
      * 키워드 추출 프롬프트 생성
      */
@@ -316,17 +551,44 @@ public class LlmAnalysisService {
     }
 
     /**
-     * 분석 응답 파싱
+     * 분석 응답 파싱 - 실패 시 null (호출 측에서 폴백, 캐시하지 않음)
      */
     private Map<String, Object> parseAnalysisResponse(String response) {
         try {
             return objectMapper.readValue(response, Map.class);
         } catch (Exception e) {
             logger.warn("LLM 응답 파싱 실패, 기본값 반환: {}", e.getMessage());
-            return createFallbackAnalysis("");
+            return null;
         }
     }
 
+    /**
+     * 배치 분석 응답 파싱 - index 기준으로 정렬, 누락된 항목은 null
+     */
+    private List<Map<String, Object>> parseBatchAnalysisResponse(String response, int size) {
+        List<Map<String, Object>> results = new ArrayList<>(Collections.nCopies(size, null));
+
+        try {
+            List<Map<String, Object>> items = objectMapper.readValue(response,
+                new TypeReference<List<Map<String, Object>>>() {});
+
+            for (int i = 0; i < items.size(); i++) {
+                Map<String, Object> item = items.get(i);
+                if (item == null) continue;
+
+                Object index = item.remove("index");
+                int position = index instanceof Number number ? number.intValue() - 1 : i;
+                if (position >= 0 && position < size && results.get(position) == null) {
+                    results.set(position, item);
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("LLM 배치 응답 파싱 실패, 기본값 반환: {}", e.getMessage());
+        }
+
+        return results;
+    }
+
     /**
      * 키워드 응답 파싱
      */
@@ -347,22 +609,25 @@ public class LlmAnalysisService {
     }
 
     /**
-     * 주제 응답 파싱
+     * 주제 응답 파싱 - 정해진 주제가 아니면 null (호출 측에서 폴백, 캐시하지 않음)
      */
     private String parseTopicFromResponse(String response) {
+        if (response == null) {
+            return null;
+        }
         String topic = response.trim();
         Set<String> validTopics = Set.of("업무", "일상", "문제", "기술", "팀워크", "기타");
-        return validTopics.contains(topic) ? topic : "기타";
+        return validTopics.contains(topic) ? topic : null;
     }
 
     /**
-     * 감정 응답 파싱
+     * 감정 응답 파싱 - 실패 시 null (호출 측에서 폴백, 캐시하지 않음)
      */
     private Map<String, Object> parseEmotionFromResponse(String response) {
         try {
             return objectMapper.readValue(response, Map.class);
         } catch (Exception e) {
-            return createFallbackEmotion("");
+            return null;
         }
     }
 
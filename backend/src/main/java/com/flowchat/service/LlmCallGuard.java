@@ -0,0 +1,112 @@
+package com.flowchat.service;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * LLM 호출 보호 계층 (서킷 브레이커 + AIMD 동시성 제한)
+ * - 서킷이 열려 있거나 동시성 한도를 넘으면 호출하지 않고 LlmAnalysisRejectedException으로 즉시 거절
+ * - 호출 결과와 지연 시간을 브레이커와 제한기에 반영
+ */
+@Component
+public class LlmCallGuard {
+
+    private static final Logger logger = LoggerFactory.getLogger(LlmCallGuard.class);
+
+    @Value("${llm.circuit-breaker.window-size:20}")
+    private int windowSize;
+
+    @Value("${llm.circuit-breaker.minimum-calls:10}")
+    private int minimumCalls;
+
+    @Value("${llm.circuit-breaker.failure-rate-threshold:0.5}")
+    private double failureRateThreshold;
+
+    @Value("${llm.circuit-breaker.open-duration-ms:30000}")
+    private long openDurationMillis;
+
+    @Value("${llm.circuit-breaker.half-open-max-calls:3}")
+    private int halfOpenMaxCalls;
+
+    @Value("${llm.concurrency.initial-limit:20}")
+    private int initialLimit;
+
+    @Value("${llm.concurrency.min-limit:2}")
+    private int minLimit;
+
+    @Value("${llm.concurrency.max-limit:200}")
+    private int maxLimit;
+
+    @Value("${llm.concurrency.backoff-ratio:0.9}")
+    private double backoffRatio;
+
+    @Value("${llm.concurrency.latency-threshold-ms:5000}")
+    private long latencyThresholdMillis;
+
+    private LlmCircuitBreaker circuitBreaker;
+    private AimdConcurrencyLimiter concurrencyLimiter;
+
+    @PostConstruct
+    public void init() {
+        this.circuitBreaker = new LlmCircuitBreaker(windowSize, minimumCalls, failureRateThreshold,
+                                                    openDurationMillis, halfOpenMaxCalls);
+        this.concurrencyLimiter = new AimdConcurrencyLimiter(initialLimit, minLimit, maxLimit,
+                                                             backoffRatio, latencyThresholdMillis);
+
+        logger.info("LLM 호출 보호 초기화: failureRateThreshold={}, openDurationMs={}, initialLimit={}, maxLimit={}",
+                   failureRateThreshold, openDurationMillis, initialLimit, maxLimit);
+    }
+
+    /**
+     * 보호된 LLM 호출 실행
+     */
+    public <T> CompletableFuture<T> execute(Supplier<CompletableFuture<T>> call) {
+        LlmCircuitBreaker.Permit permit = circuitBreaker.tryAcquirePermission();
+        if (permit == null) {
+            return CompletableFuture.failedFuture(
+                new LlmAnalysisRejectedException("LLM 서킷 브레이커가 열려 있습니다"));
+        }
+
+        if (!concurrencyLimiter.tryAcquire()) {
+            circuitBreaker.release(permit);
+            return CompletableFuture.failedFuture(
+                new LlmAnalysisRejectedException("LLM 동시 호출 한도를 초과했습니다"));
+        }
+
+        long startedAt = System.nanoTime();
+        CompletableFuture<T> future;
+        try {
+            future = call.get();
+        } catch (Throwable t) {
+            future = CompletableFuture.failedFuture(t);
+        }
+
+        return future.whenComplete((result, throwable) -> {
+            boolean success = throwable == null;
+            concurrencyLimiter.release(System.nanoTime() - startedAt, success);
+            if (success) {
+                circuitBreaker.onSuccess(permit);
+            } else {
+                circuitBreaker.onFailure(permit);
+            }
+        });
+    }
+
+    /**
+     * 브레이커 상태, 동시성 한도, 지연 시간 백분위수 및 차단 횟수 조회
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("circuitBreaker", circuitBreaker.getStats());
+        stats.put("concurrencyLimiter", concurrencyLimiter.getStats());
+        return stats;
+    }
+}
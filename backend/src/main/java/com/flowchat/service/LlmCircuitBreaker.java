@@ -0,0 +1,184 @@
+package com.flowchat.service;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * LLM 호출용 서킷 브레이커 (최근 N회 호출 결과 기반)
+ * - CLOSED: 실패율이 임계값을 넘으면 OPEN
+ * - OPEN: 대기 시간 동안 모든 호출 차단 후 HALF_OPEN
+ * - HALF_OPEN: 제한된 수의 시험 호출이 모두 성공하면 CLOSED, 하나라도 실패하면 다시 OPEN
+ * - 상태가 바뀔 때마다 세대가 증가하며, 이전 세대에 허용된 호출의 결과는 무시
+ */
+public class LlmCircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    /**
+     * 호출 허가 - 허가를 받은 시점의 브레이커 세대
+     */
+    public static final class Permit {
+        private final long generation;
+
+        private Permit(long generation) {
+            this.generation = generation;
+        }
+    }
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openDurationMillis;
+    private final int halfOpenMaxCalls;
+
+    // 최근 호출 결과 (true = 실패)
+    private final boolean[] outcomes;
+    private int outcomeIndex;
+    private int recordedCalls;
+    private int failedCalls;
+
+    private State state = State.CLOSED;
+    private long generation;
+    private long openedAt;
+    private int halfOpenInFlight;
+    private int halfOpenSuccesses;
+
+    // 지표
+    private long shortCircuitedCount;
+    private long openedCount;
+    private long staleOutcomeCount;
+
+    public LlmCircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold,
+                             long openDurationMillis, int halfOpenMaxCalls) {
+        this.windowSize = Math.max(1, windowSize);
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, this.windowSize));
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDurationMillis = openDurationMillis;
+        this.halfOpenMaxCalls = Math.max(1, halfOpenMaxCalls);
+        this.outcomes = new boolean[this.windowSize];
+    }
+
+    /**
+     * 호출 허가 요청 - 거절되면 null
+     * 허가된 호출은 반드시 같은 Permit으로 onSuccess/onFailure/release 중 하나를 호출해야 함
+     */
+    public synchronized Permit tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (System.currentTimeMillis() - openedAt < openDurationMillis) {
+                shortCircuitedCount++;
+                return null;
+            }
+            transitionToHalfOpen();
+        }
+
+        if (state == State.HALF_OPEN) {
+            if (halfOpenInFlight >= halfOpenMaxCalls) {
+                shortCircuitedCount++;
+                return null;
+            }
+            halfOpenInFlight++;
+        }
+
+        return new Permit(generation);
+    }
+
+    /**
+     * 허가된 호출을 결과 기록 없이 반환 (다른 이유로 호출하지 않은 경우)
+     */
+    public synchronized void release(Permit permit) {
+        if (permit.generation != generation) {
+            return;
+        }
+        if (state == State.HALF_OPEN && halfOpenInFlight > 0) {
+            halfOpenInFlight--;
+        }
+    }
+
+    public synchronized void onSuccess(Permit permit) {
+        if (permit.generation != generation) {
+            staleOutcomeCount++;
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            halfOpenInFlight = Math.max(0, halfOpenInFlight - 1);
+            if (++halfOpenSuccesses >= halfOpenMaxCalls) {
+                transitionToClosed();
+            }
+            return;
+        }
+        if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    public synchronized void onFailure(Permit permit) {
+        if (permit.generation != generation) {
+            staleOutcomeCount++;
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            transitionToOpen();
+            return;
+        }
+        if (state == State.CLOSED) {
+            record(true);
+            if (recordedCalls >= minimumCalls && (double) failedCalls / recordedCalls >= failureRateThreshold) {
+                transitionToOpen();
+            }
+        }
+    }
+
+    private void record(boolean failed) {
+        if (recordedCalls == windowSize) {
+            if (outcomes[outcomeIndex]) {
+                failedCalls--;
+            }
+        } else {
+            recordedCalls++;
+        }
+        outcomes[outcomeIndex] = failed;
+        if (failed) {
+            failedCalls++;
+        }
+        outcomeIndex = (outcomeIndex + 1) % windowSize;
+    }
+
+    private void transitionToOpen() {
+        state = State.OPEN;
+        generation++;
+        openedAt = System.currentTimeMillis();
+        openedCount++;
+    }
+
+    private void transitionToHalfOpen() {
+        state = State.HALF_OPEN;
+        generation++;
+        halfOpenInFlight = 0;
+        halfOpenSuccesses = 0;
+    }
+
+    private void transitionToClosed() {
+        state = State.CLOSED;
+        generation++;
+        outcomeIndex = 0;
+        recordedCalls = 0;
+        failedCalls = 0;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("state", state.name());
+        stats.put("failureRate", recordedCalls > 0 ? (double) failedCalls / recordedCalls : 0.0);
+        stats.put("windowCalls", recordedCalls);
+        stats.put("shortCircuited", shortCircuitedCount);
+        stats.put("openedCount", openedCount);
+        stats.put("staleOutcomes", staleOutcomeCount);
+        return stats;
+    }
+}
@@ -0,0 +1,93 @@
+package com.flowchat.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * OpenAI 호환 LLM API용 비동기 HTTP 클라이언트
+ * - JDK HttpClient 기반 (keep-alive 연결 재사용, 가능한 경우 HTTP/2)
+ * - 응답 대기 중 스레드를 점유하지 않으며 소수의 I/O 스레드만 사용
+ * - 연결 제한 시간과 요청별 제한 시간 적용
+ */
+@Component
+public class LlmHttpClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(LlmHttpClient.class);
+
+    @Value("${llm.api.key}")
+    private String apiKey;
+
+    @Value("${llm.api.url:https://api.openai.com/v1/chat/completions}")
+    private String apiUrl;
+
+    @Value("${llm.http.connect-timeout-ms:3000}")
+    private long connectTimeoutMillis;
+
+    @Value("${llm.http.io-threads:2}")
+    private int ioThreads;
+
+    private URI endpoint;
+    private ExecutorService ioExecutor;
+    private HttpClient httpClient;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.ioExecutor = Executors.newFixedThreadPool(Math.max(1, ioThreads), runnable -> {
+            Thread thread = new Thread(runnable, "llm-http-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.endpoint = URI.create(apiUrl);
+        this.httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+            .executor(ioExecutor)
+            .build();
+
+        logger.info("LLM HTTP 클라이언트 초기화: url={}, connectTimeoutMs={}, ioThreads={}",
+                   apiUrl, connectTimeoutMillis, ioThreads);
+    }
+
+    /**
+     * JSON 요청 전송 - 제한 시간 내에 200 응답을 받지 못하면 예외로 완료
+     */
+    public CompletableFuture<String> post(String requestBody, Duration deadline) {
+        HttpRequest request = HttpRequest.newBuilder(endpoint)
+            .timeout(deadline)
+            .header("Content-Type", "application/json")
+            .header("Authorization", "Bearer " + apiKey)
+            .POST(HttpRequest.BodyPublishers.ofString(requestBody))
+            .build();
+
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+            .orTimeout(deadline.toMillis(), TimeUnit.MILLISECONDS)
+            .thenApply(response -> {
+                if (response.statusCode() != 200) {
+                    throw new RuntimeException("LLM API 호출 실패: " + response.statusCode());
+                }
+                return response.body();
+            });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ioExecutor.shutdownNow();
+    }
+}
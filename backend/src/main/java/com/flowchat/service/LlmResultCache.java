@@ -0,0 +1,287 @@
+package com.flowchat.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LLM 분석 결과 캐시
+ * - 키: 정규화된 메시지 내용 + 프롬프트 종류 + 모델의 SHA-256 해시
+ * - 크기(LRU) 및 TTL 제한, 적중/미스/제거 지표 제공
+ * - 값은 불변 복사본으로 저장하므로 조회한 쪽에서 수정해도 캐시에 영향 없음
+ * - llm.cache.disk-path 설정 시 주기적으로 디스크에 저장하고 시작 시 복원
+ */
+@Component
+public class LlmResultCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(LlmResultCache.class);
+
+    // 프롬프트 종류
+    public static final String TYPE_ANALYSIS = "analysis";
+    public static final String TYPE_KEYWORDS = "keywords";
+    public static final String TYPE_TOPIC = "topic";
+    public static final String TYPE_EMOTION = "emotion";
+
+    @Value("${llm.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${llm.cache.ttl-minutes:30}")
+    private long ttlMinutes;
+
+    @Value("${llm.cache.max-size:1000}")
+    private int maxSize;
+
+    @Value("${llm.cache.disk-path:}")
+    private String diskPath;
+
+    @Value("${llm.model:gpt-3.5-turbo}")
+    private String model;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicBoolean dirty = new AtomicBoolean(false);
+
+    private Map<String, CacheEntry> entries;
+
+    // 지표
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder expiredCount = new LongAdder();
+
+    /**
+     * 캐시 항목 (만료 시각은 재시작 후에도 유효하도록 epoch 밀리초로 저장)
+     */
+    public static class CacheEntry {
+        private Object value;
+        private long expiresAt;
+
+        public CacheEntry() {
+        }
+
+        public CacheEntry(Object value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        public Object getValue() { return value; }
+        public long getExpiresAt() { return expiresAt; }
+
+        public void setValue(Object value) { this.value = value; }
+        public void setExpiresAt(long expiresAt) { this.expiresAt = expiresAt; }
+    }
+
+    @PostConstruct
+    public void init() {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+                if (size() > maxSize) {
+                    evictionCount.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        if (enabled) {
+            loadFromDisk();
+        }
+
+        logger.info("LLM 결과 캐시 초기화: enabled={}, maxSize={}, ttlMinutes={}, diskPath={}",
+                   enabled, maxSize, ttlMinutes, diskPath.isBlank() ? "없음" : diskPath);
+    }
+
+    /**
+     * 캐시 조회 - 없거나 만료된 경우 null
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String promptType, String content) {
+        if (!enabled || content == null) {
+            return null;
+        }
+
+        String key = createKey(promptType, content);
+        synchronized (this) {
+            CacheEntry entry = entries.get(key);
+            if (entry == null) {
+                missCount.increment();
+                return null;
+            }
+            if (entry.getExpiresAt() <= System.currentTimeMillis()) {
+                entries.remove(key);
+                expiredCount.increment();
+                missCount.increment();
+                dirty.set(true);
+                return null;
+            }
+            hitCount.increment();
+            return (T) entry.getValue();
+        }
+    }
+
+    /**
+     * 성공한 LLM 결과 저장
+     */
+    public void put(String promptType, String content, Object value) {
+        if (!enabled || content == null || value == null) {
+            return;
+        }
+
+        String key = createKey(promptType, content);
+        long expiresAt = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(ttlMinutes);
+        synchronized (this) {
+            entries.put(key, new CacheEntry(immutableCopy(value), expiresAt));
+        }
+        dirty.set(true);
+    }
+
+    /**
+     * Map/List 값을 재귀적으로 불변 복사 (그 외 값은 그대로 사용)
+     */
+    static Object immutableCopy(Object value) {
+        if (value instanceof Map<?, ?> map) {
+            Map<Object, Object> copy = new LinkedHashMap<>();
+            map.forEach((k, v) -> copy.put(k, immutableCopy(v)));
+            return Collections.unmodifiableMap(copy);
+        }
+        if (value instanceof Collection<?> collection) {
+            List<Object> copy = new ArrayList<>(collection.size());
+            collection.forEach(element -> copy.add(immutableCopy(element)));
+            return Collections.unmodifiableList(copy);
+        }
+        return value;
+    }
+
+    /**
+     * 캐시 키 생성
+     */
+    private String createKey(String promptType, String content) {
+        String raw = promptType + '\u0000' + model + '\u0000' + normalize(content);
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(raw.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다", e);
+        }
+    }
+
+    /**
+     * 메시지 정규화 (유니코드 NFC, 앞뒤 공백 제거, 연속 공백 축약, 소문자화)
+     */
+    static String normalize(String content) {
+        String normalized = Normalizer.normalize(content, Normalizer.Form.NFC);
+        return normalized.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 디스크 스냅샷 저장 (변경이 있을 때만)
+     */
+    @Scheduled(fixedDelayString = "${llm.cache.snapshot-interval-ms:300000}")
+    public void snapshotToDisk() {
+        if (!enabled || diskPath.isBlank() || !dirty.getAndSet(false)) {
+            return;
+        }
+
+        Map<String, CacheEntry> snapshot;
+        synchronized (this) {
+            snapshot = new LinkedHashMap<>(entries);
+        }
+
+        try {
+            Path target = Paths.get(diskPath);
+            Path parent = target.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+
+            Path temp = Paths.get(diskPath + ".tmp");
+            objectMapper.writeValue(temp.toFile(), snapshot);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            logger.debug("LLM 결과 캐시 스냅샷 저장: entries={}, path={}", snapshot.size(), diskPath);
+        } catch (Exception e) {
+            dirty.set(true);
+            logger.warn("LLM 결과 캐시 스냅샷 저장 실패: path={}, error={}", diskPath, e.getMessage());
+        }
+    }
+
+    /**
+     * 디스크 스냅샷 복원 (만료된 항목 제외)
+     */
+    private void loadFromDisk() {
+        if (diskPath.isBlank()) {
+            return;
+        }
+
+        Path source = Paths.get(diskPath);
+        if (!Files.exists(source)) {
+            return;
+        }
+
+        try {
+            Map<String, CacheEntry> snapshot = objectMapper.readValue(source.toFile(),
+                new TypeReference<LinkedHashMap<String, CacheEntry>>() {});
+
+            long now = System.currentTimeMillis();
+            synchronized (this) {
+                snapshot.forEach((key, entry) -> {
+                    if (entry != null && entry.getExpiresAt() > now) {
+                        entry.setValue(immutableCopy(entry.getValue()));
+                        entries.put(key, entry);
+                    }
+                });
+            }
+
+            logger.info("LLM 결과 캐시 스냅샷 복원: entries={}, path={}", entries.size(), diskPath);
+        } catch (Exception e) {
+            logger.warn("LLM 결과 캐시 스냅샷 복원 실패: path={}, error={}", diskPath, e.getMessage());
+        }
+    }
+
+    /**
+     * 캐시 지표 조회
+     */
+    public Map<String, Object> getStats() {
+        long hits = hitCount.sum();
+        long misses = missCount.sum();
+
+        Map<String, Object> stats = new HashMap<>();
+        synchronized (this) {
+            stats.put("size", entries.size());
+        }
+        stats.put("enabled", enabled);
+        stats.put("maxSize", maxSize);
+        stats.put("ttlMinutes", ttlMinutes);
+        stats.put("hits", hits);
+        stats.put("misses", misses);
+        stats.put("evictions", evictionCount.sum());
+        stats.put("expired", expiredCount.sum());
+        stats.put("hitRatio", hits + misses > 0 ? (double) hits / (hits + misses) : 0.0);
+        stats.put("diskTier", !diskPath.isBlank());
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        snapshotToDisk();
+    }
+}
@@ -0,0 +1,256 @@
+package com.flowchat.service;
+
+import com.flowchat.entity.ChatMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * write-behind 메시지 저널 (세그먼트 단위 추가 전용 파일)
+ * - 배치 하나를 한 번에 쓰고 fsync 한 뒤 반환하므로, 반환된 메시지는 프로세스가 죽어도 남음
+ * - 세그먼트의 모든 메시지가 DB에 저장되면 세그먼트 파일 삭제
+ * - 레코드 형식: [길이 int][CRC32 long][본문] - 시작 시 마지막의 잘린 레코드는 버림
+ * - DB에 저장할 수 없는 메시지(제약 조건 위반)는 같은 형식으로 dead-letter 파일에 옮겨 보관 (복구 대상 아님)
+ */
+public class MessageJournal implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(MessageJournal.class);
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String DEAD_LETTER_FILE = "dead-letter.log";
+    private static final int RECORD_HEADER_BYTES = Integer.BYTES + Long.BYTES;
+
+    private final Path directory;
+    private final long segmentBytes;
+
+    // 이전 실행에서 남은 세그먼트 (복구 대상)
+    private final List<Path> recoveredSegments;
+
+    // 세그먼트별 DB 미반영 메시지 수
+    private final Map<Long, Integer> pendingBySegment = new HashMap<>();
+
+    private long currentSegment;
+    private FileChannel channel;
+
+    public MessageJournal(Path directory, long segmentBytes) throws IOException {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        Files.createDirectories(directory);
+
+        this.recoveredSegments = listSegments();
+        this.currentSegment = recoveredSegments.isEmpty() ? 0 : segmentIndex(recoveredSegments.get(recoveredSegments.size() - 1)) + 1;
+        openSegment(currentSegment);
+    }
+
+    /**
+     * 배치 추가 후 fsync, 배치가 기록된 세그먼트 번호 반환
+     */
+    public synchronized long append(List<ChatMessage> messages) throws IOException {
+        writeRecords(channel, messages);
+        channel.force(false);
+
+        long segment = currentSegment;
+        pendingBySegment.merge(segment, messages.size(), Integer::sum);
+
+        if (channel.size() >= segmentBytes) {
+            channel.close();
+            openSegment(++currentSegment);
+        }
+        return segment;
+    }
+
+    /**
+     * DB 저장 완료 반영 - 닫힌 세그먼트의 메시지가 모두 저장되면 파일 삭제
+     */
+    public synchronized void markCommitted(long segment, int count) {
+        int remaining = pendingBySegment.merge(segment, -count, Integer::sum);
+        if (remaining <= 0 && segment != currentSegment) {
+            pendingBySegment.remove(segment);
+            deleteQuietly(segmentPath(segment));
+        }
+    }
+
+    /**
+     * DB에 저장할 수 없는 메시지를 dead-letter 파일에 추가 (fsync 후 반환)
+     */
+    public synchronized void appendDeadLetters(List<ChatMessage> messages) throws IOException {
+        try (FileChannel deadLetters = FileChannel.open(directory.resolve(DEAD_LETTER_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            writeRecords(deadLetters, messages);
+            deadLetters.force(false);
+        }
+    }
+
+    /**
+     * dead-letter 파일의 메시지 (기록 순서대로)
+     */
+    public synchronized List<ChatMessage> readDeadLetters() throws IOException {
+        List<ChatMessage> messages = new ArrayList<>();
+        Path deadLetters = directory.resolve(DEAD_LETTER_FILE);
+        if (Files.exists(deadLetters)) {
+            readSegment(deadLetters, messages);
+        }
+        return messages;
+    }
+
+    /**
+     * 이전 실행에서 DB에 반영되지 않았을 수 있는 메시지 (기록 순서대로)
+     */
+    public List<ChatMessage> readRecovered() throws IOException {
+        List<ChatMessage> messages = new ArrayList<>();
+        for (Path segment : recoveredSegments) {
+            readSegment(segment, messages);
+        }
+        return messages;
+    }
+
+    /**
+     * 복구한 메시지를 모두 DB에 반영한 뒤 이전 세그먼트 삭제
+     */
+    public void discardRecovered() {
+        for (Path segment : recoveredSegments) {
+            deleteQuietly(segment);
+        }
+        recoveredSegments.clear();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+        // 모두 저장된 현재 세그먼트는 다음 시작 시 복구할 필요가 없음
+        if (pendingBySegment.getOrDefault(currentSegment, 0) <= 0) {
+            deleteQuietly(segmentPath(currentSegment));
+        }
+    }
+
+    private static void writeRecords(FileChannel target, List<ChatMessage> messages) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(messages.size() * 256);
+        DataOutputStream out = new DataOutputStream(buffer);
+        for (ChatMessage message : messages) {
+            byte[] payload = encode(message);
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            out.writeInt(payload.length);
+            out.writeLong(crc.getValue());
+            out.write(payload);
+        }
+
+        ByteBuffer bytes = ByteBuffer.wrap(buffer.toByteArray());
+        while (bytes.hasRemaining()) {
+            target.write(bytes);
+        }
+    }
+
+    private void openSegment(long index) throws IOException {
+        channel = FileChannel.open(segmentPath(index),
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private Path segmentPath(long index) {
+        return directory.resolve(String.format("%s%016d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX));
+    }
+
+    private List<Path> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                .filter(path -> {
+                    String name = path.getFileName().toString();
+                    return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                })
+                .sorted(Comparator.comparingLong(MessageJournal::segmentIndex))
+                .collect(ArrayList::new, ArrayList::add, ArrayList::addAll);
+        }
+    }
+
+    private static long segmentIndex(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private void readSegment(Path segment, List<ChatMessage> messages) throws IOException {
+        byte[] data = Files.readAllBytes(segment);
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+
+        while (buffer.remaining() >= RECORD_HEADER_BYTES) {
+            int length = buffer.getInt();
+            long checksum = buffer.getLong();
+            if (length <= 0 || length > buffer.remaining()) {
+                logger.warn("저널 세그먼트 끝의 잘린 레코드 무시: segment={}, offset={}", segment, buffer.position() - RECORD_HEADER_BYTES);
+                return;
+            }
+
+            byte[] payload = new byte[length];
+            buffer.get(payload);
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            if (crc.getValue() != checksum) {
+                logger.warn("저널 레코드 체크섬 불일치, 이후 레코드 무시: segment={}, offset={}", segment, buffer.position() - length);
+                return;
+            }
+            messages.add(decode(payload));
+        }
+    }
+
+    private static byte[] encode(ChatMessage message) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128 + message.getContent().length() * 3);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeLong(message.getId());
+        out.writeLong(message.getRoomId());
+        out.writeLong(message.getUserId());
+        writeNullable(out, message.getUsername());
+        writeNullable(out, message.getName());
+        out.writeUTF(message.getContent());
+        out.writeLong(message.getTimestamp().toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(message.getTimestamp().getNano());
+        out.writeUTF(message.getMessageType().name());
+        return bytes.toByteArray();
+    }
+
+    private static ChatMessage decode(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        long id = in.readLong();
+        long roomId = in.readLong();
+        long userId = in.readLong();
+        String username = readNullable(in);
+        String name = readNullable(in);
+        String content = in.readUTF();
+        LocalDateTime timestamp = LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+        ChatMessage.MessageType messageType = ChatMessage.MessageType.valueOf(in.readUTF());
+
+        ChatMessage message = new ChatMessage(roomId, userId, content, messageType);
+        message.setId(id);
+        message.setUsername(username);
+        message.setName(name);
+        message.setTimestamp(timestamp);
+        return message;
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("저널 세그먼트 삭제 실패: path={}, error={}", path, e.getMessage());
+        }
+    }
+}
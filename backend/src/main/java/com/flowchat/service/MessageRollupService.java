@@ -0,0 +1,406 @@
+package com.flowchat.service;
+
+import com.flowchat.dto.MessageScanRow;
+import com.flowchat.entity.ChatMessage;
+import com.flowchat.entity.MessageRollupHourly;
+import com.flowchat.entity.RollupCheckpoint;
+import com.flowchat.entity.User;
+import com.flowchat.repository.ChatMessageRepository;
+import com.flowchat.repository.MessageRollupHourlyRepository;
+import com.flowchat.repository.RollupCheckpointRepository;
+import com.flowchat.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 메시지 시간 단위 집계 (message_rollup_hourly) 관리 및 조회
+ * - 압축 작업: 체크포인트 이후 메시지를 ID 순으로 읽어 채팅방 × 시간 × 사용자 × 타입별로 누적
+ *   write-behind 서버가 아직 DB에 저장하지 못한 메시지(재시도 중, 재시작 후 저널 복구 대기)보다 앞까지만 진행
+ *   (저장 위치가 write-behind-stale-intervals번의 갱신 주기 동안 갱신되지 않은 서버는 무시)
+ * - 조회: 범위에 완전히 포함되는 시간은 집계 테이블에서, 아직 집계되지 않은 최신 메시지는 GROUP BY 집계로,
+ *   경계 시간만 원본에서 읽음
+ */
+@Service
+@Transactional
+public class MessageRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MessageRollupService.class);
+
+    static final String CHECKPOINT_NAME = "message_rollup_hourly";
+
+    // write-behind 서버별 저장 위치 (이 ID 이하의 메시지는 그 서버에서 모두 DB에 저장됨)
+    static final String WRITE_BEHIND_CHECKPOINT_PREFIX = "write_behind.node-";
+
+    private static final LocalDateTime MIN_HOUR = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime MAX_HOUR = LocalDateTime.of(9999, 1, 1, 0, 0);
+
+    // 사용자 ID가 없는 메시지의 집계 키
+    private static final Long UNKNOWN_USER_ID = 0L;
+
+    // 조회 중 압축이 커밋되어 체크포인트가 바뀌었을 때 다시 계산하는 최대 횟수
+    private static final int MAX_COUNT_ATTEMPTS = 3;
+
+    @Autowired
+    private MessageRollupHourlyRepository rollupRepository;
+
+    @Autowired
+    private RollupCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private ChatMessageRepository chatMessageRepository;
+
+    @Autowired
+    private ChatMessageScanner chatMessageScanner;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // 이 시간 안의 메시지는 늦게 커밋되는 트랜잭션이 앞 ID를 채울 수 있으므로 다음 실행으로 미룸
+    @Value("${rollup.settle-lag-seconds:30}")
+    private long settleLagSeconds;
+
+    // write-behind 저장 위치 갱신 주기와, 이 횟수만큼 갱신되지 않은 위치는 종료/이탈한 서버로 보고 무시
+    @Value("${chat.write-behind.checkpoint-interval-ms:5000}")
+    private long writeBehindCheckpointIntervalMillis;
+
+    @Value("${rollup.write-behind-stale-intervals:60}")
+    private int writeBehindStaleIntervals;
+
+    @Value("${rollup.page-size:1000}")
+    private int pageSize;
+
+    @Value("${rollup.max-messages-per-run:50000}")
+    private int maxMessagesPerRun;
+
+    private record RollupKey(Long roomId, LocalDateTime hourBucket, Long userId, ChatMessage.MessageType messageType) {}
+
+    /**
+     * 메시지 수 집계 결과
+     */
+    public static class MessageCounts {
+        private long total;
+        private final Map<String, Long> byType = new HashMap<>();
+        private final Map<Long, Long> byUser = new HashMap<>();
+        private final Map<Long, Long> byRoom = new HashMap<>();
+        private final Map<Integer, Long> byHourOfDay = new HashMap<>();
+        private final Map<LocalDate, Long> byDate = new HashMap<>();
+
+        private void addTotal(ChatMessage.MessageType messageType, long count) {
+            total += count;
+            byType.merge(messageType.toString(), count, Long::sum);
+        }
+
+        private void addHour(LocalDateTime hourBucket, long count) {
+            byHourOfDay.merge(hourBucket.getHour(), count, Long::sum);
+            byDate.merge(hourBucket.toLocalDate(), count, Long::sum);
+        }
+
+        public long getTotal() { return total; }
+        public Map<String, Long> getByType() { return byType; }
+        public Map<Long, Long> getByUser() { return byUser; }
+        public Map<Long, Long> getByRoom() { return byRoom; }
+        public Map<Integer, Long> getByHourOfDay() { return byHourOfDay; }
+        public Map<LocalDate, Long> getByDate() { return byDate; }
+    }
+
+    /**
+     * 체크포인트 이후 메시지 집계 (체크포인트 행 잠금으로 인스턴스 간 중복 집계 방지)
+     */
+    @Scheduled(fixedDelayString = "${rollup.compaction-interval-ms:60000}",
+               initialDelayString = "${rollup.initial-delay-ms:10000}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void compact() {
+        // 행이 없으면 잠글 대상도 없으므로, 잠금 전에 별도 트랜잭션으로 먼저 생성
+        if (!checkpointRepository.existsById(CHECKPOINT_NAME)) {
+            seedCheckpoint();
+        }
+        transactionTemplate.executeWithoutResult(status -> compactLocked());
+    }
+
+    /**
+     * 집계 위치 행 생성 (여러 서버가 동시에 시작하면 한 곳만 성공하고 나머지는 중복 키로 실패)
+     */
+    private void seedCheckpoint() {
+        try {
+            checkpointRepository.insertCheckpoint(CHECKPOINT_NAME);
+        } catch (DataIntegrityViolationException e) {
+            logger.debug("집계 체크포인트가 다른 서버에서 이미 생성됨: name={}", CHECKPOINT_NAME);
+        }
+    }
+
+    private void compactLocked() {
+        RollupCheckpoint checkpoint = checkpointRepository.findByNameForUpdate(CHECKPOINT_NAME)
+            .orElseThrow(() -> new IllegalStateException("집계 체크포인트가 없습니다: " + CHECKPOINT_NAME));
+
+        LocalDateTime settledBefore = LocalDateTime.now().minusSeconds(settleLagSeconds);
+        LocalDateTime staleBefore = LocalDateTime.now()
+            .minusNanos(TimeUnit.MILLISECONDS.toNanos(writeBehindCheckpointIntervalMillis * writeBehindStaleIntervals));
+        long savedThroughId = checkpointRepository.findByNameStartingWith(WRITE_BEHIND_CHECKPOINT_PREFIX).stream()
+            .filter(writeBehind -> writeBehind.getUpdatedAt() != null && writeBehind.getUpdatedAt().isAfter(staleBefore))
+            .mapToLong(RollupCheckpoint::getLastMessageId)
+            .min()
+            .orElse(Long.MAX_VALUE);
+        Map<RollupKey, long[]> deltas = new HashMap<>();
+        long lastMessageId = checkpoint.getLastMessageId();
+        int processed = 0;
+        boolean caughtUp = false;
+
+        while (!caughtUp && processed < maxMessagesPerRun) {
+            List<MessageScanRow> page = chatMessageRepository.scanAfterId(lastMessageId, PageRequest.of(0, pageSize));
+            for (MessageScanRow row : page) {
+                // 늦게 저장될 수 있는 메시지 앞에서 멈춤 (지나가면 다시 집계되지 않음)
+                if (!row.getTimestamp().isBefore(settledBefore) || row.getId() > savedThroughId) {
+                    caughtUp = true;
+                    break;
+                }
+                RollupKey key = new RollupKey(row.getRoomId(), truncateToHour(row.getTimestamp()),
+                                              userIdOf(row), row.getMessageType());
+                long[] delta = deltas.computeIfAbsent(key, k -> new long[2]);
+                delta[0]++;
+                delta[1] += row.getContent() != null ? row.getContent().length() : 0;
+                lastMessageId = row.getId();
+                processed++;
+            }
+            if (page.size() < pageSize) {
+                caughtUp = true;
+            }
+        }
+
+        if (processed == 0) {
+            return;
+        }
+
+        for (Map.Entry<RollupKey, long[]> entry : deltas.entrySet()) {
+            RollupKey key = entry.getKey();
+            MessageRollupHourly rollup = rollupRepository
+                .findByRoomIdAndHourBucketAndUserIdAndMessageType(key.roomId(), key.hourBucket(), key.userId(), key.messageType())
+                .orElseGet(() -> new MessageRollupHourly(key.roomId(), key.hourBucket(), key.userId(), key.messageType()));
+            rollup.add(entry.getValue()[0], entry.getValue()[1]);
+            rollupRepository.save(rollup);
+        }
+        checkpoint.advanceTo(lastMessageId);
+
+        logger.debug("메시지 집계 완료: messages={}, rows={}, checkpoint={}", processed, deltas.size(), lastMessageId);
+    }
+
+    /**
+     * write-behind 서버의 저장 위치 기록 - 이 ID 이하의 메시지는 해당 서버에서 모두 DB에 저장됨
+     */
+    public void saveWriteBehindCheckpoint(long nodeId, long savedThroughId) {
+        String name = WRITE_BEHIND_CHECKPOINT_PREFIX + nodeId;
+        RollupCheckpoint checkpoint = checkpointRepository.findById(name)
+            .orElseGet(() -> new RollupCheckpoint(name));
+        checkpoint.advanceTo(savedThroughId);
+        checkpointRepository.save(checkpoint);
+    }
+
+    /**
+     * write-behind를 사용하지 않는 서버의 저장 위치 제거 (남아 있으면 집계가 진행되지 않음)
+     */
+    public void removeWriteBehindCheckpoint(long nodeId) {
+        checkpointRepository.findById(WRITE_BEHIND_CHECKPOINT_PREFIX + nodeId).ifPresent(checkpoint -> checkpointRepository.delete(checkpoint));
+    }
+
+    /**
+     * 채팅방 메시지 수 집계 (from/to는 null이면 제한 없음, 양 끝 포함)
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public MessageCounts countRoomMessages(Long roomId, LocalDateTime from, LocalDateTime to, boolean excludeSystem) {
+        MessageCounts counts = countMessages(roomId, null, from, to, excludeSystem);
+        if (counts.total > 0) {
+            counts.byRoom.put(roomId, counts.total);
+        }
+        return counts;
+    }
+
+    /**
+     * 전체 채팅방 메시지 수 집계 (양 끝 포함)
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public MessageCounts countAllMessages(LocalDateTime from, LocalDateTime to) {
+        return countMessages(null, null, from, to, false);
+    }
+
+    /**
+     * 사용자 메시지 수 집계 (양 끝 포함)
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public MessageCounts countUserMessages(Long userId, LocalDateTime from, LocalDateTime to) {
+        MessageCounts counts = countMessages(null, userId, from, to, false);
+        if (counts.total > 0) {
+            counts.byUser.put(userId, counts.total);
+        }
+        return counts;
+    }
+
+    /**
+     * 사용자 ID별 메시지 수를 사용자 이름별로 변환 (unknownName이 null이면 사용자가 없는 항목 제외)
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Long> countByUserName(MessageCounts counts, Function<User, String> nameOf, String unknownName) {
+        Map<Long, User> users = new HashMap<>();
+        for (User user : userRepository.findAllById(counts.byUser.keySet())) {
+            users.put(user.getId(), user);
+        }
+
+        Map<String, Long> result = new HashMap<>();
+        counts.byUser.forEach((userId, count) -> {
+            User user = users.get(userId);
+            String name = user != null ? nameOf.apply(user) : unknownName;
+            if (name != null) {
+                result.merge(name, count, Long::sum);
+            }
+        });
+        return result;
+    }
+
+    private MessageCounts countMessages(Long roomId, Long userId, LocalDateTime from, LocalDateTime to,
+                                        boolean excludeSystem) {
+        // 집계 테이블과 체크포인트를 따로 읽으므로, 그 사이 압축이 커밋되면 이중 집계됨 - 체크포인트가 바뀌었으면 다시 계산
+        long checkpointId = currentCheckpointId();
+        for (int attempt = 1; ; attempt++) {
+            MessageCounts counts = countMessages(checkpointId, roomId, userId, from, to, excludeSystem);
+            long checkpointAfter = currentCheckpointId();
+            if (checkpointAfter == checkpointId) {
+                return counts;
+            }
+            if (attempt >= MAX_COUNT_ATTEMPTS) {
+                logger.warn("집계 중 체크포인트가 계속 변경되어 마지막 결과 사용: roomId={}, userId={}, checkpoint={}",
+                            roomId, userId, checkpointAfter);
+                return counts;
+            }
+            checkpointId = checkpointAfter;
+        }
+    }
+
+    private MessageCounts countMessages(long checkpointId, Long roomId, Long userId, LocalDateTime from, LocalDateTime to,
+                                        boolean excludeSystem) {
+        MessageCounts counts = new MessageCounts();
+
+        // 범위에 완전히 포함되는 시간 버킷 [fromHour, toHour]
+        LocalDateTime fromHour = from == null ? MIN_HOUR : ceilToHour(from);
+        LocalDateTime toHour = to == null ? MAX_HOUR : truncateToHour(to.plusNanos(1)).minusHours(1);
+        LocalDateTime bucketEnd = toHour.plusHours(1);
+
+        if (!fromHour.isAfter(toHour)) {
+            if (roomId != null) {
+                addRollupRows(counts.byUser, counts, rollupRepository.sumByUserAndType(roomId, fromHour, toHour), excludeSystem);
+                addRollupHourRows(counts, rollupRepository.sumByHourAndType(roomId, fromHour, toHour), excludeSystem);
+            } else if (userId != null) {
+                addRollupRows(counts.byRoom, counts, rollupRepository.sumForUserByRoomAndType(userId, fromHour, toHour), excludeSystem);
+                addRollupHourRows(counts, rollupRepository.sumForUserByHourAndType(userId, fromHour, toHour), excludeSystem);
+            } else {
+                addRollupRows(counts.byUser, counts, rollupRepository.sumAllRoomsByUserAndType(fromHour, toHour), excludeSystem);
+                addRollupRows(counts.byRoom, null, rollupRepository.sumAllRoomsByRoomAndType(fromHour, toHour), excludeSystem);
+                addRollupHourRows(counts, rollupRepository.sumAllRoomsByHourAndType(fromHour, toHour), excludeSystem);
+            }
+
+            // 아직 집계되지 않은 최신 메시지 (버킷 구간에 속하는 것만, 원본 행 대신 DB에서 묶어 센 결과만 읽음)
+            for (Object[] row : chatMessageRepository.countAfterIdByRoomUserTypeAndHour(
+                    checkpointId, fromHour, bucketEnd, roomId, userId)) {
+                addUncompactedRow(counts, row, excludeSystem);
+            }
+        }
+
+        // 버킷에 일부만 걸치는 시작/끝 시간은 원본에서 조회
+        if (from != null && fromHour.isAfter(from)) {
+            LocalDateTime headEnd = to != null && to.isBefore(fromHour) ? to : fromHour.minusNanos(1);
+            chatMessageScanner.scanRange(roomId, from, headEnd, row -> addRawRow(counts, row, userId, excludeSystem));
+        }
+        if (to != null && !bucketEnd.isAfter(to) && !bucketEnd.isBefore(fromHour)) {
+            chatMessageScanner.scanRange(roomId, bucketEnd, to, row -> addRawRow(counts, row, userId, excludeSystem));
+        }
+
+        return counts;
+    }
+
+    private long currentCheckpointId() {
+        return checkpointRepository.findLastMessageIdByName(CHECKPOINT_NAME).orElse(0L);
+    }
+
+    private void addRollupRows(Map<Long, Long> byKey, MessageCounts totals, List<Object[]> rows, boolean excludeSystem) {
+        for (Object[] row : rows) {
+            ChatMessage.MessageType messageType = (ChatMessage.MessageType) row[1];
+            if (excludeSystem && messageType == ChatMessage.MessageType.SYSTEM) {
+                continue;
+            }
+            long count = ((Number) row[2]).longValue();
+            byKey.merge((Long) row[0], count, Long::sum);
+            if (totals != null) {
+                totals.addTotal(messageType, count);
+            }
+        }
+    }
+
+    private void addRollupHourRows(MessageCounts counts, List<Object[]> rows, boolean excludeSystem) {
+        for (Object[] row : rows) {
+            if (excludeSystem && row[1] == ChatMessage.MessageType.SYSTEM) {
+                continue;
+            }
+            counts.addHour((LocalDateTime) row[0], ((Number) row[2]).longValue());
+        }
+    }
+
+    private void addRawRow(MessageCounts counts, MessageScanRow row, Long userIdFilter, boolean excludeSystem) {
+        if (excludeSystem && row.getMessageType() == ChatMessage.MessageType.SYSTEM) {
+            return;
+        }
+        Long userId = userIdOf(row);
+        if (userIdFilter != null && !userIdFilter.equals(userId)) {
+            return;
+        }
+        counts.addTotal(row.getMessageType(), 1);
+        counts.addHour(row.getTimestamp(), 1);
+        counts.byUser.merge(userId, 1L, Long::sum);
+        counts.byRoom.merge(row.getRoomId(), 1L, Long::sum);
+    }
+
+    /**
+     * 집계되지 않은 메시지 수 행 반영 (채팅방, 사용자, 타입, 날짜, 시간, 메시지 수)
+     */
+    private void addUncompactedRow(MessageCounts counts, Object[] row, boolean excludeSystem) {
+        ChatMessage.MessageType messageType = (ChatMessage.MessageType) row[2];
+        if (excludeSystem && messageType == ChatMessage.MessageType.SYSTEM) {
+            return;
+        }
+        Long userId = row[1] != null ? (Long) row[1] : UNKNOWN_USER_ID;
+        LocalDate date = row[3] instanceof java.sql.Date sqlDate ? sqlDate.toLocalDate() : (LocalDate) row[3];
+        long count = ((Number) row[5]).longValue();
+        counts.addTotal(messageType, count);
+        counts.addHour(date.atTime(((Number) row[4]).intValue(), 0), count);
+        counts.byUser.merge(userId, count, Long::sum);
+        counts.byRoom.merge((Long) row[0], count, Long::sum);
+    }
+
+    private static Long userIdOf(MessageScanRow row) {
+        return row.getUserId() != null ? row.getUserId() : UNKNOWN_USER_ID;
+    }
+
+    private static LocalDateTime truncateToHour(LocalDateTime timestamp) {
+        return timestamp.truncatedTo(ChronoUnit.HOURS);
+    }
+
+    private static LocalDateTime ceilToHour(LocalDateTime timestamp) {
+        LocalDateTime hour = truncateToHour(timestamp);
+        return hour.equals(timestamp) ? hour : hour.plusHours(1);
+    }
+}
@@ -1,6 +1,7 @@
 package com.flowchat.service;
 
 import com.flowchat.dto.ChatMessageResponse;
+import com.flowchat.dto.RoomInfoEvent;
 import com.flowchat.entity.ChatMessage;
 import com.flowchat.entity.ChatRoom;
 import com.flowchat.entity.User;
@@ -8,12 +9,10 @@ import com.flowchat.event.MessageReceivedEvent;
 import com.flowchat.repository.ChatMessageRepository;
 import com.flowchat.repository.ChatRoomRepository;
 import com.flowchat.repository.UserRepository;
-import com.flowchat.service.ChatRoomMemberService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationEventPublisher;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,8 +20,6 @@ import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Collectors;
 
 @Service
@@ -40,52 +37,51 @@ public class MessageService {
     @Autowired
     private UserRepository userRepository;
 
-    @Autowired
-    private SimpMessagingTemplate messagingTemplate;
-
     @Autowired
     private ApplicationEventPublisher eventPublisher;
     
     @Autowired
-    private ChatRoomMemberService chatRoomMemberService;
+    private ChatMessageWriteBehind chatMessageWriteBehind;
+
+    @Autowired
+    private RecentMessageCache recentMessageCache;
 
-    // 채팅방별 활성 사용자 관리 (username -> sessionId)
-    private final ConcurrentMap<Long, ConcurrentMap<String, String>> roomUsers = new ConcurrentHashMap<>();
+    @Autowired
+    private RoomBroadcaster roomBroadcaster;
+
+    @Autowired
+    private RoomOwnerRouter roomOwnerRouter;
+
+    @Autowired
+    private PresenceRegistry presenceRegistry;
+
+    @Autowired
+    private RoomAuthorizationCache roomAuthorizationCache;
+
+    @Autowired
+    private ClusterCacheSync clusterCacheSync;
 
     /**
      * 메시지 전송 및 브로드캐스트
      */
     public ChatMessageResponse sendMessage(Long roomId, String username, String content, String messageType) {
-        // 사용자 조회
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 사용자입니다: " + username));
-
-        // 채팅방 조회 및 권한 확인
-        ChatRoom chatRoom = chatRoomRepository.findById(roomId)
-                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 채팅방입니다: " + roomId));
-
-        if (!chatRoom.getIsActive()) {
-            throw new IllegalArgumentException("비활성화된 채팅방입니다: " + roomId);
-        }
-        
-        // 메시지 전송은 멤버만 가능
-        if (!chatRoomMemberService.isMemberOfRoom(roomId, user.getId())) {
-            throw new IllegalStateException("채팅방 멤버만 메시지를 보낼 수 있습니다");
-        }
+        // 사용자/채팅방/멤버십 확인 (권한 캐시 - 캐시된 경우 DB 조회 없음)
+        RoomAuthorizationCache.RoomAccess user = roomAuthorizationCache.authorize(roomId, username);
 
         // 메시지 생성 및 저장
-        ChatMessage message = new ChatMessage(roomId, user.getId(), content);
+        ChatMessage message = new ChatMessage(roomId, user.getUserId(), content);
         if ("SYSTEM".equals(messageType)) {
             message.setMessageType(ChatMessage.MessageType.SYSTEM);
         }
         
-        ChatMessage savedMessage = chatMessageRepository.save(message);
+        ChatMessage savedMessage = persist(message);
 
         // 응답 DTO 생성
         ChatMessageResponse response = ChatMessageResponse.from(savedMessage, user.getUsername(), user.getName());
+        clusterCacheSync.appendRecentMessage(roomId, response);
 
         // 채팅방의 모든 사용자에게 메시지 브로드캐스트
-        messagingTemplate.convertAndSend("/topic/room/" + roomId, response);
+        roomBroadcaster.broadcast(RoomBroadcaster.roomTopic(roomId), response);
 
         // 메시지 분석을 위한 이벤트 발행
         eventPublisher.publishEvent(new MessageReceivedEvent(this, savedMessage, roomId, username));
@@ -96,6 +92,16 @@ public class MessageService {
         return response;
     }
 
+    /**
+     * 메시지 저장 - write-behind가 활성화된 경우 저널 기록 후 DB에는 일괄 비동기 저장
+     */
+    private ChatMessage persist(ChatMessage message) {
+        if (chatMessageWriteBehind.isEnabled()) {
+            return chatMessageWriteBehind.write(message);
+        }
+        return chatMessageRepository.save(message);
+    }
+
     /**
      * 시스템 메시지 전송 (사용자가 없는 시스템 메시지)
      */
@@ -112,13 +118,14 @@ public class MessageService {
         ChatMessage message = new ChatMessage(roomId, 0L, content);
         message.setMessageType(ChatMessage.MessageType.SYSTEM);
         
-        ChatMessage savedMessage = chatMessageRepository.save(message);
+        ChatMessage savedMessage = persist(message);
 
         // 응답 DTO 생성 (시스템 메시지용)
         ChatMessageResponse response = ChatMessageResponse.from(savedMessage, "SYSTEM", "시스템");
+        clusterCacheSync.appendRecentMessage(roomId, response);
 
         // 채팅방의 모든 사용자에게 메시지 브로드캐스트
-        messagingTemplate.convertAndSend("/topic/room/" + roomId, response);
+        roomBroadcaster.broadcast(RoomBroadcaster.roomTopic(roomId), response);
 
         logger.debug("시스템 메시지 브로드캐스트 완료: roomId={}, messageId={}", 
                     roomId, savedMessage.getId());
@@ -138,9 +145,8 @@ public class MessageService {
             throw new IllegalArgumentException("비활성화된 채팅방입니다: " + roomId);
         }
 
-        // 사용자를 채팅방에 추가
-        roomUsers.computeIfAbsent(roomId, k -> new ConcurrentHashMap<>())
-                 .put(username, sessionId);
+        // 사용자 세션을 채팅방에 추가
+        presenceRegistry.join(roomId, sessionId, username);
 
         // 현재 참여자 수 업데이트
         int currentParticipants = getRoomUserCount(roomId);
@@ -165,16 +171,12 @@ public class MessageService {
      * 채팅방 퇴장
      */
     public void leaveRoom(Long roomId, String username) {
-        // 사용자를 채팅방에서 제거
-        ConcurrentMap<String, String> users = roomUsers.get(roomId);
-        if (users != null) {
-            users.remove(username);
-            
-            // 빈 채팅방 정리
-            if (users.isEmpty()) {
-                roomUsers.remove(roomId);
-            }
-        }
+        // 사용자의 모든 세션을 채팅방에서 제거
+        presenceRegistry.leaveAll(roomId, username);
+        clusterCacheSync.evictRoomAccess(roomId, username);
+
+        // 입력 중 표시 제거
+        roomOwnerRouter.updateTyping(roomId, username, false);
 
         // 현재 참여자 수 업데이트
         int currentParticipants = getRoomUserCount(roomId);
@@ -196,19 +198,12 @@ public class MessageService {
     }
 
     /**
-     * 타이핑 상태 브로드캐스트
+     * 타이핑 상태 반영 (채팅방 담당 서버에서 모아서 주기적으로 브로드캐스트)
      */
     public void sendTypingStatus(Long roomId, String username, boolean isTyping) {
-        Map<String, Object> typingStatus = new HashMap<>();
-        typingStatus.put("type", "TYPING");
-        typingStatus.put("username", username);
-        typingStatus.put("isTyping", isTyping);
-        typingStatus.put("timestamp", LocalDateTime.now());
-
-        // 타이핑 상태를 다른 사용자들에게만 전송 (본인 제외)
-        messagingTemplate.convertAndSend("/topic/room/" + roomId + "/typing", typingStatus);
+        roomOwnerRouter.updateTyping(roomId, username, isTyping);
 
-        logger.debug("타이핑 상태 브로드캐스트: roomId={}, username={}, isTyping={}", 
+        logger.debug("타이핑 상태 반영: roomId={}, username={}, isTyping={}", 
                     roomId, username, isTyping);
     }
 
@@ -216,21 +211,16 @@ public class MessageService {
      * 채팅방 정보 브로드캐스트
      */
     private void broadcastRoomInfo(Long roomId, int currentParticipants) {
-        Map<String, Object> roomInfo = new HashMap<>();
-        roomInfo.put("type", "ROOM_INFO");
-        roomInfo.put("roomId", roomId);
-        roomInfo.put("currentParticipants", currentParticipants);
-        roomInfo.put("timestamp", LocalDateTime.now());
+        RoomInfoEvent roomInfo = new RoomInfoEvent(roomId, currentParticipants, LocalDateTime.now());
 
-        messagingTemplate.convertAndSend("/topic/room/" + roomId + "/info", roomInfo);
+        roomBroadcaster.broadcast(RoomBroadcaster.roomTopic(roomId) + "/info", roomInfo);
     }
 
     /**
      * 채팅방의 현재 사용자 수 조회
      */
     public int getRoomUserCount(Long roomId) {
-        ConcurrentMap<String, String> users = roomUsers.get(roomId);
-        return users != null ? users.size() : 0;
+        return presenceRegistry.getRoomUserCount(roomId);
     }
 
     /**
@@ -260,12 +250,12 @@ public class MessageService {
      */
     @Transactional(readOnly = true)
     public Map<String, Object> getRoomActiveUsers(Long roomId) {
-        ConcurrentMap<String, String> users = roomUsers.get(roomId);
+        List<String> users = presenceRegistry.getRoomUsernames(roomId);
         
         Map<String, Object> result = new HashMap<>();
         result.put("roomId", roomId);
-        result.put("userCount", users != null ? users.size() : 0);
-        result.put("users", users != null ? users.keySet() : new String[0]);
+        result.put("userCount", users.size());
+        result.put("users", users);
         
         return result;
     }
@@ -277,36 +267,14 @@ public class MessageService {
         try {
             logger.debug("메시지 히스토리 전송 시작: roomId={}, username={}", roomId, username);
             
-            // 최근 메시지 50개 조회 (시간순 정렬)
-            List<ChatMessage> recentMessages = chatMessageRepository.findTop50ByRoomIdAndIsDeletedFalseOrderByTimestampDesc(roomId);
+            // 최근 메시지 50개 (메모리 링 버퍼, 오래된 메시지부터)
+            List<ChatMessageResponse> messageHistory = recentMessageCache.getRecent(roomId, 50).getMessages();
             
-            if (recentMessages.isEmpty()) {
+            if (messageHistory.isEmpty()) {
                 logger.debug("전송할 메시지 히스토리가 없습니다: roomId={}", roomId);
                 return;
             }
             
-            // 메시지를 시간순으로 정렬 (오래된 메시지부터)
-            List<ChatMessageResponse> messageHistory = recentMessages.stream()
-                .sorted((a, b) -> a.getTimestamp().compareTo(b.getTimestamp()))
-                .map(message -> {
-                    // 사용자 정보 조회 (캐시 또는 데이터베이스)
-                    User user = null;
-                    if (message.getUserId() != null && message.getUserId() > 0) {
-                        try {
-                            user = userRepository.findById(message.getUserId()).orElse(null);
-                        } catch (Exception e) {
-                            logger.warn("사용자 정보 조회 실패: userId={}", message.getUserId());
-                        }
-                    }
-                    
-                    return ChatMessageResponse.from(
-                        message, 
-                        user != null ? user.getUsername() : (message.getUsername() != null ? message.getUsername() : "unknown"), 
-                        user != null ? user.getName() : (message.getName() != null ? message.getName() : "Unknown")
-                    );
-                })
-                .collect(Collectors.toList());
-            
             // 메시지 히스토리 전송 객체 구성
             Map<String, Object> historyData = new HashMap<>();
             historyData.put("type", "MESSAGE_HISTORY");
@@ -316,7 +284,7 @@ public class MessageService {
             historyData.put("timestamp", System.currentTimeMillis());
             
             // 특정 사용자의 세션에만 메시지 히스토리 전송
-            messagingTemplate.convertAndSendToUser(
+            roomBroadcaster.sendToUser(
                 username, 
                 "/queue/room/" + roomId + "/history", 
                 historyData
@@ -339,6 +307,11 @@ public class MessageService {
         try {
             logger.debug("채팅방 메시지 히스토리 조회: roomId={}, limit={}", roomId, limit);
             
+            // 캐시 용량 이내면 메모리에서 응답
+            if (limit > 0 && limit <= recentMessageCache.getCapacity()) {
+                return recentMessageCache.getRecent(roomId, limit).getMessages();
+            }
+            
             List<ChatMessage> messages;
             if (limit > 0) {
                 // 지정된 개수만큼 최근 메시지 조회
@@ -0,0 +1,52 @@
+package com.flowchat.service;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 반영된 메시지 ID 추적기 (워터마크 + 정착 대기 ID)
+ * - 워터마크 이하의 ID는 모두 반영된 것으로 간주
+ * - 워터마크 이후에 반영된 ID는 메시지 시각과 함께 보관하다가, 시각이 정착 기준(settledBefore)보다
+ *   오래되면 ID 순서대로 워터마크에 흡수 (늦게 커밋되는 트랜잭션의 앞 ID를 놓치지 않도록)
+ * - 보관 ID 수는 정착 대기 시간 동안의 메시지 수로 제한됨
+ * - 스레드 안전하지 않으므로 호출 측에서 동기화
+ */
+public class MessageWatermark {
+
+    private long watermark;
+
+    // 워터마크 이후에 반영되었지만 아직 정착 전인 메시지 ID와 시각
+    private final TreeMap<Long, LocalDateTime> pending = new TreeMap<>();
+
+    /**
+     * 메시지 반영 여부 기록 - 이미 반영된 메시지면 false
+     */
+    public boolean markApplied(long messageId, LocalDateTime timestamp, LocalDateTime settledBefore) {
+        if (messageId <= watermark || pending.containsKey(messageId)) {
+            return false;
+        }
+        pending.put(messageId, timestamp);
+        settle(settledBefore);
+        return true;
+    }
+
+    /**
+     * 정착 기준보다 오래된 앞쪽 ID를 워터마크에 흡수
+     */
+    public void settle(LocalDateTime settledBefore) {
+        Map.Entry<Long, LocalDateTime> first;
+        while ((first = pending.firstEntry()) != null && first.getValue().isBefore(settledBefore)) {
+            watermark = first.getKey();
+            pending.pollFirstEntry();
+        }
+    }
+
+    public long getWatermark() {
+        return watermark;
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+}
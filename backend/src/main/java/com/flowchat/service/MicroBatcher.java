@@ -0,0 +1,104 @@
+package com.flowchat.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 항목을 최대 N개 또는 최대 T밀리초 동안 모아서 한 번에 전달하는 배치 수집기
+ * - N개가 모이면 추가한 스레드에서 즉시 전달
+ * - 첫 항목 이후 T밀리초가 지나면 스케줄러 스레드에서 전달
+ * 전달 콜백은 오래 걸리는 작업을 직접 수행하지 말고 별도 실행기에 넘겨야 함
+ */
+public class MicroBatcher<T> {
+
+    private static final Logger logger = LoggerFactory.getLogger(MicroBatcher.class);
+
+    private final int maxBatchSize;
+    private final long maxWaitMillis;
+    private final Consumer<List<T>> flusher;
+    private final ScheduledExecutorService scheduler;
+
+    private List<T> pending;
+    private ScheduledFuture<?> scheduledFlush;
+
+    public MicroBatcher(String name, int maxBatchSize, long maxWaitMillis, Consumer<List<T>> flusher) {
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.maxWaitMillis = Math.max(1, maxWaitMillis);
+        this.flusher = flusher;
+        this.pending = new ArrayList<>(this.maxBatchSize);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 항목 추가 - 배치가 가득 차면 즉시 전달
+     */
+    public void add(T item) {
+        List<T> ready = null;
+
+        synchronized (this) {
+            pending.add(item);
+            if (pending.size() >= maxBatchSize) {
+                ready = drain();
+            } else if (scheduledFlush == null) {
+                scheduledFlush = scheduler.schedule(this::flushPending, maxWaitMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        if (ready != null) {
+            dispatch(ready);
+        }
+    }
+
+    /**
+     * 대기 중인 항목 즉시 전달
+     */
+    public void flushPending() {
+        List<T> ready;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                scheduledFlush = null;
+                return;
+            }
+            ready = drain();
+        }
+        dispatch(ready);
+    }
+
+    private List<T> drain() {
+        List<T> ready = pending;
+        pending = new ArrayList<>(maxBatchSize);
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        return ready;
+    }
+
+    private void dispatch(List<T> batch) {
+        try {
+            flusher.accept(batch);
+        } catch (Exception e) {
+            logger.error("배치 전달 실패: size={}, error={}", batch.size(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 남은 항목을 전달하고 스케줄러 종료
+     */
+    public void shutdown() {
+        flushPending();
+        scheduler.shutdown();
+    }
+}
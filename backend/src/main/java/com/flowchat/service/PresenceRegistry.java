@@ -0,0 +1,555 @@
+package com.flowchat.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flowchat.config.ClusterMessageBus;
+import com.flowchat.entity.User;
+import com.flowchat.event.ClusterMembershipChangedEvent;
+import com.flowchat.repository.ChatRoomMemberRepository;
+import com.flowchat.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+/**
+ * WebSocket 접속 상태(presence) 단일 관리
+ * - 세션 → 접속 중인 채팅방, 채팅방 → 사용자별 세션을 함께 보관 (양방향 O(1) 조회)
+ * - 한 사용자가 여러 세션(탭/기기)으로 접속할 수 있으며, 채팅방의 첫 세션 입장/마지막 세션 퇴장 시에만 온라인 상태가 바뀜
+ * - 온라인/lastSeen DB 반영은 상태 변경을 모아두었다가 주기적으로 채팅방/상태/시각(초 단위)별 일괄 UPDATE
+ * 클러스터 모드에서는 서버마다 자신의 세션만 보관하고, 채팅방별 사용자 접속/퇴장을 presence 토픽으로 주고받아
+ * 다른 서버에 접속 중인 사용자도 함께 계산 (사용자 수, 온라인 전환은 클러스터 전체 기준)
+ * - DB 반영은 채팅방 담당 서버만 수행 (같은 전환을 서버마다 중복 기록하지 않도록)
+ * - 서버 구성 변경 시와 sync-interval-ms마다 자신의 접속 목록 전체를 발행해 누락된 메시지를 보정하고,
+ *   이탈한 서버의 사용자는 제거
+ */
+@Component
+public class PresenceRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(PresenceRegistry.class);
+
+    static final String PRESENCE_TOPIC = "presence";
+    private static final String JOIN = "JOIN";
+    private static final String LEAVE = "LEAVE";
+    private static final String LEAVE_ALL = "LEAVE_ALL";
+    private static final String SNAPSHOT = "SNAPSHOT";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ChatRoomMemberRepository chatRoomMemberRepository;
+
+    @Autowired
+    private ClusterMessageBus clusterMessageBus;
+
+    @Autowired
+    private RoomOwnership roomOwnership;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${chat.cluster.enabled:false}")
+    private boolean clusterEnabled;
+
+    @Value("${flowchat.node-id:0}")
+    private long nodeId;
+
+    // 세션 ID -> 세션 정보 (사용자명, 접속 중인 채팅방)
+    private final ConcurrentMap<String, SessionPresence> sessions = new ConcurrentHashMap<>();
+
+    // 채팅방 ID -> 사용자별 세션
+    private final ConcurrentMap<Long, RoomPresence> rooms = new ConcurrentHashMap<>();
+
+    // DB 반영 대기 중인 상태 변경 (채팅방 ID -> 사용자명 -> 상태), 같은 사용자는 마지막 상태만 반영
+    private final ConcurrentMap<Long, Map<String, StatusChange>> pendingStatus = new ConcurrentHashMap<>();
+
+    /**
+     * 세션 하나의 접속 정보
+     */
+    private static final class SessionPresence {
+        private final String username;
+        private final Set<Long> roomIds = ConcurrentHashMap.newKeySet();
+
+        SessionPresence(String username) {
+            this.username = username;
+        }
+    }
+
+    /**
+     * 채팅방 하나의 접속 정보 (사용자명 -> 이 서버의 세션 ID 목록, 다른 서버 ID 목록)
+     */
+    private static final class RoomPresence {
+        private final Map<String, Set<String>> sessionsByUser = new HashMap<>();
+
+        // 다른 서버에 접속 중인 사용자 (클러스터 모드)
+        private final Map<String, Set<Long>> nodesByUser = new HashMap<>();
+
+        /**
+         * 세션 추가 - 해당 사용자의 이 서버 첫 세션이면 NODE, 클러스터 전체에서 처음이면 CLUSTER
+         */
+        synchronized Transition add(String username, String sessionId) {
+            Set<String> userSessions = sessionsByUser.computeIfAbsent(username, key -> new HashSet<>());
+            if (!userSessions.add(sessionId) || userSessions.size() > 1) {
+                return Transition.NONE;
+            }
+            return nodesByUser.containsKey(username) ? Transition.NODE : Transition.CLUSTER;
+        }
+
+        /**
+         * 세션 제거 - 해당 사용자의 이 서버 마지막 세션이면 NODE, 클러스터 전체에서 마지막이면 CLUSTER
+         */
+        synchronized Transition remove(String username, String sessionId) {
+            Set<String> userSessions = sessionsByUser.get(username);
+            if (userSessions == null || !userSessions.remove(sessionId) || !userSessions.isEmpty()) {
+                return Transition.NONE;
+            }
+            sessionsByUser.remove(username);
+            return nodesByUser.containsKey(username) ? Transition.NODE : Transition.CLUSTER;
+        }
+
+        /**
+         * 사용자를 모든 서버에서 제거 - 제거된 이 서버 세션은 removedSessions에 추가, 접속 중이었으면 true
+         */
+        synchronized boolean removeUser(String username, Set<String> removedSessions) {
+            Set<String> removed = sessionsByUser.remove(username);
+            if (removed != null) {
+                removedSessions.addAll(removed);
+            }
+            return nodesByUser.remove(username) != null || removed != null;
+        }
+
+        /**
+         * 다른 서버의 접속 추가 - 클러스터 전체에서 처음이면 true
+         */
+        synchronized boolean addRemote(String username, long node) {
+            boolean wasOnline = isOnline(username);
+            nodesByUser.computeIfAbsent(username, key -> new HashSet<>()).add(node);
+            return !wasOnline;
+        }
+
+        /**
+         * 다른 서버의 접속 제거 - 클러스터 전체에서 마지막이었으면 true
+         */
+        synchronized boolean removeRemote(String username, long node) {
+            Set<Long> nodes = nodesByUser.get(username);
+            if (nodes == null || !nodes.remove(node)) {
+                return false;
+            }
+            if (nodes.isEmpty()) {
+                nodesByUser.remove(username);
+            }
+            return !isOnline(username);
+        }
+
+        /**
+         * 다른 서버별 접속 사용자 (서버 ID -> 사용자명)
+         */
+        synchronized Map<Long, Set<String>> remoteUsers() {
+            Map<Long, Set<String>> byNode = new HashMap<>();
+            nodesByUser.forEach((username, nodes) -> nodes.forEach(node ->
+                byNode.computeIfAbsent(node, key -> new HashSet<>()).add(username)));
+            return byNode;
+        }
+
+        synchronized int userCount() {
+            int count = sessionsByUser.size();
+            for (String username : nodesByUser.keySet()) {
+                if (!sessionsByUser.containsKey(username)) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        synchronized List<String> usernames() {
+            Set<String> usernames = new LinkedHashSet<>(sessionsByUser.keySet());
+            usernames.addAll(nodesByUser.keySet());
+            return new ArrayList<>(usernames);
+        }
+
+        synchronized List<String> localUsernames() {
+            return new ArrayList<>(sessionsByUser.keySet());
+        }
+
+        synchronized boolean isEmpty() {
+            return sessionsByUser.isEmpty() && nodesByUser.isEmpty();
+        }
+
+        private boolean isOnline(String username) {
+            return sessionsByUser.containsKey(username) || nodesByUser.containsKey(username);
+        }
+    }
+
+    /**
+     * 세션 추가/제거에 따른 사용자 접속 상태 변화
+     * NODE: 이 서버에서만 바뀜 (다른 서버에 접속 중), CLUSTER: 클러스터 전체에서 온라인/오프라인 전환
+     */
+    private enum Transition { NONE, NODE, CLUSTER }
+
+    private record StatusChange(boolean online, LocalDateTime at) {}
+
+    public PresenceRegistry() {
+    }
+
+    /**
+     * 테스트용 - 클러스터 모드로 생성
+     */
+    PresenceRegistry(ClusterMessageBus clusterMessageBus, ObjectMapper objectMapper,
+                     RoomOwnership roomOwnership, long nodeId) {
+        this.clusterMessageBus = clusterMessageBus;
+        this.objectMapper = objectMapper;
+        this.roomOwnership = roomOwnership;
+        this.clusterEnabled = true;
+        this.nodeId = nodeId;
+        init();
+    }
+
+    @PostConstruct
+    public void init() {
+        if (clusterEnabled) {
+            clusterMessageBus.subscribe(PRESENCE_TOPIC, this::onClusterMessage);
+        }
+    }
+
+    /**
+     * 인증된 WebSocket 세션 등록
+     */
+    public void connect(String sessionId, String username) {
+        sessions.putIfAbsent(sessionId, new SessionPresence(username));
+    }
+
+    public String getUsername(String sessionId) {
+        SessionPresence session = sessions.get(sessionId);
+        return session != null ? session.username : null;
+    }
+
+    /**
+     * 채팅방에 세션 추가 - 사용자가 이 채팅방에 새로 접속했으면 true (온라인 전환)
+     */
+    public boolean join(Long roomId, String sessionId, String username) {
+        SessionPresence session = sessions.computeIfAbsent(sessionId, id -> new SessionPresence(username));
+        session.roomIds.add(roomId);
+
+        Transition[] transition = {Transition.NONE};
+        rooms.compute(roomId, (id, room) -> {
+            RoomPresence presence = room != null ? room : new RoomPresence();
+            transition[0] = presence.add(username, sessionId);
+            return presence;
+        });
+
+        if (transition[0] != Transition.NONE) {
+            publishChange(JOIN, roomId, username);
+        }
+        if (transition[0] == Transition.CLUSTER) {
+            recordStatus(roomId, username, true);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 채팅방에서 세션 하나 제거 - 사용자의 마지막 세션이었으면 true (오프라인 전환)
+     */
+    public boolean leave(Long roomId, String sessionId, String username) {
+        SessionPresence session = sessions.get(sessionId);
+        if (session != null) {
+            session.roomIds.remove(roomId);
+        }
+        return removeFromRoom(roomId, username, sessionId);
+    }
+
+    /**
+     * 채팅방에서 사용자의 모든 세션 제거 (퇴장/강제 퇴장) - 접속 중이었으면 true
+     * 클러스터 모드에서는 다른 서버의 세션도 제거
+     */
+    public boolean leaveAll(Long roomId, String username) {
+        boolean wasOnline = removeUser(roomId, username);
+        publishChange(LEAVE_ALL, roomId, username);
+        return wasOnline;
+    }
+
+    /**
+     * 세션 종료 - 이 세션이 사용자의 마지막 세션이었던 채팅방 목록 반환 (오프라인 전환)
+     */
+    public List<Long> disconnect(String sessionId) {
+        SessionPresence session = sessions.remove(sessionId);
+        if (session == null) {
+            return List.of();
+        }
+
+        List<Long> wentOffline = new ArrayList<>();
+        for (Long roomId : session.roomIds) {
+            if (removeFromRoom(roomId, session.username, sessionId)) {
+                wentOffline.add(roomId);
+            }
+        }
+        return wentOffline;
+    }
+
+    /**
+     * 채팅방에 접속 중인 사용자 수 (여러 세션은 한 명으로 계산)
+     */
+    public int getRoomUserCount(Long roomId) {
+        RoomPresence room = rooms.get(roomId);
+        return room != null ? room.userCount() : 0;
+    }
+
+    public List<String> getRoomUsernames(Long roomId) {
+        RoomPresence room = rooms.get(roomId);
+        return room != null ? room.usernames() : List.of();
+    }
+
+    /**
+     * 모아둔 온라인 상태 변경을 DB에 반영 (채팅방/상태/시각별 일괄 UPDATE)
+     */
+    @Scheduled(fixedDelayString = "${chat.presence.flush-interval-ms:1000}")
+    public void flush() {
+        Map<Long, Map<String, StatusChange>> drained = new HashMap<>();
+        for (Long roomId : pendingStatus.keySet()) {
+            pendingStatus.computeIfPresent(roomId, (id, changes) -> {
+                drained.put(id, changes);
+                return null;
+            });
+        }
+        if (drained.isEmpty()) {
+            return;
+        }
+
+        try {
+            Set<String> usernames = drained.values().stream()
+                .flatMap(changes -> changes.keySet().stream())
+                .collect(Collectors.toSet());
+            Map<String, Long> userIds = userRepository.findByUsernameIn(usernames).stream()
+                .collect(Collectors.toMap(User::getUsername, User::getId));
+
+            int updated = 0;
+            for (Map.Entry<Long, Map<String, StatusChange>> entry : drained.entrySet()) {
+                updated += flushRoom(entry.getKey(), entry.getValue(), userIds);
+            }
+            logger.debug("온라인 상태 일괄 반영: rooms={}, users={}, updated={}", drained.size(), usernames.size(), updated);
+        } catch (Exception e) {
+            // 다음 주기에 다시 반영 (그사이 들어온 최신 상태가 우선)
+            drained.forEach((roomId, changes) -> pendingStatus.merge(roomId, changes, (newer, older) -> {
+                older.putAll(newer);
+                return older;
+            }));
+            logger.error("온라인 상태 일괄 반영 실패: rooms={}, error={}", drained.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * 채팅방 하나의 상태 변경 반영 - 사용자마다 자신의 변경 시각을 lastSeen으로 기록
+     * 같은 상태, 같은 시각(초 단위)의 사용자끼리 묶어 UPDATE 한 번으로 처리
+     */
+    private int flushRoom(Long roomId, Map<String, StatusChange> changes, Map<String, Long> userIds) {
+        Map<StatusChange, List<Long>> groups = new HashMap<>();
+        for (Map.Entry<String, StatusChange> change : changes.entrySet()) {
+            Long userId = userIds.get(change.getKey());
+            if (userId != null) {
+                groups.computeIfAbsent(change.getValue(), key -> new ArrayList<>()).add(userId);
+            }
+        }
+
+        int updated = 0;
+        for (Map.Entry<StatusChange, List<Long>> group : groups.entrySet()) {
+            StatusChange change = group.getKey();
+            updated += chatRoomMemberRepository.updateOnlineStatusInRoom(roomId, group.getValue(), change.online(), change.at());
+        }
+        return updated;
+    }
+
+    private boolean removeFromRoom(Long roomId, String username, String sessionId) {
+        Transition[] transition = {Transition.NONE};
+        rooms.computeIfPresent(roomId, (id, room) -> {
+            transition[0] = room.remove(username, sessionId);
+            return room.isEmpty() ? null : room;
+        });
+
+        if (transition[0] != Transition.NONE) {
+            publishChange(LEAVE, roomId, username);
+        }
+        if (transition[0] == Transition.CLUSTER) {
+            recordStatus(roomId, username, false);
+            return true;
+        }
+        return false;
+    }
+
+    private boolean removeUser(Long roomId, String username) {
+        Set<String> removed = new HashSet<>();
+        boolean[] wasOnline = new boolean[1];
+        rooms.computeIfPresent(roomId, (id, room) -> {
+            wasOnline[0] = room.removeUser(username, removed);
+            return room.isEmpty() ? null : room;
+        });
+
+        for (String sessionId : removed) {
+            SessionPresence session = sessions.get(sessionId);
+            if (session != null) {
+                session.roomIds.remove(roomId);
+            }
+        }
+
+        if (wasOnline[0]) {
+            recordStatus(roomId, username, false);
+        }
+        return wasOnline[0];
+    }
+
+    /**
+     * 이 서버의 접속 목록 전체 발행 (누락된 접속/퇴장 메시지 보정)
+     */
+    @Scheduled(fixedDelayString = "${chat.presence.sync-interval-ms:30000}")
+    public void publishSnapshot() {
+        if (!clusterEnabled) {
+            return;
+        }
+        Map<String, List<String>> snapshot = new HashMap<>();
+        rooms.forEach((roomId, room) -> {
+            List<String> usernames = room.localUsernames();
+            if (!usernames.isEmpty()) {
+                snapshot.put(roomId.toString(), usernames);
+            }
+        });
+
+        Map<String, Object> body = new HashMap<>();
+        body.put("origin", nodeId);
+        body.put("kind", SNAPSHOT);
+        body.put("rooms", snapshot);
+        publish(body);
+    }
+
+    /**
+     * 서버 구성 변경 - 이탈한 서버의 사용자를 제거하고, 새 서버가 알 수 있도록 접속 목록 발행
+     */
+    @EventListener
+    public void onClusterMembershipChanged(ClusterMembershipChangedEvent event) {
+        if (!clusterEnabled) {
+            return;
+        }
+        rooms.forEach((roomId, room) -> room.remoteUsers().forEach((node, usernames) -> {
+            if (!event.getNodeIds().contains(node)) {
+                usernames.forEach(username -> applyRemote(roomId, username, node, false));
+            }
+        }));
+        publishSnapshot();
+    }
+
+    private void publishChange(String kind, Long roomId, String username) {
+        if (!clusterEnabled) {
+            return;
+        }
+        Map<String, Object> body = new HashMap<>();
+        body.put("origin", nodeId);
+        body.put("kind", kind);
+        body.put("roomId", roomId);
+        body.put("username", username);
+        publish(body);
+    }
+
+    private void publish(Map<String, Object> body) {
+        try {
+            clusterMessageBus.publish(PRESENCE_TOPIC, objectMapper.writeValueAsBytes(body));
+        } catch (Exception e) {
+            // 다음 접속 목록 발행 때 보정됨
+            logger.warn("접속 상태 발행 실패: kind={}, roomId={}, error={}", body.get("kind"), body.get("roomId"), e.getMessage());
+        }
+    }
+
+    private void onClusterMessage(byte[] payload) {
+        try {
+            Map<?, ?> body = objectMapper.readValue(payload, Map.class);
+            long origin = ((Number) body.get("origin")).longValue();
+            if (origin == nodeId) {
+                return; // 자신이 발행한 변경은 이미 반영함
+            }
+
+            String kind = (String) body.get("kind");
+            if (SNAPSHOT.equals(kind)) {
+                applySnapshot(origin, (Map<?, ?>) body.get("rooms"));
+                return;
+            }
+            Long roomId = ((Number) body.get("roomId")).longValue();
+            String username = (String) body.get("username");
+            switch (kind) {
+                case JOIN -> applyRemote(roomId, username, origin, true);
+                case LEAVE -> applyRemote(roomId, username, origin, false);
+                case LEAVE_ALL -> removeUser(roomId, username);
+                default -> logger.debug("알 수 없는 접속 상태 메시지: kind={}", kind);
+            }
+        } catch (Exception e) {
+            logger.error("다른 서버의 접속 상태 처리 실패: error={}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 다른 서버의 접속 목록으로 교체 - 목록에 없는 사용자는 제거하고 새 사용자는 추가
+     */
+    private void applySnapshot(long origin, Map<?, ?> snapshot) {
+        Map<Long, Set<String>> usersByRoom = new HashMap<>();
+        snapshot.forEach((roomId, usernames) -> {
+            Set<String> users = new HashSet<>();
+            for (Object username : (List<?>) usernames) {
+                users.add((String) username);
+            }
+            usersByRoom.put(Long.valueOf(roomId.toString()), users);
+        });
+
+        rooms.forEach((roomId, room) -> {
+            Set<String> current = room.remoteUsers().getOrDefault(origin, Set.of());
+            Set<String> keep = usersByRoom.getOrDefault(roomId, Set.of());
+            for (String username : current) {
+                if (!keep.contains(username)) {
+                    applyRemote(roomId, username, origin, false);
+                }
+            }
+        });
+        usersByRoom.forEach((roomId, usernames) ->
+            usernames.forEach(username -> applyRemote(roomId, username, origin, true)));
+    }
+
+    private void applyRemote(Long roomId, String username, long node, boolean online) {
+        boolean[] changed = new boolean[1];
+        if (online) {
+            rooms.compute(roomId, (id, room) -> {
+                RoomPresence presence = room != null ? room : new RoomPresence();
+                changed[0] = presence.addRemote(username, node);
+                return presence;
+            });
+        } else {
+            rooms.computeIfPresent(roomId, (id, room) -> {
+                changed[0] = room.removeRemote(username, node);
+                return room.isEmpty() ? null : room;
+            });
+        }
+
+        if (changed[0]) {
+            recordStatus(roomId, username, online);
+        }
+    }
+
+    private void recordStatus(Long roomId, String username, boolean online) {
+        // 클러스터 모드에서는 채팅방 담당 서버만 DB에 반영
+        if (clusterEnabled && !roomOwnership.isLocal(roomId)) {
+            return;
+        }
+        // 같은 초에 바뀐 사용자끼리 한 번에 UPDATE 하도록 초 단위로 기록
+        StatusChange change = new StatusChange(online, LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
+        pendingStatus.compute(roomId, (id, changes) -> {
+            Map<String, StatusChange> roomChanges = changes != null ? changes : new HashMap<>();
+            roomChanges.put(username, change);
+            return roomChanges;
+        });
+    }
+}
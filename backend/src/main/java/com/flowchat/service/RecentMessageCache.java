@@ -0,0 +1,253 @@
+package com.flowchat.service;
+
+import com.flowchat.dto.ChatMessageResponse;
+import com.flowchat.entity.ChatMessage;
+import com.flowchat.entity.User;
+import com.flowchat.repository.ChatMessageRepository;
+import com.flowchat.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 채팅방별 최근 메시지 링 버퍼 (입장 시 히스토리, 최근 메시지 API용)
+ * - 채팅방마다 최근 per-room개의 응답 DTO를 보관하고 메시지 전송 시 추가
+ * - 처음 조회할 때 한 번만 DB에서 채우고(사용자 정보는 한 번에 조회) 이후 조회는 메모리에서 응답
+ * - 보관 채팅방 수는 max-rooms로 제한 (가장 오래 사용되지 않은 채팅방부터 제거)
+ *   전체 메모리 상한 = per-room × max-rooms 메시지
+ */
+@Component
+public class RecentMessageCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecentMessageCache.class);
+
+    @Autowired
+    private ChatMessageRepository chatMessageRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${chat.recent-cache.per-room:50}")
+    private int perRoom;
+
+    @Value("${chat.recent-cache.max-rooms:1000}")
+    private int maxRooms;
+
+    // 접근 순서 LRU (roomId -> 링 버퍼)
+    private Map<Long, RecentRing> rings;
+
+    /**
+     * 채팅방 하나의 최근 메시지 링 버퍼 (메시지 ID 오름차순 유지)
+     */
+    static final class RecentRing {
+        private final ChatMessageResponse[] slots;
+        private int head;   // 가장 오래된 메시지 위치
+        private int size;
+        private boolean loaded;     // DB에서 채운 적이 있는지
+        private boolean hasOlder;   // 링 밖에 더 오래된 메시지가 있는지
+
+        RecentRing(int capacity) {
+            this.slots = new ChatMessageResponse[Math.max(1, capacity)];
+        }
+
+        synchronized void append(ChatMessageResponse message) {
+            if (size > 0 && message.getId() != null) {
+                ChatMessageResponse newest = slots[(head + size - 1) % slots.length];
+                if (newest.getId() != null && message.getId() <= newest.getId()) {
+                    // 순서가 뒤바뀐 메시지는 다시 정렬
+                    List<ChatMessageResponse> merged = toList();
+                    merged.add(message);
+                    replace(merged);
+                    return;
+                }
+            }
+            if (size == slots.length) {
+                slots[head] = message;
+                head = (head + 1) % slots.length;
+                hasOlder = true;
+            } else {
+                slots[(head + size) % slots.length] = message;
+                size++;
+            }
+        }
+
+        /**
+         * DB 조회 결과 반영 - 조회 중 추가된 메시지와 ID 기준으로 병합
+         */
+        synchronized void load(List<ChatMessageResponse> fromDb, boolean dbHasOlder) {
+            List<ChatMessageResponse> merged = toList();
+            merged.addAll(fromDb);
+            replace(merged);
+            this.hasOlder = hasOlder || dbHasOlder;
+            this.loaded = true;
+        }
+
+        synchronized boolean isLoaded() {
+            return loaded;
+        }
+
+        synchronized boolean remove(Long messageId) {
+            List<ChatMessageResponse> messages = toList();
+            boolean removed = messages.removeIf(message -> Objects.equals(message.getId(), messageId));
+            if (removed) {
+                replace(messages);
+                // 빈 자리를 채우려면 DB에서 다시 읽어야 함
+                loaded = loaded && !hasOlder;
+            }
+            return removed;
+        }
+
+        /**
+         * 최근 limit개 (오래된 메시지부터)
+         */
+        synchronized List<ChatMessageResponse> latest(int limit) {
+            int count = Math.min(limit, size);
+            List<ChatMessageResponse> result = new ArrayList<>(count);
+            for (int i = size - count; i < size; i++) {
+                result.add(slots[(head + i) % slots.length]);
+            }
+            return result;
+        }
+
+        synchronized boolean hasMoreThan(int limit) {
+            return size > limit || hasOlder;
+        }
+
+        private List<ChatMessageResponse> toList() {
+            return new ArrayList<>(latest(size));
+        }
+
+        private void replace(List<ChatMessageResponse> messages) {
+            Map<Long, ChatMessageResponse> byId = new TreeMap<>();
+            List<ChatMessageResponse> withoutId = new ArrayList<>();
+            for (ChatMessageResponse message : messages) {
+                if (message.getId() != null) {
+                    byId.putIfAbsent(message.getId(), message);
+                } else {
+                    withoutId.add(message);
+                }
+            }
+            List<ChatMessageResponse> sorted = new ArrayList<>(withoutId);
+            sorted.addAll(byId.values());
+            if (sorted.size() > slots.length) {
+                sorted = sorted.subList(sorted.size() - slots.length, sorted.size());
+                hasOlder = true;
+            }
+
+            Arrays.fill(slots, null);
+            for (int i = 0; i < sorted.size(); i++) {
+                slots[i] = sorted.get(i);
+            }
+            head = 0;
+            size = sorted.size();
+        }
+    }
+
+    /**
+     * 최근 메시지 조회 결과
+     */
+    public static class RecentMessages {
+        private final List<ChatMessageResponse> messages;
+        private final boolean hasMore;
+
+        RecentMessages(List<ChatMessageResponse> messages, boolean hasMore) {
+            this.messages = messages;
+            this.hasMore = hasMore;
+        }
+
+        public List<ChatMessageResponse> getMessages() { return messages; }
+        public boolean hasMore() { return hasMore; }
+    }
+
+    @PostConstruct
+    public void init() {
+        int roomLimit = Math.max(1, maxRooms);
+        rings = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, RecentRing> eldest) {
+                return size() > roomLimit;
+            }
+        });
+    }
+
+    public int getCapacity() {
+        return perRoom;
+    }
+
+    /**
+     * 전송된 메시지 추가
+     */
+    public void append(Long roomId, ChatMessageResponse message) {
+        rings.computeIfAbsent(roomId, id -> new RecentRing(perRoom)).append(message);
+    }
+
+    /**
+     * 최근 limit개 메시지 (오래된 메시지부터) - limit은 per-room 이하로 제한
+     * 아직 채워지지 않은 채팅방이면 DB에서 한 번 채움
+     */
+    public RecentMessages getRecent(Long roomId, int limit) {
+        int count = Math.max(1, Math.min(limit, perRoom));
+        RecentRing ring = rings.computeIfAbsent(roomId, id -> new RecentRing(perRoom));
+        if (!ring.isLoaded()) {
+            load(roomId, ring);
+        }
+        return new RecentMessages(ring.latest(count), ring.hasMoreThan(count));
+    }
+
+    /**
+     * 메시지 수정/삭제 시 무효화
+     */
+    public void evictMessage(Long roomId, Long messageId) {
+        RecentRing ring = rings.get(roomId);
+        if (ring != null && ring.remove(messageId)) {
+            logger.debug("최근 메시지 캐시에서 제거: roomId={}, messageId={}", roomId, messageId);
+        }
+    }
+
+    /**
+     * 채팅방 전체 무효화 (채팅방 삭제 등)
+     */
+    public void evictRoom(Long roomId) {
+        rings.remove(roomId);
+    }
+
+    private void load(Long roomId, RecentRing ring) {
+        // 더 오래된 메시지가 있는지 확인하기 위해 한 건 더 조회
+        List<ChatMessage> rows = chatMessageRepository
+            .findByRoomIdAndIsDeletedFalseOrderByIdDesc(roomId, PageRequest.of(0, perRoom + 1));
+        boolean dbHasOlder = rows.size() > perRoom;
+        if (dbHasOlder) {
+            rows = rows.subList(0, perRoom);
+        }
+
+        // 작성자 정보는 한 번에 조회
+        Set<Long> userIds = rows.stream()
+            .map(ChatMessage::getUserId)
+            .filter(userId -> userId != null && userId > 0)
+            .collect(Collectors.toSet());
+        Map<Long, User> users = userIds.isEmpty() ? Map.of()
+            : userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        List<ChatMessageResponse> responses = new ArrayList<>(rows.size());
+        for (ChatMessage message : rows) {
+            User user = message.getUserId() != null ? users.get(message.getUserId()) : null;
+            responses.add(ChatMessageResponse.from(
+                message,
+                user != null ? user.getUsername() : (message.getUsername() != null ? message.getUsername() : "unknown"),
+                user != null ? user.getName() : (message.getName() != null ? message.getName() : "Unknown")
+            ));
+        }
+
+        ring.load(responses, dbHasOlder);
+        logger.debug("최근 메시지 캐시 적재: roomId={}, messages={}", roomId, responses.size());
+    }
+}
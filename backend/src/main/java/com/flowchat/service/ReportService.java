@@ -2,8 +2,9 @@ package com.flowchat.service;
 
 import com.flowchat.entity.AnalysisResult;
 import com.flowchat.entity.ChatMessage;
+import com.flowchat.entity.User;
 import com.flowchat.repository.AnalysisResultRepository;
-import com.flowchat.repository.ChatMessageRepository;
+import com.flowchat.repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,22 +15,27 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 public class ReportService {
 
     private static final Logger logger = LoggerFactory.getLogger(ReportService.class);
 
-    @Autowired
-    private ChatMessageRepository chatMessageRepository;
-
     @Autowired
     private AnalysisResultRepository analysisResultRepository;
 
     @Autowired
     private TopicClassificationService topicClassificationService;
 
+    @Autowired
+    private ChatMessageScanner chatMessageScanner;
+
+    @Autowired
+    private MessageRollupService messageRollupService;
+
+    @Autowired
+    private UserRepository userRepository;
+
     /**
      * 일일 보고서 생성
      */
@@ -72,62 +78,50 @@ public class ReportService {
 
         Map<String, Object> report = new HashMap<>();
 
-        // 1. 기본 메시지 통계
-        List<ChatMessage> messages = chatMessageRepository.findByTimestampBetween(start, end);
-        report.put("totalMessages", messages.size());
+        // 1. 기본 메시지 통계 (시간 단위 집계 테이블 기준)
+        MessageRollupService.MessageCounts counts = messageRollupService.countAllMessages(start, end);
+        long totalMessages = counts.getTotal();
+        report.put("totalMessages", (int) totalMessages);
         report.put("reportType", reportType);
         report.put("startDate", start.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
         report.put("endDate", end.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
         report.put("generatedAt", LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
 
-        if (messages.isEmpty()) {
+        if (totalMessages == 0) {
             report.put("summary", "해당 기간에는 메시지가 없습니다.");
             return report;
         }
 
         // 2. 사용자별 활동 통계
-        Map<String, Long> userActivity = messages.stream()
-                .collect(Collectors.groupingBy(
-                    msg -> msg.getUsername() != null ? msg.getUsername() : "UNKNOWN",
-                    Collectors.counting()
-                ));
+        Map<String, Long> userActivity = messageRollupService.countByUserName(counts, User::getUsername, "UNKNOWN");
         report.put("userActivity", userActivity);
 
         // 3. 메시지 타입별 통계
-        Map<String, Long> messageTypeStats = messages.stream()
-                .collect(Collectors.groupingBy(
-                    msg -> msg.getMessageType() != null ? msg.getMessageType().toString() : "TEXT",
-                    Collectors.counting()
-                ));
-        report.put("messageTypeStats", messageTypeStats);
+        report.put("messageTypeStats", counts.getByType());
 
         // 4. 시간대별 활동 통계
-        Map<Integer, Long> hourlyActivity = messages.stream()
-                .collect(Collectors.groupingBy(
-                    msg -> msg.getTimestamp().getHour(),
-                    Collectors.counting()
-                ));
+        Map<Integer, Long> hourlyActivity = counts.getByHourOfDay();
         report.put("hourlyActivity", hourlyActivity);
 
-        // 5. 주제별 분석 (시스템 메시지 제외)
-        List<String> userMessages = messages.stream()
-                .filter(msg -> !"SYSTEM".equals(msg.getMessageType()))
-                .map(ChatMessage::getContent)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
-
-        if (!userMessages.isEmpty()) {
-            Map<String, Object> topicStats = topicClassificationService.getTopicStatistics(userMessages);
+        // 5. 주제별 분석 (시스템 메시지 제외) - 메시지 내용이 필요하므로 페이지 단위로 스캔
+        Map<String, Integer> topicCounts = new HashMap<>();
+        Map<String, Integer> emotionCounts = new HashMap<>();
+        int[] userMessageCount = {0};
+        chatMessageScanner.scanPeriod(start, end, row -> {
+            if (row.getMessageType() != ChatMessage.MessageType.SYSTEM && row.getContent() != null) {
+                topicClassificationService.countTopicAndEmotion(row.getContent(), topicCounts, emotionCounts);
+                userMessageCount[0]++;
+            }
+        });
+
+        if (userMessageCount[0] > 0) {
+            Map<String, Object> topicStats = topicClassificationService.buildTopicStatistics(
+                topicCounts, emotionCounts, userMessageCount[0]);
             report.put("topicAnalysis", topicStats);
         }
 
         // 6. 채팅방별 활동 통계
-        Map<Long, Long> roomActivity = messages.stream()
-                .collect(Collectors.groupingBy(
-                    ChatMessage::getRoomId,
-                    Collectors.counting()
-                ));
-        report.put("roomActivity", roomActivity);
+        report.put("roomActivity", counts.getByRoom());
 
         // 7. 가장 활발한 시간대 계산
         Optional<Map.Entry<Integer, Long>> mostActiveHour = hourlyActivity.entrySet().stream()
@@ -143,7 +137,7 @@ public class ReportService {
         report.put("summary", summary);
 
         logger.info("{} 보고서 생성 완료: 총 {}개 메시지, {}명 사용자", 
-                   reportType, messages.size(), userActivity.size());
+                   reportType, totalMessages, userActivity.size());
 
         return report;
     }
@@ -193,30 +187,24 @@ public class ReportService {
      * 사용자별 개인 보고서 생성
      */
     public Map<String, Object> generateUserReport(String username, LocalDateTime start, LocalDateTime end) {
-        List<ChatMessage> userMessages = chatMessageRepository.findByUsernameAndTimestampBetween(username, start, end);
+        // 시간 단위 집계 테이블 기준 메시지 수 (존재하지 않는 사용자는 0건)
+        MessageRollupService.MessageCounts counts = userRepository.findByUsername(username)
+                .map(user -> messageRollupService.countUserMessages(user.getId(), start, end))
+                .orElse(null);
+        long totalMessages = counts != null ? counts.getTotal() : 0;
         
         Map<String, Object> report = new HashMap<>();
         report.put("username", username);
-        report.put("totalMessages", userMessages.size());
+        report.put("totalMessages", (int) totalMessages);
         report.put("startDate", start.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
         report.put("endDate", end.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
         
-        if (!userMessages.isEmpty()) {
+        if (totalMessages > 0) {
             // 시간대별 활동
-            Map<Integer, Long> hourlyActivity = userMessages.stream()
-                    .collect(Collectors.groupingBy(
-                        msg -> msg.getTimestamp().getHour(),
-                        Collectors.counting()
-                    ));
-            report.put("hourlyActivity", hourlyActivity);
+            report.put("hourlyActivity", counts.getByHourOfDay());
             
             // 채팅방별 참여도
-            Map<Long, Long> roomParticipation = userMessages.stream()
-                    .collect(Collectors.groupingBy(
-                        ChatMessage::getRoomId,
-                        Collectors.counting()
-                    ));
-            report.put("roomParticipation", roomParticipation);
+            report.put("roomParticipation", counts.getByRoom());
         }
         
         return report;
@@ -0,0 +1,187 @@
+package com.flowchat.service;
+
+import com.flowchat.entity.ChatRoom;
+import com.flowchat.entity.User;
+import com.flowchat.event.ChatRoomDeactivatedEvent;
+import com.flowchat.event.RoomMembershipChangedEvent;
+import com.flowchat.event.UserChangedEvent;
+import com.flowchat.repository.ChatRoomMemberRepository;
+import com.flowchat.repository.ChatRoomRepository;
+import com.flowchat.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 사용자+채팅방별 메시지 전송 권한 캐시
+ * - 사용자 정보, 채팅방 활성 여부, 멤버십을 한 번 조회해 보관하므로 메시지 전송 시 DB 조회가 없음
+ * - 채팅방 WebSocket 연결 시 미리 채우고, 마지막 세션이 채팅방을 떠나면 제거
+ * - 멤버십 변경/채팅방 비활성화/사용자 변경 이벤트(커밋 후)와 퇴장/강제 퇴장 시 무효화
+ */
+@Component
+public class RoomAuthorizationCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoomAuthorizationCache.class);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ChatRoomRepository chatRoomRepository;
+
+    @Autowired
+    private ChatRoomMemberRepository chatRoomMemberRepository;
+
+    // 채팅방 ID -> 사용자명 -> 권한 정보
+    private final ConcurrentMap<Long, ConcurrentMap<String, RoomAccess>> rooms = new ConcurrentHashMap<>();
+
+    // 무효화 횟수 - 조회 중에 무효화가 일어나면 조회 결과를 캐시하지 않음
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * 사용자의 채팅방 권한 정보
+     */
+    public static final class RoomAccess {
+        private final Long userId;
+        private final String username;
+        private final String name;
+        private final boolean member;
+
+        public RoomAccess(Long userId, String username, String name, boolean member) {
+            this.userId = userId;
+            this.username = username;
+            this.name = name;
+            this.member = member;
+        }
+
+        public Long getUserId() { return userId; }
+        public String getUsername() { return username; }
+        public String getName() { return name; }
+        public boolean isMember() { return member; }
+    }
+
+    /**
+     * 메시지 전송 권한 확인 - 멤버가 아니면 IllegalStateException
+     * 존재하지 않는 사용자/채팅방, 비활성화된 채팅방은 IllegalArgumentException (캐시하지 않음)
+     */
+    public RoomAccess authorize(Long roomId, String username) {
+        RoomAccess access = get(roomId, username);
+        if (!access.isMember()) {
+            throw new IllegalStateException("채팅방 멤버만 메시지를 보낼 수 있습니다");
+        }
+        return access;
+    }
+
+    /**
+     * 채팅방 멤버 여부 (조회 실패 시 false)
+     */
+    public boolean isMember(Long roomId, String username) {
+        try {
+            return get(roomId, username).isMember();
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 채팅방 연결 시 미리 채움
+     */
+    public void warm(Long roomId, String username) {
+        try {
+            get(roomId, username);
+        } catch (IllegalArgumentException e) {
+            logger.debug("채팅방 권한 캐시 적재 생략: roomId={}, username={}, reason={}", roomId, username, e.getMessage());
+        }
+    }
+
+    /**
+     * 사용자+채팅방 항목 제거 (퇴장/강제 퇴장, 마지막 세션 종료)
+     */
+    public void evict(Long roomId, String username) {
+        invalidations.incrementAndGet();
+        rooms.computeIfPresent(roomId, (id, users) -> {
+            users.remove(username);
+            return users.isEmpty() ? null : users;
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMembershipChanged(RoomMembershipChangedEvent event) {
+        invalidations.incrementAndGet();
+        rooms.computeIfPresent(event.getRoomId(), (id, users) -> {
+            users.values().removeIf(access -> Objects.equals(access.getUserId(), event.getUserId()));
+            return users.isEmpty() ? null : users;
+        });
+        logger.debug("채팅방 권한 캐시 무효화 (멤버십 변경): roomId={}, userId={}", event.getRoomId(), event.getUserId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoomDeactivated(ChatRoomDeactivatedEvent event) {
+        invalidations.incrementAndGet();
+        rooms.remove(event.getRoomId());
+        logger.debug("채팅방 권한 캐시 무효화 (채팅방 비활성화): roomId={}", event.getRoomId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        invalidations.incrementAndGet();
+        for (Long roomId : rooms.keySet()) {
+            rooms.computeIfPresent(roomId, (id, users) -> {
+                users.values().removeIf(access -> Objects.equals(access.getUserId(), event.getUserId()));
+                return users.isEmpty() ? null : users;
+            });
+        }
+        logger.debug("채팅방 권한 캐시 무효화 (사용자 변경): userId={}", event.getUserId());
+    }
+
+    int size() {
+        return rooms.values().stream().mapToInt(Map::size).sum();
+    }
+
+    private RoomAccess get(Long roomId, String username) {
+        Map<String, RoomAccess> users = rooms.get(roomId);
+        RoomAccess cached = users != null ? users.get(username) : null;
+        if (cached != null) {
+            return cached;
+        }
+
+        long version = invalidations.get();
+        RoomAccess loaded = load(roomId, username);
+        rooms.compute(roomId, (id, current) -> {
+            // 조회 중에 무효화됐으면 이전 상태일 수 있으므로 저장하지 않음
+            if (invalidations.get() != version) {
+                return current;
+            }
+            ConcurrentMap<String, RoomAccess> roomUsers = current != null ? current : new ConcurrentHashMap<>();
+            roomUsers.put(username, loaded);
+            return roomUsers;
+        });
+        return loaded;
+    }
+
+    /**
+     * DB에서 권한 정보 조회
+     */
+    RoomAccess load(Long roomId, String username) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 사용자입니다: " + username));
+
+        ChatRoom chatRoom = chatRoomRepository.findById(roomId)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 채팅방입니다: " + roomId));
+
+        if (!chatRoom.getIsActive()) {
+            throw new IllegalArgumentException("비활성화된 채팅방입니다: " + roomId);
+        }
+
+        boolean member = chatRoomMemberRepository.findActiveByRoomIdAndUserId(roomId, user.getId()).isPresent();
+        return new RoomAccess(user.getId(), user.getUsername(), user.getName(), member);
+    }
+}
@@ -0,0 +1,163 @@
+package com.flowchat.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flowchat.config.ClusterMessageBus;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * STOMP 브로드캐스트 전송기
+ * - 페이로드를 JSON byte[]로 한 번만 직렬화하고, 브로커는 같은 byte[]를 모든 구독 세션에 전달
+ * - 메시지 변환기(convertAndSend)를 거치지 않으므로 변환기 탐색/헤더 복사 비용이 없음
+ * - 직렬화 결과(frame)를 여러 목적지에 재사용할 수 있음
+ * 와이어 형식은 기존과 같음 (Spring Boot ObjectMapper 사용)
+ * 클러스터 모드(chat.cluster.enabled=true)에서는 모든 프레임을 메시지 버스로도 발행하고,
+ * 각 서버는 받은 프레임을 자신의 브로커에 전달 → 다른 서버에 연결된 구독자/사용자에게도 전달됨
+ */
+@Component
+public class RoomBroadcaster {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoomBroadcaster.class);
+
+    static final String FRAME_TOPIC = "stomp-frames";
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ClusterMessageBus clusterMessageBus;
+
+    @Value("${chat.cluster.enabled:false}")
+    private boolean clusterEnabled;
+
+    @Value("${flowchat.node-id:0}")
+    private long nodeId;
+
+    public RoomBroadcaster() {
+    }
+
+    /**
+     * 테스트용 - 클러스터 모드로 생성
+     */
+    RoomBroadcaster(SimpMessagingTemplate messagingTemplate, ObjectMapper objectMapper,
+                    ClusterMessageBus clusterMessageBus, long nodeId) {
+        this.messagingTemplate = messagingTemplate;
+        this.objectMapper = objectMapper;
+        this.clusterMessageBus = clusterMessageBus;
+        this.clusterEnabled = true;
+        this.nodeId = nodeId;
+        init();
+    }
+
+    @PostConstruct
+    public void init() {
+        if (clusterEnabled) {
+            clusterMessageBus.subscribe(FRAME_TOPIC, this::onClusterFrame);
+        }
+    }
+
+    public static String roomTopic(Long roomId) {
+        return "/topic/room/" + roomId;
+    }
+
+    /**
+     * 페이로드 JSON 직렬화
+     */
+    public byte[] serialize(Object payload) {
+        try {
+            return objectMapper.writeValueAsBytes(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("브로드캐스트 페이로드 직렬화 실패: " + payload.getClass().getSimpleName(), e);
+        }
+    }
+
+    /**
+     * 직렬화 후 목적지로 전송
+     */
+    public void broadcast(String destination, Object payload) {
+        sendFrame(destination, serialize(payload));
+    }
+
+    /**
+     * 이미 직렬화된 JSON을 목적지로 전송 (클러스터 모드면 다른 서버에도 전달)
+     */
+    public void sendFrame(String destination, byte[] json) {
+        deliverLocal(destination, json);
+        if (clusterEnabled) {
+            clusterMessageBus.publish(FRAME_TOPIC, encodeFrame(nodeId, destination, json));
+        }
+    }
+
+    /**
+     * 특정 사용자의 세션들에게 전송 (/user/{username}{destination})
+     */
+    public void sendToUser(String username, String destination, Object payload) {
+        String userDestination = messagingTemplate.getUserDestinationPrefix()
+            + username.replace("/", "%2F") + destination;
+        sendFrame(userDestination, serialize(payload));
+    }
+
+    /**
+     * 이 서버의 브로커로 전송 - /user/... 목적지는 이 서버에 연결된 세션으로만 해석됨
+     */
+    private void deliverLocal(String destination, byte[] json) {
+        messagingTemplate.send(destination, MessageBuilder.createMessage(json, jsonHeaders().getMessageHeaders()));
+    }
+
+    private void onClusterFrame(byte[] frame) {
+        ByteBuffer buffer = ByteBuffer.wrap(frame);
+        long originNodeId = buffer.getLong();
+        if (originNodeId == nodeId) {
+            return; // 자신이 발행한 프레임은 이미 전달함
+        }
+        byte[] destinationBytes = new byte[buffer.getInt()];
+        buffer.get(destinationBytes);
+        byte[] json = new byte[buffer.remaining()];
+        buffer.get(json);
+
+        String destination = new String(destinationBytes, StandardCharsets.UTF_8);
+        try {
+            deliverLocal(destination, json);
+        } catch (Exception e) {
+            logger.warn("다른 서버의 프레임 전달 실패: from={}, destination={}, error={}",
+                       originNodeId, destination, e.getMessage());
+        }
+    }
+
+    /**
+     * 버스 프레임 형식: 발신 노드ID(8) | 목적지 길이(4) | 목적지(UTF-8) | JSON
+     */
+    static byte[] encodeFrame(long originNodeId, String destination, byte[] json) {
+        byte[] destinationBytes = destination.getBytes(StandardCharsets.UTF_8);
+        return ByteBuffer.allocate(12 + destinationBytes.length + json.length)
+            .putLong(originNodeId)
+            .putInt(destinationBytes.length)
+            .put(destinationBytes)
+            .put(json)
+            .array();
+    }
+
+    private static SimpMessageHeaderAccessor jsonHeaders() {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        // SimpMessagingTemplate이 목적지 헤더를 추가할 수 있도록 변경 가능 상태 유지
+        accessor.setLeaveMutable(true);
+        return accessor;
+    }
+}
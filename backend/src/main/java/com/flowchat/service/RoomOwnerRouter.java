@@ -0,0 +1,184 @@
+package com.flowchat.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flowchat.config.ClusterMessageBus;
+import com.flowchat.entity.ChatMessage;
+import com.flowchat.event.MessageReceivedEvent;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 채팅방 분석 작업을 담당 서버로 전달
+ * - 메시지 수신 이벤트: 담당 서버에서 MessageReceivedEvent로 다시 발행 (전달된 이벤트는 다시 전달하지 않음)
+ * - 분석 구독/새로고침 요청: 담당 서버에서 실행, 결과는 브로드캐스트로 모든 서버의 구독자에게 전달
+ * - 타이핑 상태: 담당 서버의 TypingAggregator 하나만 채팅방 목록을 집계/전송 (서버별 목록이 서로 덮어쓰지 않도록)
+ * 서버마다 전용 토픽(room-owner.{nodeId})을 구독
+ */
+@Component
+public class RoomOwnerRouter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoomOwnerRouter.class);
+
+    private static final String TOPIC_PREFIX = "room-owner.";
+    private static final String MESSAGE = "MESSAGE";
+    private static final String REFRESH = "REFRESH";
+    private static final String TYPING = "TYPING";
+
+    @Autowired
+    private ClusterMessageBus clusterMessageBus;
+
+    @Autowired
+    private RoomOwnership roomOwnership;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TypingAggregator typingAggregator;
+
+    // AnalysisNotificationService → ChatAnalysisService → RoomOwnerRouter 순환 참조를 피하기 위해 지연 조회
+    @Autowired
+    private ObjectProvider<AnalysisNotificationService> analysisNotificationServiceProvider;
+
+    @Value("${chat.cluster.enabled:false}")
+    private boolean enabled;
+
+    @Value("${flowchat.node-id:0}")
+    private long nodeId;
+
+    @PostConstruct
+    public void init() {
+        if (enabled) {
+            clusterMessageBus.subscribe(TOPIC_PREFIX + nodeId, this::onMessage);
+        }
+    }
+
+    /**
+     * 다른 서버가 담당하는 채팅방이면 메시지 이벤트를 전달하고 true
+     */
+    public boolean forwardMessage(MessageReceivedEvent event) {
+        if (!enabled || event.isForwarded()) {
+            return false;
+        }
+        long owner = roomOwnership.ownerOf(event.getRoomId());
+        if (owner == nodeId) {
+            return false;
+        }
+
+        ChatMessage message = event.getMessage();
+        Map<String, Object> body = new HashMap<>();
+        body.put("kind", MESSAGE);
+        body.put("roomId", event.getRoomId());
+        body.put("username", event.getUsername());
+        body.put("id", message.getId());
+        body.put("userId", message.getUserId());
+        body.put("messageUsername", message.getUsername());
+        body.put("name", message.getName());
+        body.put("content", message.getContent());
+        body.put("messageType", message.getMessageType().name());
+        body.put("timestamp", message.getTimestamp() != null ? message.getTimestamp().toString() : null);
+        return send(owner, body);
+    }
+
+    /**
+     * 다른 서버가 담당하는 채팅방이면 분석 구독/새로고침 요청을 전달하고 true
+     * type: SUBSCRIBE, FULL, KEYWORD, PARTICIPATION, HOURLY
+     */
+    public boolean forwardRefresh(Long roomId, String type, Integer days) {
+        if (!enabled) {
+            return false;
+        }
+        long owner = roomOwnership.ownerOf(roomId);
+        if (owner == nodeId) {
+            return false;
+        }
+
+        Map<String, Object> body = new HashMap<>();
+        body.put("kind", REFRESH);
+        body.put("roomId", roomId);
+        body.put("type", type);
+        body.put("days", days);
+        return send(owner, body);
+    }
+
+    /**
+     * 타이핑 상태 반영 - 담당 서버가 아니면 담당 서버로 전달 (전달 실패 시 이 서버에서 집계)
+     */
+    public void updateTyping(Long roomId, String username, boolean isTyping) {
+        if (enabled) {
+            long owner = roomOwnership.ownerOf(roomId);
+            if (owner != nodeId) {
+                Map<String, Object> body = new HashMap<>();
+                body.put("kind", TYPING);
+                body.put("roomId", roomId);
+                body.put("username", username);
+                body.put("typing", isTyping);
+                if (send(owner, body)) {
+                    return;
+                }
+            }
+        }
+        typingAggregator.update(roomId, username, isTyping);
+    }
+
+    private boolean send(long owner, Map<String, Object> body) {
+        try {
+            // Redis PUBLISH는 받는 서버가 없어도 성공하므로, 수신자가 없으면 담당 서버가 종료된 것으로 보고 이 서버에서 처리
+            if (clusterMessageBus.publish(TOPIC_PREFIX + owner, objectMapper.writeValueAsBytes(body)) == 0) {
+                logger.warn("담당 서버가 전달 토픽을 구독하지 않음, 이 서버에서 처리: owner={}, roomId={}",
+                           owner, body.get("roomId"));
+                return false;
+            }
+            return true;
+        } catch (Exception e) {
+            // 전달하지 못하면 이 서버에서 처리
+            logger.warn("담당 서버로 전달 실패, 이 서버에서 처리: owner={}, roomId={}, error={}",
+                       owner, body.get("roomId"), e.getMessage());
+            return false;
+        }
+    }
+
+    private void onMessage(byte[] payload) {
+        try {
+            Map<?, ?> body = objectMapper.readValue(payload, Map.class);
+            Long roomId = ((Number) body.get("roomId")).longValue();
+
+            if (MESSAGE.equals(body.get("kind"))) {
+                ChatMessage message = new ChatMessage(roomId, toLong(body.get("userId")), (String) body.get("content"),
+                    ChatMessage.MessageType.valueOf((String) body.get("messageType")));
+                message.setId(toLong(body.get("id")));
+                message.setUsername((String) body.get("messageUsername"));
+                message.setName((String) body.get("name"));
+                if (body.get("timestamp") != null) {
+                    message.setTimestamp(LocalDateTime.parse((String) body.get("timestamp")));
+                }
+                eventPublisher.publishEvent(
+                    new MessageReceivedEvent(this, message, roomId, (String) body.get("username"), true));
+            } else if (REFRESH.equals(body.get("kind"))) {
+                Integer days = body.get("days") != null ? ((Number) body.get("days")).intValue() : null;
+                analysisNotificationServiceProvider.getObject().refreshAnalysis(roomId, (String) body.get("type"), days);
+            } else if (TYPING.equals(body.get("kind"))) {
+                typingAggregator.update(roomId, (String) body.get("username"), Boolean.TRUE.equals(body.get("typing")));
+            }
+        } catch (Exception e) {
+            logger.error("전달받은 채팅방 작업 처리 실패: error={}", e.getMessage(), e);
+        }
+    }
+
+    private static Long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : null;
+    }
+}
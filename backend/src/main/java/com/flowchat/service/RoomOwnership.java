@@ -0,0 +1,112 @@
+package com.flowchat.service;
+
+import com.flowchat.event.ClusterMembershipChangedEvent;
+import com.flowchat.event.RoomOwnershipChangedEvent;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * 채팅방 담당 서버 결정 (consistent hashing)
+ * - 서버마다 가상 노드 virtualNodes개를 해시 링에 배치하고, 채팅방 ID 해시 다음에 오는 가상 노드의 서버가 담당
+ * - 서버가 합류/이탈하면 해당 서버 몫의 채팅방만 옮겨짐 (전체의 약 1/N)
+ * 담당 서버만 채팅방 분석 상태를 보관하며, 다른 서버는 메시지 이벤트와 분석 요청을 담당 서버로 전달
+ */
+@Component
+public class RoomOwnership {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoomOwnership.class);
+
+    @Autowired
+    private ClusterMembership clusterMembership;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${flowchat.node-id:0}")
+    private long nodeId;
+
+    @Value("${chat.cluster.virtual-nodes:64}")
+    private int virtualNodes;
+
+    // 해시 → 서버 ID (변경 시 통째로 교체)
+    private volatile NavigableMap<Long, Long> ring = Collections.emptyNavigableMap();
+
+    public RoomOwnership() {
+    }
+
+    /**
+     * 테스트용
+     */
+    RoomOwnership(long nodeId, int virtualNodes, Collection<Long> nodeIds) {
+        this.nodeId = nodeId;
+        this.virtualNodes = virtualNodes;
+        update(nodeIds);
+    }
+
+    @PostConstruct
+    public void init() {
+        update(clusterMembership.getNodeIds());
+    }
+
+    @EventListener
+    public void onMembershipChanged(ClusterMembershipChangedEvent event) {
+        if (update(event.getNodeIds())) {
+            logger.info("채팅방 담당 서버 재배치: nodes={}", event.getNodeIds());
+            eventPublisher.publishEvent(new RoomOwnershipChangedEvent(this));
+        }
+    }
+
+    /**
+     * 채팅방 담당 서버 ID
+     */
+    public long ownerOf(Long roomId) {
+        NavigableMap<Long, Long> current = ring;
+        if (current.isEmpty()) {
+            return nodeId;
+        }
+        Map.Entry<Long, Long> entry = current.ceilingEntry(hash(roomId));
+        return entry != null ? entry.getValue() : current.firstEntry().getValue();
+    }
+
+    public boolean isLocal(Long roomId) {
+        return ownerOf(roomId) == nodeId;
+    }
+
+    /**
+     * 서버 목록으로 해시 링 재구성 (구성이 같으면 false)
+     */
+    synchronized boolean update(Collection<Long> nodeIds) {
+        Set<Long> nodes = new TreeSet<>(nodeIds);
+        nodes.add(nodeId);
+        if (nodes.equals(new TreeSet<>(ring.values()))) {
+            return false;
+        }
+
+        NavigableMap<Long, Long> next = new TreeMap<>();
+        for (Long node : nodes) {
+            for (int replica = 0; replica < virtualNodes; replica++) {
+                next.put(hash(node * 0x9E3779B97F4A7C15L + replica), node);
+            }
+        }
+        ring = Collections.unmodifiableNavigableMap(next);
+        return true;
+    }
+
+    /**
+     * SplitMix64 finalizer - 연속된 ID도 링 전체에 고르게 분산
+     */
+    private static long hash(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
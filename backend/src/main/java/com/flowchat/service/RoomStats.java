@@ -0,0 +1,125 @@
+package com.flowchat.service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 채팅방 하나의 실시간 분석 카운터
+ * - 시간대별 통계: 24칸 원시 배열
+ * - 키워드 통계: 고정 크기 Space-Saving 상위 K 추적기 (방이 아무리 활발해도 메모리 고정)
+ * - 참여자 통계: 박싱 없는 스트라이프 카운터 맵
+ * - 반영된 메시지 워터마크: 재구축 시 워터마크 이후 메시지만 추가 반영 (정착 대기 시간만큼 늦게 전진)
+ */
+public class RoomStats {
+
+    private static final int PARTICIPANT_STRIPES = 2;
+
+    private final SpaceSavingTopK keywordCounts;
+    private final StripedCounterMap participantCounts = new StripedCounterMap(PARTICIPANT_STRIPES);
+    private final AtomicLongArray hourlyCounts = new AtomicLongArray(24);
+
+    // 구축 스캔, 새로고침 스캔 및 실시간으로 반영된 메시지 ID
+    private final MessageWatermark appliedMessages = new MessageWatermark();
+
+    // 구축 범위 (null이면 전체 기간)와 구축 시각 (null이면 아직 DB 기준으로 구축되지 않음)
+    private Integer builtDays;
+    private LocalDateTime builtAt;
+
+    public RoomStats(int keywordCapacity) {
+        this.keywordCounts = new SpaceSavingTopK(keywordCapacity);
+    }
+
+    /**
+     * 메시지 반영 여부 기록 - 이미 반영된 메시지면 false
+     * settledBefore 이전 메시지의 ID는 워터마크로 흡수되어 보관 ID 수가 제한됨
+     */
+    public synchronized boolean markApplied(long messageId, LocalDateTime timestamp, LocalDateTime settledBefore) {
+        return appliedMessages.markApplied(messageId, timestamp, settledBefore);
+    }
+
+    /**
+     * 이 ID 이하의 메시지는 모두 반영됨
+     */
+    public synchronized long getWatermark() {
+        return appliedMessages.getWatermark();
+    }
+
+    /**
+     * DB 기준 구축 완료 기록 (구축 스캔의 메시지는 markApplied로 기록되어 있어야 함)
+     */
+    public synchronized void markBuilt(Integer days, LocalDateTime builtAt) {
+        this.builtDays = days;
+        this.builtAt = builtAt;
+    }
+
+    /**
+     * 같은 범위로 구축되어 있어 증분 반영이 가능한지 여부
+     */
+    public synchronized boolean isBuiltFor(Integer days, LocalDateTime builtAfter) {
+        return builtAt != null
+            && Objects.equals(builtDays, days)
+            && (days == null || builtAt.isAfter(builtAfter));
+    }
+
+    public void addKeyword(String keyword) {
+        keywordCounts.add(keyword);
+    }
+
+    public void addKeywords(Collection<String> keywords) {
+        for (String keyword : keywords) {
+            keywordCounts.add(keyword);
+        }
+    }
+
+    public void addParticipantMessage(String displayName) {
+        participantCounts.increment(displayName);
+    }
+
+    public void addHourlyMessage(int hour) {
+        hourlyCounts.incrementAndGet(hour);
+    }
+
+    /**
+     * 키워드 추정 빈도 (실제 빈도 이상, 초과 오차는 getKeywordErrorBound 이하)
+     */
+    public long getKeywordCount(String keyword) {
+        return keywordCounts.estimate(keyword);
+    }
+
+    /**
+     * 추적 중인 키워드 수
+     */
+    public int getKeywordSize() {
+        return keywordCounts.size();
+    }
+
+    public long getKeywordErrorBound() {
+        return keywordCounts.getMaxError();
+    }
+
+    public long getHourlyCount(int hour) {
+        return hourlyCounts.get(hour);
+    }
+
+    /**
+     * 상위 키워드 조회 (추정 빈도 내림차순, O(K))
+     */
+    public List<Map.Entry<String, Long>> getTopKeywords(int limit) {
+        List<Map.Entry<String, Long>> topKeywords = new ArrayList<>(Math.max(0, limit));
+        for (SpaceSavingTopK.Entry entry : keywordCounts.top(limit)) {
+            topKeywords.add(Map.entry(entry.getItem(), entry.getCount()));
+        }
+        return topKeywords;
+    }
+
+    /**
+     * 참여자별 메시지 수 조회 (메시지 수 내림차순)
+     */
+    public List<Map.Entry<String, Long>> getParticipantCounts() {
+        List<Map.Entry<String, Long>> participants = new ArrayList<>();
+        participantCounts.forEach((name, count) -> participants.add(Map.entry(name, count)));
+        participants.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+        return participants;
+    }
+}
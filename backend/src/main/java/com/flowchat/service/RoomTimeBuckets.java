@@ -0,0 +1,210 @@
+package com.flowchat.service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * 채팅방 하나의 시간 단위 통계 링 버퍼
+ * - 버킷 하나가 한 시간(정각 기준)의 키워드/참여자/메시지 수를 보관
+ * - 최근 capacity 시간만 유지하며 오래된 버킷은 재사용
+ * - DB에서 한 번 채운 뒤(warm) 실시간 메시지로 증분 갱신
+ * - 반영한 메시지 ID는 정착 대기 시간만큼 늦게 따라가는 워터마크로 추적 (늦게 커밋된 메시지도 반영)
+ */
+public class RoomTimeBuckets {
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final Bucket[] buckets;
+
+    // warm 및 실시간으로 반영된 메시지 ID
+    private final MessageWatermark appliedMessages = new MessageWatermark();
+
+    // 이 시각 이후의 메시지는 모두 버킷에 반영되어 있음 (null이면 아직 warm 전)
+    private LocalDateTime coveredSince;
+
+    // 마지막으로 기간 통계 조회에 사용된 시각 (System.currentTimeMillis)
+    private volatile long lastAccessMillis = System.currentTimeMillis();
+
+    private static final class Bucket {
+        private long epochHour = Long.MIN_VALUE;
+        private int messageCount;
+        private Map<String, Integer> keywordCounts = new HashMap<>();
+        private Map<String, Integer> participantCounts = new HashMap<>();
+
+        /**
+         * 버킷 재사용 (이전 시간의 맵은 버려 메모리 반환)
+         */
+        void reset(long epochHour) {
+            this.epochHour = epochHour;
+            this.messageCount = 0;
+            if (!keywordCounts.isEmpty()) {
+                this.keywordCounts = new HashMap<>();
+            }
+            if (!participantCounts.isEmpty()) {
+                this.participantCounts = new HashMap<>();
+            }
+        }
+    }
+
+    /**
+     * 기간 집계 결과
+     */
+    public static class PeriodStats {
+        private int messageCount;
+        private final Map<String, Integer> keywordCounts = new HashMap<>();
+        private final Map<String, Integer> participantCounts = new HashMap<>();
+        private final int[] hourlyCounts = new int[24];
+
+        /**
+         * 메시지 한 건 반영 (keywords는 TEXT 메시지에서 추출한 키워드, displayName은 nullable)
+         */
+        public void addMessage(LocalDateTime timestamp, String displayName, List<String> keywords) {
+            messageCount++;
+            hourlyCounts[timestamp.getHour()]++;
+            if (displayName != null) {
+                participantCounts.merge(displayName, 1, Integer::sum);
+            }
+            for (String keyword : keywords) {
+                keywordCounts.merge(keyword, 1, Integer::sum);
+            }
+        }
+
+        private void merge(Bucket bucket) {
+            messageCount += bucket.messageCount;
+            hourlyCounts[(int) Math.floorMod(bucket.epochHour, 24L)] += bucket.messageCount;
+            bucket.keywordCounts.forEach((keyword, count) -> keywordCounts.merge(keyword, count, Integer::sum));
+            bucket.participantCounts.forEach((name, count) -> participantCounts.merge(name, count, Integer::sum));
+        }
+
+        public int getMessageCount() { return messageCount; }
+        public Map<String, Integer> getKeywordCounts() { return keywordCounts; }
+        public Map<String, Integer> getParticipantCounts() { return participantCounts; }
+        public int getHourlyCount(int hour) { return hourlyCounts[hour]; }
+    }
+
+    public RoomTimeBuckets(int capacityHours) {
+        this.buckets = new Bucket[Math.max(1, capacityHours)];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new Bucket();
+        }
+    }
+
+    public int getCapacityHours() {
+        return buckets.length;
+    }
+
+    public synchronized boolean isWarm() {
+        return coveredSince != null;
+    }
+
+    /**
+     * DB 조회 결과로 채운 뒤 warm 상태로 전환 (since 이후의 메시지가 모두 반영되었음을 의미)
+     */
+    public synchronized void markWarm(LocalDateTime since) {
+        this.coveredSince = since;
+    }
+
+    /**
+     * warm 과정에서 메시지 반영 (settledBefore 이전 메시지의 ID는 워터마크로 흡수)
+     */
+    public synchronized void addWarmMessage(long messageId, LocalDateTime timestamp, String displayName,
+                                            List<String> keywords, LocalDateTime settledBefore) {
+        if (appliedMessages.markApplied(messageId, timestamp, settledBefore)) {
+            add(timestamp, displayName, keywords);
+        }
+    }
+
+    /**
+     * 실시간 메시지 반영 - warm 전이거나 이미 반영된 메시지면 무시
+     */
+    public synchronized void addLiveMessage(long messageId, LocalDateTime timestamp, String displayName,
+                                            List<String> keywords, LocalDateTime settledBefore) {
+        if (!isWarm() || !appliedMessages.markApplied(messageId, timestamp, settledBefore)) {
+            return;
+        }
+        add(timestamp, displayName, keywords);
+    }
+
+    /**
+     * 기간 통계 조회에 사용되었음을 기록
+     */
+    public void touch() {
+        lastAccessMillis = System.currentTimeMillis();
+    }
+
+    public long getLastAccessMillis() {
+        return lastAccessMillis;
+    }
+
+    /**
+     * 링 범위를 벗어난 버킷의 맵 반환
+     */
+    public synchronized void releaseExpired(LocalDateTime now) {
+        long oldestHour = toEpochHour(now) - buckets.length + 1;
+        for (Bucket bucket : buckets) {
+            if (bucket.epochHour != Long.MIN_VALUE && bucket.epochHour < oldestHour) {
+                bucket.reset(Long.MIN_VALUE);
+            }
+        }
+    }
+
+    private void add(LocalDateTime timestamp, String displayName, List<String> keywords) {
+        long epochHour = toEpochHour(timestamp);
+        Bucket bucket = buckets[(int) Math.floorMod(epochHour, (long) buckets.length)];
+
+        if (bucket.epochHour != epochHour) {
+            if (bucket.epochHour > epochHour) {
+                // 링 범위를 벗어난 오래된 메시지
+                return;
+            }
+            bucket.reset(epochHour);
+        }
+
+        bucket.messageCount++;
+        if (displayName != null) {
+            bucket.participantCounts.merge(displayName, 1, Integer::sum);
+        }
+        for (String keyword : keywords) {
+            bucket.keywordCounts.merge(keyword, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * 해당 시각 이후 구간을 버킷만으로 답할 수 있는지 여부
+     */
+    public synchronized boolean covers(LocalDateTime cutoff, LocalDateTime now) {
+        return isWarm()
+            && !cutoff.isBefore(coveredSince)
+            && toEpochHour(now) - toEpochHour(cutoff) < buckets.length;
+    }
+
+    /**
+     * (fromHourExclusive, now] 범위의 정각 단위 버킷 병합
+     * 경계 시간(fromHourExclusive가 속한 시간)의 일부 구간은 호출 측에서 별도로 반영해야 함
+     */
+    public synchronized PeriodStats mergeAfterHourOf(LocalDateTime fromHourExclusive, LocalDateTime now) {
+        PeriodStats stats = new PeriodStats();
+        long firstHour = toEpochHour(fromHourExclusive) + 1;
+        long lastHour = toEpochHour(now);
+
+        for (long hour = firstHour; hour <= lastHour; hour++) {
+            Bucket bucket = buckets[(int) Math.floorMod(hour, (long) buckets.length)];
+            if (bucket.epochHour == hour) {
+                stats.merge(bucket);
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * 해당 시각이 속한 시간의 다음 정각
+     */
+    public static LocalDateTime nextHour(LocalDateTime timestamp) {
+        return timestamp.truncatedTo(ChronoUnit.HOURS).plusHours(1);
+    }
+
+    private static long toEpochHour(LocalDateTime timestamp) {
+        return ChronoUnit.HOURS.between(EPOCH, timestamp.truncatedTo(ChronoUnit.HOURS));
+    }
+}
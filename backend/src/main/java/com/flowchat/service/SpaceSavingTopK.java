@@ -0,0 +1,210 @@
+package com.flowchat.service;
+
+import java.util.*;
+
+/**
+ * Space-Saving 알고리즘 기반 상위 K개 빈도 추적기 (Stream-Summary 구조)
+ * - 최대 capacity개의 카운터만 유지하므로 메모리가 고정됨
+ * - 추정 빈도는 실제 빈도보다 작지 않으며, 초과 오차는 전체 건수 / capacity 이하
+ * - 같은 빈도의 카운터를 버킷으로 묶어 증가는 O(1), 상위 K개 조회는 O(K)
+ */
+public class SpaceSavingTopK {
+
+    private final int capacity;
+    private final Map<String, Counter> counters;
+
+    // 빈도 오름차순 버킷 연결 리스트
+    private Bucket minBucket;
+    private Bucket maxBucket;
+    private long totalCount;
+
+    /**
+     * 조회 결과 항목 (count - error 이상이 실제 빈도로 보장됨)
+     */
+    public static class Entry {
+        private final String item;
+        private final long count;
+        private final long error;
+
+        Entry(String item, long count, long error) {
+            this.item = item;
+            this.count = count;
+            this.error = error;
+        }
+
+        public String getItem() { return item; }
+        public long getCount() { return count; }
+        public long getError() { return error; }
+        public long getGuaranteedCount() { return count - error; }
+    }
+
+    private static final class Counter {
+        private String item;
+        private long error;
+        private Bucket bucket;
+        private Counter prev;
+        private Counter next;
+
+        Counter(String item) {
+            this.item = item;
+        }
+    }
+
+    private static final class Bucket {
+        private final long count;
+        private Counter head;
+        private Bucket prev;
+        private Bucket next;
+
+        Bucket(long count) {
+            this.count = count;
+        }
+    }
+
+    public SpaceSavingTopK(int capacity) {
+        this.capacity = Math.max(1, capacity);
+        this.counters = new HashMap<>(this.capacity * 4 / 3 + 1);
+    }
+
+    /**
+     * 항목 1회 관측
+     */
+    public synchronized void add(String item) {
+        totalCount++;
+
+        Counter counter = counters.get(item);
+        if (counter != null) {
+            increment(counter);
+            return;
+        }
+
+        if (counters.size() < capacity) {
+            counter = new Counter(item);
+            counters.put(item, counter);
+            if (minBucket == null || minBucket.count != 1) {
+                Bucket bucket = new Bucket(1);
+                bucket.next = minBucket;
+                if (minBucket != null) {
+                    minBucket.prev = bucket;
+                } else {
+                    maxBucket = bucket;
+                }
+                minBucket = bucket;
+            }
+            attach(counter, minBucket);
+            return;
+        }
+
+        // 가장 빈도가 낮은 카운터를 새 항목에 재사용 (기존 빈도를 오차로 기록)
+        Counter victim = minBucket.head;
+        counters.remove(victim.item);
+        victim.item = item;
+        victim.error = minBucket.count;
+        counters.put(item, victim);
+        increment(victim);
+    }
+
+    private void increment(Counter counter) {
+        Bucket current = counter.bucket;
+        long newCount = current.count + 1;
+
+        Bucket target = current.next;
+        if (target == null || target.count != newCount) {
+            target = new Bucket(newCount);
+            target.prev = current;
+            target.next = current.next;
+            if (current.next != null) {
+                current.next.prev = target;
+            } else {
+                maxBucket = target;
+            }
+            current.next = target;
+        }
+
+        detach(counter);
+        attach(counter, target);
+
+        if (current.head == null) {
+            removeBucket(current);
+        }
+    }
+
+    private void attach(Counter counter, Bucket bucket) {
+        counter.bucket = bucket;
+        counter.prev = null;
+        counter.next = bucket.head;
+        if (bucket.head != null) {
+            bucket.head.prev = counter;
+        }
+        bucket.head = counter;
+    }
+
+    private void detach(Counter counter) {
+        Bucket bucket = counter.bucket;
+        if (counter.prev != null) {
+            counter.prev.next = counter.next;
+        } else {
+            bucket.head = counter.next;
+        }
+        if (counter.next != null) {
+            counter.next.prev = counter.prev;
+        }
+        counter.prev = null;
+        counter.next = null;
+    }
+
+    private void removeBucket(Bucket bucket) {
+        if (bucket.prev != null) {
+            bucket.prev.next = bucket.next;
+        } else {
+            minBucket = bucket.next;
+        }
+        if (bucket.next != null) {
+            bucket.next.prev = bucket.prev;
+        } else {
+            maxBucket = bucket.prev;
+        }
+    }
+
+    /**
+     * 상위 K개 항목 조회 (추정 빈도 내림차순)
+     */
+    public synchronized List<Entry> top(int k) {
+        List<Entry> result = new ArrayList<>(Math.min(k, counters.size()));
+        for (Bucket bucket = maxBucket; bucket != null && result.size() < k; bucket = bucket.prev) {
+            for (Counter counter = bucket.head; counter != null && result.size() < k; counter = counter.next) {
+                result.add(new Entry(counter.item, bucket.count, counter.error));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 추정 빈도 (추적 중이 아니면 0)
+     */
+    public synchronized long estimate(String item) {
+        Counter counter = counters.get(item);
+        return counter != null ? counter.bucket.count : 0;
+    }
+
+    /**
+     * 추적 중인 항목 수 (capacity 이하)
+     */
+    public synchronized int size() {
+        return counters.size();
+    }
+
+    /**
+     * 전체 관측 건수
+     */
+    public synchronized long getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * 현재 최대 초과 오차 (카운터가 가득 찬 경우 최소 빈도, 아니면 0)
+     */
+    public synchronized long getMaxError() {
+        return counters.size() < capacity || minBucket == null ? 0 : minBucket.count;
+    }
+}
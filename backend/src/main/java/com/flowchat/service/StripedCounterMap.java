@@ -0,0 +1,151 @@
+package com.flowchat.service;
+
+import java.util.function.ObjLongConsumer;
+
+/**
+ * 문자열 키 → long 카운터 맵 (오픈 어드레싱, 키 해시 기반 스트라이프 잠금)
+ * - 증가 시 박싱이나 키별 노드/카운터 객체 할당 없음 (새 키 추가와 테이블 확장 시에만 할당)
+ * - 서로 다른 스트라이프의 키는 동시에 갱신 가능
+ */
+public class StripedCounterMap {
+
+    private static final int INITIAL_STRIPE_CAPACITY = 8;
+
+    private final Stripe[] stripes;
+    private final int stripeMask;
+
+    public StripedCounterMap(int stripeCount) {
+        int count = 1;
+        while (count < stripeCount) {
+            count <<= 1;
+        }
+        this.stripes = new Stripe[count];
+        this.stripeMask = count - 1;
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * 카운터 증가 후 새 값 반환
+     */
+    public long add(String key, long delta) {
+        int hash = spread(key.hashCode());
+        Stripe stripe = stripes[(hash >>> 16) & stripeMask];
+        synchronized (stripe) {
+            return stripe.add(key, hash, delta);
+        }
+    }
+
+    public long increment(String key) {
+        return add(key, 1);
+    }
+
+    public long get(String key) {
+        int hash = spread(key.hashCode());
+        Stripe stripe = stripes[(hash >>> 16) & stripeMask];
+        synchronized (stripe) {
+            return stripe.get(key, hash);
+        }
+    }
+
+    /**
+     * 키 개수
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * 모든 항목 순회 (스트라이프 단위로 일관된 값)
+     */
+    public void forEach(ObjLongConsumer<String> consumer) {
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                String[] keys = stripe.keys;
+                long[] counts = stripe.counts;
+                for (int i = 0; i < keys.length; i++) {
+                    if (keys[i] != null) {
+                        consumer.accept(keys[i], counts[i]);
+                    }
+                }
+            }
+        }
+    }
+
+    private static int spread(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        return hash;
+    }
+
+    /**
+     * 선형 탐사 테이블 (부하율 50% 초과 시 2배 확장)
+     */
+    private static final class Stripe {
+        private String[] keys = new String[INITIAL_STRIPE_CAPACITY];
+        private long[] counts = new long[INITIAL_STRIPE_CAPACITY];
+        private int size;
+
+        long add(String key, int hash, long delta) {
+            int mask = keys.length - 1;
+            int index = hash & mask;
+            while (true) {
+                String existing = keys[index];
+                if (existing == null) {
+                    keys[index] = key;
+                    counts[index] = delta;
+                    if (++size * 2 > keys.length) {
+                        resize();
+                    }
+                    return delta;
+                }
+                if (existing.equals(key)) {
+                    return counts[index] += delta;
+                }
+                index = (index + 1) & mask;
+            }
+        }
+
+        long get(String key, int hash) {
+            int mask = keys.length - 1;
+            int index = hash & mask;
+            while (true) {
+                String existing = keys[index];
+                if (existing == null) {
+                    return 0;
+                }
+                if (existing.equals(key)) {
+                    return counts[index];
+                }
+                index = (index + 1) & mask;
+            }
+        }
+
+        private void resize() {
+            String[] oldKeys = keys;
+            long[] oldCounts = counts;
+            keys = new String[oldKeys.length * 2];
+            counts = new long[oldKeys.length * 2];
+            int mask = keys.length - 1;
+
+            for (int i = 0; i < oldKeys.length; i++) {
+                String key = oldKeys[i];
+                if (key == null) continue;
+                int index = spread(key.hashCode()) & mask;
+                while (keys[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = key;
+                counts[index] = oldCounts[i];
+            }
+        }
+    }
+}
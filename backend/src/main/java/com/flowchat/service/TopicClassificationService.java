@@ -161,21 +161,33 @@ public class TopicClassificationService {
         Map<String, Integer> emotionCounts = new HashMap<>();
 
         for (String message : messages) {
-            String topic = classifyTopic(message);
-            String emotion = analyzeEmotion(message);
-            
-            topicCounts.merge(topic, 1, Integer::sum);
-            emotionCounts.merge(emotion, 1, Integer::sum);
+            countTopicAndEmotion(message, topicCounts, emotionCounts);
         }
 
+        return buildTopicStatistics(topicCounts, emotionCounts, messages.size());
+    }
+
+    /**
+     * 메시지 하나의 주제/감정 분류 결과 누적 (스캔 중 메시지를 모아두지 않고 통계 계산)
+     */
+    public void countTopicAndEmotion(String message, Map<String, Integer> topicCounts, Map<String, Integer> emotionCounts) {
+        topicCounts.merge(classifyTopic(message), 1, Integer::sum);
+        emotionCounts.merge(analyzeEmotion(message), 1, Integer::sum);
+    }
+
+    /**
+     * 누적된 주제/감정 분포로 통계 결과 생성
+     */
+    public Map<String, Object> buildTopicStatistics(Map<String, Integer> topicCounts, Map<String, Integer> emotionCounts,
+                                                    int totalMessages) {
         Map<String, Object> result = new HashMap<>();
         result.put("topicDistribution", topicCounts);
         result.put("emotionDistribution", emotionCounts);
-        result.put("totalMessages", messages.size());
+        result.put("totalMessages", totalMessages);
         result.put("lastUpdated", new Date());
 
         logger.debug("주제 분류 통계 계산 완료: 총 {}개 메시지, 주제 {}, 감정 {}", 
-                    messages.size(), topicCounts.size(), emotionCounts.size());
+                    totalMessages, topicCounts.size(), emotionCounts.size());
 
         return result;
     }
@@ -0,0 +1,108 @@
+package com.flowchat.service;
+
+import com.flowchat.dto.TypingUsersEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 채팅방별 타이핑 상태 집계
+ * - 입력할 때마다 브로드캐스트하지 않고, 채팅방의 "입력 중인 사용자 목록"이 바뀐 경우에만
+ *   flush-interval-ms마다 채팅방당 최대 한 번 전송
+ * - 입력 중 신호가 ttl-ms 동안 갱신되지 않은 사용자는 자동으로 제외
+ */
+@Component
+public class TypingAggregator {
+
+    private static final Logger logger = LoggerFactory.getLogger(TypingAggregator.class);
+
+    @Autowired
+    private RoomBroadcaster roomBroadcaster;
+
+    @Value("${chat.typing.ttl-ms:5000}")
+    private long ttlMillis;
+
+    private final Map<Long, RoomTyping> rooms = new ConcurrentHashMap<>();
+
+    /**
+     * 채팅방 하나의 입력 중인 사용자 (username -> 만료 시각)
+     */
+    private static final class RoomTyping {
+        private final Map<String, Long> expiresAt = new ConcurrentHashMap<>();
+        private volatile boolean dirty;
+    }
+
+    /**
+     * 타이핑 상태 반영 - 목록이 바뀐 경우에만 다음 주기에 전송
+     * flush가 빈 채팅방을 정리하는 것과 겹치지 않도록 compute 안에서 갱신
+     */
+    public void update(Long roomId, String username, boolean isTyping) {
+        if (isTyping) {
+            long expiresAt = System.currentTimeMillis() + ttlMillis;
+            rooms.compute(roomId, (id, room) -> {
+                RoomTyping current = room != null ? room : new RoomTyping();
+                if (current.expiresAt.put(username, expiresAt) == null) {
+                    current.dirty = true;
+                }
+                return current;
+            });
+        } else {
+            remove(roomId, username);
+        }
+    }
+
+    /**
+     * 사용자 제외 (입력 종료, 채팅방 퇴장)
+     */
+    public void remove(Long roomId, String username) {
+        rooms.computeIfPresent(roomId, (id, room) -> {
+            if (room.expiresAt.remove(username) != null) {
+                room.dirty = true;
+            }
+            return room;
+        });
+    }
+
+    /**
+     * 만료된 사용자를 정리하고 변경된 채팅방에만 목록 전송
+     */
+    @Scheduled(fixedDelayString = "${chat.typing.flush-interval-ms:250}")
+    public void flush() {
+        long now = System.currentTimeMillis();
+
+        rooms.forEach((roomId, room) -> {
+            if (room.expiresAt.entrySet().removeIf(entry -> entry.getValue() <= now)) {
+                room.dirty = true;
+            }
+            if (!room.dirty) {
+                return;
+            }
+            room.dirty = false;
+
+            List<String> usernames = new ArrayList<>(room.expiresAt.keySet());
+            Collections.sort(usernames);
+            try {
+                roomBroadcaster.broadcast(RoomBroadcaster.roomTopic(roomId) + "/typing",
+                                          new TypingUsersEvent(roomId, usernames, LocalDateTime.now()));
+            } catch (Exception e) {
+                logger.warn("타이핑 상태 전송 실패: roomId={}, error={}", roomId, e.getMessage());
+            }
+
+            if (usernames.isEmpty()) {
+                // 입력 중인 사용자가 없으면 정리 (그 사이에 추가된 경우는 유지)
+                rooms.computeIfPresent(roomId, (id, current) ->
+                    current.expiresAt.isEmpty() && !current.dirty ? null : current);
+            }
+        });
+    }
+}
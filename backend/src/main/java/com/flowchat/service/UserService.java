@@ -2,8 +2,10 @@ package com.flowchat.service;
 
 import com.flowchat.config.JwtConfig;
 import com.flowchat.entity.User;
+import com.flowchat.event.UserChangedEvent;
 import com.flowchat.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -28,6 +30,9 @@ public class UserService implements UserDetailsService {
     @Autowired
     private JwtConfig jwtConfig;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     /**
      * 사용자 등록
      */
@@ -133,7 +138,9 @@ public class UserService implements UserDetailsService {
         }
 
         user.setName(name);
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(this, userId));
+        return savedUser;
     }
 
     /**
@@ -159,6 +166,7 @@ public class UserService implements UserDetailsService {
         User user = getUserById(userId);
         user.deactivate();
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(this, userId));
     }
 
     /**
@@ -168,6 +176,7 @@ public class UserService implements UserDetailsService {
         User user = getUserById(userId);
         user.activate();
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(this, userId));
     }
 
     /**
@@ -0,0 +1,80 @@
+package com.flowchat.config;
+
+import com.flowchat.event.UserChangedEvent;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+class JwtAuthenticationCacheTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+
+    private static Claims claims(String username, long userId, long expiresAtMillis) {
+        Claims claims = Jwts.claims().setSubject(username).setExpiration(new Date(expiresAtMillis));
+        claims.put("userId", userId);
+        return claims;
+    }
+
+    private static UserDetails user(String username) {
+        return User.withUsername(username).password("password").authorities(List.of()).build();
+    }
+
+    @Test
+    void testEntryExpiresWithToken() {
+        JwtAuthenticationCache cache = new JwtAuthenticationCache(10, 60_000, now::get);
+        cache.put("token-a", claims("alice", 1L, now.get() + 1_000), user("alice"));
+
+        assertThat(cache.get("token-a").getUsername()).isEqualTo("alice");
+
+        now.addAndGet(1_000);
+        assertThat(cache.get("token-a")).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void testEntryExpiresAfterTtlBeforeToken() {
+        JwtAuthenticationCache cache = new JwtAuthenticationCache(10, 500, now::get);
+        cache.put("token-a", claims("alice", 1L, now.get() + 60_000), user("alice"));
+
+        now.addAndGet(499);
+        assertThat(cache.get("token-a")).isNotNull();
+        now.addAndGet(1);
+        assertThat(cache.get("token-a")).isNull();
+    }
+
+    @Test
+    void testLeastRecentlyUsedTokenIsEvicted() {
+        JwtAuthenticationCache cache = new JwtAuthenticationCache(2, 60_000, now::get);
+        cache.put("token-a", claims("alice", 1L, now.get() + 60_000), user("alice"));
+        cache.put("token-b", claims("bob", 2L, now.get() + 60_000), user("bob"));
+        cache.get("token-a");
+
+        cache.put("token-c", claims("carol", 3L, now.get() + 60_000), user("carol"));
+
+        assertThat(cache.get("token-a")).isNotNull();
+        assertThat(cache.get("token-b")).isNull();
+        assertThat(cache.get("token-c")).isNotNull();
+    }
+
+    @Test
+    void testUserChangeEvictsAllTokensOfUser() {
+        JwtAuthenticationCache cache = new JwtAuthenticationCache(10, 60_000, now::get);
+        cache.put("token-a1", claims("alice", 1L, now.get() + 60_000), user("alice"));
+        cache.put("token-a2", claims("alice", 1L, now.get() + 60_000), user("alice"));
+        cache.put("token-b", claims("bob", 2L, now.get() + 60_000), user("bob"));
+
+        cache.onUserChanged(new UserChangedEvent(this, 1L));
+
+        assertThat(cache.get("token-a1")).isNull();
+        assertThat(cache.get("token-a2")).isNull();
+        assertThat(cache.get("token-b")).isNotNull();
+    }
+}
@@ -0,0 +1,126 @@
+package com.flowchat.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TwoLevelCacheManagerTest {
+
+    /**
+     * Redis 대신 메모리 맵을 공유하고, 무효화 메시지를 다른 노드에 직접 전달하는 공유 계층
+     */
+    private static class FakeSharedTier extends RedisCacheTier {
+        private final Map<String, Object> store;
+        private final List<FakeSharedTier> nodes;
+        private InvalidationListener listener;
+
+        FakeSharedTier(Map<String, Object> store, List<FakeSharedTier> nodes) {
+            this.store = store;
+            this.nodes = nodes;
+            nodes.add(this);
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return true;
+        }
+
+        @Override
+        public void setInvalidationListener(InvalidationListener invalidationListener) {
+            this.listener = invalidationListener;
+        }
+
+        @Override
+        public Object get(String cacheName, String key) {
+            return store.get(cacheName + ":" + key);
+        }
+
+        @Override
+        public void put(String cacheName, String key, Object value) {
+            store.put(cacheName + ":" + key, value);
+        }
+
+        @Override
+        public void evict(Collection<String> cacheNames, String key) {
+            for (String cacheName : cacheNames) {
+                store.remove(cacheName + ":" + key);
+                nodes.stream().filter(node -> node != this).forEach(node -> node.listener.onInvalidation(cacheName, key));
+            }
+        }
+
+        @Override
+        public void clear(String cacheName) {
+            store.keySet().removeIf(key -> key.startsWith(cacheName + ":"));
+            nodes.stream().filter(node -> node != this).forEach(node -> node.listener.onInvalidation(cacheName, null));
+        }
+    }
+
+    private static TwoLevelCacheManager localOnly(long maxSize) {
+        return new TwoLevelCacheManager(List.of("stats"), maxSize, Duration.ofMinutes(1), null);
+    }
+
+    @Test
+    void testLocalTierReportsHitRatio() {
+        TwoLevelCacheManager manager = localOnly(100);
+        TwoLevelCache cache = manager.getCache("stats");
+
+        assertThat(cache.get(1L)).isNull();
+        cache.put(1L, Map.of("count", 3));
+        assertThat(cache.get(1L).get()).isEqualTo(Map.of("count", 3));
+        assertThat(cache.get(1L, () -> Map.of("count", 99))).isEqualTo(Map.of("count", 3));
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> stats = (Map<String, Object>) manager.getStats().get("stats");
+        assertThat(stats.get("localHits")).isEqualTo(2L);
+        assertThat(stats.get("localMisses")).isEqualTo(1L);
+        assertThat((double) stats.get("hitRatio")).isCloseTo(2.0 / 3, within(1e-9));
+    }
+
+    @Test
+    void testEvictRemovesKeyFromEveryNamedCache() {
+        TwoLevelCacheManager manager = new TwoLevelCacheManager(List.of("a", "b", "c"), 100, Duration.ofMinutes(1), null);
+        manager.getCache("a").put(7L, "a7");
+        manager.getCache("b").put(7L, "b7");
+        manager.getCache("c").put(7L, "c7");
+        manager.getCache("a").put(8L, "a8");
+
+        manager.evict(7L, "a", "b");
+
+        assertThat(manager.getCache("a").get(7L)).isNull();
+        assertThat(manager.getCache("b").get(7L)).isNull();
+        assertThat(manager.getCache("c").get(7L).get()).isEqualTo("c7");
+        assertThat(manager.getCache("a").get(8L).get()).isEqualTo("a8");
+    }
+
+    @Test
+    void testSharedTierFillsOtherNodeAndInvalidatesAcrossNodes() {
+        Map<String, Object> redis = new ConcurrentHashMap<>();
+        List<FakeSharedTier> nodes = new ArrayList<>();
+        TwoLevelCacheManager node1 = new TwoLevelCacheManager(List.of("stats"), 100, Duration.ofMinutes(1), new FakeSharedTier(redis, nodes));
+        TwoLevelCacheManager node2 = new TwoLevelCacheManager(List.of("stats"), 100, Duration.ofMinutes(1), new FakeSharedTier(redis, nodes));
+
+        node1.getCache("stats").put(5L, "v1");
+        // 2번 노드는 공유 계층에서 찾아 로컬에 보관
+        assertThat(node2.getCache("stats").get(5L).get()).isEqualTo("v1");
+
+        node1.evict(5L, "stats");
+
+        assertThat(redis).isEmpty();
+        assertThat(node2.getCache("stats").get(5L)).isNull();
+    }
+
+    @Test
+    void testNullValuesAreCached() {
+        TwoLevelCache cache = localOnly(100).getCache("stats");
+        int[] loads = new int[1];
+
+        cache.get(1L, () -> { loads[0]++; return null; });
+        cache.get(1L, () -> { loads[0]++; return null; });
+
+        assertThat(loads[0]).isEqualTo(1);
+    }
+}
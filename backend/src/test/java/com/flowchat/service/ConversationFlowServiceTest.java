@@ -0,0 +1,92 @@
+package com.flowchat.service;
+
+import com.flowchat.entity.ChatMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ConversationFlowServiceTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    private ConversationFlowService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ConversationFlowService();
+    }
+
+    private void send(long roomId, String username, LocalDateTime timestamp) {
+        ChatMessage message = new ChatMessage(roomId, 1L, "안녕하세요");
+        message.setTimestamp(timestamp);
+        service.analyzeConversationFlow(roomId, message, username);
+    }
+
+    @Test
+    void testSessionAggregatesMatchMessageHistory() {
+        // 세션 1: 9:00, 9:00:10, 9:00:40 (응답 간격 10초, 30초 → 평균 20초, 지속 0분)
+        send(1L, "alice", BASE);
+        send(1L, "bob", BASE.plusSeconds(10));
+        send(1L, "alice", BASE.plusSeconds(40));
+        // 10분 넘게 쉬면 새 세션 - 세션 2: 10:00, 10:02 (응답 간격 120초, 지속 2분)
+        send(1L, "carol", BASE.plusHours(1));
+        send(1L, "carol", BASE.plusHours(1).plusMinutes(2));
+
+        Map<String, Object> stats = service.getConversationFlowStats(1L);
+
+        assertThat(stats.get("totalSessions")).isEqualTo(2);
+        assertThat(stats.get("activeSessions")).isEqualTo(0L);
+        assertThat(stats.get("averageSessionDuration")).isEqualTo(1.0);
+        assertThat(stats.get("averageResponseTime")).isEqualTo(70.0);
+        assertThat(stats.get("hourlyActivity")).isEqualTo(Map.of(9, 3L, 10, 2L));
+        assertThat(stats.get("participantDistribution")).isEqualTo(Map.of("2명", 1L, "1명", 1L));
+        assertThat(stats.get("responseTimeDistribution")).isEqualTo(
+            Map.of("10초 이하", 1L, "30초 이하", 1L, "1분 이하", 0L, "5분 이하", 1L, "5분 초과", 0L));
+    }
+
+    @Test
+    void testClosedSessionsAreFoldedIntoRoomTotals() {
+        for (int i = 0; i < 20; i++) {
+            send(2L, "alice", BASE.plusHours(i));
+            send(2L, "bob", BASE.plusHours(i).plusMinutes(3));
+        }
+
+        Map<String, Object> stats = service.getConversationFlowStats(2L);
+        assertThat(stats.get("totalSessions")).isEqualTo(20);
+        assertThat(stats.get("averageSessionDuration")).isEqualTo(3.0);
+        assertThat(stats.get("averageResponseTime")).isEqualTo(180.0);
+        assertThat(stats.get("participantDistribution")).isEqualTo(Map.of("2명", 20L));
+
+        Map<String, Object> patterns = service.analyzeConversationPatterns(2L);
+        assertThat(patterns.get("conversationRhythm")).isEqualTo("느림");
+        assertThat((List<?>) patterns.get("peakHours")).hasSize(3);
+    }
+
+    @Test
+    void testConcurrentAppendsAreAllCounted() throws InterruptedException {
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            String username = "user" + t;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    send(3L, username, BASE);
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Map<String, Object> stats = service.getConversationFlowStats(3L);
+        assertThat(stats.get("totalSessions")).isEqualTo(1);
+        assertThat(stats.get("hourlyActivity")).isEqualTo(Map.of(9, 8000L));
+        assertThat(stats.get("participantDistribution")).isEqualTo(Map.of("8명", 1L));
+    }
+}
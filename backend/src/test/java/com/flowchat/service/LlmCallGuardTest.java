@@ -0,0 +1,126 @@
+package com.flowchat.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class LlmCallGuardTest {
+
+    private LlmCallGuard guard;
+
+    @BeforeEach
+    void setUp() {
+        guard = new LlmCallGuard();
+        ReflectionTestUtils.setField(guard, "windowSize", 10);
+        ReflectionTestUtils.setField(guard, "minimumCalls", 4);
+        ReflectionTestUtils.setField(guard, "failureRateThreshold", 0.5);
+        ReflectionTestUtils.setField(guard, "openDurationMillis", 100L);
+        ReflectionTestUtils.setField(guard, "halfOpenMaxCalls", 1);
+        ReflectionTestUtils.setField(guard, "initialLimit", 2);
+        ReflectionTestUtils.setField(guard, "minLimit", 1);
+        ReflectionTestUtils.setField(guard, "maxLimit", 10);
+        ReflectionTestUtils.setField(guard, "backoffRatio", 0.5);
+        ReflectionTestUtils.setField(guard, "latencyThresholdMillis", 5000L);
+        guard.init();
+    }
+
+    @Test
+    void testOpenCircuitShortCircuitsWithoutCallingLlm() {
+        for (int i = 0; i < 4; i++) {
+            guard.execute(() -> CompletableFuture.failedFuture(new RuntimeException("LLM API 호출 실패: 500")));
+        }
+
+        AtomicInteger calls = new AtomicInteger();
+        CompletableFuture<String> future = guard.execute(() -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture("ok");
+        });
+
+        assertThat(calls.get()).isZero();
+        assertThatThrownBy(future::get)
+            .isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(LlmAnalysisRejectedException.class);
+        assertThat(circuitStats()).containsEntry("state", "OPEN");
+    }
+
+    @Test
+    void testHalfOpenTrialSuccessClosesCircuit() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            guard.execute(() -> CompletableFuture.failedFuture(new RuntimeException("timeout")));
+        }
+        Thread.sleep(150);
+
+        String result = guard.execute(() -> CompletableFuture.completedFuture("ok")).get();
+
+        assertThat(result).isEqualTo("ok");
+        assertThat(circuitStats()).containsEntry("state", "CLOSED");
+    }
+
+    @Test
+    void testLateResultFromEarlierStateIsNotCountedAsTrial() throws Exception {
+        ReflectionTestUtils.setField(guard, "initialLimit", 8);
+        ReflectionTestUtils.setField(guard, "minLimit", 4);
+        guard.init();
+
+        // CLOSED 상태에서 시작된 느린 호출
+        CompletableFuture<String> lateCall = new CompletableFuture<>();
+        guard.execute(() -> lateCall);
+        for (int i = 0; i < 4; i++) {
+            guard.execute(() -> CompletableFuture.failedFuture(new RuntimeException("timeout")));
+        }
+        Thread.sleep(150);
+
+        CompletableFuture<String> trialCall = new CompletableFuture<>();
+        guard.execute(() -> trialCall);
+        assertThat(circuitStats()).containsEntry("state", "HALF_OPEN");
+
+        // 이전 세대 호출의 성공은 시험 호출로 집계되지 않음
+        lateCall.complete("ok");
+        assertThat(circuitStats()).containsEntry("state", "HALF_OPEN").containsEntry("staleOutcomes", 1L);
+        assertThat(guard.execute(() -> CompletableFuture.completedFuture("ok"))).isCompletedExceptionally();
+
+        trialCall.complete("ok");
+        assertThat(circuitStats()).containsEntry("state", "CLOSED");
+    }
+
+    @Test
+    void testConcurrencyLimitShedsExcessCalls() {
+        CompletableFuture<String> first = new CompletableFuture<>();
+        CompletableFuture<String> second = new CompletableFuture<>();
+        guard.execute(() -> first);
+        guard.execute(() -> second);
+
+        CompletableFuture<String> shed = guard.execute(() -> CompletableFuture.completedFuture("ok"));
+
+        assertThat(shed).isCompletedExceptionally();
+        assertThat(limiterStats()).containsEntry("shed", 1L);
+
+        first.complete("ok");
+        second.complete("ok");
+        assertThat(limiterStats()).containsEntry("inFlight", 0);
+    }
+
+    @Test
+    void testFailuresShrinkConcurrencyLimit() {
+        guard.execute(() -> CompletableFuture.failedFuture(new RuntimeException("timeout")));
+
+        assertThat(limiterStats()).containsEntry("limit", 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> circuitStats() {
+        return (Map<String, Object>) guard.getStats().get("circuitBreaker");
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> limiterStats() {
+        return (Map<String, Object>) guard.getStats().get("concurrencyLimiter");
+    }
+}
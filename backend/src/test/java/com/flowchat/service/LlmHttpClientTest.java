@@ -0,0 +1,154 @@
+package com.flowchat.service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * OpenAI 호환 엔드포인트를 대신하는 로컬 스텁 서버로 LlmHttpClient 검증
+ */
+class LlmHttpClientTest {
+
+    private static final String COMPLETION_BODY =
+        "{\"choices\":[{\"message\":{\"role\":\"assistant\",\"content\":\"업무\"}}]}";
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private LlmHttpClient client;
+    private final AtomicReference<String> authorizationHeader = new AtomicReference<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.createContext("/v1/chat/completions", exchange -> {
+            authorizationHeader.set(exchange.getRequestHeaders().getFirst("Authorization"));
+            exchange.getRequestBody().readAllBytes();
+            respond(exchange, 200, COMPLETION_BODY);
+        });
+        server.createContext("/slow", exchange -> {
+            try {
+                Thread.sleep(2000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200, COMPLETION_BODY);
+        });
+        server.createContext("/delayed", exchange -> {
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200, COMPLETION_BODY);
+        });
+        server.createContext("/error", exchange -> respond(exchange, 500, "{}"));
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (client != null) {
+            client.shutdown();
+        }
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void testPostReturnsResponseBody() throws Exception {
+        client = createClient("/v1/chat/completions");
+
+        String body = client.post("{\"model\":\"test\"}", Duration.ofSeconds(5)).get(5, TimeUnit.SECONDS);
+
+        assertThat(body).isEqualTo(COMPLETION_BODY);
+        assertThat(authorizationHeader.get()).isEqualTo("Bearer test-key");
+    }
+
+    @Test
+    void testNonOkStatusCompletesExceptionally() {
+        client = createClient("/error");
+
+        CompletableFuture<String> future = client.post("{}", Duration.ofSeconds(5));
+
+        assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+            .isInstanceOf(ExecutionException.class)
+            .hasMessageContaining("500");
+    }
+
+    @Test
+    void testDeadlineCompletesExceptionallyBeforeSlowResponse() {
+        client = createClient("/slow");
+
+        long startedAt = System.nanoTime();
+        CompletableFuture<String> future = client.post("{}", Duration.ofMillis(200));
+
+        assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+            .isInstanceOf(ExecutionException.class);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt)).isLessThan(1500);
+    }
+
+    @Test
+    void testManyInFlightRequestsShareFewThreads() throws Exception {
+        client = createClient("/delayed");
+
+        long startedAt = System.nanoTime();
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            futures.add(client.post("{}", Duration.ofSeconds(10)));
+        }
+
+        // 모든 요청이 응답 대기 중인 시점의 클라이언트 I/O 스레드 수
+        Thread.sleep(100);
+        long clientThreads = Thread.getAllStackTraces().keySet().stream()
+            .filter(thread -> thread.getName().startsWith("llm-http-"))
+            .count();
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+
+        assertThat(futures).allMatch(future -> COMPLETION_BODY.equals(future.join()));
+        assertThat(clientThreads).isBetween(1L, 2L);
+        // 200ms 지연 응답 100개를 순차 처리했다면 20초 이상 걸림
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt)).isLessThan(5000);
+    }
+
+    private LlmHttpClient createClient(String path) {
+        LlmHttpClient llmHttpClient = new LlmHttpClient();
+        ReflectionTestUtils.setField(llmHttpClient, "apiKey", "test-key");
+        ReflectionTestUtils.setField(llmHttpClient, "apiUrl",
+            "http://127.0.0.1:" + server.getAddress().getPort() + path);
+        ReflectionTestUtils.setField(llmHttpClient, "connectTimeoutMillis", 1000L);
+        ReflectionTestUtils.setField(llmHttpClient, "ioThreads", 2);
+        llmHttpClient.init();
+        return llmHttpClient;
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.flowchat.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class LlmResultCacheTest {
+
+    private LlmResultCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new LlmResultCache();
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "ttlMinutes", 30L);
+        ReflectionTestUtils.setField(cache, "maxSize", 10);
+        ReflectionTestUtils.setField(cache, "diskPath", "");
+        ReflectionTestUtils.setField(cache, "model", "test-model");
+        cache.init();
+    }
+
+    @Test
+    void testStoredValueIsIsolatedFromCallers() {
+        List<String> keywords = new ArrayList<>(List.of("회의", "일정"));
+        Map<String, Object> result = new HashMap<>();
+        result.put("keywords", keywords);
+        result.put("topic", "업무");
+        cache.put(LlmResultCache.TYPE_ANALYSIS, "내일 회의 일정", result);
+
+        // 저장 후 원본을 수정해도 캐시 값은 그대로
+        keywords.add("점심");
+        result.put("topic", "기타");
+
+        Map<String, Object> cached = cache.get(LlmResultCache.TYPE_ANALYSIS, "  내일   회의 일정 ");
+        assertThat(cached).containsEntry("topic", "업무");
+        assertThat(cached.get("keywords")).isEqualTo(List.of("회의", "일정"));
+
+        // 조회한 값은 수정할 수 없음
+        assertThatThrownBy(() -> cached.put("topic", "기타"))
+            .isInstanceOf(UnsupportedOperationException.class);
+        @SuppressWarnings("unchecked")
+        List<String> cachedKeywords = (List<String>) cached.get("keywords");
+        assertThatThrownBy(() -> cachedKeywords.add("점심"))
+            .isInstanceOf(UnsupportedOperationException.class);
+    }
+}
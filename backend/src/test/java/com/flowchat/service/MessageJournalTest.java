@@ -0,0 +1,154 @@
+package com.flowchat.service;
+
+import com.flowchat.entity.ChatMessage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class MessageJournalTest {
+
+    private static final long LARGE_SEGMENT = 1 << 20;
+
+    @TempDir
+    Path directory;
+
+    /**
+     * DB 대신 저장된 ID를 메모리에 보관하는 JdbcTemplate
+     */
+    private static class FakeJdbcTemplate extends JdbcTemplate {
+        final Set<Long> existing;
+        final List<Long> inserted = new ArrayList<>();
+
+        FakeJdbcTemplate(Set<Long> existing) {
+            this.existing = existing;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> List<T> queryForList(String sql, Class<T> elementType, Object... args) {
+            List<T> found = new ArrayList<>();
+            for (Object id : args) {
+                if (existing.contains((Long) id)) {
+                    found.add((T) id);
+                }
+            }
+            return found;
+        }
+
+        @Override
+        public int update(String sql, Object... args) {
+            // 행마다 9개 컬럼, 첫 번째가 ID
+            for (int i = 0; i < args.length; i += 9) {
+                inserted.add((Long) args[i]);
+            }
+            return args.length / 9;
+        }
+    }
+
+    private static ChatMessage message(long id) {
+        ChatMessage message = new ChatMessage(1L, 10L, "메시지 " + id, ChatMessage.MessageType.TEXT);
+        message.setId(id);
+        message.setUsername("user");
+        message.setTimestamp(LocalDateTime.of(2024, 5, 1, 12, 0, 0, 123_000_000));
+        return message;
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().startsWith("segment-")).sorted().toList();
+        }
+    }
+
+    @Test
+    void testRecordWithBadChecksumStopsRecovery() throws IOException {
+        MessageJournal journal = new MessageJournal(directory, LARGE_SEGMENT);
+        journal.append(List.of(message(1)));
+        journal.append(List.of(message(2)));
+        journal.close();
+
+        // 두 번째 레코드 본문의 마지막 바이트 손상
+        Path segment = segments().get(0);
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.seek(file.length() - 1);
+            int last = file.read();
+            file.seek(file.length() - 1);
+            file.write(last ^ 0xFF);
+        }
+
+        List<ChatMessage> recovered = new MessageJournal(directory, LARGE_SEGMENT).readRecovered();
+        assertThat(recovered).extracting(ChatMessage::getId).containsExactly(1L);
+        assertThat(recovered.get(0).getContent()).isEqualTo("메시지 1");
+        assertThat(recovered.get(0).getTimestamp()).isEqualTo(message(1).getTimestamp());
+    }
+
+    @Test
+    void testTornLastRecordIsDropped() throws IOException {
+        MessageJournal journal = new MessageJournal(directory, LARGE_SEGMENT);
+        journal.append(List.of(message(1), message(2)));
+        journal.close();
+
+        // 마지막 레코드를 쓰는 도중 종료된 경우
+        Path segment = segments().get(0);
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.setLength(file.length() - 5);
+        }
+
+        assertThat(new MessageJournal(directory, LARGE_SEGMENT).readRecovered())
+            .extracting(ChatMessage::getId).containsExactly(1L);
+    }
+
+    @Test
+    void testClosedSegmentIsDeletedOnceAllMessagesAreCommitted() throws IOException {
+        // 배치마다 새 세그먼트로 넘어가도록 작은 크기 사용
+        MessageJournal journal = new MessageJournal(directory, 1);
+        long first = journal.append(List.of(message(1), message(2)));
+        long second = journal.append(List.of(message(3)));
+        assertThat(segments()).hasSize(3);
+
+        journal.markCommitted(first, 1);
+        assertThat(segments()).hasSize(3);
+        journal.markCommitted(first, 1);
+        assertThat(segments()).hasSize(2);
+
+        journal.markCommitted(second, 1);
+        journal.close();
+        assertThat(segments()).isEmpty();
+    }
+
+    @Test
+    void testReplayInsertsOnlyMissingMessages() throws IOException {
+        MessageJournal journal = new MessageJournal(directory, LARGE_SEGMENT);
+        journal.append(List.of(message(1), message(2), message(3)));
+        journal.appendDeadLetters(List.of(message(9)));
+        journal.close();
+
+        MessageJournal reopened = new MessageJournal(directory, LARGE_SEGMENT);
+        List<ChatMessage> recovered = reopened.readRecovered();
+        assertThat(recovered).extracting(ChatMessage::getId).containsExactly(1L, 2L, 3L);
+
+        // ID 2는 종료 전에 이미 DB에 저장됨
+        FakeJdbcTemplate jdbcTemplate = new FakeJdbcTemplate(Set.of(2L));
+        int inserted = new ChatMessageBatchInserter(jdbcTemplate, 500).insertMissing(recovered);
+        assertThat(inserted).isEqualTo(2);
+        assertThat(jdbcTemplate.inserted).containsExactly(1L, 3L);
+
+        // 복구가 끝나면 이전 세그먼트만 삭제되고 dead-letter는 보관
+        reopened.discardRecovered();
+        reopened.close();
+        assertThat(segments()).isEmpty();
+        assertThat(new MessageJournal(directory, LARGE_SEGMENT).readDeadLetters())
+            .extracting(ChatMessage::getId).containsExactly(9L);
+    }
+}
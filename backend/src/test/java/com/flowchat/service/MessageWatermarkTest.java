@@ -0,0 +1,54 @@
+package com.flowchat.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.*;
+
+class MessageWatermarkTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 5, 1, 12, 0);
+    private static final LocalDateTime SETTLED_BEFORE = NOW.minusSeconds(30);
+
+    @Test
+    void testLateCommittedLowerIdIsStillApplied() {
+        MessageWatermark watermark = new MessageWatermark();
+
+        // ID 11은 먼저 커밋되어 반영되고, 앞선 ID 10은 아직 커밋 전
+        assertThat(watermark.markApplied(11, NOW.minusSeconds(5), SETTLED_BEFORE)).isTrue();
+        assertThat(watermark.getWatermark()).isZero();
+
+        // 정착 대기 시간 안에 늦게 커밋된 ID 10도 반영됨
+        assertThat(watermark.markApplied(10, NOW.minusSeconds(6), SETTLED_BEFORE)).isTrue();
+        assertThat(watermark.markApplied(11, NOW.minusSeconds(5), SETTLED_BEFORE)).isFalse();
+    }
+
+    @Test
+    void testSettledIdsAreFoldedIntoWatermark() {
+        MessageWatermark watermark = new MessageWatermark();
+        for (long id = 1; id <= 100; id++) {
+            watermark.markApplied(id, NOW.minusSeconds(100 - id), SETTLED_BEFORE);
+        }
+
+        // 30초보다 오래된 ID 1~69만 워터마크에 흡수되고 최근 ID만 보관
+        assertThat(watermark.getWatermark()).isEqualTo(69);
+        assertThat(watermark.getPendingCount()).isEqualTo(31);
+        assertThat(watermark.markApplied(50, NOW.minusSeconds(150), SETTLED_BEFORE)).isFalse();
+
+        watermark.settle(NOW.plusMinutes(1));
+        assertThat(watermark.getWatermark()).isEqualTo(100);
+        assertThat(watermark.getPendingCount()).isZero();
+    }
+
+    @Test
+    void testUnsettledLowerIdHoldsBackWatermark() {
+        MessageWatermark watermark = new MessageWatermark();
+        watermark.markApplied(5, NOW.minusSeconds(10), SETTLED_BEFORE);
+        watermark.markApplied(6, NOW.minusMinutes(5), SETTLED_BEFORE);
+
+        // 앞 ID가 정착 전이면 뒤 ID도 워터마크로 흡수하지 않음
+        assertThat(watermark.getWatermark()).isZero();
+        assertThat(watermark.markApplied(6, NOW.minusMinutes(5), SETTLED_BEFORE)).isFalse();
+    }
+}
@@ -0,0 +1,103 @@
+package com.flowchat.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flowchat.config.InProcessMessageBus;
+import com.flowchat.event.ClusterMembershipChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+class PresenceRegistryTest {
+
+    @Test
+    void testUserStaysOnlineUntilLastSessionLeaves() {
+        PresenceRegistry registry = new PresenceRegistry();
+        registry.connect("s1", "alice");
+        registry.connect("s2", "alice");
+
+        assertThat(registry.join(1L, "s1", "alice")).isTrue();
+        assertThat(registry.join(1L, "s2", "alice")).isFalse();
+        assertThat(registry.getRoomUserCount(1L)).isEqualTo(1);
+
+        assertThat(registry.leave(1L, "s1", "alice")).isFalse();
+        assertThat(registry.getRoomUsernames(1L)).containsExactly("alice");
+        assertThat(registry.leave(1L, "s2", "alice")).isTrue();
+        assertThat(registry.getRoomUserCount(1L)).isZero();
+    }
+
+    @Test
+    void testDisconnectReturnsOnlyRoomsThatWentOffline() {
+        PresenceRegistry registry = new PresenceRegistry();
+        registry.connect("s1", "alice");
+        registry.connect("s2", "alice");
+        registry.connect("s3", "bob");
+        registry.join(1L, "s1", "alice");
+        registry.join(2L, "s1", "alice");
+        registry.join(2L, "s2", "alice");
+        registry.join(2L, "s3", "bob");
+
+        assertThat(registry.disconnect("s1")).containsExactly(1L);
+        assertThat(registry.getUsername("s1")).isNull();
+        assertThat(registry.getRoomUserCount(1L)).isZero();
+        assertThat(registry.getRoomUsernames(2L)).containsExactlyInAnyOrder("alice", "bob");
+        assertThat(registry.disconnect("s1")).isEmpty();
+    }
+
+    @Test
+    void testLeaveAllRemovesEverySessionOfUser() {
+        PresenceRegistry registry = new PresenceRegistry();
+        registry.join(1L, "s1", "alice");
+        registry.join(1L, "s2", "alice");
+        registry.join(1L, "s3", "bob");
+
+        assertThat(registry.leaveAll(1L, "alice")).isTrue();
+        assertThat(registry.leaveAll(1L, "alice")).isFalse();
+        assertThat(registry.getRoomUsernames(1L)).containsExactly("bob");
+        // 세션은 채팅방과 무관하게 유지되며, 종료 시 오프라인 전환할 채팅방이 없음
+        assertThat(registry.disconnect("s1")).isEmpty();
+    }
+
+    private static PresenceRegistry node(InProcessMessageBus bus, long nodeId) {
+        return new PresenceRegistry(bus, new ObjectMapper(), new RoomOwnership(nodeId, 8, List.of(1L, 2L)), nodeId);
+    }
+
+    @Test
+    void testUserOnAnotherNodeCountsOnceAndStaysOnline() {
+        InProcessMessageBus bus = new InProcessMessageBus();
+        PresenceRegistry node1 = node(bus, 1);
+        PresenceRegistry node2 = node(bus, 2);
+
+        assertThat(node1.join(1L, "s1", "alice")).isTrue();
+        // 다른 서버에 이미 접속 중이므로 온라인 전환 아님
+        assertThat(node2.join(1L, "s2", "alice")).isFalse();
+        assertThat(node2.join(1L, "s3", "bob")).isTrue();
+        assertThat(node1.getRoomUserCount(1L)).isEqualTo(2);
+        assertThat(node2.getRoomUsernames(1L)).containsExactlyInAnyOrder("alice", "bob");
+
+        assertThat(node1.leave(1L, "s1", "alice")).isFalse();
+        assertThat(node2.leave(1L, "s2", "alice")).isTrue();
+        assertThat(node1.getRoomUsernames(1L)).containsExactly("bob");
+    }
+
+    @Test
+    void testLeaveAllAndNodeDepartureApplyClusterWide() {
+        InProcessMessageBus bus = new InProcessMessageBus();
+        PresenceRegistry node1 = node(bus, 1);
+        PresenceRegistry node2 = node(bus, 2);
+        node1.join(1L, "s1", "alice");
+        node2.join(1L, "s2", "alice");
+        node2.join(1L, "s3", "bob");
+
+        // 강제 퇴장은 다른 서버의 세션까지 제거
+        assertThat(node1.leaveAll(1L, "alice")).isTrue();
+        assertThat(node2.getRoomUsernames(1L)).containsExactly("bob");
+        assertThat(node2.disconnect("s2")).isEmpty();
+
+        // 2번 서버가 이탈하면 그 서버의 사용자 제거
+        node1.onClusterMembershipChanged(new ClusterMembershipChangedEvent(this, Set.of(1L)));
+        assertThat(node1.getRoomUserCount(1L)).isZero();
+    }
+}
@@ -0,0 +1,55 @@
+package com.flowchat.service;
+
+import com.flowchat.dto.ChatMessageResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class RecentMessageCacheTest {
+
+    private static ChatMessageResponse message(long id) {
+        return new ChatMessageResponse(id, 1L, 10L, "user", "사용자", "메시지 " + id, "TEXT",
+                                       LocalDateTime.now(), false);
+    }
+
+    @Test
+    void testRingKeepsLatestMessagesInOrder() {
+        RecentMessageCache.RecentRing ring = new RecentMessageCache.RecentRing(3);
+        ring.load(List.of(), false);
+        for (long id = 1; id <= 5; id++) {
+            ring.append(message(id));
+        }
+
+        assertThat(ring.latest(10)).extracting(ChatMessageResponse::getId).containsExactly(3L, 4L, 5L);
+        assertThat(ring.latest(2)).extracting(ChatMessageResponse::getId).containsExactly(4L, 5L);
+        assertThat(ring.hasMoreThan(3)).isTrue();
+    }
+
+    @Test
+    void testLoadMergesMessagesAppendedWhileLoading() {
+        RecentMessageCache.RecentRing ring = new RecentMessageCache.RecentRing(4);
+        // DB 조회 중에 새 메시지가 먼저 추가된 경우
+        ring.append(message(7));
+
+        ring.load(List.of(message(5), message(6), message(7)), false);
+
+        assertThat(ring.isLoaded()).isTrue();
+        assertThat(ring.latest(10)).extracting(ChatMessageResponse::getId).containsExactly(5L, 6L, 7L);
+        assertThat(ring.hasMoreThan(3)).isFalse();
+        assertThat(ring.hasMoreThan(2)).isTrue();
+    }
+
+    @Test
+    void testRemoveForcesReloadWhenOlderMessagesExist() {
+        RecentMessageCache.RecentRing ring = new RecentMessageCache.RecentRing(2);
+        ring.load(List.of(message(8), message(9)), true);
+
+        assertThat(ring.remove(9L)).isTrue();
+
+        assertThat(ring.latest(10)).extracting(ChatMessageResponse::getId).containsExactly(8L);
+        assertThat(ring.isLoaded()).isFalse();
+    }
+}
@@ -0,0 +1,141 @@
+package com.flowchat.service;
+
+import com.flowchat.event.ChatRoomDeactivatedEvent;
+import com.flowchat.event.RoomMembershipChangedEvent;
+import com.flowchat.event.UserChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+class RoomAuthorizationCacheTest {
+
+    /**
+     * DB 대신 메모리 상태에서 조회하고 조회 횟수를 세는 캐시
+     */
+    private static class FakeCache extends RoomAuthorizationCache {
+        final Map<String, Long> userIds = new HashMap<>(Map.of("alice", 1L, "bob", 2L));
+        final Set<Long> activeRooms = new HashSet<>(Set.of(10L, 20L));
+        final Set<String> memberships = new HashSet<>();
+        Runnable duringLoad = () -> { };
+        int loads;
+
+        @Override
+        RoomAccess load(Long roomId, String username) {
+            loads++;
+            duringLoad.run();
+            Long userId = userIds.get(username);
+            if (userId == null) {
+                throw new IllegalArgumentException("존재하지 않는 사용자입니다: " + username);
+            }
+            if (!activeRooms.contains(roomId)) {
+                throw new IllegalArgumentException("비활성화된 채팅방입니다: " + roomId);
+            }
+            return new RoomAccess(userId, username, username + "-name", memberships.contains(roomId + ":" + userId));
+        }
+    }
+
+    @Test
+    void testSendPathHitsCacheAfterFirstLoad() {
+        FakeCache cache = new FakeCache();
+        cache.memberships.add("10:1");
+
+        cache.warm(10L, "alice");
+        RoomAuthorizationCache.RoomAccess access = cache.authorize(10L, "alice");
+        cache.authorize(10L, "alice");
+
+        assertThat(cache.loads).isEqualTo(1);
+        assertThat(access.getUserId()).isEqualTo(1L);
+        assertThat(access.getName()).isEqualTo("alice-name");
+    }
+
+    @Test
+    void testJoinInvalidatesCachedNonMember() {
+        FakeCache cache = new FakeCache();
+        assertThatThrownBy(() -> cache.authorize(10L, "alice")).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> cache.authorize(10L, "alice")).isInstanceOf(IllegalStateException.class);
+        assertThat(cache.loads).isEqualTo(1);
+
+        cache.memberships.add("10:1");
+        cache.onMembershipChanged(new RoomMembershipChangedEvent(this, 10L, 1L));
+
+        assertThat(cache.authorize(10L, "alice").isMember()).isTrue();
+        assertThat(cache.loads).isEqualTo(2);
+    }
+
+    @Test
+    void testLeaveInvalidatesOnlyThatUserAndRoom() {
+        FakeCache cache = new FakeCache();
+        cache.memberships.addAll(Set.of("10:1", "10:2", "20:1"));
+        cache.authorize(10L, "alice");
+        cache.authorize(10L, "bob");
+        cache.authorize(20L, "alice");
+
+        cache.memberships.remove("10:1");
+        cache.onMembershipChanged(new RoomMembershipChangedEvent(this, 10L, 1L));
+
+        assertThatThrownBy(() -> cache.authorize(10L, "alice")).isInstanceOf(IllegalStateException.class);
+        cache.authorize(10L, "bob");
+        cache.authorize(20L, "alice");
+        assertThat(cache.loads).isEqualTo(4);
+    }
+
+    @Test
+    void testKickEvictsEntry() {
+        FakeCache cache = new FakeCache();
+        cache.memberships.add("10:1");
+        cache.authorize(10L, "alice");
+
+        cache.evict(10L, "alice");
+
+        assertThat(cache.size()).isZero();
+        cache.authorize(10L, "alice");
+        assertThat(cache.loads).isEqualTo(2);
+    }
+
+    @Test
+    void testRoomDeactivationRejectsFurtherSends() {
+        FakeCache cache = new FakeCache();
+        cache.memberships.addAll(Set.of("10:1", "10:2"));
+        cache.authorize(10L, "alice");
+        cache.authorize(10L, "bob");
+
+        cache.activeRooms.remove(10L);
+        cache.onRoomDeactivated(new ChatRoomDeactivatedEvent(this, 10L));
+
+        assertThat(cache.size()).isZero();
+        assertThatThrownBy(() -> cache.authorize(10L, "alice")).isInstanceOf(IllegalArgumentException.class);
+        // 실패한 조회는 캐시하지 않음
+        assertThatThrownBy(() -> cache.authorize(10L, "alice")).isInstanceOf(IllegalArgumentException.class);
+        assertThat(cache.loads).isEqualTo(4);
+    }
+
+    @Test
+    void testUserChangeEvictsAllRoomsOfUser() {
+        FakeCache cache = new FakeCache();
+        cache.memberships.addAll(Set.of("10:1", "20:1", "10:2"));
+        cache.authorize(10L, "alice");
+        cache.authorize(20L, "alice");
+        cache.authorize(10L, "bob");
+
+        cache.onUserChanged(new UserChangedEvent(this, 1L));
+
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void testInvalidationDuringLoadIsNotCached() {
+        FakeCache cache = new FakeCache();
+        cache.memberships.add("10:1");
+        // 조회 도중 멤버십 변경이 커밋된 경우
+        cache.duringLoad = () -> cache.onMembershipChanged(new RoomMembershipChangedEvent(this, 10L, 1L));
+
+        cache.authorize(10L, "alice");
+
+        assertThat(cache.size()).isZero();
+    }
+}
@@ -0,0 +1,64 @@
+package com.flowchat.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flowchat.config.InProcessMessageBus;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class RoomBroadcasterTest {
+
+    /**
+     * 서버 하나 - 브로커 채널로 나간 메시지를 기록
+     */
+    private static class Node {
+        final List<Message<?>> sent = new ArrayList<>();
+        final RoomBroadcaster broadcaster;
+
+        Node(InProcessMessageBus bus, long nodeId) {
+            SimpMessagingTemplate template = new SimpMessagingTemplate((message, timeout) -> sent.add(message));
+            broadcaster = new RoomBroadcaster(template, new ObjectMapper(), bus, nodeId);
+        }
+
+        List<String> destinations() {
+            return sent.stream().map(message -> SimpMessageHeaderAccessor.getDestination(message.getHeaders())).toList();
+        }
+    }
+
+    @Test
+    void testRoomBroadcastReachesEveryNodeOnce() {
+        InProcessMessageBus bus = new InProcessMessageBus();
+        Node node1 = new Node(bus, 1);
+        Node node2 = new Node(bus, 2);
+        Node node3 = new Node(bus, 3);
+
+        node1.broadcaster.broadcast(RoomBroadcaster.roomTopic(10L), Map.of("content", "안녕"));
+
+        for (Node node : List.of(node1, node2, node3)) {
+            assertThat(node.destinations()).containsExactly("/topic/room/10");
+            assertThat(new String((byte[]) node.sent.get(0).getPayload(), StandardCharsets.UTF_8))
+                .isEqualTo("{\"content\":\"안녕\"}");
+        }
+    }
+
+    @Test
+    void testUserDestinationIsForwardedToOtherNodes() {
+        InProcessMessageBus bus = new InProcessMessageBus();
+        Node node1 = new Node(bus, 1);
+        Node node2 = new Node(bus, 2);
+
+        // 사용자가 2번 서버에 연결되어 있어도 각 서버의 브로커가 자신의 세션으로 해석
+        node1.broadcaster.sendToUser("alice", "/queue/history", List.of(1, 2));
+
+        assertThat(node1.destinations()).containsExactly("/user/alice/queue/history");
+        assertThat(node2.destinations()).containsExactly("/user/alice/queue/history");
+    }
+}
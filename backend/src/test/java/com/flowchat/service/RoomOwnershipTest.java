@@ -0,0 +1,75 @@
+package com.flowchat.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class RoomOwnershipTest {
+
+    private static final int ROOMS = 10_000;
+
+    private static Map<Long, Long> owners(RoomOwnership ownership) {
+        Map<Long, Long> owners = new HashMap<>();
+        for (long roomId = 1; roomId <= ROOMS; roomId++) {
+            owners.put(roomId, ownership.ownerOf(roomId));
+        }
+        return owners;
+    }
+
+    @Test
+    void testSingleNodeOwnsEveryRoom() {
+        RoomOwnership ownership = new RoomOwnership(3, 64, List.of());
+
+        assertThat(ownership.isLocal(1L)).isTrue();
+        assertThat(ownership.isLocal(987_654_321L)).isTrue();
+    }
+
+    @Test
+    void testAllNodesAgreeAndRoomsAreSpread() {
+        RoomOwnership node1 = new RoomOwnership(1, 64, List.of(1L, 2L, 3L));
+        RoomOwnership node2 = new RoomOwnership(2, 64, List.of(1L, 2L, 3L));
+
+        Map<Long, Long> owners = owners(node1);
+        assertThat(owners(node2)).isEqualTo(owners);
+
+        Map<Long, Long> roomsPerNode = new HashMap<>();
+        owners.values().forEach(owner -> roomsPerNode.merge(owner, 1L, Long::sum));
+        assertThat(roomsPerNode).containsOnlyKeys(1L, 2L, 3L);
+        // 가상 노드 64개면 서버별 몫이 균등 분배(1/3)에서 크게 벗어나지 않음
+        roomsPerNode.values().forEach(count -> assertThat(count).isBetween(ROOMS / 5L, ROOMS / 2L));
+    }
+
+    @Test
+    void testJoinMovesRoomsOnlyToNewNode() {
+        RoomOwnership ownership = new RoomOwnership(1, 64, List.of(1L, 2L, 3L));
+        Map<Long, Long> before = owners(ownership);
+
+        assertThat(ownership.update(List.of(1L, 2L, 3L, 4L))).isTrue();
+        Map<Long, Long> after = owners(ownership);
+
+        long moved = 0;
+        for (long roomId = 1; roomId <= ROOMS; roomId++) {
+            if (!before.get(roomId).equals(after.get(roomId))) {
+                assertThat(after.get(roomId)).isEqualTo(4L);
+                moved++;
+            }
+        }
+        assertThat(moved).isBetween(ROOMS / 8L, ROOMS / 2L);
+    }
+
+    @Test
+    void testLeaveHandsRoomsBackAndSameMembersIsNoChange() {
+        RoomOwnership ownership = new RoomOwnership(1, 64, List.of(1L, 2L));
+        Map<Long, Long> before = owners(ownership);
+
+        ownership.update(List.of(1L, 2L, 3L));
+        ownership.update(List.of(1L, 2L));
+
+        assertThat(owners(ownership)).isEqualTo(before);
+        assertThat(ownership.update(List.of(2L, 1L))).isFalse();
+    }
+}
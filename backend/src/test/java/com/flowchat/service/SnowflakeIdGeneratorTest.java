@@ -0,0 +1,61 @@
+package com.flowchat.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SnowflakeIdGeneratorTest {
+
+    private static final long NOW = SnowflakeIdGenerator.EPOCH_MILLIS + 1_000_000L;
+
+    @Test
+    void testIdsIncreaseWithinSameMillisecondAndAcrossSequenceOverflow() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(7, () -> NOW);
+
+        long previous = generator.nextId();
+        // 한 밀리초의 시퀀스(4096개)를 넘겨도 계속 증가해야 함
+        for (int i = 0; i < 10_000; i++) {
+            long id = generator.nextId();
+            assertThat(id).isGreaterThan(previous);
+            previous = id;
+        }
+    }
+
+    @Test
+    void testClockMovingBackwardsDoesNotReuseIds() {
+        AtomicLong clock = new AtomicLong(NOW);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, clock::get);
+
+        long beforeSkew = generator.nextId();
+        clock.set(NOW - 5_000);
+        long afterSkew = generator.nextId();
+
+        assertThat(afterSkew).isGreaterThan(beforeSkew);
+    }
+
+    @Test
+    void testIdsSortByTimeAndEncodeTimestamp() {
+        AtomicLong clock = new AtomicLong(NOW);
+        SnowflakeIdGenerator nodeA = new SnowflakeIdGenerator(1023, clock::get);
+        SnowflakeIdGenerator nodeB = new SnowflakeIdGenerator(0, clock::get);
+
+        long earlier = nodeA.nextId();
+        clock.addAndGet(1);
+        long later = nodeB.nextId();
+
+        // 노드 ID와 관계없이 생성 시각 순으로 정렬
+        assertThat(later).isGreaterThan(earlier);
+        assertThat(SnowflakeIdGenerator.timestampOf(earlier)).isEqualTo(NOW);
+        assertThat(SnowflakeIdGenerator.timestampOf(later)).isEqualTo(NOW + 1);
+    }
+
+    @Test
+    void testRejectsNodeIdOutOfRange() {
+        assertThatThrownBy(() -> new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_NODE_ID + 1))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new SnowflakeIdGenerator(-1))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,69 @@
+package com.flowchat.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SpaceSavingTopKTest {
+
+    @Test
+    void testExactCountsWhileUnderCapacity() {
+        SpaceSavingTopK topK = new SpaceSavingTopK(10);
+        for (String keyword : List.of("회의", "배포", "회의", "버그", "회의", "배포")) {
+            topK.add(keyword);
+        }
+
+        List<SpaceSavingTopK.Entry> top = topK.top(2);
+
+        assertThat(top).extracting(SpaceSavingTopK.Entry::getItem).containsExactly("회의", "배포");
+        assertThat(top).extracting(SpaceSavingTopK.Entry::getCount).containsExactly(3L, 2L);
+        assertThat(topK.getMaxError()).isZero();
+    }
+
+    @Test
+    void testMemoryStaysBoundedAndErrorWithinGuarantee() {
+        int capacity = 50;
+        SpaceSavingTopK topK = new SpaceSavingTopK(capacity);
+        Map<String, Long> exact = new HashMap<>();
+        Random random = new Random(42);
+
+        // 소수의 인기 키워드 + 다수의 희귀 키워드
+        for (int i = 0; i < 100_000; i++) {
+            String keyword = random.nextInt(4) == 0
+                ? "hot" + random.nextInt(5)
+                : "rare" + random.nextInt(20_000);
+            topK.add(keyword);
+            exact.merge(keyword, 1L, Long::sum);
+        }
+
+        assertThat(topK.size()).isEqualTo(capacity);
+        long errorBound = topK.getTotalCount() / capacity;
+        for (SpaceSavingTopK.Entry entry : topK.top(capacity)) {
+            long actual = exact.getOrDefault(entry.getItem(), 0L);
+            assertThat(entry.getCount()).isGreaterThanOrEqualTo(actual);
+            assertThat(entry.getCount() - actual).isLessThanOrEqualTo(errorBound);
+            assertThat(entry.getGuaranteedCount()).isLessThanOrEqualTo(actual);
+        }
+        assertThat(topK.top(5)).extracting(SpaceSavingTopK.Entry::getItem)
+            .containsExactlyInAnyOrder("hot0", "hot1", "hot2", "hot3", "hot4");
+    }
+
+    @Test
+    void testTopReturnsDescendingCounts() {
+        SpaceSavingTopK topK = new SpaceSavingTopK(100);
+        for (int i = 1; i <= 20; i++) {
+            for (int j = 0; j < i; j++) {
+                topK.add("k" + i);
+            }
+        }
+
+        List<SpaceSavingTopK.Entry> top = topK.top(3);
+
+        assertThat(top).extracting(SpaceSavingTopK.Entry::getCount).containsExactly(20L, 19L, 18L);
+    }
+}
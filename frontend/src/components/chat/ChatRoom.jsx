@@ -36,8 +36,7 @@ const ChatRoom = () => {
     typingUsers,
     setCurrentRoom,
     addMessage,
-    addTypingUser,
-    removeTypingUser,
+    setTypingUsers,
     setMessageHistory,
     fetchRoomMessages,
     fetchMessageHistory,
@@ -63,6 +62,9 @@ const ChatRoom = () => {
   const [showUserList, setShowUserList] = useState(false);
   const [isJoined, setIsJoined] = useState(false);
   const [joiningRoom, setJoiningRoom] = useState(false);
+  // 이전 메시지 커서 (히스토리 API의 nextCursor)
+  const [messageHistoryCursor, setMessageHistoryCursor] = useState(null);
+  const [hasMoreMessages, setHasMoreMessages] = useState(true);
 
   const roomIdNum = parseInt(roomId, 10);
   const roomMessages = messages[roomIdNum] || [];
@@ -80,13 +82,9 @@ const ChatRoom = () => {
 
     const typingSubscription = subscribe(`/topic/room/${roomIdNum}/typing`, (typingData) => {
       console.log('Received typing:', typingData);
-      if (typingData.username !== user?.username) {
-        if (typingData.isTyping) {
-          addTypingUser(roomIdNum, typingData.username);
-        } else {
-          removeTypingUser(roomIdNum, typingData.username);
-        }
-      }
+      // 서버가 주기적으로 보내는 입력 중인 사용자 전체 목록 (본인 제외)
+      const usernames = typingData.usernames || [];
+      setTypingUsers(roomIdNum, usernames.filter(username => username !== user?.username));
     });
 
     const roomInfoSubscription = subscribe(`/topic/room/${roomIdNum}/info`, (roomInfo) => {
@@ -121,7 +119,7 @@ const ChatRoom = () => {
       membersSubscription?.unsubscribe();
       historySubscription?.unsubscribe();
     };
-  }, [isConnected, roomIdNum, subscribe, subscribeToMessageHistory, addMessage, addTypingUser, removeTypingUser, setMessageHistory, user?.username, currentRoom, setCurrentRoom]);
+  }, [isConnected, roomIdNum, subscribe, subscribeToMessageHistory, addMessage, setTypingUsers, setMessageHistory, user?.username, currentRoom, setCurrentRoom]);
 
   // 채팅방 입장 및 초기 데이터 로드
   useEffect(() => {
@@ -145,8 +143,10 @@ const ChatRoom = () => {
           }
           
           // 비멤버도 최근 메시지 로드 (읽기 전용)
-          const recentMessagesResult = await fetchMessageHistory(roomIdNum, 0, 20);
+          const recentMessagesResult = await fetchMessageHistory(roomIdNum, null, 20);
           if (recentMessagesResult.success) {
+            setMessageHistoryCursor(recentMessagesResult.data?.nextCursor || null);
+            setHasMoreMessages(Boolean(recentMessagesResult.data?.hasMore));
             console.log('최근 메시지 로드 완료:', recentMessagesResult.data?.messages?.length || 0, '개');
             console.log('메시지 데이터:', recentMessagesResult.data?.messages);
             // 스토어 상태 확인
@@ -267,21 +267,17 @@ const ChatRoom = () => {
     }
   };
 
-  const [messageHistoryPage, setMessageHistoryPage] = useState(0);
-  const [hasMoreMessages, setHasMoreMessages] = useState(true);
-
   const handleLoadMoreMessages = async () => {
     if (!roomIdNum || !hasMoreMessages) return;
 
     try {
-      const nextPage = messageHistoryPage + 1;
-      const result = await fetchMessageHistory(roomIdNum, nextPage, 20);
+      const result = await fetchMessageHistory(roomIdNum, messageHistoryCursor, 20);
       
       if (result.success) {
-        const hasMore = result.data?.messages?.length === 20; // 20개 미만이면 더 이상 없음
+        const hasMore = Boolean(result.data?.hasMore);
         setHasMoreMessages(hasMore);
-        setMessageHistoryPage(nextPage);
-        console.log(`페이지 ${nextPage} 메시지 로드 완료. 더 있음: ${hasMore}`);
+        setMessageHistoryCursor(result.data?.nextCursor || null);
+        console.log(`이전 메시지 로드 완료. 더 있음: ${hasMore}`);
       }
     } catch (error) {
       console.error('Failed to load more messages:', error);
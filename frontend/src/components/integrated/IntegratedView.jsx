@@ -45,8 +45,7 @@ const IntegratedView = () => {
     rooms,
     setCurrentRoom,
     addMessage,
-    addTypingUser,
-    removeTypingUser,
+    setTypingUsers,
     setMessageHistory,
     fetchMessageHistory,
     joinRoom,
@@ -100,13 +99,9 @@ const IntegratedView = () => {
 
     const typingSubscription = subscribe(`/topic/room/${roomIdNum}/typing`, (typingData) => {
       console.log('Received typing:', typingData);
-      if (typingData.username !== user?.username) {
-        if (typingData.isTyping) {
-          addTypingUser(roomIdNum, typingData.username);
-        } else {
-          removeTypingUser(roomIdNum, typingData.username);
-        }
-      }
+      // 서버가 주기적으로 보내는 입력 중인 사용자 전체 목록 (본인 제외)
+      const usernames = typingData.usernames || [];
+      setTypingUsers(roomIdNum, usernames.filter(username => username !== user?.username));
     });
 
     const roomInfoSubscription = subscribe(`/topic/room/${roomIdNum}/info`, (roomInfo) => {
@@ -133,7 +128,7 @@ const IntegratedView = () => {
       roomInfoSubscription?.unsubscribe();
       historySubscription?.unsubscribe();
     };
-  }, [isConnected, roomIdNum, subscribe, subscribeToMessageHistory, addMessage, addTypingUser, removeTypingUser, setMessageHistory, user?.username, currentRoom, setCurrentRoom]);
+  }, [isConnected, roomIdNum, subscribe, subscribeToMessageHistory, addMessage, setTypingUsers, setMessageHistory, user?.username, currentRoom, setCurrentRoom]);
 
   // 채팅방 입장 및 초기 데이터 로드
   useEffect(() => {
@@ -192,21 +187,27 @@ const IntegratedView = () => {
     navigate(`/integrated/${newRoomId}`);
   };
 
-  const [messageHistoryPage, setMessageHistoryPage] = useState(0);
+  // 이전 메시지 커서 (없으면 최신 메시지부터 조회, 이미 받은 메시지는 스토어에서 중복 제거)
+  const [messageHistoryCursor, setMessageHistoryCursor] = useState(null);
   const [hasMoreMessages, setHasMoreMessages] = useState(true);
 
+  // 채팅방이 바뀌면 커서 초기화
+  useEffect(() => {
+    setMessageHistoryCursor(null);
+    setHasMoreMessages(true);
+  }, [roomIdNum]);
+
   const handleLoadMoreMessages = async () => {
     if (!roomIdNum || !hasMoreMessages) return;
 
     try {
-      const nextPage = messageHistoryPage + 1;
-      const result = await fetchMessageHistory(roomIdNum, nextPage, 20);
+      const result = await fetchMessageHistory(roomIdNum, messageHistoryCursor, 20);
       
       if (result.success) {
-        const hasMore = result.data?.content?.length === 20; // 20개 미만이면 더 이상 없음
+        const hasMore = Boolean(result.data?.hasMore);
         setHasMoreMessages(hasMore);
-        setMessageHistoryPage(nextPage);
-        console.log(`페이지 ${nextPage} 메시지 로드 완료. 더 있음: ${hasMore}`);
+        setMessageHistoryCursor(result.data?.nextCursor || null);
+        console.log(`이전 메시지 로드 완료. 더 있음: ${hasMore}`);
       }
     } catch (error) {
       console.error('Failed to load more messages:', error);
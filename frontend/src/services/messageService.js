@@ -21,13 +21,14 @@ const messageService = {
     }
   },
 
-  // 페이징된 메시지 히스토리 조회
-  getMessageHistory: async (roomId, page = 0, size = 50) => {
+  // 커서 기반 메시지 히스토리 조회 (before 커서가 없으면 최신 메시지부터)
+  getMessageHistory: async (roomId, before = null, size = 50) => {
     try {
       console.log('메시지 히스토리 API 호출:', `/messages/room/${roomId}`);
       
+      const params = before ? { before, size } : { size };
       const response = await api.get(`/messages/room/${roomId}`, {
-        params: { page, size },
+        params,
       });
 
       console.log('메시지 히스토리 응답:', response.data);
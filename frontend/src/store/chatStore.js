@@ -269,11 +269,11 @@ const useChatStore = create((set, get) => ({
     }
   },
 
-  fetchMessageHistory: async (roomId, page = 0, size = 50) => {
+  fetchMessageHistory: async (roomId, before = null, size = 50) => {
     try {
-      const result = await messageService.getMessageHistory(roomId, page, size);
+      const result = await messageService.getMessageHistory(roomId, before, size);
       if (result.success && result.data?.messages) {
-        if (page === 0) {
+        if (!before) {
           get().setMessageHistory(roomId, result.data.messages);
         } else {
           get().prependMessages(roomId, result.data.messages);